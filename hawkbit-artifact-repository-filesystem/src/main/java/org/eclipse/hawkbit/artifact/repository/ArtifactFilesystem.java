@@ -12,19 +12,24 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 import javax.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.artifact.repository.model.FileChannelDbArtifact;
 
 /**
  * {@link AbstractDbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()} or a
+ * {@link FileChannel} on calling {@link #getFileChannel()}.
  */
-public class ArtifactFilesystem extends AbstractDbArtifact {
+public class ArtifactFilesystem extends AbstractDbArtifact implements FileChannelDbArtifact {
 
     private final File file;
 
@@ -46,4 +51,16 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw new ArtifactFileNotFoundException(e);
         }
     }
+
+    @Override
+    // suppress warning, this FileChannel needs to be closed by the caller, this
+    // cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public FileChannel getFileChannel() {
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (final IOException e) {
+            throw new ArtifactFileNotFoundException(e);
+        }
+    }
 }
@@ -33,10 +33,15 @@ import com.google.common.io.Files;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ *
+ * Uploads are written to temp files in {@code /basepath/.tmp}, i.e. on the same
+ * volume as the artifacts, so that they can be moved into place by a rename.
  */
 @Validated
 public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
+    private static final String TEMP_DIRECTORY = ".tmp";
+
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
     /**
@@ -72,6 +77,13 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
         return renameFileToSHA1Naming(tenant, file, new ArtifactFilesystem(file, base16Hashes.getSha1(), base16Hashes, file.length(), contentType));
     }
 
+    @Override
+    protected File createTempFile() {
+        final File tempDirectory = Paths.get(artifactResourceProperties.getPath(), TEMP_DIRECTORY).toFile();
+        tempDirectory.mkdirs();
+        return createTempFile(tempDirectory);
+    }
+
     private ArtifactFilesystem renameFileToSHA1Naming(final String tenant, final File file,
             final AbstractDbArtifact artifact) throws IOException {
         final File fileSHA1Naming = getFile(tenant, artifact.getHashes().getSha1());
@@ -14,6 +14,9 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Random;
 
 import org.apache.commons.io.FileUtils;
@@ -72,6 +75,20 @@ public class ArtifactFilesystemRepositoryTest {
         assertThat(readContent).isEqualTo(fileContent);
     }
 
+    @Test
+    @Description("Verfies that the hashes of an artifact that spans multiple chunks are calculated correctly and no temp file is left")
+    public void storeLargeArtifactCalculatesHashes() throws IOException, NoSuchAlgorithmException {
+        final byte[] fileContent = randomBytes(3 * 1024 * 1024 + 17);
+        final AbstractDbArtifact artifact = storeRandomArtifact(fileContent);
+
+        assertThat(artifact.getSize()).isEqualTo(fileContent.length);
+        assertThat(artifact.getHashes().getSha1()).isEqualTo(hash("SHA-1", fileContent));
+        assertThat(artifact.getHashes().getMd5()).isEqualTo(hash("MD5", fileContent));
+        assertThat(artifact.getHashes().getSha256()).isEqualTo(hash("SHA-256", fileContent));
+        assertThat(IOUtils.toByteArray(artifact.getFileInputStream())).isEqualTo(fileContent);
+        assertThat(new File(artifactResourceProperties.getPath(), ".tmp").list()).isEmpty();
+    }
+
     @Test
     @Description("Verfies that an artifact can be successfully stored in the file-system repository")
     public void getStoredArtifactBasedOnSHA1Hash() {
@@ -128,10 +145,18 @@ public class ArtifactFilesystemRepositoryTest {
     }
 
     private static byte[] randomBytes() {
-        final byte[] randomBytes = new byte[20];
+        return randomBytes(20);
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] randomBytes = new byte[length];
         final Random ran = new Random();
         ran.nextBytes(randomBytes);
         return randomBytes;
     }
 
+    private static String hash(final String algorithm, final byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+
 }
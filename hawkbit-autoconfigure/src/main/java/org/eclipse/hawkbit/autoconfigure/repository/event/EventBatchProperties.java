@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.repository.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for coalescing the events that are distributed by the event bus
+ * into batches.
+ */
+@ConfigurationProperties("hawkbit.server.eventbus.batch")
+public class EventBatchProperties {
+
+    /**
+     * Set to <code>true</code> to coalesce entity and poll events into
+     * batches before they are sent to the other nodes.
+     */
+    private boolean enabled;
+
+    /**
+     * Window in milliseconds in which the events are coalesced.
+     */
+    private long window = 100;
+
+    /**
+     * Maximum number of events in one batch.
+     */
+    private int maxSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    public void setWindow(final long window) {
+        this.window = window;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -9,22 +9,32 @@
 package org.eclipse.hawkbit.autoconfigure.repository.event;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
+import org.eclipse.hawkbit.event.BatchingBusBridge;
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
+import org.eclipse.hawkbit.repository.event.RemoteBatchEventListener;
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.bus.BusBridge;
 import org.springframework.cloud.bus.BusProperties;
 import org.springframework.cloud.bus.ConditionalOnBusEnabled;
 import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -44,7 +54,7 @@ import io.protostuff.Schema;
 @Configuration
 @RemoteApplicationEventScan(basePackages = "org.eclipse.hawkbit.repository.event.remote")
 @PropertySource("classpath:/hawkbit-eventbus-defaults.properties")
-@EnableConfigurationProperties(BusProperties.class)
+@EnableConfigurationProperties({ BusProperties.class, EventBatchProperties.class })
 public class EventPublisherAutoConfiguration {
     /**
      * Server internal event publisher that allows parallel event processing if
@@ -126,10 +136,37 @@ public class EventPublisherAutoConfiguration {
 
             tenantAware.runAsTenant(remoteEvent.getTenant(), () -> {
                 super.multicastEvent(event, eventType);
+                if (event instanceof RemoteBatchEvent) {
+                    multicastBatchContent((RemoteBatchEvent) event);
+                }
                 return null;
             });
         }
 
+        /**
+         * Publishes the events of a batch individually to all listeners that
+         * do not consume the batch natively.
+         */
+        private void multicastBatchContent(final RemoteBatchEvent batch) {
+            final Executor executor = getTaskExecutor();
+            for (final RemoteApplicationEvent event : batch) {
+                if (applicationEventFilter.filter(event)) {
+                    continue;
+                }
+                for (final ApplicationListener<?> listener : getApplicationListeners(event,
+                        ResolvableType.forInstance(event))) {
+                    if (listener instanceof RemoteBatchEventListener) {
+                        continue;
+                    }
+                    if (executor != null) {
+                        executor.execute(() -> invokeListener(listener, event));
+                    } else {
+                        invokeListener(listener, event);
+                    }
+                }
+            }
+        }
+
     }
 
     @ConditionalOnBusEnabled
@@ -146,4 +183,34 @@ public class EventPublisherAutoConfiguration {
 
     }
 
+    @ConditionalOnBusEnabled
+    @ConditionalOnProperty(prefix = "hawkbit.server.eventbus.batch", name = "enabled")
+    protected static class BatchingBusBridgeConfiguration {
+        /**
+         * @param eventBatchProperties
+         *            to configure window and size of the batches
+         * @param executorService
+         *            to schedule the sending of the batches on
+         * @return post processor that wraps the {@link BusBridge} into a
+         *         {@link BatchingBusBridge}
+         */
+        @Bean
+        public static BeanPostProcessor batchingBusBridgePostProcessor(
+                final ObjectProvider<EventBatchProperties> eventBatchProperties,
+                final ObjectProvider<ScheduledExecutorService> executorService) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (!(bean instanceof BusBridge) || bean instanceof BatchingBusBridge) {
+                        return bean;
+                    }
+                    final EventBatchProperties properties = eventBatchProperties.getObject();
+                    return new BatchingBusBridge((BusBridge) bean, executorService.getObject(),
+                            properties.getWindow(), properties.getMaxSize());
+                }
+            };
+        }
+
+    }
+
 }
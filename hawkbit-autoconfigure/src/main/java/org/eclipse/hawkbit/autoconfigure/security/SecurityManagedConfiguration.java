@@ -31,6 +31,7 @@ import org.eclipse.hawkbit.mgmt.rest.resource.MgmtApiConfiguration;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.security.ControllerSecurityTokenCache;
 import org.eclipse.hawkbit.security.ControllerTenantAwareAuthenticationDetailsSource;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.DosFilter;
@@ -45,6 +46,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -86,6 +88,9 @@ import org.springframework.util.Assert;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * All configurations related to HawkBit's authentication and authorization
  * layer.
@@ -117,6 +122,24 @@ public class SecurityManagedConfiguration {
         return new UserAuthenticationFilterBasicAuth(configuration.getAuthenticationManager());
     }
 
+    /**
+     * @param ddiSecurityProperties
+     *            to configure size and expiry of the cache
+     * @param meterRegistry
+     *            to register the cache metrics at
+     * @return the cache of the target security tokens used to authenticate
+     *         the controllers
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ControllerSecurityTokenCache controllerSecurityTokenCache(final DdiSecurityProperties ddiSecurityProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        final DdiSecurityProperties.Authentication.Targettoken targettoken = ddiSecurityProperties.getAuthentication()
+                .getTargettoken();
+        return new ControllerSecurityTokenCache(targettoken.getCacheSize(), targettoken.getCacheTtl(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     private static final class UserAuthenticationFilterBasicAuth extends BasicAuthenticationFilter
             implements UserAuthenticationFilter {
 
@@ -149,18 +172,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final HawkbitSecurityProperties securityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final ControllerSecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration,
-                final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
+                final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext,
+                final ControllerSecurityTokenCache securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.securityProperties = securityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache;
         }
 
         /**
@@ -169,16 +195,19 @@ public class SecurityManagedConfiguration {
          *
          * @param securityProperties
          *            for filter configuration
+         * @param meterRegistry
+         *            to register the filter metrics at
          *
          * @return the spring filter registration bean for registering a denial
          *         of service protection filter in the filter chain
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean<DosFilter> dosFilterDDI(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean<DosFilter> dosFilterDDI(final HawkbitSecurityProperties securityProperties,
+                final ObjectProvider<MeterRegistry> meterRegistry) {
             final FilterRegistrationBean<DosFilter> filterRegBean =
                     dosFilter(List.of(DDI_ANT_MATCHERS),
-                        securityProperties.getDos().getFilter(), securityProperties.getClients());
+                        securityProperties.getDos().getFilter(), securityProperties.getClients(), meterRegistry);
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiFilter");
 
@@ -223,7 +252,8 @@ public class SecurityManagedConfiguration {
                 securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
                 final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                        securityTokenCache);
                 securityTokenFilter.setAuthenticationManager(authenticationManager);
                 securityTokenFilter.setCheckForPrincipalChanges(true);
                 securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -268,18 +298,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final HawkbitSecurityProperties securityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final ControllerSecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerDownloadSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration,
-                final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
+                final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext,
+                final ControllerSecurityTokenCache securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.securityProperties = securityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache;
         }
 
         /**
@@ -288,15 +321,18 @@ public class SecurityManagedConfiguration {
          *
          * @param securityProperties
          *            for filter configuration
+         * @param meterRegistry
+         *            to register the filter metrics at
          *
          * @return the spring filter registration bean for registering a denial
          *         of service protection filter in the filter chain
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean<DosFilter> dosFilterDDIDL(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean<DosFilter> dosFilterDDIDL(final HawkbitSecurityProperties securityProperties,
+                final ObjectProvider<MeterRegistry> meterRegistry) {
             final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(List.of(DDI_DL_ANT_MATCHER),
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(), meterRegistry);
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiDlFilter");
 
@@ -342,7 +378,8 @@ public class SecurityManagedConfiguration {
                 securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
                 final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                        securityTokenCache);
                 securityTokenFilter.setAuthenticationManager(authenticationManager);
                 securityTokenFilter.setCheckForPrincipalChanges(true);
                 securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -381,15 +418,18 @@ public class SecurityManagedConfiguration {
      *
      * @param securityProperties
      *            for filter configuration
+     * @param meterRegistry
+     *            to register the filter metrics at
      *
      * @return the spring filter registration bean for registering a denial of
      *         service protection filter in the filter chain
      */
     @Bean
     @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-    public FilterRegistrationBean<DosFilter> dosSystemFilter(final HawkbitSecurityProperties securityProperties) {
+    public FilterRegistrationBean<DosFilter> dosSystemFilter(final HawkbitSecurityProperties securityProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
         final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(Collections.emptyList(),
-                securityProperties.getDos().getFilter(), securityProperties.getClients());
+                securityProperties.getDos().getFilter(), securityProperties.getClients(), meterRegistry);
         filterRegBean.setUrlPatterns(List.of("/system/*"));
         filterRegBean.setOrder(DOS_FILTER_ORDER);
         filterRegBean.setName("dosSystemFilter");
@@ -399,12 +439,12 @@ public class SecurityManagedConfiguration {
 
     private static FilterRegistrationBean<DosFilter> dosFilter(final Collection<String> includeAntPaths,
             final HawkbitSecurityProperties.Dos.Filter filterProperties,
-            final HawkbitSecurityProperties.Clients clientProperties) {
+            final HawkbitSecurityProperties.Clients clientProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
         final FilterRegistrationBean<DosFilter> filterRegBean = new FilterRegistrationBean<>();
 
-        filterRegBean.setFilter(new DosFilter(includeAntPaths, filterProperties.getMaxRead(),
-                filterProperties.getMaxWrite(), filterProperties.getWhitelist(), clientProperties.getBlacklist(),
-                clientProperties.getRemoteIpHeader()));
+        filterRegBean.setFilter(new DosFilter(includeAntPaths, filterProperties, clientProperties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
 
         return filterRegBean;
     }
@@ -459,14 +499,17 @@ public class SecurityManagedConfiguration {
          * Filter to protect the hawkBit server Management interface against to
          * many requests.
          *
+         * @param meterRegistry
+         *            to register the filter metrics at
+         *
          * @return the spring filter registration bean for registering a denial
          *         of service protection filter in the filter chain
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean<DosFilter> dosFilterREST() {
+        public FilterRegistrationBean<DosFilter> dosFilterREST(final ObjectProvider<MeterRegistry> meterRegistry) {
             final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(null,
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(), meterRegistry);
             filterRegBean.setUrlPatterns(List.of("/rest/*", "/api/*"));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosMgmtFilter");
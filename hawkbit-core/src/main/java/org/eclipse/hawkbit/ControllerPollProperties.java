@@ -59,6 +59,20 @@ public class ControllerPollProperties implements Serializable {
      */
     private int maintenanceWindowPollCount = 3;
 
+    /**
+     * Maximum number of targets for which the ETags of the last DDI poll
+     * responses are kept in memory in order to answer conditional polls with
+     * 304 (Not Modified). 0 disables the cache.
+     */
+    private long etagCacheSize = 100_000;
+
+    /**
+     * Time in milliseconds after which a cached DDI poll response ETag
+     * expires, i.e. the maximum time a change that is not signaled by an
+     * event can stay unnoticed by a polling controller.
+     */
+    private long etagCacheTtl = 600_000;
+
     public String getPollingTime() {
         return pollingTime;
     }
@@ -110,4 +124,20 @@ public class ControllerPollProperties implements Serializable {
     public void setMaintenanceWindowPollCount(int maintenanceWindowPollCount) {
         this.maintenanceWindowPollCount = maintenanceWindowPollCount;
     }
+
+    public long getEtagCacheSize() {
+        return etagCacheSize;
+    }
+
+    public void setEtagCacheSize(final long etagCacheSize) {
+        this.etagCacheSize = etagCacheSize;
+    }
+
+    public long getEtagCacheTtl() {
+        return etagCacheTtl;
+    }
+
+    public void setEtagCacheTtl(final long etagCacheTtl) {
+        this.etagCacheTtl = etagCacheTtl;
+    }
 }
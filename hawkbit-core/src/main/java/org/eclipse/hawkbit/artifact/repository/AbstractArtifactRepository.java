@@ -8,16 +8,25 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
-import java.security.DigestInputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -26,18 +35,61 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import com.google.common.io.BaseEncoding;
-import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Abstract utility class for ArtifactRepository implementations with common
  * functionality, e.g. computation of hashes.
+ *
+ * Uploads are read in chunks into pooled direct buffers. While a chunk is
+ * written to the temp file by means of a {@link FileChannel} the SHA-1, MD5 and
+ * SHA-256 digests of the chunk are computed in parallel, i.e. the hashing of
+ * large artifacts is not bound to the uploading thread. The digests are
+ * computed by a small dedicated thread pool. If it is saturated by concurrent
+ * uploads the uploading thread computes the digests of its chunk itself.
  */
 public abstract class AbstractArtifactRepository implements ArtifactRepository {
     private static final String TEMP_FILE_PREFIX = "tmp";
     private static final String TEMP_FILE_SUFFIX = "artifactrepo";
 
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final int CHUNKS_IN_FLIGHT = 4;
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(4 * CHUNKS_IN_FLIGHT);
+
+    private static final int HASHING_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final Executor HASHING_EXECUTOR = createHashingExecutor();
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractArtifactRepository.class);
 
+    private final Executor hashingExecutor;
+
+    /**
+     * Constructor that computes the digests of uploads by means of a shared
+     * thread pool.
+     */
+    protected AbstractArtifactRepository() {
+        this(HASHING_EXECUTOR);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param hashingExecutor
+     *            to compute the digests of uploads, should be bounded
+     */
+    protected AbstractArtifactRepository(final Executor hashingExecutor) {
+        this.hashingExecutor = hashingExecutor;
+    }
+
+    private static Executor createHashingExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(HASHING_THREADS, HASHING_THREADS, 60,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(HASHING_THREADS * CHUNKS_IN_FLIGHT * 4),
+                new ThreadFactoryBuilder().setNameFormat("artifact-hashing-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
     // is not used security related
@@ -56,9 +108,8 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
 
         String tempFile = null;
-        try (final DigestInputStream inputStream = wrapInDigestInputStream(content, mdSHA1, mdMD5, mdSHA256)) {
-
-            tempFile = storeTempFile(inputStream);
+        try {
+            tempFile = storeTempFile(content, mdSHA1, mdMD5, mdSHA256);
 
             final String sha1Hash16 = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
             final String md5Hash16 = BaseEncoding.base16().lowerCase().encode(mdMD5.digest());
@@ -106,18 +157,117 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
     }
 
-    protected String storeTempFile(final InputStream content) throws IOException {
+    /**
+     * Writes the given content into a temp file and updates the given digests
+     * with the content.
+     *
+     * @param content
+     *            to store
+     * @param digests
+     *            to update with the content
+     * @return path of the temp file
+     * @throws IOException
+     *             if the content cannot be read or written
+     */
+    protected String storeTempFile(final InputStream content, final MessageDigest... digests) throws IOException {
         final File file = createTempFile();
-        try (final OutputStream outputstream = new BufferedOutputStream(new FileOutputStream(file))) {
-            ByteStreams.copy(content, outputstream);
-            outputstream.flush();
+        final Semaphore chunksInFlight = new Semaphore(CHUNKS_IN_FLIGHT);
+        // every digest is updated chunk by chunk in the order of the content
+        final CompletableFuture<?>[] digestChains = new CompletableFuture<?>[digests.length];
+        for (int i = 0; i < digests.length; i++) {
+            digestChains[i] = CompletableFuture.completedFuture(null);
+        }
+
+        try (final ReadableByteChannel in = Channels.newChannel(content);
+                final FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            boolean endOfStream = false;
+            while (!endOfStream) {
+                acquire(chunksInFlight);
+                final ByteBuffer buffer = acquireBuffer();
+                endOfStream = fill(in, buffer);
+                buffer.flip();
+
+                final CompletableFuture<?>[] chunkDigests = new CompletableFuture<?>[digests.length];
+                for (int i = 0; i < digests.length; i++) {
+                    final MessageDigest digest = digests[i];
+                    final ByteBuffer view = buffer.duplicate();
+                    digestChains[i] = digestChains[i].thenRunAsync(() -> digest.update(view), hashingExecutor);
+                    chunkDigests[i] = digestChains[i];
+                }
+
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+
+                CompletableFuture.allOf(chunkDigests).whenComplete((result, ex) -> {
+                    releaseBuffer(buffer);
+                    chunksInFlight.release();
+                });
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(digestChains).join();
+        } catch (final CompletionException e) {
+            throw new ArtifactStoreException("Failed to calculate hashes", e.getCause());
         }
         return file.getPath();
     }
 
-    private static File createTempFile() {
+    private static boolean fill(final ReadableByteChannel in, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void acquire(final Semaphore semaphore) {
         try {
-            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            semaphore.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ArtifactStoreException("Interrupted while storing artifact", e);
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        final ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private static void releaseBuffer(final ByteBuffer buffer) {
+        // dropped buffers are reclaimed by the garbage collector
+        BUFFER_POOL.offer(buffer);
+    }
+
+    /**
+     * Creates the temp file the uploaded content is written to. Repositories
+     * that move the temp file into place should create it on the same volume
+     * in order to avoid that the content is copied once more.
+     *
+     * @return the created temp file
+     */
+    protected File createTempFile() {
+        return createTempFile(null);
+    }
+
+    /**
+     * Creates a temp file in the given directory.
+     *
+     * @param directory
+     *            the directory of the temp file or <code>null</code> for the
+     *            default temp directory
+     * @return the created temp file
+     */
+    protected File createTempFile(final File directory) {
+        try {
+            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, directory);
         } catch (final IOException e) {
             throw new ArtifactStoreException("Cannot create tempfile", e);
         }
@@ -151,11 +301,6 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
     protected abstract AbstractDbArtifact store(final String tenant, final DbArtifactHash base16Hashes,
             final String contentType, final String tempFile) throws IOException;
 
-    private static DigestInputStream wrapInDigestInputStream(final InputStream input, final MessageDigest mdSHA1,
-            final MessageDigest mdMD5, final MessageDigest mdSHA256) {
-        return new DigestInputStream(new DigestInputStream(new DigestInputStream(input, mdSHA256), mdMD5), mdSHA1);
-    }
-
     protected static String sanitizeTenant(final String tenant) {
         return tenant.trim().toUpperCase();
     }
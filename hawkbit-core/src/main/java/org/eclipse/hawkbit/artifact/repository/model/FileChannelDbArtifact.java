@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository.model;
+
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link DbArtifact} which is stored as plain file and therefore allows random
+ * access to the binary by means of a {@link FileChannel}. Streaming clients
+ * can use the channel for positioned reads and
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * instead of copying the {@link #getFileInputStream()} through a heap buffer.
+ */
+public interface FileChannelDbArtifact extends DbArtifact {
+
+    /**
+     * Opens a read-only {@link FileChannel} on this artifact. Caller has to
+     * take care of closing the channel. Repeatable calls open a new
+     * {@link FileChannel}.
+     *
+     * @return {@link FileChannel} to read from artifact.
+     */
+    FileChannel getFileChannel();
+}
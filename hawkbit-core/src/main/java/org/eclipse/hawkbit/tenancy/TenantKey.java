@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.tenancy;
+
+import java.util.Objects;
+
+/**
+ * Immutable key of a value that is unique within a tenant only, e.g. the ID or
+ * the controller ID of a target, to be used in maps, sets and caches that hold
+ * the values of all tenants.
+ *
+ * @param <T>
+ *            type of the value
+ */
+public final class TenantKey<T> {
+    private final String tenant;
+    private final T value;
+
+    private TenantKey(final String tenant, final T value) {
+        this.tenant = tenant;
+        this.value = value;
+    }
+
+    /**
+     * @param tenant
+     *            of the value
+     * @param value
+     *            that is unique within the tenant
+     * @return the key of the value
+     */
+    public static <T> TenantKey<T> of(final String tenant, final T value) {
+        return new TenantKey<>(tenant, value);
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tenant, value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TenantKey<?> other = (TenantKey<?>) obj;
+        return Objects.equals(value, other.value) && Objects.equals(tenant, other.tenant);
+    }
+
+    @Override
+    public String toString() {
+        return tenant + ":" + value;
+    }
+}
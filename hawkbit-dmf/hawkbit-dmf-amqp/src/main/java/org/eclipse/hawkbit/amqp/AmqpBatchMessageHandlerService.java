@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.StringUtils;
+
+import com.rabbitmq.client.Channel;
+
+/**
+ * Consumes the DMF receiver queue in batches, alternatively to the single
+ * message listener of the {@link AmqpMessageHandlerService}. The messages of a
+ * batch are grouped by tenant, type and the topic of events and every group is
+ * handled by the {@link AmqpMessageHandlerService} in one transaction. If a
+ * group fails its
+ * messages are handled again one by one, each in its own transaction, and
+ * acknowledged or rejected individually as decided by the {@link ErrorHandler}
+ * of the single message listener. The things of a group of THING_CREATED
+ * messages are registered in bulk.
+ *
+ * The messages of one thing are handled in the order they have been received.
+ * As a group may be handled twice, messages that are sent back to the things
+ * while a group is handled may be sent twice. Action status updates are always
+ * handled one by one as they may be queued outside of the transaction by the
+ * controller management and would be queued twice otherwise.
+ */
+public class AmqpBatchMessageHandlerService {
+    private static final Logger LOG = LoggerFactory.getLogger(AmqpBatchMessageHandlerService.class);
+
+    private final AmqpMessageHandlerService messageHandlerService;
+    private final TenantAware tenantAware;
+    private final TransactionTemplate transactionTemplate;
+    private final ErrorHandler errorHandler;
+
+    /**
+     * Constructor.
+     *
+     * @param messageHandlerService
+     *            to handle the messages
+     * @param tenantAware
+     *            to begin the transaction of a group in its tenant
+     * @param transactionManager
+     *            to handle a group in one transaction
+     * @param errorHandler
+     *            to decide whether a failed message is requeued
+     */
+    public AmqpBatchMessageHandlerService(final AmqpMessageHandlerService messageHandlerService,
+            final TenantAware tenantAware, final PlatformTransactionManager transactionManager,
+            final ErrorHandler errorHandler) {
+        this.messageHandlerService = messageHandlerService;
+        this.tenantAware = tenantAware;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Handles a batch of incoming DMF messages.
+     *
+     * @param messages
+     *            the batch
+     * @param channel
+     *            to acknowledge the messages on
+     */
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "batchListenerContainerFactory", autoStartup = "${hawkbit.dmf.rabbitmq.batch-listener.enabled:false}")
+    public void onMessages(final List<Message> messages, final Channel channel) {
+        final String virtualHost = messageHandlerService.getRabbitTemplate().getConnectionFactory().getVirtualHost();
+        for (final Map<GroupKey, List<Message>> groups : groupMessages(messages)) {
+            groups.forEach((key, group) -> handleGroup(key, group, channel, virtualHost));
+        }
+    }
+
+    /**
+     * Groups the messages by tenant, type and topic. If a thing has messages in
+     * different groups the groups are split, so that the messages of a thing
+     * are handled in the order they have been received.
+     */
+    private static List<Map<GroupKey, List<Message>>> groupMessages(final List<Message> messages) {
+        final List<Map<GroupKey, List<Message>>> rounds = new ArrayList<>();
+        Map<GroupKey, List<Message>> groups = new LinkedHashMap<>();
+        final Map<String, GroupKey> groupOfThing = new HashMap<>();
+
+        for (final Message message : messages) {
+            final GroupKey key = GroupKey.of(message);
+            final String thingId = getHeader(message, MessageHeaderKey.THING_ID);
+            if (thingId != null) {
+                final GroupKey previous = groupOfThing.putIfAbsent(thingId, key);
+                if (previous != null && !previous.equals(key)) {
+                    rounds.add(groups);
+                    groups = new LinkedHashMap<>();
+                    groupOfThing.clear();
+                    groupOfThing.put(thingId, key);
+                }
+            }
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(message);
+        }
+        rounds.add(groups);
+        return rounds;
+    }
+
+    private void handleGroup(final GroupKey key, final List<Message> messages, final Channel channel,
+            final String virtualHost) {
+        if (messages.size() > 1 && key.isTransactional()) {
+            try {
+                tenantAware.runAsTenant(key.tenant, () -> transactionTemplate.execute(status -> {
+                    if (MessageType.THING_CREATED.name().equals(key.type)) {
+                        messageHandlerService.onThingsCreated(messages, key.tenant, virtualHost);
+                    } else {
+                        messages.forEach(message -> handle(message, virtualHost));
+                    }
+                    return null;
+                }));
+                messages.forEach(message -> acknowledge(channel, message));
+                return;
+            } catch (final RuntimeException e) {
+                LOG.debug("Failed to handle {} messages of group {} at once, handling them one by one.",
+                        messages.size(), key, e);
+            }
+        }
+
+        messages.forEach(message -> {
+            try {
+                handle(message, virtualHost);
+                acknowledge(channel, message);
+            } catch (final RuntimeException e) {
+                reject(channel, message, shouldRequeue(message, e));
+            }
+        });
+    }
+
+    private void handle(final Message message, final String virtualHost) {
+        messageHandlerService.onMessage(message, getHeader(message, MessageHeaderKey.TYPE),
+                getHeader(message, MessageHeaderKey.TENANT), virtualHost);
+    }
+
+    private boolean shouldRequeue(final Message message, final RuntimeException e) {
+        if (includesAmqpRejectException(e)) {
+            LOG.error("Received an AmqpRejectAndDontRequeueException due to {}", e.getMessage());
+            return false;
+        }
+        try {
+            errorHandler.handleError(new ListenerExecutionFailedException("Failed to handle DMF message", e, message));
+            return true;
+        } catch (final AmqpRejectAndDontRequeueException rejected) {
+            return false;
+        }
+    }
+
+    private static boolean includesAmqpRejectException(final Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AmqpRejectAndDontRequeueException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void acknowledge(final Channel channel, final Message message) {
+        try {
+            channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+        } catch (final IOException e) {
+            throw new AmqpIOException(e);
+        }
+    }
+
+    private static void reject(final Channel channel, final Message message, final boolean requeue) {
+        try {
+            channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, requeue);
+        } catch (final IOException e) {
+            throw new AmqpIOException(e);
+        }
+    }
+
+    private static String getHeader(final Message message, final String key) {
+        final Object value = message.getMessageProperties().getHeaders().get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Key of a group of messages, i.e. the tenant, the type and in case of an
+     * event the topic of the messages.
+     */
+    private static final class GroupKey {
+        private final String tenant;
+        private final String type;
+        private final String topic;
+
+        private GroupKey(final String tenant, final String type, final String topic) {
+            this.tenant = tenant;
+            this.type = type;
+            this.topic = topic;
+        }
+
+        private static GroupKey of(final Message message) {
+            final String type = getHeader(message, MessageHeaderKey.TYPE);
+            return new GroupKey(getHeader(message, MessageHeaderKey.TENANT), type,
+                    MessageType.EVENT.name().equals(type) ? getHeader(message, MessageHeaderKey.TOPIC) : null);
+        }
+
+        /**
+         * @return <code>false</code> for pings and action status updates, as
+         *         the latter are queued outside of the transaction and would be
+         *         queued twice if the group is handled again one by one
+         */
+        private boolean isTransactional() {
+            return StringUtils.hasText(tenant) && StringUtils.hasText(type) && !MessageType.PING.name().equals(type)
+                    && !EventTopic.UPDATE_ACTION_STATUS.name().equals(topic);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, type, topic);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final GroupKey other = (GroupKey) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(type, other.type)
+                    && Objects.equals(topic, other.topic);
+        }
+
+        @Override
+        public String toString() {
+            return tenant + ":" + type + (topic != null ? "/" + topic : "");
+        }
+    }
+}
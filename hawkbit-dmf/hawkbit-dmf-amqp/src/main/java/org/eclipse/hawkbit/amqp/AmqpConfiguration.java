@@ -9,6 +9,10 @@
 package org.eclipse.hawkbit.amqp;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.api.HostnameResolver;
 import org.eclipse.hawkbit.cache.DownloadIdCache;
@@ -28,6 +32,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.FanoutExchange;
@@ -40,6 +45,7 @@ import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -50,11 +56,17 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ErrorHandler;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Spring configuration for AMQP based DMF communication for indirect device
@@ -68,6 +80,8 @@ public class AmqpConfiguration {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AmqpConfiguration.class);
 
+    private static final long DISPATCHER_IDLE_TIMEOUT_SECONDS = 60;
+
     @Autowired
     private AmqpProperties amqpProperties;
 
@@ -299,11 +313,17 @@ public class AmqpConfiguration {
     /**
      * Create default amqp sender service bean.
      *
+     * @param meterRegistry
+     *            to register the sender metrics at
      * @return the default amqp sender service bean
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
-    public AmqpMessageSenderService amqpSenderServiceBean() {
+    public AmqpMessageSenderService amqpSenderServiceBean(final ObjectProvider<MeterRegistry> meterRegistry) {
+        if (amqpProperties.getSender().isAsync()) {
+            return new DefaultAmqpMessageSenderService(rabbitTemplate(), amqpProperties.getSender(),
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
         return new DefaultAmqpMessageSenderService(rabbitTemplate());
     }
 
@@ -323,6 +343,50 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Create RabbitListenerContainerFactory bean for the batch listener of the
+     * DMF receiver queue if no batchListenerContainerFactory bean found
+     *
+     * @return RabbitListenerContainerFactory bean
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "batchListenerContainerFactory")
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> batchListenerContainerFactory(
+            final SimpleRabbitListenerContainerFactoryConfigurer configurer, final ErrorHandler errorHandler) {
+        final ConfigurableRabbitListenerContainerFactory factory = new ConfigurableRabbitListenerContainerFactory(
+                amqpProperties.isMissingQueuesFatal(), amqpProperties.getDeclarationRetries(), errorHandler);
+        configurer.configure(factory, rabbitConnectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(Math.max(1, amqpProperties.getBatchListener().getBatchSize()));
+        factory.setReceiveTimeout(amqpProperties.getBatchListener().getReceiveTimeout());
+        // the messages are acknowledged individually by the listener
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * Create the batch listener of the DMF receiver queue.
+     *
+     * @param amqpMessageHandlerService
+     *            to handle the messages
+     * @param tenantAware
+     *            the tenantAware
+     * @param transactionManager
+     *            to handle a group of messages in one transaction
+     * @param errorHandler
+     *            to decide whether a failed message is requeued
+     * @return the bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AmqpBatchMessageHandlerService amqpBatchMessageHandlerService(
+            final AmqpMessageHandlerService amqpMessageHandlerService, final TenantAware tenantAware,
+            final PlatformTransactionManager transactionManager, final ErrorHandler errorHandler) {
+        return new AmqpBatchMessageHandlerService(amqpMessageHandlerService, tenantAware, transactionManager,
+                errorHandler);
+    }
+
     /**
      * create the authentication bean for controller over amqp.
      *
@@ -350,17 +414,39 @@ public class AmqpConfiguration {
                 tenantAware, ddiSecruityProperties, systemSecurityContext);
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean(AmqpMessageDispatcherService.class)
     AmqpMessageDispatcherService amqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement, final DistributionSetManagement distributionSetManagement,
             final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        final MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
         return new AmqpMessageDispatcherService(rabbitTemplate, amqpSenderService, artifactUrlHandler,
                 systemSecurityContext, systemManagement, targetManagement, serviceMatcher, distributionSetManagement,
-                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement);
+                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement,
+                dispatcherExecutor(registry), registry);
+    }
+
+    /**
+     * @return bounded executor with security context availability in thread
+     *         execution. Runs a task on the caller thread if the queue is full
+     *         or the executor is shut down, so the future of a submitted task
+     *         is always completed.
+     */
+    private ExecutorService dispatcherExecutor(final MeterRegistry meterRegistry) {
+        final int threads = Math.max(1, amqpProperties.getDispatcherThreads());
+        final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads,
+                DISPATCHER_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, amqpProperties.getDispatcherQueueSize())),
+                new ThreadFactoryBuilder().setNameFormat("dmf-dispatcher-pool-%d").build(),
+                // unlike the CallerRunsPolicy also after shutdown
+                (task, executor) -> task.run());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return new DelegatingSecurityContextExecutorService(
+                ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, "hawkbit.dmf.dispatcher"));
     }
 
     private static Map<String, Object> getTTLMaxArgsAuthenticationQueue() {
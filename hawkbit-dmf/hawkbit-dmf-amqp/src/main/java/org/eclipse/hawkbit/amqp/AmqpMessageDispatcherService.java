@@ -12,17 +12,21 @@ import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUN
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.BATCH_ASSIGNMENTS_ENABLED;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.eclipse.hawkbit.api.ApiType;
 import org.eclipse.hawkbit.api.ArtifactUrl;
@@ -73,11 +77,14 @@ import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.CollectionUtils;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 /**
  * {@link AmqpMessageDispatcherService} create all outgoing AMQP messages and
@@ -93,6 +100,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     private static final int MAX_PROCESSING_SIZE = 1000;
 
+    private static final String UPDATE_MESSAGES_METRIC = "hawkbit.dmf.dispatcher.update.messages";
+
     private final ArtifactUrlHandler artifactUrlHandler;
     private final AmqpMessageSenderService amqpSenderService;
     private final SystemSecurityContext systemSecurityContext;
@@ -103,6 +112,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private final DeploymentManagement deploymentManagement;
     private final SoftwareModuleManagement softwareModuleManagement;
     private final TenantConfigurationManagement tenantConfigurationManagement;
+    private final ExecutorService dispatcherExecutor;
+    private final Counter templatedUpdateMessages;
+    private final Counter renderedUpdateMessages;
 
     /**
      * Constructor.
@@ -135,6 +147,49 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             final DistributionSetManagement distributionSetManagement,
             final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
             final TenantConfigurationManagement tenantConfigurationManagement) {
+        this(rabbitTemplate, amqpSenderService, artifactUrlHandler, systemSecurityContext, systemManagement,
+                targetManagement, serviceMatcher, distributionSetManagement, softwareModuleManagement,
+                deploymentManagement, tenantConfigurationManagement, MoreExecutors.newDirectExecutorService(),
+                Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            the rabbitTemplate
+     * @param amqpSenderService
+     *            to send AMQP message
+     * @param artifactUrlHandler
+     *            for generating download URLs
+     * @param systemSecurityContext
+     *            for execution with system permissions
+     * @param systemManagement
+     *            the systemManagement
+     * @param targetManagement
+     *            to access target information
+     * @param serviceMatcher
+     *            to check in cluster case if the message is from the same
+     *            cluster node
+     * @param distributionSetManagement
+     *            to retrieve modules
+     * @param tenantConfigurationManagement
+     *            to access tenant configuration
+     * @param dispatcherExecutor
+     *            to load the targets of large events in partitions, has to
+     *            propagate the security context
+     * @param meterRegistry
+     *            to register the dispatcher metrics at
+     *
+     */
+    protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
+            final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
+            final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
+            final DistributionSetManagement distributionSetManagement,
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ExecutorService dispatcherExecutor, final MeterRegistry meterRegistry) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -146,6 +201,22 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.softwareModuleManagement = softwareModuleManagement;
         this.deploymentManagement = deploymentManagement;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.dispatcherExecutor = dispatcherExecutor;
+        this.templatedUpdateMessages = updateMessageCounter(meterRegistry, "template");
+        this.renderedUpdateMessages = updateMessageCounter(meterRegistry, "rendered");
+    }
+
+    private static Counter updateMessageCounter(final MeterRegistry meterRegistry, final String payload) {
+        return Counter.builder(UPDATE_MESSAGES_METRIC).tag("payload", payload)
+                .description("Update messages sent to single targets").register(meterRegistry);
+    }
+
+    /**
+     * Stops the dispatcher executor. Targets that are currently loaded are
+     * completed.
+     */
+    public void shutdown() {
+        dispatcherExecutor.shutdown();
     }
 
     /**
@@ -188,8 +259,10 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     private List<Target> getTargetsWithoutPendingCancellations(final Set<String> controllerIds) {
         return partitionedParallelExecution(controllerIds, partition -> {
+            final Set<String> pendingCancellations = deploymentManagement
+                    .findControllerIdsWithPendingCancellations(partition);
             return targetManagement.getByControllerID(partition).stream().filter(target -> {
-                if (hasPendingCancellations(target.getControllerId())) {
+                if (pendingCancellations.contains(target.getControllerId())) {
                     LOG.debug("Target {} has pending cancellations. Will not send update message to it.",
                             target.getControllerId());
                     return false;
@@ -215,15 +288,20 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         sendUpdateMessageToTargets(actionProp, Collections.singletonList(target), softwareModules);
     }
 
-    private void sendUpdateMessageToTargets(final Map<String, ActionProperties> actionsPropsByTargetId,
+    protected void sendUpdateMessageToTargets(final Map<String, ActionProperties> actionsPropsByTargetId,
             final List<Target> targets, final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
 
         if (!targets.isEmpty() && isBatchAssignmentsEnabled()) {
             sendBatchUpdateMessage(actionsPropsByTargetId, targets, softwareModules);
         } else {
+            // the modules are rendered only once for all targets of the
+            // assignment
+            final UpdateMessageTemplates templates = targets.size() > 1
+                    ? new UpdateMessageTemplates(softwareModules)
+                    : null;
             targets.forEach(target -> {
                 final ActionProperties actionProp = actionsPropsByTargetId.get(target.getControllerId());
-                sendSingleUpdateMessage(actionProp, target, softwareModules);
+                sendSingleUpdateMessage(actionProp, target, softwareModules, templates);
             });
         }
     }
@@ -288,13 +366,20 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Long actionId,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+        return createDownloadAndUpdateRequest(target.getControllerId(), target.getId(), actionId,
+                systemSecurityContext.runAsSystem(target::getSecurityToken), softwareModules);
+    }
+
+    private DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final String controllerId,
+            final Long targetId, final Long actionId, final String securityToken,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
         final DmfDownloadAndUpdateRequest request = new DmfDownloadAndUpdateRequest();
         request.setActionId(actionId);
-        request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
+        request.setTargetSecurityToken(securityToken);
 
         if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
+            softwareModules.entrySet().forEach(
+                    entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(controllerId, targetId, entry)));
         }
         return request;
     }
@@ -362,30 +447,40 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         });
     }
 
-    private static <T, R> List<R> partitionedParallelExecution(final Collection<T> controllerIds,
+    private <T, R> List<R> partitionedParallelExecution(final Collection<T> controllerIds,
             final Function<Collection<T>, List<R>> loadingFunction) {
         // Ensure not exceeding the max value of MAX_PROCESSING_SIZE
         if (controllerIds.size() > MAX_PROCESSING_SIZE) {
-            // Split the provided collection
-            final Iterable<List<T>> partitions = Iterables.partition(controllerIds, MAX_PROCESSING_SIZE);
-            // Preserve the security context because it gets lost when executing
-            // loading calls in new threads
-            final SecurityContext context = SecurityContextHolder.getContext();
-            // Handling remote request in parallel streams
-            return StreamSupport.stream(partitions.spliterator(), true) //
-                    .flatMap(partition -> withSecurityContext(() -> loadingFunction.apply(partition), context).stream())
-                    .collect(Collectors.toList());
+            // Split the provided collection and load the partitions on the
+            // dispatcher executor, which propagates the security context
+            final List<Future<List<R>>> partitions = new ArrayList<>();
+            for (final List<T> partition : Iterables.partition(controllerIds, MAX_PROCESSING_SIZE)) {
+                partitions.add(dispatcherExecutor.submit(() -> loadingFunction.apply(partition)));
+            }
+            try {
+                final List<R> result = new ArrayList<>();
+                for (final Future<List<R>> partition : partitions) {
+                    result.addAll(getPartition(partition));
+                }
+                return result;
+            } finally {
+                partitions.forEach(partition -> partition.cancel(true));
+            }
         }
         return loadingFunction.apply(controllerIds);
     }
 
-    private static <T> T withSecurityContext(final Supplier<T> callable, final SecurityContext securityContext) {
-        final SecurityContext oldContext = SecurityContextHolder.getContext();
+    private static <R> List<R> getPartition(final Future<List<R>> partition) {
         try {
-            SecurityContextHolder.setContext(securityContext);
-            return callable.get();
-        } finally {
-            SecurityContextHolder.setContext(oldContext);
+            return partition.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the targets of an event", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to load the targets of an event", e.getCause());
         }
     }
 
@@ -412,15 +507,20 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private void sendSingleUpdateMessage(final ActionProperties action, final Target target,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
-
-        final String tenant = action.getTenant();
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules, final UpdateMessageTemplates templates) {
 
         final URI targetAddress = target.getAddress();
         if (!IpUtil.isAmqpUri(targetAddress)) {
             return;
         }
 
+        final Message message = templates != null ? templates.toMessage(action, target)
+                : renderUpdateMessage(action, target, modules);
+        amqpSenderService.sendMessage(message, targetAddress);
+    }
+
+    private Message renderUpdateMessage(final ActionProperties action, final Target target,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
         DmfActionRequest request;
         if (action.isWaitingConfirmation()) {
             // For the moment the confirmation request is the same as download and update request.
@@ -430,9 +530,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             request = createDownloadAndUpdateRequest(target, action.getId(), modules);
         }
 
-        final Message message = getMessageConverter().toMessage(request,
-                createConnectorMessagePropertiesEvent(tenant, target.getControllerId(), getEventTypeForTarget(action)));
-        amqpSenderService.sendMessage(message, targetAddress);
+        renderedUpdateMessages.increment();
+        return getMessageConverter().toMessage(request, createConnectorMessagePropertiesEvent(action.getTenant(),
+                target.getControllerId(), getEventTypeForTarget(action)));
     }
 
     protected void sendPingReponseToDmfReceiver(final Message ping, final String tenant, final String virtualHost) {
@@ -468,10 +568,6 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return serviceMatcher == null || serviceMatcher.isFromSelf(event);
     }
 
-    private boolean hasPendingCancellations(final String controllerId) {
-        return deploymentManagement.hasPendingCancellations(controllerId);
-    }
-
     protected void sendCancelMessageToTarget(final String tenant, final String controllerId, final Long actionId,
             final URI address) {
         if (!IpUtil.isAmqpUri(address)) {
@@ -524,14 +620,14 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
+    private DmfSoftwareModule convertToAmqpSoftwareModule(final String controllerId, final Long targetId,
             final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
         final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
         amqpSoftwareModule.setModuleId(entry.getKey().getId());
         amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
         amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
         amqpSoftwareModule.setEncrypted(entry.getKey().isEncrypted() ? Boolean.TRUE : null);
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
+        amqpSoftwareModule.setArtifacts(convertArtifacts(controllerId, targetId, entry.getKey().getArtifacts()));
 
         if (!CollectionUtils.isEmpty(entry.getValue())) {
             amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
@@ -544,21 +640,23 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
     }
 
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
+    private List<DmfArtifact> convertArtifacts(final String controllerId, final Long targetId,
+            final List<Artifact> localArtifacts) {
         if (localArtifacts.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
+        return localArtifacts.stream().map(localArtifact -> convertArtifact(controllerId, targetId, localArtifact))
                 .collect(Collectors.toList());
     }
 
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
+    private DmfArtifact convertArtifact(final String controllerId, final Long targetId,
+            final Artifact localArtifact) {
         final DmfArtifact artifact = new DmfArtifact();
 
         artifact.setUrls(artifactUrlHandler
                 .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
+                        systemManagement.getTenantMetadata().getId(), controllerId, targetId,
                         new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
                                 localArtifact.getId(), localArtifact.getSha1Hash())),
                         ApiType.DMF)
@@ -595,8 +693,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         // target-specific urls
         final Target firstTarget = targets.get(0);
         if (modules != null) {
-            modules.entrySet()
-                    .forEach(entry -> batchRequest.addSoftwareModule(convertToAmqpSoftwareModule(firstTarget, entry)));
+            modules.entrySet().forEach(entry -> batchRequest.addSoftwareModule(
+                    convertToAmqpSoftwareModule(firstTarget.getControllerId(), firstTarget.getId(), entry)));
         }
 
         // we use only the first action when constructing message as Tenant and
@@ -647,15 +745,78 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      */
     protected DmfConfirmRequest createConfirmRequest(final Target target, final Long actionId, final Map<SoftwareModule,
             List<SoftwareModuleMetadata>> softwareModules) {
+        return createConfirmRequest(target.getControllerId(), target.getId(), actionId,
+                systemSecurityContext.runAsSystem(target::getSecurityToken), softwareModules);
+    }
+
+    private DmfConfirmRequest createConfirmRequest(final String controllerId, final Long targetId,
+            final Long actionId, final String securityToken,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
         final DmfConfirmRequest request = new DmfConfirmRequest();
         request.setActionId(actionId);
-        request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
+        request.setTargetSecurityToken(securityToken);
 
         //Software modules can be filtered in the future exposing only the needed.
         if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
+            softwareModules.entrySet().forEach(
+                    entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(controllerId, targetId, entry)));
         }
         return request;
     }
+
+    /**
+     * {@link DmfPayloadTemplate}s of the update messages of one assignment,
+     * i.e. one for download and update requests and one for confirmation
+     * requests. A template is created and verified with the first target it
+     * applies to. If the verification fails the messages are rendered for
+     * every target.
+     */
+    private final class UpdateMessageTemplates {
+        private final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules;
+        private final Map<Boolean, Optional<DmfPayloadTemplate>> templates = new HashMap<>();
+
+        private UpdateMessageTemplates(final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+            this.modules = modules;
+        }
+
+        private Message toMessage(final ActionProperties action, final Target target) {
+            final String securityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
+            if (action.getId() == null || target.getId() == null || securityToken == null) {
+                return renderUpdateMessage(action, target, modules);
+            }
+
+            final Optional<DmfPayloadTemplate> template = templates.get(action.isWaitingConfirmation());
+            if (template == null) {
+                final Message message = renderUpdateMessage(action, target, modules);
+                templates.put(action.isWaitingConfirmation(),
+                        Optional.ofNullable(createTemplate(action)).filter(created -> Arrays.equals(
+                                created.toMessage(target.getControllerId(), target.getId(), action.getId(),
+                                        securityToken, getEventTypeForTarget(action)).getBody(),
+                                message.getBody())));
+                return message;
+            }
+            if (!template.isPresent()) {
+                return renderUpdateMessage(action, target, modules);
+            }
+
+            templatedUpdateMessages.increment();
+            return template.get().toMessage(target.getControllerId(), target.getId(), action.getId(), securityToken,
+                    getEventTypeForTarget(action));
+        }
+
+        private DmfPayloadTemplate createTemplate(final ActionProperties action) {
+            final DmfActionRequest request = action.isWaitingConfirmation()
+                    ? createConfirmRequest(DmfPayloadTemplate.CONTROLLER_ID, DmfPayloadTemplate.TARGET_ID,
+                            DmfPayloadTemplate.ACTION_ID, DmfPayloadTemplate.SECURITY_TOKEN, modules)
+                    : createDownloadAndUpdateRequest(DmfPayloadTemplate.CONTROLLER_ID, DmfPayloadTemplate.TARGET_ID,
+                            DmfPayloadTemplate.ACTION_ID, DmfPayloadTemplate.SECURITY_TOKEN, modules);
+            final DmfPayloadTemplate template = DmfPayloadTemplate.create(getMessageConverter().toMessage(request,
+                    createConnectorMessagePropertiesEvent(action.getTenant(), DmfPayloadTemplate.CONTROLLER_ID,
+                            getEventTypeForTarget(action))));
+            if (template == null) {
+                LOG.debug("Update message of action {} cannot be used as template.", action.getId());
+            }
+            return template;
+        }
+    }
 }
@@ -13,9 +13,15 @@ import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationPrope
 
 import java.io.Serializable;
 import java.net.URI;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -48,6 +54,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
@@ -63,6 +70,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -124,7 +132,8 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
     }
 
     /**
-     * Method to handle all incoming DMF amqp messages.
+     * Method to handle all incoming DMF amqp messages. Not started if the
+     * {@link AmqpBatchMessageHandlerService} is enabled.
      *
      * @param message
      *            incoming message
@@ -134,7 +143,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the contentType of the message
      * @return a message if <null> no message is send back to sender
      */
-    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory")
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory", autoStartup = "#{!${hawkbit.dmf.rabbitmq.batch-listener.enabled:false}}")
     public Message onMessage(final Message message,
             @Header(name = MessageHeaderKey.TYPE, required = false) final String type,
             @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant) {
@@ -194,6 +203,35 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         return null;
     }
 
+    /**
+     * Executed if many THING_CREATED messages of a tenant arrive at once, e.g.
+     * on a reconnect of many things. The messages are handled as by
+     * {@link #onMessage(Message, String, String, String)}, but the targets are
+     * registered and their actions are retrieved in bulk.
+     *
+     * @param messages
+     *            the THING_CREATED messages
+     * @param tenant
+     *            the tenant
+     * @param virtualHost
+     *            the virtual host
+     */
+    public void onThingsCreated(final List<Message> messages, final String tenant, final String virtualHost) {
+        if (StringUtils.isEmpty(tenant)) {
+            throw new AmqpRejectAndDontRequeueException("Invalid message! tenant and type header are mandatory!");
+        }
+
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(tenant);
+            registerTargets(messages, virtualHost);
+        } catch (final IllegalArgumentException ex) {
+            throw new AmqpRejectAndDontRequeueException("Invalid message!", ex);
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
     private static void setSecurityContext(final Authentication authentication) {
         final SecurityContextImpl securityContextImpl = new SecurityContextImpl();
         securityContextImpl.setAuthentication(authentication);
@@ -220,11 +258,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      */
     private void registerTarget(final Message message, final String virtualHost) {
         final String thingId = getStringHeaderKey(message, MessageHeaderKey.THING_ID, THING_ID_NULL);
-        final String replyTo = message.getMessageProperties().getReplyTo();
-
-        if (StringUtils.isEmpty(replyTo)) {
-            logAndThrowMessageError(message, "No ReplyTo was set for the createThing message.");
-        }
+        final String replyTo = getReplyTo(message);
 
         try {
             final URI amqpUri = IpUtil.createAmqpUri(virtualHost, replyTo);
@@ -252,6 +286,54 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
     }
 
+    /**
+     * Method to create or find the targets of many THING_CREATED messages at
+     * once and to send their current actions in bulk.
+     *
+     * @param messages
+     *            the messages that contain the replyTo property and
+     *            optionally the name and attributes in body
+     * @param virtualHost
+     *            the virtual host
+     */
+    private void registerTargets(final List<Message> messages, final String virtualHost) {
+        final List<TargetRegistration> registrations = new ArrayList<>(messages.size());
+        final List<Entry<String, DmfAttributeUpdate>> attributeUpdates = new ArrayList<>();
+        for (final Message message : messages) {
+            final String thingId = getStringHeaderKey(message, MessageHeaderKey.THING_ID, THING_ID_NULL);
+            final URI amqpUri = IpUtil.createAmqpUri(virtualHost, getReplyTo(message));
+            if (isOptionalMessageBodyEmpty(message)) {
+                registrations.add(new TargetRegistration(thingId, amqpUri, null));
+            } else {
+                checkContentTypeJson(message);
+                final DmfCreateThing thingCreateBody = convertMessage(message, DmfCreateThing.class);
+                registrations.add(new TargetRegistration(thingId, amqpUri, thingCreateBody.getName()));
+                if (thingCreateBody.getAttributeUpdate() != null) {
+                    attributeUpdates.add(new SimpleImmutableEntry<>(thingId, thingCreateBody.getAttributeUpdate()));
+                }
+            }
+        }
+
+        try {
+            final List<Target> targets = controllerManagement.findOrRegisterTargetsIfTheyDoNotExist(registrations);
+            attributeUpdates.forEach(update -> controllerManagement.updateControllerAttributes(update.getKey(),
+                    update.getValue().getAttributes(), getUpdateMode(update.getValue())));
+            LOG.debug("{} targets reported online state.", targets.size());
+            sendUpdateCommandToTargets(targets);
+        } catch (final EntityAlreadyExistsException e) {
+            throw new AmqpRejectAndDontRequeueException(
+                    "Tried to register previously registered target, message will be ignored!", e);
+        }
+    }
+
+    private static String getReplyTo(final Message message) {
+        final String replyTo = message.getMessageProperties().getReplyTo();
+        if (StringUtils.isEmpty(replyTo)) {
+            logAndThrowMessageError(message, "No ReplyTo was set for the createThing message.");
+        }
+        return replyTo;
+    }
+
     private static boolean isOptionalMessageBodyEmpty(final Message message) {
         // empty byte array message body is serialized to double-quoted string
         // by message converter and should also be considered as empty
@@ -266,6 +348,60 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
     }
 
+    private void sendUpdateCommandToTargets(final List<Target> targets) {
+        final List<String> controllerIds = targets.stream().map(Target::getControllerId)
+                .collect(Collectors.toList());
+        if (isMultiAssignmentsEnabled()) {
+            sendCurrentActionsAsMultiActionToTargets(targets,
+                    controllerManagement.findActiveActionsWithHighestWeight(controllerIds, MAX_ACTION_COUNT));
+        } else {
+            sendOldestActionToTargets(targets, controllerManagement.findActiveActionsWithHighestWeight(controllerIds, 1));
+        }
+    }
+
+    private void sendCurrentActionsAsMultiActionToTargets(final List<Target> targets,
+            final Map<String, List<Action>> actionsByControllerId) {
+        final Map<Long, Map<SoftwareModule, List<SoftwareModuleMetadata>>> softwareModulesPerDistributionSet = new HashMap<>();
+        targets.forEach(target -> {
+            final List<Action> actions = actionsByControllerId.get(target.getControllerId());
+            if (actions != null) {
+                amqpMessageDispatcherService.sendMultiActionRequestToTarget(target.getTenant(), target, actions,
+                        action -> softwareModulesPerDistributionSet.computeIfAbsent(
+                                action.getDistributionSet().getId(),
+                                dsId -> getSoftwareModulesWithMetadata(action.getDistributionSet())));
+            }
+        });
+    }
+
+    /**
+     * Sends the cancellations one by one and the updates of the targets with
+     * the same distribution set and address with one call, so the software
+     * modules are rendered only once.
+     */
+    private void sendOldestActionToTargets(final List<Target> targets,
+            final Map<String, List<Action>> actionsByControllerId) {
+        final Map<List<Object>, UpdateGroup> updateGroups = new LinkedHashMap<>();
+        targets.forEach(target -> {
+            final List<Action> actions = actionsByControllerId.get(target.getControllerId());
+            if (CollectionUtils.isEmpty(actions)) {
+                return;
+            }
+
+            final Action action = actions.get(0);
+            if (action.isCancelingOrCanceled()) {
+                amqpMessageDispatcherService.sendCancelMessageToTarget(target.getTenant(), target.getControllerId(),
+                        action.getId(), target.getAddress());
+            } else {
+                updateGroups.computeIfAbsent(Arrays.asList(action.getDistributionSet().getId(), target.getAddress()),
+                        key -> new UpdateGroup(action.getDistributionSet())).add(target, action);
+            }
+        });
+
+        updateGroups.values()
+                .forEach(group -> amqpMessageDispatcherService.sendUpdateMessageToTargets(group.actionProperties,
+                        group.targets, getSoftwareModulesWithMetadata(group.distributionSet)));
+    }
+
     private void sendCurrentActionsAsMultiActionToTarget(final Target target) {
         final List<Action> actions = controllerManagement.findActiveActionsWithHighestWeight(target.getControllerId(),
                 MAX_ACTION_COUNT);
@@ -397,9 +533,16 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                 actionStatus.code(code);
                 actionStatus.message("Device reported status code: " + code);
             });
-            updatedAction = ((Status.CANCELED == status) || (Status.CANCEL_REJECTED == status)) ?
-                    controllerManagement.addCancelActionStatus(actionStatus)
-                    : controllerManagement.addUpdateActionStatus(actionStatus);
+            if ((Status.CANCELED == status) || (Status.CANCEL_REJECTED == status)) {
+                updatedAction = controllerManagement.addCancelActionStatus(actionStatus);
+            } else if (isIntermediateStatus(status)) {
+                // does not change the action, so it can be persisted
+                // asynchronously
+                controllerManagement.queueUpdateActionStatus(actionStatus);
+                updatedAction = action;
+            } else {
+                updatedAction = controllerManagement.addUpdateActionStatus(actionStatus);
+            }
         }
 
         if (shouldTargetProceed(updatedAction) || actionUpdateStatus.getActionStatus() == DmfActionStatus.CONFIRMED) {
@@ -407,6 +550,10 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
     }
 
+    private static boolean isIntermediateStatus(final Status status) {
+        return Status.FINISHED != status && Status.ERROR != status && Status.DOWNLOADED != status;
+    }
+
     private static boolean shouldTargetProceed(final Action action) {
         return !action.isActive() || (action.hasMaintenanceSchedule() && action.isMaintenanceWindowAvailable());
     }
@@ -511,4 +658,19 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
     public void setControllerManagement(final ControllerManagement controllerManagement) {
         this.controllerManagement = controllerManagement;
     }
+
+    private static final class UpdateGroup {
+        private final DistributionSet distributionSet;
+        private final Map<String, ActionProperties> actionProperties = new HashMap<>();
+        private final List<Target> targets = new ArrayList<>();
+
+        private UpdateGroup(final DistributionSet distributionSet) {
+            this.distributionSet = distributionSet;
+        }
+
+        private void add(final Target target, final Action action) {
+            actionProperties.put(target.getControllerId(), new ActionProperties(action));
+            targets.add(target);
+        }
+    }
 }
@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.amqp;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -22,6 +24,10 @@ public class AmqpProperties {
 
     private static final long DEFAULT_REQUEUE_DELAY = 0;
 
+    private static final int DEFAULT_DISPATCHER_THREADS = 4;
+
+    private static final int DEFAULT_DISPATCHER_QUEUE_SIZE = 100;
+
     /**
      * Enable DMF API based on AMQP 0.9
      */
@@ -66,6 +72,52 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Number of threads that load the targets of large assignments and
+     * cancellations before the DMF messages are sent.
+     */
+    private int dispatcherThreads = DEFAULT_DISPATCHER_THREADS;
+
+    /**
+     * Maximum number of target partitions waiting for a dispatcher thread. If
+     * exceeded the partitions are loaded by the thread that handles the event.
+     */
+    private int dispatcherQueueSize = DEFAULT_DISPATCHER_QUEUE_SIZE;
+
+    /**
+     * Configuration of the sender of outgoing DMF messages.
+     */
+    private final Sender sender = new Sender();
+
+    public Sender getSender() {
+        return sender;
+    }
+
+    /**
+     * Configuration of the batch listener of the DMF receiver queue.
+     */
+    private final BatchListener batchListener = new BatchListener();
+
+    public BatchListener getBatchListener() {
+        return batchListener;
+    }
+
+    public int getDispatcherThreads() {
+        return dispatcherThreads;
+    }
+
+    public void setDispatcherThreads(final int dispatcherThreads) {
+        this.dispatcherThreads = dispatcherThreads;
+    }
+
+    public int getDispatcherQueueSize() {
+        return dispatcherQueueSize;
+    }
+
+    public void setDispatcherQueueSize(final int dispatcherQueueSize) {
+        this.dispatcherQueueSize = dispatcherQueueSize;
+    }
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
@@ -129,4 +181,145 @@ public class AmqpProperties {
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * Configuration of the sender of outgoing DMF messages.
+     */
+    public static class Sender {
+
+        private static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+
+        private static final int DEFAULT_BATCH_SIZE = 100;
+
+        private static final int DEFAULT_MAX_RETRIES = 3;
+
+        private static final long DEFAULT_MAX_BLOCK_TIME = TimeUnit.SECONDS.toMillis(30);
+
+        /**
+         * Publish the messages asynchronously in batches instead of one at a
+         * time by the sending thread. Nacked messages are only retried if
+         * correlated publisher confirms are enabled, i.e.
+         * spring.rabbitmq.publisher-confirm-type=correlated.
+         */
+        private boolean async;
+
+        /**
+         * Maximum number of messages that are queued or waiting for the
+         * publisher confirm. If exceeded the sending thread is blocked.
+         */
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+        /**
+         * Maximum number of messages that are published on one channel at
+         * once.
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Number of times a nacked message is published again.
+         */
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        /**
+         * Maximum time in milliseconds the sending thread is blocked if
+         * {@link #maxInFlight} is exceeded before sending the message fails.
+         */
+        private long maxBlockTime = DEFAULT_MAX_BLOCK_TIME;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(final boolean async) {
+            this.async = async;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getMaxBlockTime() {
+            return maxBlockTime;
+        }
+
+        public void setMaxBlockTime(final long maxBlockTime) {
+            this.maxBlockTime = maxBlockTime;
+        }
+    }
+
+    /**
+     * Configuration of the batch listener of the DMF receiver queue. The
+     * number of consumers is configured as for the single message listener,
+     * i.e. spring.rabbitmq.listener.simple.concurrency and max-concurrency,
+     * so additional consumers are started while the queue is not drained.
+     */
+    public static class BatchListener {
+
+        private static final int DEFAULT_BATCH_SIZE = 100;
+
+        private static final long DEFAULT_RECEIVE_TIMEOUT = 100;
+
+        /**
+         * Consume the DMF receiver queue in batches instead of one message at a
+         * time. The messages of a batch are grouped by tenant and type and
+         * every group is handled in one transaction.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of messages of a batch. The prefetch count of the
+         * consumers is increased to at least the batch size.
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Time in milliseconds to wait for further messages before an
+         * incomplete batch is handled.
+         */
+        private long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getReceiveTimeout() {
+            return receiveTimeout;
+        }
+
+        public void setReceiveTimeout(final long receiveTimeout) {
+            this.receiveTimeout = receiveTimeout;
+        }
+    }
 }
@@ -19,14 +19,21 @@ import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.util.StringUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * A default implementation for the sender service. The service sends all amqp
  * message to the configured spring rabbitmq connections. The exchange is
  * extracted from the uri.
+ *
+ * By default a message is sent by the calling thread. In asynchronous mode the
+ * messages are published by a {@link PipelinedMessagePublisher}.
  */
 public class DefaultAmqpMessageSenderService extends BaseAmqpService implements AmqpMessageSenderService {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAmqpMessageSenderService.class);
 
+    private final PipelinedMessagePublisher publisher;
+
     /**
      * Constructor.
      * 
@@ -35,6 +42,32 @@ public class DefaultAmqpMessageSenderService extends BaseAmqpService implements
      */
     public DefaultAmqpMessageSenderService(final RabbitTemplate rabbitTemplate) {
         super(rabbitTemplate);
+        this.publisher = null;
+    }
+
+    /**
+     * Constructor for the asynchronous mode.
+     *
+     * @param rabbitTemplate
+     *            the AMQP template
+     * @param senderProperties
+     *            to configure the asynchronous publishing
+     * @param meterRegistry
+     *            to register the publisher metrics at
+     */
+    public DefaultAmqpMessageSenderService(final RabbitTemplate rabbitTemplate,
+            final AmqpProperties.Sender senderProperties, final MeterRegistry meterRegistry) {
+        super(rabbitTemplate);
+        this.publisher = new PipelinedMessagePublisher(rabbitTemplate, senderProperties, meterRegistry);
+    }
+
+    /**
+     * Publishes the queued messages in asynchronous mode.
+     */
+    public void shutdown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
     }
 
     @Override
@@ -56,7 +89,11 @@ public class DefaultAmqpMessageSenderService extends BaseAmqpService implements
             LOGGER.debug("Sending message to exchange {} with correlationId {}", exchange, correlationId);
         }
 
-        getRabbitTemplate().send(exchange, "", message, new CorrelationData(correlationId));
+        if (publisher != null) {
+            publisher.publish(exchange, message, correlationId);
+        } else {
+            getRabbitTemplate().send(exchange, "", message, new CorrelationData(correlationId));
+        }
     }
 
     protected static boolean isCorrelationIdEmpty(final Message message) {
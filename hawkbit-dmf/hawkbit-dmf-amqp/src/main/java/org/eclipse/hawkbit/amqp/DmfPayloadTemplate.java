@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.hawkbit.api.Base62Util;
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Pre-rendered body of a DMF message that is sent to many targets, e.g. the
+ * download and update request of a distribution set assignment. The message
+ * is rendered once with the placeholder values of this class for the target
+ * specific fields, i.e. action ID, security token, controller ID and target
+ * ID in the artifact URLs. For every target only the placeholders are
+ * replaced, so the software modules, artifacts and metadata are neither
+ * converted nor serialized again.
+ *
+ * A template is only valid if the message converter renders the target
+ * specific values as they are, which has to be verified by comparing the
+ * message of one target with its regularly rendered message.
+ */
+final class DmfPayloadTemplate {
+
+    static final long ACTION_ID = 8_472_019_305_716_482_937L;
+    static final long TARGET_ID = 6_193_847_502_938_174_625L;
+    static final String CONTROLLER_ID = "dmfTemplateControllerId7Q2Xv9";
+    static final String SECURITY_TOKEN = "dmfTemplateSecurityToken4Kp8Zr";
+
+    private final byte[] body;
+    private final List<Slot> slots;
+    private final MessageProperties messageProperties;
+
+    private DmfPayloadTemplate(final byte[] body, final List<Slot> slots,
+            final MessageProperties messageProperties) {
+        this.body = body;
+        this.slots = slots;
+        this.messageProperties = messageProperties;
+    }
+
+    /**
+     * Creates a template from the given message.
+     *
+     * @param message
+     *            rendered with the placeholder values of this class
+     * @return the template or <code>null</code> if the message is not
+     *         suitable, e.g. it is not encoded in UTF-8 or the placeholders
+     *         cannot be located unambiguously
+     */
+    static DmfPayloadTemplate create(final Message message) {
+        final MessageProperties properties = message.getMessageProperties();
+        if (!StandardCharsets.UTF_8.name().equalsIgnoreCase(properties.getContentEncoding())) {
+            return null;
+        }
+
+        final byte[] body = message.getBody();
+        final List<Slot> slots = new ArrayList<>();
+        for (final Field field : Field.values()) {
+            final byte[] placeholder = field.placeholder();
+            for (int i = indexOf(body, placeholder, 0); i >= 0; i = indexOf(body, placeholder,
+                    i + placeholder.length)) {
+                slots.add(new Slot(field, i, placeholder.length));
+            }
+        }
+        slots.sort(Comparator.comparingInt(slot -> slot.offset));
+
+        for (int i = 1; i < slots.size(); i++) {
+            final Slot previous = slots.get(i - 1);
+            if (previous.offset + previous.length > slots.get(i).offset) {
+                return null;
+            }
+        }
+        return new DmfPayloadTemplate(body, slots, properties);
+    }
+
+    /**
+     * Renders the message of a target.
+     *
+     * @param controllerId
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @param actionId
+     *            of the action
+     * @param securityToken
+     *            of the target
+     * @param topic
+     *            of the action
+     * @return the message
+     */
+    Message toMessage(final String controllerId, final long targetId, final long actionId,
+            final String securityToken, final EventTopic topic) {
+        final byte[][] values = new byte[Field.values().length][];
+        values[Field.ACTION_ID.ordinal()] = ascii(String.valueOf(actionId));
+        values[Field.TARGET_ID.ordinal()] = ascii(String.valueOf(targetId));
+        values[Field.TARGET_ID_BASE62.ordinal()] = ascii(Base62Util.fromBase10(targetId));
+        values[Field.CONTROLLER_ID.ordinal()] = JsonStringEncoder.getInstance().quoteAsUTF8(controllerId);
+        values[Field.SECURITY_TOKEN.ordinal()] = JsonStringEncoder.getInstance().quoteAsUTF8(securityToken);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 64 * slots.size());
+        int position = 0;
+        for (final Slot slot : slots) {
+            out.write(body, position, slot.offset - position);
+            final byte[] value = values[slot.field.ordinal()];
+            out.write(value, 0, value.length);
+            position = slot.offset + slot.length;
+        }
+        out.write(body, position, body.length - position);
+        final byte[] rendered = out.toByteArray();
+
+        return new Message(rendered,
+                MessagePropertiesBuilder.fromClonedProperties(messageProperties)
+                        .setHeader(MessageHeaderKey.THING_ID, controllerId).setHeader(MessageHeaderKey.TOPIC, topic)
+                        .setContentLength(rendered.length).build());
+    }
+
+    private static int indexOf(final byte[] array, final byte[] target, final int fromIndex) {
+        outer: for (int i = fromIndex; i <= array.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private enum Field {
+        ACTION_ID(String.valueOf(DmfPayloadTemplate.ACTION_ID)),
+        TARGET_ID(String.valueOf(DmfPayloadTemplate.TARGET_ID)),
+        TARGET_ID_BASE62(Base62Util.fromBase10(DmfPayloadTemplate.TARGET_ID)),
+        CONTROLLER_ID(DmfPayloadTemplate.CONTROLLER_ID),
+        SECURITY_TOKEN(DmfPayloadTemplate.SECURITY_TOKEN);
+
+        private final String placeholder;
+
+        Field(final String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        private byte[] placeholder() {
+            return ascii(placeholder);
+        }
+    }
+
+    private static final class Slot {
+        private final Field field;
+        private final int offset;
+        private final int length;
+
+        private Slot(final Field field, final int offset, final int length) {
+            this.field = field;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes messages asynchronously with pipelined publisher confirms. The
+ * messages are queued and published by a dedicated thread in batches per
+ * exchange, every batch on one channel, without waiting for the confirms of
+ * the previous messages. The number of messages that are queued or waiting
+ * for the confirm is bounded, if exceeded the sending thread is blocked up to
+ * a maximum time.
+ *
+ * Messages that are nacked by the broker or cannot be published are queued
+ * again, so they may be delivered out of order. If correlated publisher
+ * confirms are not enabled a message is completed as soon as it is published.
+ */
+class PipelinedMessagePublisher {
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedMessagePublisher.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.dmf.sender";
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean publisherConfirms;
+    private final int batchSize;
+    private final int maxRetries;
+    private final int maxInFlight;
+    private final long maxBlockTime;
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor;
+    private volatile boolean running = true;
+
+    private final Timer publishTimer;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            to publish the messages with
+     * @param senderProperties
+     *            to configure the batches and the in-flight window
+     * @param meterRegistry
+     *            to register the publisher metrics at
+     */
+    PipelinedMessagePublisher(final RabbitTemplate rabbitTemplate, final AmqpProperties.Sender senderProperties,
+            final MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.publisherConfirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        this.batchSize = Math.max(1, senderProperties.getBatchSize());
+        this.maxRetries = Math.max(0, senderProperties.getMaxRetries());
+        this.maxInFlight = Math.max(1, senderProperties.getMaxInFlight());
+        this.maxBlockTime = Math.max(0, senderProperties.getMaxBlockTime());
+        this.inFlight = new Semaphore(maxInFlight);
+
+        if (!publisherConfirms) {
+            LOG.info("Correlated publisher confirms are not enabled, nacked DMF messages are not retried.");
+        }
+
+        Gauge.builder(METRIC_PREFIX + ".inflight", this, PipelinedMessagePublisher::getInFlight)
+                .description("Number of messages that are queued or waiting for the publisher confirm")
+                .register(meterRegistry);
+        publishTimer = Timer.builder(METRIC_PREFIX + ".publish")
+                .description("Time until a message is confirmed by the broker").register(meterRegistry);
+        retryCounter = Counter.builder(METRIC_PREFIX + ".retries")
+                .description("Messages that are published again").register(meterRegistry);
+        failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Messages that could not be published").register(meterRegistry);
+
+        executor = Executors
+                .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("dmf-sender-%d").build());
+        executor.execute(this::run);
+    }
+
+    /**
+     * Queues a message for publishing. Blocks if the in-flight window is
+     * exhausted.
+     *
+     * @throws AmqpException
+     *             if the in-flight window is still exhausted after the
+     *             configured maximum block time
+     *
+     * @param exchange
+     *            to publish the message to
+     * @param message
+     *            the message
+     * @param correlationId
+     *            to correlate the publisher confirm with
+     */
+    void publish(final String exchange, final Message message, final String correlationId) {
+        if (!running) {
+            throw new IllegalStateException("DMF message publisher is shut down");
+        }
+        try {
+            if (!inFlight.tryAcquire(maxBlockTime, TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Timed out waiting to publish a DMF message to exchange " + exchange);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to publish a DMF message", e);
+        }
+        queue.add(new PendingMessage(exchange, message, correlationId));
+    }
+
+    /**
+     * @return number of messages that are queued or waiting for the
+     *         publisher confirm
+     */
+    int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Publishes the queued messages and stops the publisher thread.
+     */
+    void shutdown() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("{} DMF messages have not been published before shutdown.", queue.size());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        final List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final PendingMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.stream()
+                        .collect(Collectors.groupingBy(PendingMessage::getExchange, LinkedHashMap::new,
+                                Collectors.toList()))
+                        .forEach(this::publishBatch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publishBatch(final String exchange, final List<PendingMessage> messages) {
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (final PendingMessage pending : messages) {
+                    send(operations, pending);
+                }
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            // the messages published before the failure are completed by
+            // their confirms
+            LOG.debug("Failed to publish a batch of DMF messages to exchange {}", exchange, e);
+            messages.stream().filter(pending -> !pending.isPublished())
+                    .forEach(pending -> retry(pending, e.getMessage()));
+        }
+    }
+
+    private void send(final RabbitOperations operations, final PendingMessage pending) {
+        final CorrelationData correlationData = new CorrelationData(pending.correlationId);
+        operations.send(pending.exchange, "", pending.message, correlationData);
+        pending.published = true;
+
+        if (!publisherConfirms) {
+            complete(pending);
+            return;
+        }
+        correlationData.getFuture().addCallback(confirm -> {
+            if (confirm != null && confirm.isAck()) {
+                complete(pending);
+            } else {
+                retry(pending, confirm == null ? null : confirm.getReason());
+            }
+        }, ex -> retry(pending, ex.getMessage()));
+    }
+
+    private void complete(final PendingMessage pending) {
+        publishTimer.record(System.nanoTime() - pending.queuedAt, TimeUnit.NANOSECONDS);
+        inFlight.release();
+    }
+
+    private void retry(final PendingMessage pending, final String cause) {
+        if (pending.attempts < maxRetries && running) {
+            LOG.debug("Publishing message with correlationId {} to exchange {} again: {}", pending.correlationId,
+                    pending.exchange, cause);
+            pending.attempts++;
+            pending.published = false;
+            retryCounter.increment();
+            queue.add(pending);
+            return;
+        }
+        LOG.error("Broker is unable to handle message with correlationId {} to exchange {}: {}",
+                pending.correlationId, pending.exchange, cause);
+        failedCounter.increment();
+        inFlight.release();
+    }
+
+    private static final class PendingMessage {
+        private final String exchange;
+        private final Message message;
+        private final String correlationId;
+        private final long queuedAt = System.nanoTime();
+        private volatile int attempts;
+        private volatile boolean published;
+
+        private PendingMessage(final String exchange, final Message message, final String correlationId) {
+            this.exchange = exchange;
+            this.message = message;
+            this.correlationId = correlationId;
+        }
+
+        private String getExchange() {
+            return exchange;
+        }
+
+        private boolean isPublished() {
+            return published;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.ErrorHandler;
+
+import com.rabbitmq.client.Channel;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@ExtendWith(MockitoExtension.class)
+@Feature("Component Tests - Device Management Federation API")
+@Story("AmqpMessage Batch Handler Service Test")
+class AmqpBatchMessageHandlerServiceTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String VIRTUAL_HOST = "vHost";
+
+    @Mock
+    private AmqpMessageHandlerService messageHandlerService;
+    @Mock
+    private TenantAware tenantAware;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ErrorHandler errorHandler;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private ConnectionFactory connectionFactory;
+    @Mock
+    private Channel channel;
+
+    private AmqpBatchMessageHandlerService underTest;
+
+    @BeforeEach
+    void before() {
+        when(messageHandlerService.getRabbitTemplate()).thenReturn(rabbitTemplate);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.getVirtualHost()).thenReturn(VIRTUAL_HOST);
+        underTest = new AmqpBatchMessageHandlerService(messageHandlerService, tenantAware, transactionManager,
+                errorHandler);
+    }
+
+    @Test
+    @Description("Verifies that the messages of the same tenant and type are handled in one transaction.")
+    void groupIsHandledInOneTransaction() throws Exception {
+        mockTransactions();
+        final Message first = message(1, MessageType.EVENT, "thing1");
+        final Message second = message(2, MessageType.EVENT, "thing2");
+        final Message third = message(3, MessageType.EVENT, "thing3");
+
+        underTest.onMessages(Arrays.asList(first, second, third), channel);
+
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(messageHandlerService, times(3)).onMessage(any(), eq(MessageType.EVENT.name()), eq(TENANT),
+                eq(VIRTUAL_HOST));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, never()).basicNack(any(Long.class), any(Boolean.class), any(Boolean.class));
+    }
+
+    @Test
+    @Description("Verifies that the messages of a failed group are handled one by one and the failed message is "
+            + "rejected or requeued as decided by the error handler.")
+    void failedGroupIsHandledOneByOne() throws Exception {
+        mockTransactions();
+        final Message valid = message(1, MessageType.EVENT, "thing1");
+        final Message invalid = message(2, MessageType.EVENT, "thing2");
+        final Message requeued = message(3, MessageType.EVENT, "thing3");
+        lenient().doThrow(new AmqpRejectAndDontRequeueException("invalid")).when(messageHandlerService)
+                .onMessage(same(invalid), anyString(), anyString(), anyString());
+        lenient().doThrow(new IllegalStateException("temporary")).when(messageHandlerService).onMessage(same(requeued),
+                anyString(), anyString(), anyString());
+
+        underTest.onMessages(Arrays.asList(valid, invalid, requeued), channel);
+
+        verify(transactionManager).rollback(any());
+        verify(messageHandlerService, times(2)).onMessage(same(valid), anyString(), anyString(), anyString());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicNack(3, false, true);
+        verify(errorHandler).handleError(any());
+    }
+
+    @Test
+    @Description("Verifies that action status updates are handled one by one, so a failing update does not cause "
+            + "the others to be handled, and thereby queued, twice.")
+    void actionStatusUpdatesAreHandledOnce() throws Exception {
+        final Message first = message(1, MessageType.EVENT, "thing1", EventTopic.UPDATE_ACTION_STATUS);
+        final Message failing = message(2, MessageType.EVENT, "thing2", EventTopic.UPDATE_ACTION_STATUS);
+        final Message third = message(3, MessageType.EVENT, "thing3", EventTopic.UPDATE_ACTION_STATUS);
+        lenient().doThrow(new AmqpRejectAndDontRequeueException("invalid")).when(messageHandlerService)
+                .onMessage(same(failing), anyString(), anyString(), anyString());
+
+        underTest.onMessages(Arrays.asList(first, failing, third), channel);
+
+        verify(transactionManager, never()).getTransaction(any());
+        verify(messageHandlerService).onMessage(same(first), anyString(), anyString(), anyString());
+        verify(messageHandlerService).onMessage(same(failing), anyString(), anyString(), anyString());
+        verify(messageHandlerService).onMessage(same(third), anyString(), anyString(), anyString());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicAck(3, false);
+    }
+
+    @Test
+    @Description("Verifies that the things of a group of THING_CREATED messages are registered in bulk.")
+    void thingsAreCreatedInBulk() throws Exception {
+        mockTransactions();
+        final Message first = message(1, MessageType.THING_CREATED, "thing1");
+        final Message second = message(2, MessageType.THING_CREATED, "thing2");
+
+        underTest.onMessages(Arrays.asList(first, second), channel);
+
+        verify(messageHandlerService).onThingsCreated(Arrays.asList(first, second), TENANT, VIRTUAL_HOST);
+        verify(messageHandlerService, never()).onMessage(any(), anyString(), anyString(), anyString());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+    }
+
+    @Test
+    @Description("Verifies that the messages of a thing are handled in the order they have been received.")
+    void messagesOfAThingAreHandledInOrder() throws Exception {
+        final Message statusOfFirst = message(1, MessageType.EVENT, "thing1");
+        final Message creationOfSecond = message(2, MessageType.THING_CREATED, "thing2");
+        final Message statusOfSecond = message(3, MessageType.EVENT, "thing2");
+
+        underTest.onMessages(Arrays.asList(statusOfFirst, creationOfSecond, statusOfSecond), channel);
+
+        final InOrder inOrder = inOrder(messageHandlerService);
+        inOrder.verify(messageHandlerService).onMessage(same(statusOfFirst), anyString(), anyString(), anyString());
+        inOrder.verify(messageHandlerService).onMessage(same(creationOfSecond), anyString(), anyString(),
+                anyString());
+        inOrder.verify(messageHandlerService).onMessage(same(statusOfSecond), anyString(), anyString(),
+                anyString());
+        verify(channel, times(3)).basicAck(any(Long.class), eq(false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactions() {
+        when(tenantAware.runAsTenant(eq(TENANT), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1, TenantRunner.class).run());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private static Message message(final long deliveryTag, final MessageType type, final String thingId,
+            final EventTopic topic) {
+        final Message message = message(deliveryTag, type, thingId);
+        message.getMessageProperties().setHeader(MessageHeaderKey.TOPIC, topic.name());
+        return message;
+    }
+
+    private static Message message(final long deliveryTag, final MessageType type, final String thingId) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setDeliveryTag(deliveryTag);
+        messageProperties.setHeader(MessageHeaderKey.TENANT, TENANT);
+        messageProperties.setHeader(MessageHeaderKey.TYPE, type.name());
+        messageProperties.setHeader(MessageHeaderKey.THING_ID, thingId);
+        return new Message(new byte[0], messageProperties);
+    }
+}
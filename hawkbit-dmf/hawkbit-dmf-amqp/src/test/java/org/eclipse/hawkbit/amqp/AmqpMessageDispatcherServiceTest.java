@@ -24,6 +24,7 @@ import java.util.UUID;
 
 import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
 import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystem;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -61,6 +62,9 @@ import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -215,6 +219,68 @@ class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the update messages of an assignment to multiple targets are rendered from a "
+            + "template and contain the target specific action, security token and artifact URLs.")
+    void sendDownloadRequestsFromTemplate() {
+        final ArtifactUrlHandler artifactUrlHandler = mock(ArtifactUrlHandler.class);
+        when(artifactUrlHandler.getUrls(any(), any())).thenAnswer(invocation -> {
+            final URLPlaceholder placeholder = invocation.getArgument(0);
+            return Collections.singletonList(new ArtifactUrl("http", "download", "http://mockurl/"
+                    + placeholder.getControllerId() + "/" + placeholder.getTargetId() + "/"
+                    + placeholder.getSoftwareData().getFilename()));
+        });
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final AmqpMessageDispatcherService dispatcherService = new AmqpMessageDispatcherService(rabbitTemplate,
+                senderService, artifactUrlHandler, systemSecurityContext, systemManagement, targetManagement,
+                serviceMatcher, distributionSetManagement, softwareModuleManagement, deploymentManagement,
+                tenantConfigurationManagement, MoreExecutors.newDirectExecutorService(), meterRegistry);
+
+        final DistributionSet ds = testdataFactory.createDistributionSet(UUID.randomUUID().toString());
+        testdataFactory.createArtifacts(ds.getModules().iterator().next().getId());
+        testdataFactory.addSoftwareModuleMetadata(ds);
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            targets.add(targetManagement.create(entityFactory.target().create().controllerId("template" + i)
+                    .securityToken("template" + i + TEST_TOKEN).address(AMQP_URI.toString())));
+        }
+        final List<Action> actions = assignDistributionSet(ds, targets).getAssignedEntity();
+
+        dispatcherService.targetAssignDistributionSet(new TargetAssignDistributionSetEvent(tenantAware.getCurrentTenant(), ds.getId(),
+                actions, serviceMatcher.getBusId(), true));
+
+        final ArgumentCaptor<Message> argumentCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(senderService, Mockito.times(3)).sendMessage(argumentCaptor.capture(), eq(AMQP_URI));
+        final List<Message> messages = argumentCaptor.getAllValues();
+        for (final Action action : actions) {
+            final Target target = action.getTarget();
+            final Message message = messages.stream().filter(sent -> target.getControllerId()
+                    .equals(sent.getMessageProperties().getHeaders().get(MessageHeaderKey.THING_ID))).findAny()
+                    .orElseThrow();
+            assertThat(message.getMessageProperties().getHeaders())
+                    .containsEntry(MessageHeaderKey.TOPIC, EventTopic.DOWNLOAD_AND_INSTALL)
+                    .containsEntry(MessageHeaderKey.TENANT, action.getTenant());
+            assertThat(message.getMessageProperties().getContentLength()).isEqualTo(message.getBody().length);
+
+            final DmfDownloadAndUpdateRequest request = convertMessage(message, DmfDownloadAndUpdateRequest.class);
+            assertThat(request.getActionId()).isEqualTo(action.getId());
+            assertThat(request.getTargetSecurityToken()).isEqualTo(target.getControllerId() + TEST_TOKEN);
+            assertThat(request.getSoftwareModules()).hasSize(3).allSatisfy(module -> {
+                assertThat(module.getMetadata()).containsExactly(
+                        new DmfMetadata(TestdataFactory.VISIBLE_SM_MD_KEY, TestdataFactory.VISIBLE_SM_MD_VALUE));
+                module.getArtifacts().forEach(artifact -> assertThat(artifact.getUrls()).containsEntry("http",
+                        "http://mockurl/" + target.getControllerId() + "/" + target.getId() + "/"
+                                + artifact.getFilename()));
+            });
+            assertThat(request.getSoftwareModules()).flatExtracting(DmfSoftwareModule::getArtifacts).isNotEmpty();
+        }
+
+        assertThat(meterRegistry.get("hawkbit.dmf.dispatcher.update.messages").tag("payload", "template").counter()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get("hawkbit.dmf.dispatcher.update.messages").tag("payload", "rendered").counter()
+                .count()).isEqualTo(1);
+    }
+
     @Test
     @Description("Verifies that sending update controller attributes event works.")
     void sendUpdateAttributesRequest() {
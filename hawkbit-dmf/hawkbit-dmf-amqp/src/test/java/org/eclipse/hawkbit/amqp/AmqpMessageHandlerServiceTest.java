@@ -10,10 +10,12 @@ package org.eclipse.hawkbit.amqp;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -24,6 +26,11 @@ import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -59,6 +66,7 @@ import org.eclipse.hawkbit.repository.model.ActionProperties;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.security.DmfTenantSecurityToken;
 import org.eclipse.hawkbit.security.DmfTenantSecurityToken.FileResource;
@@ -513,7 +521,8 @@ public class AmqpMessageHandlerServiceTest {
         when(entityFactoryMock.actionStatus()).thenReturn(builder);
 
         when(controllerManagementMock.findActionWithDetails(anyLong())).thenReturn(Optional.of(action));
-        when(controllerManagementMock.addUpdateActionStatus(any())).thenThrow(new AssignmentQuotaExceededException());
+        doThrow(new AssignmentQuotaExceededException()).when(controllerManagementMock)
+                .queueUpdateActionStatus(any());
 
         assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
                 .isThrownBy(() -> amqpMessageHandlerService.onMessage(message, MessageType.EVENT.name(), TENANT,
@@ -593,6 +602,54 @@ public class AmqpMessageHandlerServiceTest {
                 .startsWith("http://localhost/api/v1/downloadserver/downloadId/");
     }
 
+    @Test
+    @Description("Tests the creation of many targets/things at once and that the update of the targets with the same "
+            + "distribution set is sent with one call.")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void createThingsInBulk() {
+        final DmfCreateThing payload = new DmfCreateThing();
+        payload.setName("NonDefaultTargetName");
+        final Message first = createMessage(new byte[0], getThingCreatedMessageProperties("6"));
+        final Message second = createMessage(payload, getThingCreatedMessageProperties("7"));
+
+        final Target firstTarget = mock(Target.class);
+        when(firstTarget.getControllerId()).thenReturn("6");
+        final Target secondTarget = mock(Target.class);
+        when(secondTarget.getControllerId()).thenReturn("7");
+        final ArgumentCaptor<Collection<TargetRegistration>> registrationsCaptor = ArgumentCaptor
+                .forClass(Collection.class);
+        when(controllerManagementMock.findOrRegisterTargetsIfTheyDoNotExist(registrationsCaptor.capture()))
+                .thenReturn(Arrays.asList(firstTarget, secondTarget));
+
+        final DistributionSet distributionSet = mock(DistributionSet.class);
+        when(distributionSet.getId()).thenReturn(1L);
+        final Action firstAction = mock(Action.class);
+        when(firstAction.getDistributionSet()).thenReturn(distributionSet);
+        final Action secondAction = mock(Action.class);
+        when(secondAction.getDistributionSet()).thenReturn(distributionSet);
+        final Map<String, List<Action>> actions = new HashMap<>();
+        actions.put("6", Collections.singletonList(firstAction));
+        actions.put("7", Collections.singletonList(secondAction));
+        when(controllerManagementMock.findActiveActionsWithHighestWeight(Arrays.asList("6", "7"), 1))
+                .thenReturn(actions);
+
+        amqpMessageHandlerService.onThingsCreated(Arrays.asList(first, second), TENANT, VIRTUAL_HOST);
+
+        assertThat(registrationsCaptor.getValue())
+                .extracting(TargetRegistration::getControllerId, TargetRegistration::getName)
+                .containsExactly(tuple("6", null), tuple("7", "NonDefaultTargetName"));
+        assertThat(registrationsCaptor.getValue()).extracting(TargetRegistration::getAddress)
+                .allSatisfy(uri -> assertThat(uri).hasToString("amqp://" + VIRTUAL_HOST + "/MyTest"));
+
+        final ArgumentCaptor<Map<String, ActionProperties>> actionPropertiesCaptor = ArgumentCaptor
+                .forClass(Map.class);
+        final ArgumentCaptor<List<Target>> targetsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(amqpMessageDispatcherServiceMock, times(1)).sendUpdateMessageToTargets(
+                actionPropertiesCaptor.capture(), targetsCaptor.capture(), any(Map.class));
+        assertThat(actionPropertiesCaptor.getValue()).containsOnlyKeys("6", "7");
+        assertThat(targetsCaptor.getValue()).containsExactly(firstTarget, secondTarget);
+    }
+
     @Test
     @Description("Test next update is provided on finished action")
     public void lookupNextUpdateActionAfterFinished() throws IllegalAccessException {
@@ -637,7 +694,6 @@ public class AmqpMessageHandlerServiceTest {
         // Mock
         final Action action = createActionWithTarget(22L, Status.FINISHED);
         when(controllerManagementMock.findActionWithDetails(anyLong())).thenReturn(Optional.of(action));
-        when(controllerManagementMock.addUpdateActionStatus(any())).thenReturn(action);
         final ActionStatusBuilder builder = new JpaActionStatusBuilder();
         when(entityFactoryMock.actionStatus()).thenReturn(builder);
         // for the test the same action can be used
@@ -658,7 +714,7 @@ public class AmqpMessageHandlerServiceTest {
         final ArgumentCaptor<ActionStatusCreate> actionPropertiesCaptor = ArgumentCaptor
                 .forClass(ActionStatusCreate.class);
 
-        verify(controllerManagementMock, times(1)).addUpdateActionStatus(actionPropertiesCaptor.capture());
+        verify(controllerManagementMock, times(1)).queueUpdateActionStatus(actionPropertiesCaptor.capture());
 
         final JpaActionStatus jpaActionStatus = (JpaActionStatus) actionPropertiesCaptor.getValue().build();
         assertThat(jpaActionStatus.getCode()).as("Action status for reported code is missing").contains(12);
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hawkbit.util.IpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Device Management Federation API")
+@Story("Amqp Message Sender Service Test")
+class DefaultAmqpMessageSenderServiceTest {
+
+    private static final URI FIRST_EXCHANGE = IpUtil.createAmqpUri("vHost", "first");
+    private static final URI SECOND_EXCHANGE = IpUtil.createAmqpUri("vHost", "second");
+
+    private final List<Published> published = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AmqpProperties.Sender senderProperties = new AmqpProperties.Sender();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private RabbitTemplate rabbitTemplate;
+    private DefaultAmqpMessageSenderService senderService;
+
+    @BeforeEach
+    void before() {
+        // in-process stand-in for the broker which records the published
+        // messages, the confirms are completed by the tests
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        final RabbitOperations operations = mock(RabbitOperations.class);
+        doAnswer(invocation -> published.add(new Published(invocation.getArgument(0), invocation.getArgument(2),
+                invocation.getArgument(3)))).when(operations)
+                .send(anyString(), eq(""), any(Message.class), any(CorrelationData.class));
+
+        rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            if (failing.getAndSet(false)) {
+                throw new IllegalStateException("channel failure");
+            }
+            return invocation.<RabbitTemplate.OperationsCallback<?>> getArgument(0).doInRabbit(operations);
+        });
+    }
+
+    @AfterEach
+    void after() {
+        senderService.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that messages are published asynchronously to their exchanges and completed once they "
+            + "are confirmed by the broker.")
+    void messagesArePublishedAndConfirmed() {
+        senderService = new DefaultAmqpMessageSenderService(rabbitTemplate, senderProperties, meterRegistry);
+
+        senderService.sendMessage(message("1"), FIRST_EXCHANGE);
+        senderService.sendMessage(message("2"), SECOND_EXCHANGE);
+        senderService.sendMessage(message("3"), FIRST_EXCHANGE);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 3);
+        assertThat(published).extracting(p -> p.exchange).containsExactlyInAnyOrder("first", "second", "first");
+        assertThat(published).filteredOn(p -> "first".equals(p.exchange))
+                .extracting(p -> new String(p.message.getBody())).containsExactly("1", "3");
+        assertThat(gauge("hawkbit.dmf.sender.inflight")).isEqualTo(3);
+
+        published.forEach(p -> p.confirm(true));
+
+        assertThat(gauge("hawkbit.dmf.sender.inflight")).isZero();
+        assertThat(meterRegistry.get("hawkbit.dmf.sender.publish").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that a nacked message is published again until the maximum number of retries is reached.")
+    void nackedMessagesAreRetried() {
+        senderProperties.setMaxRetries(1);
+        senderService = new DefaultAmqpMessageSenderService(rabbitTemplate, senderProperties, meterRegistry);
+
+        senderService.sendMessage(message("1"), FIRST_EXCHANGE);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        published.get(0).confirm(false);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 2);
+        assertThat(published.get(1).correlationData.getId()).isEqualTo(published.get(0).correlationData.getId());
+        assertThat(gauge("hawkbit.dmf.sender.inflight")).isOne();
+        published.get(1).confirm(false);
+
+        assertThat(gauge("hawkbit.dmf.sender.inflight")).isZero();
+        assertThat(meterRegistry.get("hawkbit.dmf.sender.retries").counter().count()).isOne();
+        assertThat(meterRegistry.get("hawkbit.dmf.sender.failed").counter().count()).isOne();
+    }
+
+    @Test
+    @Description("Verifies that the sending thread is blocked if the in-flight window is exhausted.")
+    void sendingIsBlockedIfInFlightWindowIsExhausted() {
+        senderProperties.setMaxInFlight(1);
+        senderService = new DefaultAmqpMessageSenderService(rabbitTemplate, senderProperties, meterRegistry);
+
+        senderService.sendMessage(message("1"), FIRST_EXCHANGE);
+        final CompletableFuture<Void> second = CompletableFuture
+                .runAsync(() -> senderService.sendMessage(message("2"), FIRST_EXCHANGE));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> !second.isDone());
+
+        published.get(0).confirm(true);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> second.isDone() && published.size() == 2);
+        published.get(1).confirm(true);
+    }
+
+    @Test
+    @Description("Verifies that a batch that fails with an unexpected exception is published again and the "
+            + "publisher keeps publishing.")
+    void failedBatchIsRetried() {
+        failing.set(true);
+        senderService = new DefaultAmqpMessageSenderService(rabbitTemplate, senderProperties, meterRegistry);
+
+        senderService.sendMessage(message("1"), FIRST_EXCHANGE);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        assertThat(meterRegistry.get("hawkbit.dmf.sender.retries").counter().count()).isOne();
+
+        senderService.sendMessage(message("2"), FIRST_EXCHANGE);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 2);
+        published.forEach(p -> p.confirm(true));
+        assertThat(gauge("hawkbit.dmf.sender.inflight")).isZero();
+    }
+
+    @Test
+    @Description("Verifies that sending fails if the in-flight window is exhausted for longer than the maximum "
+            + "block time.")
+    void sendingFailsAfterMaxBlockTime() {
+        senderProperties.setMaxInFlight(1);
+        senderProperties.setMaxBlockTime(100);
+        senderService = new DefaultAmqpMessageSenderService(rabbitTemplate, senderProperties, meterRegistry);
+
+        senderService.sendMessage(message("1"), FIRST_EXCHANGE);
+        assertThatExceptionOfType(AmqpException.class)
+                .isThrownBy(() -> senderService.sendMessage(message("2"), FIRST_EXCHANGE));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 1);
+        published.get(0).confirm(true);
+    }
+
+    private double gauge(final String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static Message message(final String body) {
+        return new Message(body.getBytes(), new MessageProperties());
+    }
+
+    private static final class Published {
+        private final String exchange;
+        private final Message message;
+        private final CorrelationData correlationData;
+
+        private Published(final String exchange, final Message message, final CorrelationData correlationData) {
+            this.exchange = exchange;
+            this.message = message;
+            this.correlationData = correlationData;
+        }
+
+        private void confirm(final boolean ack) {
+            correlationData.getFuture().set(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+        }
+    }
+}
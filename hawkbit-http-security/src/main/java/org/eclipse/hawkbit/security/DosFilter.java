@@ -10,9 +10,13 @@ package org.eclipse.hawkbit.security;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -22,18 +26,29 @@ import javax.servlet.http.HttpServletResponse;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.util.AntPathMatcher;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 /**
  * Filter for protection against denial of service attacks. It reduces the
  * maximum number of request per seconds which can be separately configured for
  * read (GET) and write (PUT/POST/DELETE) requests.
+ *
+ * The requests are limited per client IP address, optionally in combination
+ * with the tenant and controller ID of the device, by a {@link RateLimiter}
+ * that allows a configurable burst of requests. If limited per device, the
+ * requests of all devices behind one client IP address are additionally
+ * limited to a multiple of the limits, so a client cannot bypass the limits by
+ * varying the controller ID.
  */
 public class DosFilter extends OncePerRequestFilter {
 
@@ -42,24 +57,32 @@ public class DosFilter extends OncePerRequestFilter {
     private static final Logger LOG_BLACKLIST = LoggerFactory
             .getLogger(SecurityConstants.SECURITY_LOG_PREFIX + ".blacklist");
 
-    private final AntPathMatcher antMatcher = new AntPathMatcher();
-    private final Collection<String> includeAntPaths;
+    private static final String METRIC_NAME = "hawkbit.security.dos.requests";
+    private static final String TENANT_VARIABLE = "tenant";
+    private static final String CONTROLLER_ID_VARIABLE = "controllerId";
 
-    private final Pattern ipAdressBlacklist;
+    private final List<PathPattern> includePatterns;
 
-    private final Cache<String, AtomicInteger> readCountCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.SECONDS).build();
+    private final Pattern ipAdressBlacklist;
 
-    private final Cache<String, AtomicInteger> writeCountCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.SECONDS).build();
+    private final RateLimiter readLimiter;
+    private final RateLimiter writeLimiter;
+    private final RateLimiter readIpLimiter;
+    private final RateLimiter writeIpLimiter;
 
     private final int maxRead;
     private final int maxWrite;
+    private final boolean perDevice;
 
     private final Pattern whitelist;
 
     private final String forwardHeader;
 
+    private final Counter readAdmitted;
+    private final Counter readThrottled;
+    private final Counter writeAdmitted;
+    private final Counter writeThrottled;
+
     /**
      * Filter constructor including configuration.
      * 
@@ -83,11 +106,60 @@ public class DosFilter extends OncePerRequestFilter {
      */
     public DosFilter(final Collection<String> includeAntPaths, final int maxRead, final int maxWrite,
             final String ipDosWhiteListPattern, final String ipBlackListPattern, final String forwardHeader) {
+        this(includeAntPaths, maxRead, maxRead, maxWrite, maxWrite, false, 1, ipDosWhiteListPattern,
+                ipBlackListPattern, forwardHeader, Metrics.globalRegistry);
+    }
+
+    /**
+     * Filter constructor including configuration.
+     *
+     * @param includeAntPaths
+     *            paths where filter should hit, the path variables
+     *            <code>tenant</code> and <code>controllerId</code> identify
+     *            the device
+     * @param filterProperties
+     *            to configure the limits of the filter
+     * @param clientProperties
+     *            to configure the black list and the header containing the
+     *            forwarded IP address
+     * @param meterRegistry
+     *            to register the metrics of the admitted and throttled
+     *            requests at
+     */
+    public DosFilter(final Collection<String> includeAntPaths,
+            final HawkbitSecurityProperties.Dos.Filter filterProperties,
+            final HawkbitSecurityProperties.Clients clientProperties, final MeterRegistry meterRegistry) {
+        this(includeAntPaths, filterProperties.getMaxRead(), burstOrMax(filterProperties.getReadBurst(),
+                filterProperties.getMaxRead()), filterProperties.getMaxWrite(),
+                burstOrMax(filterProperties.getWriteBurst(), filterProperties.getMaxWrite()),
+                filterProperties.isPerDevice(), filterProperties.getPerDeviceIpFactor(),
+                filterProperties.getWhitelist(), clientProperties.getBlacklist(),
+                clientProperties.getRemoteIpHeader(), meterRegistry);
+    }
 
-        this.includeAntPaths = includeAntPaths;
+    @SuppressWarnings("squid:S00107")
+    private DosFilter(final Collection<String> includeAntPaths, final int maxRead, final int readBurst,
+            final int maxWrite, final int writeBurst, final boolean perDevice, final int perDeviceIpFactor,
+            final String ipDosWhiteListPattern, final String ipBlackListPattern, final String forwardHeader,
+            final MeterRegistry meterRegistry) {
+
+        this.includePatterns = includeAntPaths == null ? Collections.emptyList()
+                : includeAntPaths.stream().map(PathPatternParser.defaultInstance::parse)
+                        .collect(Collectors.toList());
         this.maxRead = maxRead;
         this.maxWrite = maxWrite;
+        this.perDevice = perDevice;
         this.forwardHeader = forwardHeader;
+        this.readLimiter = new RateLimiter(maxRead, readBurst);
+        this.writeLimiter = new RateLimiter(maxWrite, writeBurst);
+        if (perDevice) {
+            final int factor = Math.max(1, perDeviceIpFactor);
+            this.readIpLimiter = new RateLimiter(maxRead * factor, readBurst * factor);
+            this.writeIpLimiter = new RateLimiter(maxWrite * factor, writeBurst * factor);
+        } else {
+            this.readIpLimiter = null;
+            this.writeIpLimiter = null;
+        }
 
         if (ipBlackListPattern != null && !ipBlackListPattern.isEmpty()) {
             ipAdressBlacklist = Pattern.compile(ipBlackListPattern);
@@ -100,22 +172,55 @@ public class DosFilter extends OncePerRequestFilter {
         } else {
             whitelist = null;
         }
+
+        readAdmitted = requestCounter(meterRegistry, "read", "admitted");
+        readThrottled = requestCounter(meterRegistry, "read", "throttled");
+        writeAdmitted = requestCounter(meterRegistry, "write", "admitted");
+        writeThrottled = requestCounter(meterRegistry, "write", "throttled");
     }
 
-    private boolean shouldInclude(final HttpServletRequest request) {
-        if (includeAntPaths == null || includeAntPaths.isEmpty()) {
-            return true;
+    private static int burstOrMax(final int burst, final int max) {
+        return burst > 0 ? burst : max;
+    }
+
+    private static Counter requestCounter(final MeterRegistry meterRegistry, final String type,
+            final String outcome) {
+        return Counter.builder(METRIC_NAME).tag("type", type).tag("outcome", outcome)
+                .description("Requests checked by the DoS filter").register(meterRegistry);
+    }
+
+    /**
+     * @return the path variables of the matching include path, an empty map
+     *         if no include paths are configured or <code>null</code> if the
+     *         filter should not hit
+     */
+    private Map<String, String> matchIncludePaths(final HttpServletRequest request) {
+        if (includePatterns.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        return includeAntPaths.stream()
-                .anyMatch(pattern -> antMatcher.match(request.getContextPath() + pattern, request.getRequestURI()));
+        final String uri = request.getRequestURI();
+        final String contextPath = request.getContextPath();
+        if (!uri.startsWith(contextPath)) {
+            return null;
+        }
+
+        final PathContainer path = PathContainer.parsePath(uri.substring(contextPath.length()));
+        for (final PathPattern pattern : includePatterns) {
+            final PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(path);
+            if (matchInfo != null) {
+                return matchInfo.getUriVariables();
+            }
+        }
+        return null;
     }
 
     @Override
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
             final FilterChain filterChain) throws ServletException, IOException {
 
-        if (!shouldInclude(request)) {
+        final Map<String, String> pathVariables = matchIncludePaths(request);
+        if (pathVariables == null) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -130,13 +235,14 @@ public class DosFilter extends OncePerRequestFilter {
             processChain = checkAgainstBlacklist(response, ip);
 
             if (processChain && (whitelist == null || !whitelist.matcher(ip).find())) {
+                final String deviceKey = getDeviceKey(ip, pathVariables);
                 // read request
                 if (HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET) {
-                    processChain = handleReadRequest(response, ip);
+                    processChain = handleReadRequest(response, ip, deviceKey);
                 }
                 // write request
                 else {
-                    processChain = handleWriteRequest(response, ip);
+                    processChain = handleWriteRequest(response, ip, deviceKey);
                 }
             }
         }
@@ -146,6 +252,40 @@ public class DosFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * @return the key of the device if the requests are limited per device,
+     *         otherwise <code>null</code>
+     */
+    private String getDeviceKey(final String ip, final Map<String, String> pathVariables) {
+        if (!perDevice) {
+            return null;
+        }
+
+        final String tenant = pathVariables.get(TENANT_VARIABLE);
+        final String controllerId = pathVariables.get(CONTROLLER_ID_VARIABLE);
+        if (tenant == null || controllerId == null) {
+            return null;
+        }
+        return ip + "/" + tenant.toUpperCase(Locale.ROOT) + "/" + controllerId;
+    }
+
+    /**
+     * Acquires a permit of the device and, as the controller ID is chosen by
+     * the client, one of all devices behind the client IP address.
+     *
+     * @return 0 if the permits are acquired, otherwise the time in
+     *         nanoseconds until a permit is available
+     */
+    private static long tryAcquire(final RateLimiter limiter, final RateLimiter ipLimiter, final String ip,
+            final String deviceKey) {
+        if (deviceKey == null) {
+            return limiter.tryAcquire(ip);
+        }
+
+        final long wait = limiter.tryAcquire(deviceKey);
+        return wait == 0 ? ipLimiter.tryAcquire(ip) : wait;
+    }
+
     /**
      * @return false if the given ip address is on the blacklist and further
      *         processing of the request if forbidden
@@ -169,35 +309,40 @@ public class DosFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private boolean handleWriteRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = writeCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            writeCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxWrite) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
-                    maxWrite);
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+    private boolean handleWriteRequest(final HttpServletResponse response, final String ip,
+            final String deviceKey) {
+        final long wait = tryAcquire(writeLimiter, writeIpLimiter, ip, deviceKey);
+        if (wait == 0) {
+            writeAdmitted.increment();
+            return true;
         }
 
-        return processChain;
+        LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!",
+                deviceKey != null ? deviceKey : ip, maxWrite);
+        writeThrottled.increment();
+        rejectTooManyRequests(response, wait);
+        return false;
     }
 
-    private boolean handleReadRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = readCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            readCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxRead) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
-                    maxRead);
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+    private boolean handleReadRequest(final HttpServletResponse response, final String ip,
+            final String deviceKey) {
+        final long wait = tryAcquire(readLimiter, readIpLimiter, ip, deviceKey);
+        if (wait == 0) {
+            readAdmitted.increment();
+            return true;
         }
 
-        return processChain;
+        LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!",
+                deviceKey != null ? deviceKey : ip, maxRead);
+        readThrottled.increment();
+        rejectTooManyRequests(response, wait);
+        return false;
+    }
+
+    private static void rejectTooManyRequests(final HttpServletResponse response, final long waitNanos) {
+        final long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
     }
 }
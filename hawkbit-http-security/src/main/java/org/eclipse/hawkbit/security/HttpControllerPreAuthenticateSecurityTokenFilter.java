@@ -31,6 +31,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHttpControllerAuthenticationFilter {
 
     private final ControllerManagement controllerManagement;
+    private final ControllerSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -50,14 +51,41 @@ public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHt
     public HttpControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                ControllerSecurityTokenCache.disabled());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the system management service to retrieve configuration
+     *            properties
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param controllerManagement
+     *            the controller management to retrieve the specific target
+     *            security token to verify
+     * @param systemSecurityContext
+     *            the system security context
+     * @param securityTokenCache
+     *            to retrieve the target security token without reading the
+     *            target on every request
+     */
+    public HttpControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
+            final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext,
+            final ControllerSecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
     protected PreAuthenticationFilter createControllerAuthenticationFilter() {
         return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, controllerManagement,
-                tenantAware, systemSecurityContext);
+                tenantAware, systemSecurityContext, securityTokenCache);
     }
 
 }
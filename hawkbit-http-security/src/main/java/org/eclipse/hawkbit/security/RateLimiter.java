@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Lock-free token bucket rate limiter per key, e.g. per client IP address.
+ * Every key may issue a burst of requests at once, afterwards the permits are
+ * refilled continuously with the configured rate, so there is no window edge
+ * at which the rate may be exceeded.
+ *
+ * The bucket of a key is stored as the time at which it is refilled
+ * completely (generic cell rate algorithm) and updated by compare-and-set.
+ * Buckets that are refilled completely are evicted.
+ */
+public class RateLimiter {
+
+    private final long interval;
+    private final long burstTolerance;
+    private final LongSupplier nanoTime;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Constructor.
+     *
+     * @param permitsPerSecond
+     *            rate in which the permits are refilled
+     * @param burst
+     *            maximum number of permits that can be acquired at once
+     */
+    public RateLimiter(final int permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(final int permitsPerSecond, final int burst, final LongSupplier nanoTime) {
+        this.interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+        this.burstTolerance = interval * Math.max(1, burst);
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder().expireAfterAccess(Duration.ofNanos(burstTolerance)).build();
+    }
+
+    /**
+     * Acquires a permit for the given key if available.
+     *
+     * @param key
+     *            to acquire the permit for
+     * @return 0 if the permit is acquired, otherwise the time in
+     *         {@link TimeUnit#NANOSECONDS} until the next permit is available
+     */
+    public long tryAcquire(final String key) {
+        final long now = nanoTime.getAsLong();
+        final AtomicLong refilledAt = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            final long current = refilledAt.get();
+            final long next = Math.max(current, now) + interval;
+            final long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (refilledAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Security")
+@Story("Denial of Service protection filter")
+public class DosFilterTest {
+
+    @Test
+    @Description("Verifies that the DoS filter limits the devices behind the same IP address independently if "
+            + "configured and sets the Retry-After header on throttled requests.")
+    public void filterLimitsPerDevice() throws Exception {
+        final DosFilter filter = perDeviceFilter(1, 10);
+
+        assertThat(poll(filter, "device1").getStatus()).isEqualTo(200);
+        assertThat(poll(filter, "device2").getStatus()).isEqualTo(200);
+
+        final MockHttpServletResponse throttled = poll(filter, "device1");
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @Description("Verifies that the DoS filter limits all devices behind the same IP address to a multiple of the "
+            + "limits, so the limits cannot be bypassed by varying the controller ID.")
+    public void filterLimitsAllDevicesPerIp() throws Exception {
+        final DosFilter filter = perDeviceFilter(1, 3);
+
+        assertThat(poll(filter, "device1").getStatus()).isEqualTo(200);
+        assertThat(poll(filter, "device2").getStatus()).isEqualTo(200);
+        assertThat(poll(filter, "device3").getStatus()).isEqualTo(200);
+        assertThat(poll(filter, "device4").getStatus()).isEqualTo(429);
+    }
+
+    private static DosFilter perDeviceFilter(final int maxRead, final int perDeviceIpFactor) {
+        final HawkbitSecurityProperties.Dos.Filter filterProperties = new HawkbitSecurityProperties.Dos.Filter();
+        filterProperties.setMaxRead(maxRead);
+        filterProperties.setWhitelist(null);
+        filterProperties.setPerDevice(true);
+        filterProperties.setPerDeviceIpFactor(perDeviceIpFactor);
+        return new DosFilter(List.of("/{tenant}/controller/v1/{controllerId}"), filterProperties,
+                new HawkbitSecurityProperties.Clients(), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse poll(final DosFilter filter, final String controllerId)
+            throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/DEFAULT/controller/v1/" + controllerId);
+        request.setRemoteAddr("203.0.113.1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
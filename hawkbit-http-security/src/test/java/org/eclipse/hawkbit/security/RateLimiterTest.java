@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Security")
+@Story("Denial of Service protection filter")
+public class RateLimiterTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @Description("Verifies that a burst of requests is admitted and afterwards the permits are refilled continuously.")
+    public void burstIsAdmittedAndRefilledContinuously() {
+        final RateLimiter limiter = new RateLimiter(10, 5, now::get);
+
+        assertThat(IntStream.range(0, 5).mapToLong(i -> limiter.tryAcquire("client"))).containsOnly(0L);
+        assertThat(limiter.tryAcquire("client")).isEqualTo(100 * MILLI);
+
+        now.addAndGet(50 * MILLI);
+        assertThat(limiter.tryAcquire("client")).isEqualTo(50 * MILLI);
+
+        now.addAndGet(50 * MILLI);
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(100 * MILLI);
+
+        // no window edge at which twice the rate is admitted
+        now.addAndGet(1000 * MILLI);
+        assertThat(IntStream.range(0, 10).filter(i -> limiter.tryAcquire("client") == 0).count()).isEqualTo(5);
+    }
+
+    @Test
+    @Description("Verifies that the clients are limited independently.")
+    public void clientsAreLimitedIndependently() {
+        final RateLimiter limiter = new RateLimiter(1, 1, now::get);
+
+        assertThat(limiter.tryAcquire("first")).isZero();
+        assertThat(limiter.tryAcquire("first")).isPositive();
+        assertThat(limiter.tryAcquire("second")).isZero();
+    }
+}
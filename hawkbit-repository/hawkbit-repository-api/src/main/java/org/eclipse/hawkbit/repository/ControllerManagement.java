@@ -30,9 +30,11 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollSnapshot;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.springframework.data.domain.Page;
@@ -136,6 +138,32 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Action addUpdateActionStatus(@NotNull @Valid ActionStatusCreate create);
 
+    /**
+     * Adds an {@link ActionStatus} entry for an update {@link Action} like
+     * {@link #addUpdateActionStatus(ActionStatusCreate)}, but queues the entry
+     * to be persisted asynchronously in a batch if enabled by the repository
+     * configuration. The entries of a target are persisted in the order they
+     * have been added. Entries that change the state of the {@link Action} or
+     * the target are persisted synchronously unless configured otherwise, so
+     * callers that depend on the updated {@link Action} have to use
+     * {@link #addUpdateActionStatus(ActionStatusCreate)}.
+     *
+     * @param create
+     *            to be added
+     *
+     * @throws AssignmentQuotaExceededException
+     *             if more than the allowed number of messages per entry are
+     *             inserted or, if persisted synchronously, more than the
+     *             allowed number of status entries
+     * @throws EntityNotFoundException
+     *             if action status not exist
+     * @throws ConstraintViolationException
+     *             if fields are not filled as specified. Check
+     *             {@link ActionStatusCreate} for field constraints.
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    void queueUpdateActionStatus(@NotNull @Valid ActionStatusCreate create);
+
     /**
      * Retrieves active {@link Action} with highest priority that is assigned to
      * a {@link Target}.
@@ -166,6 +194,23 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     List<Action> findActiveActionsWithHighestWeight(@NotEmpty String controllerId, int maxActionCount);
 
+    /**
+     * Retrieves active {@link Action}s with highest weight of many
+     * {@link Target}s at once, as
+     * {@link #findActiveActionsWithHighestWeight(String, int)} does for a
+     * single one.
+     *
+     * @param controllerIds
+     *            identify the targets to retrieve the actions from
+     * @param maxActionCount
+     *            max size of the returned list per target
+     * @return the actions per controller ID, targets without active actions
+     *         are not included
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    Map<String, List<Action>> findActiveActionsWithHighestWeight(@NotNull Collection<String> controllerIds,
+            int maxActionCount);
+
     /**
      * Get weight of an Action. Returns the default value if the weight is null
      * according to the properties.
@@ -237,6 +282,50 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name);
 
+    /**
+     * Registers many targets at once, e.g. on a reconnect of many controllers,
+     * as {@link #findOrRegisterTargetIfItDoesNotExist(String, URI, String)}
+     * does for a single one, but in one transaction. The existing targets are
+     * looked up in batches, updated and the new ones inserted one by one.
+     *
+     * @param registrations
+     *            of the targets, the last one wins if a controller ID is
+     *            registered more than once
+     * @return the targets in the order of their first registration
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    List<Target> findOrRegisterTargetsIfTheyDoNotExist(@NotNull Collection<TargetRegistration> registrations);
+
+    /**
+     * Register new target in the repository (plug-and-play) and in case it
+     * already exists updates the target as described in
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)}. In addition
+     * it resolves the active {@link Action} with the highest weight, the
+     * installed {@link Action} and the polling time for the target with a
+     * minimal number of queries.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the {@link ControllerPollSnapshot} of the target
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ControllerPollSnapshot findOrRegisterTargetForPoll(@NotEmpty String controllerId, @NotNull URI address);
+
+    /**
+     * Resolves the active {@link Action} with the highest weight, the
+     * installed {@link Action} and the polling time for a target whose poll
+     * has already been registered by
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)}.
+     *
+     * @param target
+     *            that polled
+     * @return the {@link ControllerPollSnapshot} of the target
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ControllerPollSnapshot getPollSnapshot(@NotNull Target target);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
@@ -297,6 +298,22 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActions(@NotNull String rsqlParam, @NotNull Pageable pageable);
 
+    /**
+     * Passes all {@link Action}s which match the given RSQL query to the given
+     * consumer. The actions are read through a forward-only database cursor in
+     * the order of their IDs within one read-only transaction, i.e. the
+     * consumer is called while the cursor is open and the actions are not kept
+     * in memory. The target, distribution set, rollout and rollout group of
+     * the actions are fetched in batches.
+     *
+     * @param rsqlParam
+     *            RSQL query string or {@code null} for all actions
+     * @param consumer
+     *            called for each action
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachAction(String rsqlParam, @NotNull Consumer<Action> consumer);
+
     /**
      * Retrieves all {@link Action} which assigned to a specific
      * {@link DistributionSet}.
@@ -592,6 +609,18 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     boolean hasPendingCancellations(@NotEmpty String controllerId);
 
+    /**
+     * Retrieves the devices with the given controller IDs that have an action
+     * in the {@link Action.Status#CANCELING} state.
+     *
+     * @param controllerIds
+     *            of the targets
+     * @return the controller IDs of the targets with actions in CANCELING
+     *         state
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Set<String> findControllerIdsWithPendingCancellations(@NotNull Collection<String> controllerIds);
+
     /**
      * Cancels all actions that refer to a given distribution set. This method
      * is called when a distribution set is invalidated.
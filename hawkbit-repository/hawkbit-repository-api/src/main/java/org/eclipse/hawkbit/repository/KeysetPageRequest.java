@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * A {@link PageRequest} which continues after a given position instead of
+ * skipping a number of entries, i.e. keyset or seek pagination. The entries
+ * are sorted by one field and by the ID of the entities as tie-breaker. The
+ * position is the value of the sort field and the ID of the last entry of the
+ * previous page, so that the database does not need to scan and discard the
+ * entries of all previous pages.
+ *
+ * The sort field must not be <code>null</code> for any of the entities.
+ * Slices and pages that are requested with a {@link KeysetPageRequest} are
+ * not counted, i.e. the total of a returned page has no meaning.
+ */
+public final class KeysetPageRequest extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name of the ID field which is used as tie-breaker.
+     */
+    public static final String ID_FIELD = "id";
+
+    private final String sortField;
+    private final Direction direction;
+    private final String lastValue;
+    private final Long lastId;
+
+    private KeysetPageRequest(final int limit, final String sortField, final Direction direction,
+            final String lastValue, final Long lastId) {
+        super(0, limit, sort(sortField, direction));
+        this.sortField = sortField;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    private static Sort sort(final String sortField, final Direction direction) {
+        final Sort sort = Sort.by(direction, sortField);
+        return ID_FIELD.equals(sortField) ? sort : sort.and(Sort.by(direction, ID_FIELD));
+    }
+
+    /**
+     * Creates a request for the first page.
+     *
+     * @param limit
+     *            the size of the page
+     * @param sortField
+     *            the field to sort by
+     * @param direction
+     *            the sort direction
+     * @return the request
+     */
+    public static KeysetPageRequest first(final int limit, final String sortField, final Direction direction) {
+        return new KeysetPageRequest(limit, sortField, direction, null, null);
+    }
+
+    /**
+     * Creates a request for the page after the given position.
+     *
+     * @param limit
+     *            the size of the page
+     * @param sortField
+     *            the field to sort by
+     * @param direction
+     *            the sort direction
+     * @param lastValue
+     *            the value of the sort field of the last entry of the previous
+     *            page
+     * @param lastId
+     *            the ID of the last entry of the previous page
+     * @return the request
+     */
+    public static KeysetPageRequest after(final int limit, final String sortField, final Direction direction,
+            final String lastValue, final long lastId) {
+        return new KeysetPageRequest(limit, sortField, direction, Objects.requireNonNull(lastValue), lastId);
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the value of the sort field of the last entry of the previous
+     *         page or empty for the first page
+     */
+    public Optional<String> getLastValue() {
+        return Optional.ofNullable(lastValue);
+    }
+
+    /**
+     * @return the ID of the last entry of the previous page or empty for the
+     *         first page
+     */
+    public Optional<Long> getLastId() {
+        return Optional.ofNullable(lastId);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageRequest [sortField=" + sortField + ", direction=" + direction + ", lastValue=" + lastValue
+                + ", lastId=" + lastId + ", getPageSize()=" + getPageSize() + "]";
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hash(sortField, direction, lastValue, lastId);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj) || getClass() != obj.getClass()) {
+            return false;
+        }
+        final KeysetPageRequest other = (KeysetPageRequest) obj;
+        return Objects.equals(sortField, other.sortField) && direction == other.direction
+                && Objects.equals(lastValue, other.lastValue) && Objects.equals(lastId, other.lastId);
+    }
+}
@@ -54,6 +54,97 @@ public class RepositoryProperties {
      */
     private boolean eagerPollPersistence;
 
+    /**
+     * Number of independent shards the poll persistence queue is split into
+     * in order to reduce contention. Each shard holds
+     * {@link #pollPersistenceQueueSize} divided by the number of shards.
+     */
+    private int pollPersistenceQueueShards = 4;
+
+    /**
+     * Defines what happens with a poll if the poll persistence queue is
+     * full.
+     */
+    private PollPersistenceOverflowPolicy pollPersistenceOverflowPolicy = PollPersistenceOverflowPolicy.WAIT;
+
+    /**
+     * Maximum time in {@link TimeUnit#MILLISECONDS} a poll waits for free
+     * capacity in the poll persistence queue in case of
+     * {@link PollPersistenceOverflowPolicy#WAIT}.
+     */
+    private long pollPersistenceOverflowWaitTime = 100;
+
+    /**
+     * Set to <code>true</code> to queue the {@link ActionStatus} feedback of
+     * the controllers and persist it asynchronously in batches. The queued
+     * entries are kept in memory only, i.e. up to
+     * {@link #actionStatusFlushTime} of feedback is lost if the process
+     * terminates without a graceful shutdown. No events are published for
+     * the entries that are persisted in batches.
+     */
+    private boolean asyncActionStatus;
+
+    /**
+     * Maximum number of {@link ActionStatus} entries queued before the
+     * feedback is persisted synchronously.
+     */
+    private int actionStatusQueueSize = 10_000;
+
+    /**
+     * Maximum time in {@link TimeUnit#MILLISECONDS} before the queued
+     * {@link ActionStatus} entries are persisted.
+     */
+    private long actionStatusFlushTime = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * Set to <code>false</code> to queue also the {@link ActionStatus}
+     * entries that close an action or change the state of the target,
+     * i.e. finished, error and downloaded. By default they are persisted
+     * synchronously together with the queued entries of the same target.
+     */
+    private boolean syncTerminalActionStatus = true;
+
+    /**
+     * Total size in bytes of the artifact binaries that are kept in memory
+     * for downloads. 0 disables the cache. Binaries that are streamed from a
+     * file, e.g. of the file system artifact repository, are not cached
+     * unless they are decrypted.
+     */
+    private long artifactBinaryCacheSize;
+
+    /**
+     * Size in bytes up to which an artifact binary is kept in memory for
+     * downloads.
+     */
+    private long artifactBinaryCacheMaxArtifactSize = 100L * 1024 * 1024;
+
+    /**
+     * Maximum number of parsed RSQL queries that are kept in memory, e.g. of
+     * the target filter queries. 0 disables the cache.
+     */
+    private long rsqlCacheSize = 1000;
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} in which the auto assignment
+     * checks all targets against a target filter query. In between only the
+     * targets created or modified since the last check are checked. 0 checks
+     * all targets every time.
+     */
+    private long autoAssignFullCheckInterval = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Maximum number of target filter queries that are checked in parallel by
+     * the auto assignment scheduler. The queries of all tenants are queued
+     * alternating by tenant.
+     */
+    private int autoAssignSchedulerThreads = 4;
+
+    /**
+     * Maximum number of rollouts that are handled in parallel by the rollout
+     * scheduler. The rollouts of all tenants are queued alternating by tenant.
+     */
+    private int rolloutSchedulerThreads = 4;
+
     /**
      * If an {@link Action} has a weight of null this value is used as weight.
      */
@@ -81,6 +172,78 @@ public class RepositoryProperties {
         this.pollPersistenceFlushTime = pollPersistenceFlushTime;
     }
 
+    public int getPollPersistenceQueueShards() {
+        return pollPersistenceQueueShards;
+    }
+
+    public void setPollPersistenceQueueShards(final int pollPersistenceQueueShards) {
+        this.pollPersistenceQueueShards = pollPersistenceQueueShards;
+    }
+
+    public PollPersistenceOverflowPolicy getPollPersistenceOverflowPolicy() {
+        return pollPersistenceOverflowPolicy;
+    }
+
+    public void setPollPersistenceOverflowPolicy(final PollPersistenceOverflowPolicy pollPersistenceOverflowPolicy) {
+        this.pollPersistenceOverflowPolicy = pollPersistenceOverflowPolicy;
+    }
+
+    public long getPollPersistenceOverflowWaitTime() {
+        return pollPersistenceOverflowWaitTime;
+    }
+
+    public void setPollPersistenceOverflowWaitTime(final long pollPersistenceOverflowWaitTime) {
+        this.pollPersistenceOverflowWaitTime = pollPersistenceOverflowWaitTime;
+    }
+
+    public long getArtifactBinaryCacheSize() {
+        return artifactBinaryCacheSize;
+    }
+
+    public void setArtifactBinaryCacheSize(final long artifactBinaryCacheSize) {
+        this.artifactBinaryCacheSize = artifactBinaryCacheSize;
+    }
+
+    public long getArtifactBinaryCacheMaxArtifactSize() {
+        return artifactBinaryCacheMaxArtifactSize;
+    }
+
+    public void setArtifactBinaryCacheMaxArtifactSize(final long artifactBinaryCacheMaxArtifactSize) {
+        this.artifactBinaryCacheMaxArtifactSize = artifactBinaryCacheMaxArtifactSize;
+    }
+
+    public long getRsqlCacheSize() {
+        return rsqlCacheSize;
+    }
+
+    public void setRsqlCacheSize(final long rsqlCacheSize) {
+        this.rsqlCacheSize = rsqlCacheSize;
+    }
+
+    public long getAutoAssignFullCheckInterval() {
+        return autoAssignFullCheckInterval;
+    }
+
+    public void setAutoAssignFullCheckInterval(final long autoAssignFullCheckInterval) {
+        this.autoAssignFullCheckInterval = autoAssignFullCheckInterval;
+    }
+
+    public int getAutoAssignSchedulerThreads() {
+        return autoAssignSchedulerThreads;
+    }
+
+    public void setAutoAssignSchedulerThreads(final int autoAssignSchedulerThreads) {
+        this.autoAssignSchedulerThreads = autoAssignSchedulerThreads;
+    }
+
+    public int getRolloutSchedulerThreads() {
+        return rolloutSchedulerThreads;
+    }
+
+    public void setRolloutSchedulerThreads(final int rolloutSchedulerThreads) {
+        this.rolloutSchedulerThreads = rolloutSchedulerThreads;
+    }
+
     public int getPollPersistenceQueueSize() {
         return pollPersistenceQueueSize;
     }
@@ -89,6 +252,38 @@ public class RepositoryProperties {
         this.pollPersistenceQueueSize = pollPersistenceQueueSize;
     }
 
+    public boolean isAsyncActionStatus() {
+        return asyncActionStatus;
+    }
+
+    public void setAsyncActionStatus(final boolean asyncActionStatus) {
+        this.asyncActionStatus = asyncActionStatus;
+    }
+
+    public int getActionStatusQueueSize() {
+        return actionStatusQueueSize;
+    }
+
+    public void setActionStatusQueueSize(final int actionStatusQueueSize) {
+        this.actionStatusQueueSize = actionStatusQueueSize;
+    }
+
+    public long getActionStatusFlushTime() {
+        return actionStatusFlushTime;
+    }
+
+    public void setActionStatusFlushTime(final long actionStatusFlushTime) {
+        this.actionStatusFlushTime = actionStatusFlushTime;
+    }
+
+    public boolean isSyncTerminalActionStatus() {
+        return syncTerminalActionStatus;
+    }
+
+    public void setSyncTerminalActionStatus(final boolean syncTerminalActionStatus) {
+        this.syncTerminalActionStatus = syncTerminalActionStatus;
+    }
+
     public boolean isRejectActionStatusForClosedAction() {
         return rejectActionStatusForClosedAction;
     }
@@ -121,4 +316,29 @@ public class RepositoryProperties {
         this.dsInvalidationLockTimeout = dsInvalidationLockTimeout;
     }
 
+    /**
+     * Policy that is applied on a target poll in case the poll persistence
+     * queue has no capacity left.
+     */
+    public enum PollPersistenceOverflowPolicy {
+        /**
+         * Persist the poll immediately within the poll transaction.
+         */
+        EAGER,
+
+        /**
+         * Trigger a flush of the queue and wait up to
+         * {@link RepositoryProperties#getPollPersistenceOverflowWaitTime()} for
+         * free capacity. Falls back to {@link #EAGER} if the queue is still
+         * full afterwards.
+         */
+        WAIT,
+
+        /**
+         * Skip the persistence of the poll time stamp. Polls that change the
+         * address or the status of the target are still persisted
+         * {@link #EAGER}.
+         */
+        DROP
+    }
 }
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.validation.constraints.NotNull;
 
@@ -67,6 +68,24 @@ public interface RolloutGroupManagement {
     Page<TargetWithActionStatus> findAllTargetsOfRolloutGroupWithActionStatus(@NotNull Pageable pageable,
             long rolloutGroupId);
 
+    /**
+     * Passes all targets of the rollout group with their action status to the
+     * given consumer. The targets are read through a forward-only database
+     * cursor in the order of their IDs within one read-only transaction, i.e.
+     * the consumer is called while the cursor is open and the targets are not
+     * kept in memory.
+     *
+     * @param rolloutGroupId
+     *            rollout group
+     * @param consumer
+     *            called for each {@link TargetWithActionStatus}
+     * @throws EntityNotFoundException
+     *             if rollout group with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ_AND_TARGET_READ)
+    void forEachTargetOfRolloutGroupWithActionStatus(long rolloutGroupId,
+            @NotNull Consumer<TargetWithActionStatus> consumer);
+
     /**
      * Retrieves a single {@link RolloutGroup} by its ID.
      * 
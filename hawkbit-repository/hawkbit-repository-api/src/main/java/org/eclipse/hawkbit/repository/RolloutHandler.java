@@ -18,7 +18,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 /**
  * Represents the handler service for creating, deleting, and starting a Rollout
  */
-@FunctionalInterface
 public interface RolloutHandler {
 
     /**
@@ -49,4 +48,16 @@ public interface RolloutHandler {
      */
     @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
     void handleAll();
+
+    /**
+     * Process a single rollout of the current tenant based on its current
+     * {@link Rollout#getStatus()} as described in {@link #handleAll()}. The
+     * rollout is skipped if it is already processed by another thread or
+     * cluster node.
+     *
+     * @param rolloutId
+     *            of the rollout to process
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    void handle(long rolloutId);
 }
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
@@ -239,6 +240,30 @@ public interface TargetManagement {
     Slice<Target> findByTargetFilterQueryAndNonDSAndCompatible(@NotNull Pageable pageRequest, long distributionSetId,
             @NotNull String rsqlParam);
 
+    /**
+     * Finds all targets for all the given parameter {@link TargetFilterQuery}
+     * that were created or modified since the given time, that don't have the
+     * specified distribution set in their action history and are compatible
+     * with the passed {@link DistributionSetType}.
+     *
+     * @param pageRequest
+     *            the pageRequest to enhance the query for paging and sorting
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @param modifiedSince
+     *            time in milliseconds since epoch the targets were last
+     *            modified at or after
+     * @return a page of the found {@link Target}s
+     * 
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndModifiedSince(@NotNull Pageable pageRequest,
+            long distributionSetId, @NotNull String rsqlParam, long modifiedSince);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that don't have the specified distribution set in their action
@@ -277,6 +302,30 @@ public interface TargetManagement {
             @NotEmpty Collection<Long> groups, @NotNull String rsqlParam,
             @NotNull DistributionSetType distributionSetType);
 
+    /**
+     * Finds the IDs of all targets for all the given parameter
+     * {@link TargetFilterQuery} and that are not assigned to one of the
+     * {@link RolloutGroup}s and are compatible with the passed
+     * {@link DistributionSetType}. In contrast to
+     * {@link #findByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(Pageable, Collection, String, DistributionSetType)}
+     * the targets are not loaded.
+     *
+     * @param limit
+     *            maximum number of IDs to return
+     * @param groups
+     *            the list of {@link RolloutGroup}s
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @param distributionSetType
+     *            type of the {@link DistributionSet} the targets must be
+     *            compatible with
+     * @return the IDs of the found {@link Target}s
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Long> findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(int limit,
+            @NotEmpty Collection<Long> groups, @NotNull String rsqlParam,
+            @NotNull DistributionSetType distributionSetType);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that are not assigned to one of the {@link RolloutGroup}s and are
@@ -475,6 +524,27 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Target> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam);
 
+    /**
+     * Passes all targets which match the given RSQL query together with their
+     * controller attributes to the given consumer. The targets are read
+     * through a forward-only database cursor in the order of their IDs within
+     * one read-only transaction, i.e. the consumer is called while the cursor
+     * is open and the targets are not kept in memory.
+     *
+     * @param rsqlParam
+     *            in RSQL notation or {@code null} for all targets
+     * @param consumer
+     *            called for each target with its controller attributes
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachByRsqlWithAttributes(String rsqlParam, @NotNull BiConsumer<Target, Map<String, String>> consumer);
+
     /**
      * Retrieves all target based on {@link TargetFilterQuery}.
      * 
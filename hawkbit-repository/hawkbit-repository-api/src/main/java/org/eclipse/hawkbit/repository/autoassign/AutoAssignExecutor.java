@@ -21,6 +21,17 @@ public interface AutoAssignExecutor {
      */
     void checkAllTargets();
 
+    /**
+     * Checks the target filter query with the given ID if it has an auto
+     * assign distribution set and triggers the assignment to the targets that
+     * don't have the DS yet, i.e. the same check as
+     * {@link #checkAllTargets()} for one target filter query only.
+     *
+     * @param targetFilterQueryId
+     *            of the target filter query to check
+     */
+    void checkTargetFilterQuery(long targetFilterQueryId);
+
     /**
      * Method performs an auto assign check for a specific device only
      *
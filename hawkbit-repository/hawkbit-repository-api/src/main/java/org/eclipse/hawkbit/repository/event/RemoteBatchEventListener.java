@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
+
+/**
+ * Marker for an {@link org.springframework.context.ApplicationListener} that
+ * consumes {@link RemoteBatchEvent}s natively. The events contained in a
+ * batch received from another node are not published individually to such a
+ * listener.
+ */
+public interface RemoteBatchEventListener {
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Envelope that distributes multiple events of the same type and tenant with
+ * a single bus message. The batch is only sent to the other nodes. There, the
+ * contained events are published individually, except to listeners that
+ * consume the batch natively, see
+ * {@link org.eclipse.hawkbit.repository.event.RemoteBatchEventListener}.
+ */
+public class RemoteBatchEvent extends RemoteTenantAwareEvent implements Iterable<RemoteApplicationEvent> {
+
+    private static final long serialVersionUID = 1L;
+
+    private String eventClass;
+
+    private final List<RemoteApplicationEvent> events = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    protected RemoteBatchEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            tenant the events are scoped to
+     * @param applicationId
+     *            the application id
+     * @param events
+     *            the events of the same type
+     */
+    public RemoteBatchEvent(final String tenant, final String applicationId,
+            final List<? extends RemoteApplicationEvent> events) {
+        super(applicationId, tenant, applicationId);
+        this.eventClass = events.isEmpty() ? null : events.get(0).getClass().getName();
+        this.events.addAll(events);
+    }
+
+    /**
+     * @return the class name of the contained events
+     */
+    public String getEventClass() {
+        return eventClass;
+    }
+
+    public List<RemoteApplicationEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    @Override
+    public Iterator<RemoteApplicationEvent> iterator() {
+        return getEvents().iterator();
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.Optional;
+
+/**
+ * A read model with everything that is needed to answer the poll of a
+ * controller, i.e. the {@link Target}, its active {@link Action} with the
+ * highest weight, its installed {@link Action} and the polling time that has
+ * to be propagated to the controller.
+ */
+public class ControllerPollSnapshot {
+    private final Target target;
+    private final Action activeAction;
+    private final Action installedAction;
+    private final String pollingTime;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            that polled
+     * @param activeAction
+     *            active action with the highest weight or <code>null</code>
+     * @param installedAction
+     *            finished action of the installed distribution set or
+     *            <code>null</code>
+     * @param pollingTime
+     *            polling time considering the maintenance window of the
+     *            active action
+     */
+    public ControllerPollSnapshot(final Target target, final Action activeAction, final Action installedAction,
+            final String pollingTime) {
+        this.target = target;
+        this.activeAction = activeAction;
+        this.installedAction = installedAction;
+        this.pollingTime = pollingTime;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public Optional<Action> getActiveAction() {
+        return Optional.ofNullable(activeAction);
+    }
+
+    public Optional<Action> getInstalledAction() {
+        return Optional.ofNullable(installedAction);
+    }
+
+    public String getPollingTime() {
+        return pollingTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ControllerPollSnapshot [controllerId=" + target.getControllerId() + ", activeAction="
+                + getActiveAction().map(Action::getId).orElse(null) + ", installedAction="
+                + getInstalledAction().map(Action::getId).orElse(null) + ", pollingTime=" + pollingTime + "]";
+    }
+}
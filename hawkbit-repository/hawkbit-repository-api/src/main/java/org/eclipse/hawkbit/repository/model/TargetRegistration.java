@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.net.URI;
+
+/**
+ * The registration of a controller that reported its online state, i.e. its
+ * controller ID, its address and optionally its name, as registered in bulk
+ * by
+ * {@link org.eclipse.hawkbit.repository.ControllerManagement#findOrRegisterTargetsIfTheyDoNotExist(java.util.Collection)}.
+ */
+public class TargetRegistration {
+    private final String controllerId;
+    private final URI address;
+    private final String name;
+
+    /**
+     * Constructor.
+     *
+     * @param controllerId
+     *            of the target
+     * @param address
+     *            the client address of the target, might be
+     *            <code>null</code>
+     * @param name
+     *            of the target, might be <code>null</code> to keep the name
+     *            of an existing target respectively to use the controller ID
+     *            as name of a new target
+     */
+    public TargetRegistration(final String controllerId, final URI address, final String name) {
+        this.controllerId = controllerId;
+        this.address = address;
+        this.name = name;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public URI getAddress() {
+        return address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "TargetRegistration [controllerId=" + controllerId + ", address=" + address + ", name=" + name + "]";
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
+import org.eclipse.hawkbit.tenancy.TenantKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * {@link BusBridge} that coalesces the high volume events, i.e.
+ * {@link RemoteEntityEvent}s and {@link TargetPollEvent}s, of the same type
+ * and tenant into a {@link RemoteBatchEvent} before they are sent to the other
+ * nodes. The pending events are sent after the configured window or as soon
+ * as the maximum batch size is reached.
+ *
+ * All other events are sent immediately. The pending batches are sent before,
+ * so the order of the events is kept per event type and relative to the
+ * events that are not batched. For that purpose all events are sent while
+ * holding the lock of the pending batches.
+ */
+public class BatchingBusBridge implements BusBridge, DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingBusBridge.class);
+
+    private static final String DEFAULT_DESTINATION = new PathDestinationFactory().getDestination(null)
+            .getDestinationAsString();
+
+    private final BusBridge delegate;
+    private final int maxBatchSize;
+
+    private final Map<TenantKey<Class<?>>, List<RemoteApplicationEvent>> pending = new LinkedHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            to send the events and batches with
+     * @param executorService
+     *            to schedule the sending of the pending batches on
+     * @param window
+     *            in milliseconds in which the events are coalesced
+     * @param maxBatchSize
+     *            maximum number of events in one batch
+     */
+    public BatchingBusBridge(final BusBridge delegate, final ScheduledExecutorService executorService,
+            final long window, final int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        executorService.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void send(final RemoteApplicationEvent event) {
+        synchronized (pending) {
+            if (!isBatchable(event)) {
+                flush();
+                delegate.send(event);
+                return;
+            }
+
+            final TenantKey<Class<?>> key = TenantKey.<Class<?>> of(((RemoteTenantAwareEvent) event).getTenant(),
+                    event.getClass());
+            final List<RemoteApplicationEvent> events = pending.computeIfAbsent(key, k -> new ArrayList<>());
+            events.add(event);
+            if (events.size() >= maxBatchSize) {
+                pending.remove(key);
+                send(key, events);
+            }
+        }
+    }
+
+    /**
+     * Sends all pending batches. A batch that cannot be sent is dropped, the
+     * remaining batches are sent nevertheless.
+     */
+    public void flush() {
+        synchronized (pending) {
+            pending.forEach((key, events) -> {
+                try {
+                    send(key, events);
+                } catch (final RuntimeException e) {
+                    LOG.error("Failed to send batch of {} {} events of tenant {}", events.size(),
+                            key.getValue().getSimpleName(), key.getTenant(), e);
+                }
+            });
+            pending.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void send(final TenantKey<Class<?>> key, final List<RemoteApplicationEvent> events) {
+        if (events.size() == 1) {
+            delegate.send(events.get(0));
+            return;
+        }
+
+        LOG.debug("Sending batch of {} {} events of tenant {}", events.size(), key.getValue().getSimpleName(),
+                key.getTenant());
+        delegate.send(new RemoteBatchEvent(key.getTenant(), events.get(0).getOriginService(), events));
+    }
+
+    private static boolean isBatchable(final RemoteApplicationEvent event) {
+        return (event instanceof RemoteEntityEvent || event instanceof TargetPollEvent)
+                && DEFAULT_DESTINATION.equals(event.getDestinationService());
+    }
+
+}
@@ -8,6 +8,10 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
@@ -19,6 +23,7 @@ import org.springframework.util.MimeType;
 
 import io.protostuff.LinkedBuffer;
 import io.protostuff.ProtobufIOUtil;
+import io.protostuff.ProtobufOutput;
 import io.protostuff.Schema;
 import io.protostuff.runtime.RuntimeSchema;
 
@@ -33,6 +38,12 @@ import io.protostuff.runtime.RuntimeSchema;
  * information about the event-type is encoded in the payload of the message
  * directly using the encoded values of {@link EventType}.
  *
+ * The header is the protobuf encoding of {@link EventType}, i.e. the field tag
+ * followed by the event-type-value as single byte varint. It is written and
+ * read directly instead of using a schema for {@link EventType}. The schemas
+ * of all event types are resolved once and the content is serialized with a
+ * per thread {@link LinkedBuffer} and deserialized from the payload without
+ * copying it.
  */
 public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
@@ -43,6 +54,32 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
      */
     private static final byte EVENT_TYPE_LENGTH = 2;
 
+    /**
+     * The protobuf field number of the value field of {@link EventType} and its
+     * tag with wire type varint.
+     */
+    private static final int EVENT_TYPE_FIELD_NUMBER = 1;
+    private static final byte EVENT_TYPE_TAG = EVENT_TYPE_FIELD_NUMBER << 3;
+
+    private static final Map<Class<?>, EventTypeSchema> SCHEMAS_BY_CLASS = new HashMap<>();
+    private static final EventTypeSchema[] SCHEMAS_BY_VALUE;
+
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(LinkedBuffer::allocate);
+
+    static {
+        final Map<Integer, Class<?>> types = EventType.getTypes();
+        SCHEMAS_BY_VALUE = new EventTypeSchema[Byte.MAX_VALUE + 1];
+        types.forEach((value, clazz) -> {
+            if (value <= 0 || value > Byte.MAX_VALUE) {
+                throw new IllegalStateException(
+                        "EventType value " + value + " of " + clazz + " does not fit into the event type header");
+            }
+            final EventTypeSchema schema = new EventTypeSchema(value, clazz);
+            SCHEMAS_BY_CLASS.put(clazz, schema);
+            SCHEMAS_BY_VALUE[value] = schema;
+        });
+    }
+
     /**
      * Constructor.
      */
@@ -60,13 +97,9 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
             final Object conversionHint) {
         final Object objectPayload = message.getPayload();
         if (objectPayload instanceof byte[]) {
-
             final byte[] payload = (byte[]) objectPayload;
-            final byte[] clazzHeader = extractClazzHeader(payload);
-            final byte[] content = extraxtContent(payload);
-
-            final EventType eventType = readClassHeader(clazzHeader);
-            return readContent(eventType, content);
+            final EventTypeSchema eventTypeSchema = readClassHeader(payload);
+            return readContent(eventTypeSchema, payload);
         }
         return null;
     }
@@ -74,71 +107,53 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
     @Override
     protected Object convertToInternal(final Object payload, final MessageHeaders headers,
             final Object conversionHint) {
-
-        final byte[] clazzHeader = writeClassHeader(payload.getClass());
-
-        final byte[] writeContent = writeContent(payload);
-
-        return mergeClassHeaderAndContent(clazzHeader, writeContent);
-    }
-
-    private static Object readContent(final EventType eventType, final byte[] content) {
-        final Class<?> targetClass = eventType.getTargetClass();
-        if (targetClass == null) {
-            LOG.error("Cannot read clazz header for given EventType value {}, missing mapping", eventType.getValue());
-            throw new MessageConversionException("Missing mapping of EventType for value " + eventType.getValue());
+        final EventTypeSchema eventTypeSchema = SCHEMAS_BY_CLASS.get(payload.getClass());
+        if (eventTypeSchema == null) {
+            LOG.error("There is no mapping to EventType for the given class {}", payload.getClass());
+            throw new MessageConversionException("Missing EventType for given class : " + payload.getClass());
         }
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(targetClass);
-        final Object deserializeEvent = schema.newMessage();
-        ProtobufIOUtil.mergeFrom(content, deserializeEvent, schema);
-        return deserializeEvent;
-    }
 
-    private static byte[] mergeClassHeaderAndContent(final byte[] clazzHeader, final byte[] writeContent) {
-        final byte[] body = new byte[clazzHeader.length + writeContent.length];
-        System.arraycopy(clazzHeader, 0, body, 0, clazzHeader.length);
-        System.arraycopy(writeContent, 0, body, clazzHeader.length, writeContent.length);
-        return body;
+        final LinkedBuffer buffer = BUFFER.get();
+        try {
+            final ProtobufOutput output = new ProtobufOutput(buffer);
+            output.writeInt32(EVENT_TYPE_FIELD_NUMBER, eventTypeSchema.value, false);
+            eventTypeSchema.schema.writeTo(output, payload);
+            return output.toByteArray();
+        } catch (final IOException e) {
+            throw new MessageConversionException("Failed to serialize event " + payload.getClass(), e);
+        } finally {
+            buffer.clear();
+        }
     }
 
-    private static byte[] extractClazzHeader(final byte[] payload) {
-        final byte[] clazzHeader = new byte[EVENT_TYPE_LENGTH];
-        System.arraycopy(payload, 0, clazzHeader, 0, EVENT_TYPE_LENGTH);
-        return clazzHeader;
+    private static EventTypeSchema readClassHeader(final byte[] payload) {
+        if (payload.length < EVENT_TYPE_LENGTH || payload[0] != EVENT_TYPE_TAG || payload[1] <= 0) {
+            LOG.error("Cannot read clazz header of payload with length {}", payload.length);
+            throw new MessageConversionException("Missing or invalid EventType header");
+        }
+        final EventTypeSchema eventTypeSchema = SCHEMAS_BY_VALUE[payload[1]];
+        if (eventTypeSchema == null) {
+            LOG.error("Cannot read clazz header for given EventType value {}, missing mapping", payload[1]);
+            throw new MessageConversionException("Missing mapping of EventType for value " + payload[1]);
+        }
+        return eventTypeSchema;
     }
 
-    private static byte[] extraxtContent(final byte[] payload) {
-        final byte[] content = new byte[payload.length - EVENT_TYPE_LENGTH];
-        System.arraycopy(payload, EVENT_TYPE_LENGTH, content, 0, content.length);
-        return content;
+    private static Object readContent(final EventTypeSchema eventTypeSchema, final byte[] payload) {
+        final Object deserializeEvent = eventTypeSchema.schema.newMessage();
+        ProtobufIOUtil.mergeFrom(payload, EVENT_TYPE_LENGTH, payload.length - EVENT_TYPE_LENGTH, deserializeEvent,
+                eventTypeSchema.schema);
+        return deserializeEvent;
     }
 
-    private static EventType readClassHeader(final byte[] typeInformation) {
-        final Schema<EventType> schema = RuntimeSchema.getSchema(EventType.class);
-        final EventType deserializedType = schema.newMessage();
-        ProtobufIOUtil.mergeFrom(typeInformation, deserializedType, schema);
-        return deserializedType;
-    }
+    private static final class EventTypeSchema {
+        private final int value;
+        private final Schema<Object> schema;
 
-    private static byte[] writeContent(final Object payload) {
-        final Class<?> serializeClass = payload.getClass();
         @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(serializeClass);
-        final LinkedBuffer buffer = LinkedBuffer.allocate();
-        return ProtobufIOUtil.toByteArray(payload, schema, buffer);
-    }
-
-    private static byte[] writeClassHeader(final Class<?> clazz) {
-        final EventType clazzEventType = EventType.from(clazz);
-        if (clazzEventType == null) {
-            LOG.error("There is no mapping to EventType for the given class {}", clazz);
-            throw new MessageConversionException("Missing EventType for given class : " + clazz);
+        private EventTypeSchema(final int value, final Class<?> clazz) {
+            this.value = value;
+            this.schema = (Schema<Object>) RuntimeSchema.getSchema(clazz);
         }
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema
-                .getSchema((Class<?>) EventType.class);
-        final LinkedBuffer buffer = LinkedBuffer.allocate();
-        return ProtobufIOUtil.toByteArray(clazzEventType, schema, buffer);
     }
 }
@@ -8,10 +8,9 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Optional;
 
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
@@ -19,6 +18,7 @@ import org.eclipse.hawkbit.repository.event.remote.DistributionSetTypeDeletedEve
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionAssignEvent;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionCancelEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.RolloutStoppedEvent;
@@ -72,6 +72,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpd
 public class EventType {
 
     private static final Map<Integer, Class<?>> TYPES = new HashMap<>();
+    private static final Map<Class<?>, Integer> VALUES = new HashMap<>();
 
     /**
      * The associated event-type-value must remain the same as initially
@@ -158,6 +159,11 @@ public class EventType {
         TYPES.put(44, TargetTypeCreatedEvent.class);
         TYPES.put(45, TargetTypeUpdatedEvent.class);
         TYPES.put(46, TargetTypeDeletedEvent.class);
+
+        // batch of coalesced events
+        TYPES.put(47, RemoteBatchEvent.class);
+
+        TYPES.forEach((value, clazz) -> VALUES.put(clazz, value));
     }
 
     private int value;
@@ -197,9 +203,15 @@ public class EventType {
      *         does not have a {@link EventType}.
      */
     public static EventType from(final Class<?> clazz) {
-        final Optional<Integer> foundEventType = TYPES.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(clazz)).map(Entry::getKey).findAny();
+        final Integer value = VALUES.get(clazz);
+        return value != null ? new EventType(value) : null;
+    }
 
-        return foundEventType.map(EventType::new).orElse(null);
+    /**
+     * @return all declared event-type-values and their corresponding clazz
+     *         types
+     */
+    static Map<Integer, Class<?>> getTypes() {
+        return Collections.unmodifiableMap(TYPES);
     }
 }
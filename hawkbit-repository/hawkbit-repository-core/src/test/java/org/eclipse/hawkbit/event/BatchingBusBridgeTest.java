@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Event Bus Batching")
+@ExtendWith(MockitoExtension.class)
+public class BatchingBusBridgeTest {
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    private final List<RemoteApplicationEvent> sent = new ArrayList<>();
+
+    private BatchingBusBridge underTest;
+
+    @BeforeEach
+    public void before() {
+        underTest = new BatchingBusBridge(sent::add, executorService, 100, 3);
+    }
+
+    @Test
+    @Description("Verifies that events of the same type and tenant are sent as one batch")
+    public void eventsOfSameTypeAndTenantAreBatched() {
+        underTest.send(new TargetPollEvent("controller1", "tenant1", "app"));
+        underTest.send(new TargetPollEvent("controller2", "tenant1", "app"));
+        underTest.send(new TargetPollEvent("controller3", "tenant2", "app"));
+        assertThat(sent).isEmpty();
+
+        underTest.flush();
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0)).isInstanceOf(RemoteBatchEvent.class);
+        final RemoteBatchEvent batch = (RemoteBatchEvent) sent.get(0);
+        assertThat(batch.getTenant()).isEqualTo("tenant1");
+        assertThat(batch.getEventClass()).isEqualTo(TargetPollEvent.class.getName());
+        assertThat(batch.getEvents()).extracting(event -> ((TargetPollEvent) event).getControllerId())
+                .containsExactly("controller1", "controller2");
+        assertThat(sent.get(1)).isInstanceOf(TargetPollEvent.class);
+    }
+
+    @Test
+    @Description("Verifies that a batch is sent as soon as the maximum size is reached")
+    public void fullBatchIsSentImmediately() {
+        for (int i = 0; i < 4; i++) {
+            underTest.send(new TargetPollEvent("controller" + i, "tenant", "app"));
+        }
+
+        assertThat(sent).hasSize(1);
+        assertThat(((RemoteBatchEvent) sent.get(0)).getEvents()).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that pending batches are sent before an event that is not batched")
+    public void pendingBatchesAreSentBeforeOtherEvents() {
+        final TargetDeletedEvent deletedEvent = new TargetDeletedEvent("tenant", 1L, "controller1", null,
+                Target.class, "app");
+        underTest.send(new TargetPollEvent("controller1", "tenant", "app"));
+        underTest.send(new TargetPollEvent("controller2", "tenant", "app"));
+        underTest.send(deletedEvent);
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0)).isInstanceOf(RemoteBatchEvent.class);
+        assertThat(sent.get(1)).isSameAs(deletedEvent);
+    }
+
+    @Test
+    @Description("Verifies that a batch that cannot be sent does not prevent the other pending batches from being sent")
+    public void failingBatchDoesNotDropOtherBatches() {
+        underTest = new BatchingBusBridge(event -> {
+            if ("tenant1".equals(((RemoteTenantAwareEvent) event).getTenant())) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            sent.add(event);
+        }, executorService, 100, 3);
+        underTest.send(new TargetPollEvent("controller1", "tenant1", "app"));
+        underTest.send(new TargetPollEvent("controller2", "tenant2", "app"));
+
+        underTest.flush();
+
+        assertThat(sent).hasSize(1);
+        assertThat(((TargetPollEvent) sent.get(0)).getControllerId()).isEqualTo("controller2");
+    }
+}
@@ -12,10 +12,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +39,9 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.MessageConversionException;
 
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import io.protostuff.runtime.RuntimeSchema;
 import io.qameta.allure.Description;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +52,9 @@ public class BusProtoStuffMessageConverterTest {
     @Mock
     private Target targetMock;
 
+    @Mock
+    private Action actionMock;
+
     @Mock
     private Message<Object> messageMock;
 
@@ -61,6 +79,57 @@ public class BusProtoStuffMessageConverterTest {
         assertThat(deserializedEvent).isEqualTo(targetCreatedEvent);
     }
 
+    @Test
+    @Description("Verifies that the frequently distributed events can be successfully serialized and deserialized")
+    public void successfullySerializeAndDeserializeFrequentEvents() {
+        when(actionMock.getId()).thenReturn(2L);
+        final List<RemoteApplicationEvent> events = Arrays.asList(new TargetPollEvent("controller", "tenant", "1"),
+                new TargetCreatedEvent(targetMock, "1"), new TargetUpdatedEvent(targetMock, "1"),
+                new TargetDeletedEvent("tenant", 1L, "controller", "http://127.0.0.1", Target.class, "1"),
+                new TargetAttributesRequestedEvent("tenant", 1L, "controller", "http://127.0.0.1", Target.class,
+                        "1"),
+                new ActionCreatedEvent(actionMock, 1L, 3L, 4L, "1"),
+                new ActionUpdatedEvent(actionMock, 1L, 3L, 4L, "1"),
+                new DownloadProgressEvent("tenant", 5L, 1024L, "1"));
+
+        for (final RemoteApplicationEvent event : events) {
+            final Object serializedEvent = underTest.convertToInternal(event, new MessageHeaders(new HashMap<>()),
+                    null);
+            when(messageMock.getPayload()).thenReturn(serializedEvent);
+            final Object deserializedEvent = underTest.convertFromInternal(messageMock, RemoteApplicationEvent.class,
+                    null);
+            assertThat(deserializedEvent).isInstanceOf(event.getClass()).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @Description("Verifies that a batch of events can be successfully serialized and deserialized")
+    public void successfullySerializeAndDeserializeBatchEvent() {
+        final RemoteBatchEvent batchEvent = new RemoteBatchEvent("tenant", "1",
+                Arrays.asList(new TargetCreatedEvent(targetMock, "1"), new TargetCreatedEvent(targetMock, "1")));
+        final Object serializedEvent = underTest.convertToInternal(batchEvent, new MessageHeaders(new HashMap<>()),
+                null);
+
+        when(messageMock.getPayload()).thenReturn(serializedEvent);
+        final Object deserializedEvent = underTest.convertFromInternal(messageMock, RemoteApplicationEvent.class, null);
+        assertThat(deserializedEvent).isInstanceOf(RemoteBatchEvent.class).isEqualTo(batchEvent);
+        assertThat(((RemoteBatchEvent) deserializedEvent).getEvents()).hasSize(2)
+                .allSatisfy(event -> assertThat(event).isInstanceOf(TargetCreatedEvent.class))
+                .containsExactlyElementsOf(batchEvent.getEvents());
+    }
+
+    @Test
+    @Description("Verifies that the event-type header is compatible with the protostuff encoding of the EventType")
+    public void eventTypeHeaderIsCompatibleWithEventTypeEncoding() {
+        final TargetCreatedEvent targetCreatedEvent = new TargetCreatedEvent(targetMock, "1");
+        final byte[] serializedEvent = (byte[]) underTest.convertToInternal(targetCreatedEvent,
+                new MessageHeaders(new HashMap<>()), null);
+
+        final byte[] encodedEventType = ProtobufIOUtil.toByteArray(EventType.from(TargetCreatedEvent.class),
+                RuntimeSchema.getSchema(EventType.class), LinkedBuffer.allocate());
+        assertThat(Arrays.copyOf(serializedEvent, encodedEventType.length)).isEqualTo(encodedEventType);
+    }
+
     @Test
     @Description("Verifies that a MessageConversationException is thrown on missing event-type information encoding")
     public void missingEventTypeMappingThrowsMessageConversationException() {
@@ -17,6 +17,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -175,6 +176,23 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     boolean existsByTargetControllerIdAndStatusAndActiveIsTrue(String controllerId, Action.Status currentStatus);
 
+    /**
+     * Retrieves the controller IDs of the given targets that have active
+     * actions with the given action status.
+     *
+     * @param controllerIds
+     *            of the targets to check for actions
+     * @param currentStatus
+     *            of the active actions to look for
+     *
+     * @return the controller IDs of the targets with active actions in the
+     *         given status
+     */
+    @Query("SELECT DISTINCT t.controllerId FROM JpaAction a JOIN a.target t WHERE t.controllerId IN :controllerIds AND a.active = true AND a.status = :currentStatus")
+    List<String> findControllerIdsByTargetControllerIdInAndStatusAndActiveIsTrue(
+            @Param("controllerIds") Collection<String> controllerIds,
+            @Param("currentStatus") Action.Status currentStatus);
+
     /**
      * Retrieves latest {@link Action} for given target and
      * {@link SoftwareModule}.
@@ -269,6 +287,23 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     void switchStatus(@Param("statusToSet") Action.Status statusToSet, @Param("targetsIds") List<Long> targetIds,
             @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
 
+    /**
+     * Counts the actions per rollout group which would be affected by
+     * {@link #switchStatus(Status, List, boolean, Status)} with the same
+     * parameters.
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions which are affected
+     * @param active
+     *            the active flag of the actions which should be affected
+     * @param currentStatus
+     *            the current status of the actions which are affected
+     * @return list of counts per rollout group of the affected actions
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount(a.rollout.id, a.rolloutGroup.id, a.status, COUNT(a.id)) FROM JpaAction a WHERE a.target IN :targetsIds AND a.active = :active AND a.status = :currentStatus AND a.distributionSet.requiredMigrationStep = false AND a.rolloutGroup IS NOT NULL GROUP BY a.rollout.id, a.rolloutGroup.id, a.status")
+    List<RolloutStatusCount> getStatusCountOfRolloutGroupsToSwitch(@Param("targetsIds") List<Long> targetIds,
+            @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
+
     /**
      *
      * Retrieves all active {@link Action}s by given controllerId filtered by a
@@ -284,6 +319,33 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     List<JpaAction> findByTargetIdAndIsActiveAndActionStatus(@Param("controllerId") String controllerId,
             @Param("status") Action.Status status);
 
+    /**
+     * Retrieves all active {@link Action}s of the given target together with
+     * the {@link Action}s in the given status that refer to the installed
+     * distribution set of the target, i.e. everything that is needed to answer
+     * a poll of the target with one query.
+     *
+     * @param targetId
+     *            the ID of the target for the actions
+     * @param installedStatus
+     *            the status of the actions of the installed distribution set
+     * @return the found list of {@link Action}s ordered by ID
+     */
+    @Query("SELECT a FROM JpaAction a JOIN a.target t LEFT JOIN t.installedDistributionSet ids WHERE t.id = :targetId AND (a.active = true OR (a.status = :installedStatus AND a.distributionSet.id = ids.id)) ORDER BY a.id")
+    List<JpaAction> findActiveOrInstalledByTargetId(@Param("targetId") long targetId,
+            @Param("installedStatus") Action.Status installedStatus);
+
+    /**
+     * Retrieves all active {@link Action}s of the given targets with one
+     * query.
+     *
+     * @param controllerIds
+     *            the controller IDs of the targets for the actions
+     * @return the found list of {@link Action}s
+     */
+    @Query("SELECT a FROM JpaAction a JOIN a.target t WHERE t.controllerId IN :controllerIds AND a.active = true")
+    List<JpaAction> findActiveByTargetControllerIdIn(@Param("controllerIds") Collection<String> controllerIds);
+
     /**
      *
      * Retrieves all IDs for {@link Action}s referring to the given target IDs,
@@ -374,6 +436,11 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT a FROM JpaAction a WHERE a.active = true AND a.distributionSet.requiredMigrationStep = false AND a.target IN ?1")
     List<JpaAction> findByActiveAndTargetIdInAndDistributionSetNotRequiredMigrationStep(Collection<Long> targetIds);
 
+    @Override
+    // Workaround for https://bugs.eclipse.org/bugs/show_bug.cgi?id=349477
+    @Query("SELECT a FROM JpaAction a WHERE a.id IN ?1")
+    List<JpaAction> findAllById(Iterable<Long> ids);
+
     /**
      * Counts all {@link Action}s referring to the given target.
      *
@@ -392,6 +459,19 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts all {@link Action}s per target referring to one of the given
+     * targetIds. Targets without any {@link Action} are not part of the
+     * result.
+     *
+     * @param targetIds
+     *            the targets to count the {@link Action}s
+     * @return list of pairs of target ID and the count of actions referring to
+     *         the target
+     */
+    @Query("SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN ?1 GROUP BY a.target.id")
+    List<Object[]> countByTargetIdInGroupByTargetId(Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      *
@@ -576,6 +656,17 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus( a.rollout.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.rollout.id = ?1 GROUP BY a.rollout.id,a.status")
     List<TotalTargetCountActionStatus> getStatusCountByRolloutId(Long rolloutId);
 
+    /**
+     * Counts the actions of the specified rollout per rollout group and
+     * status.
+     *
+     * @param rolloutId
+     *            id of {@link Rollout}
+     * @return list of counts per rollout group and status
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount(a.rollout.id, a.rolloutGroup.id, a.status, COUNT(a.id)) FROM JpaAction a WHERE a.rollout.id = ?1 AND a.rolloutGroup IS NOT NULL GROUP BY a.rollout.id, a.rolloutGroup.id, a.status")
+    List<RolloutStatusCount> getStatusCountOfRolloutGroupsByRolloutId(Long rolloutId);
+
     /**
      * Get list of objects which has details of status and count of targets in
      * each status in specified rollout group.
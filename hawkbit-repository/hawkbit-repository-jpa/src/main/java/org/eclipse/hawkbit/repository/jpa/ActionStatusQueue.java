@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.tenancy.TenantKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.util.concurrent.Striped;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-behind queue for {@link ActionStatus} entries reported by the
+ * controllers. The entries are grouped by target and persisted in batches by
+ * a flush that runs with a fixed delay. The entries of a target are always
+ * persisted in the order they have been queued.
+ *
+ * The entries are drained within the transaction that persists them. The
+ * target is locked until the transaction is completed, so an entry that is
+ * persisted synchronously is always persisted after the queued entries of the
+ * same target. If the transaction is rolled back the drained entries are
+ * queued again in front of the entries queued in the meantime. Entries that
+ * could not be persisted by {@link #MAX_FAILED_FLUSHES} flushes of their
+ * target are dropped.
+ *
+ * The queued entries are only kept in memory. On {@link #shutdown()} the
+ * queue is flushed a last time, but entries queued within the last flush time
+ * are lost if the process terminates without shutdown. The entries are
+ * persisted by JDBC batch inserts, hence no events are published and no
+ * entity listeners are called for them.
+ */
+class ActionStatusQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(ActionStatusQueue.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.action.status";
+
+    private static final int LOCK_STRIPES = 1024;
+
+    /**
+     * Number of failed flushes of a target after which its entries are
+     * dropped.
+     */
+    static final int MAX_FAILED_FLUSHES = 3;
+
+    private final Map<TenantKey<Long>, Deque<QueuedActionStatus>> groups = new ConcurrentHashMap<>();
+    private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+    private final int queueSize;
+    private final Semaphore capacity;
+    private final Consumer<String> flushHandler;
+
+    private final Timer flushTimer;
+    private final Counter overflowCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     *
+     * @param executorService
+     *            to schedule the flush on
+     * @param repositoryProperties
+     *            to configure the size and flush time of the queue
+     * @param meterRegistry
+     *            to register the queue metrics at
+     * @param flushHandler
+     *            to persist the queued entries of one tenant
+     */
+    ActionStatusQueue(final ScheduledExecutorService executorService,
+            final RepositoryProperties repositoryProperties, final MeterRegistry meterRegistry,
+            final Consumer<String> flushHandler) {
+        this.flushHandler = flushHandler;
+        this.queueSize = Math.max(1, repositoryProperties.getActionStatusQueueSize());
+        this.capacity = new Semaphore(queueSize);
+
+        Gauge.builder(METRIC_PREFIX + ".queue.size", this, ActionStatusQueue::size)
+                .description("Number of action status entries waiting to be persisted").register(meterRegistry);
+        flushTimer = Timer.builder(METRIC_PREFIX + ".flush")
+                .description("Time to persist the queued action status entries").register(meterRegistry);
+        overflowCounter = Counter.builder(METRIC_PREFIX + ".overflow")
+                .description("Action status entries persisted synchronously due to a full queue")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder(METRIC_PREFIX + ".dropped")
+                .description("Queued action status entries dropped as they could not be persisted")
+                .register(meterRegistry);
+
+        final long flushTime = repositoryProperties.getActionStatusFlushTime();
+        executorService.scheduleWithFixedDelay(this::flush, flushTime, flushTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Offers the given entry to the queue.
+     *
+     * @param status
+     *            to persist
+     * @return <code>true</code> if the entry has been queued and
+     *         <code>false</code> if the queue is full or shut down and the
+     *         caller has to persist the entry synchronously
+     */
+    boolean offer(final QueuedActionStatus status) {
+        if (!running) {
+            return false;
+        }
+
+        if (!capacity.tryAcquire()) {
+            LOG.debug("Action status queue is full, persisting status of action {} synchronously",
+                    status.getActionId());
+            overflowCounter.increment();
+            return false;
+        }
+
+        groups.compute(status.getTargetKey(), (key, queued) -> {
+            final Deque<QueuedActionStatus> group = queued != null ? queued : new ArrayDeque<>();
+            group.addLast(status);
+            return group;
+        });
+        return true;
+    }
+
+    /**
+     * @return number of queued entries
+     */
+    int size() {
+        return queueSize - capacity.availablePermits();
+    }
+
+    /**
+     * Flushes the queued entries of all tenants.
+     */
+    void flush() {
+        final Set<String> tenants = groups.keySet().stream().map(TenantKey::getTenant).collect(Collectors.toSet());
+        for (final String tenant : tenants) {
+            try {
+                flushTimer.record(() -> flushHandler.accept(tenant));
+            } catch (final RuntimeException ex) {
+                LOG.error("Failed to persist the queued action status entries of tenant {}.", tenant, ex);
+            }
+        }
+    }
+
+    /**
+     * Stops queueing and flushes the queued entries of all tenants
+     * synchronously, so the entries that have been accepted are persisted
+     * before shutdown.
+     */
+    void shutdown() {
+        running = false;
+        flush();
+        final int lost = size();
+        if (lost > 0) {
+            LOG.warn("{} action status entries have not been persisted before shutdown.", lost);
+        }
+    }
+
+    /**
+     * @param tenant
+     *            the tenant
+     * @return the IDs of the targets of the given tenant with queued entries
+     */
+    List<Long> getTargetIds(final String tenant) {
+        return groups.keySet().stream().filter(key -> key.getTenant().equals(tenant)).map(TenantKey::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drains the entries of the given tenant within the current transaction.
+     * Targets that are locked by another transaction are skipped.
+     *
+     * @param tenant
+     *            the tenant
+     * @param maxTargets
+     *            maximum number of targets to drain
+     * @return the drained entries, grouped by target in the order they have
+     *         been queued
+     */
+    List<QueuedActionStatus> drain(final String tenant, final int maxTargets) {
+        final List<Lock> locked = new ArrayList<>();
+        final List<QueuedActionStatus> drained = new ArrayList<>();
+        int targets = 0;
+        try {
+            for (final TenantKey<Long> key : groups.keySet()) {
+                if (targets >= maxTargets) {
+                    break;
+                }
+                if (!key.getTenant().equals(tenant)) {
+                    continue;
+                }
+                final Lock lock = locks.get(key);
+                if (!locked.contains(lock)) {
+                    if (!lock.tryLock()) {
+                        continue;
+                    }
+                    locked.add(lock);
+                }
+                final Deque<QueuedActionStatus> group = groups.remove(key);
+                if (group != null) {
+                    drained.addAll(group);
+                    targets++;
+                }
+            }
+        } catch (final RuntimeException e) {
+            requeue(drained);
+            locked.forEach(Lock::unlock);
+            throw e;
+        }
+        registerCompletion(locked, drained, false);
+        return drained;
+    }
+
+    /**
+     * Drains the entries of the given target within the current transaction.
+     * Waits until the target is not locked by another transaction.
+     *
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @param countFailedFlush
+     *            <code>true</code> if a rollback of the transaction counts as
+     *            failed flush of the entries, so they are dropped after
+     *            {@link #MAX_FAILED_FLUSHES} rollbacks, otherwise they are
+     *            always queued again
+     * @return the drained entries in the order they have been queued
+     */
+    List<QueuedActionStatus> drain(final String tenant, final long targetId, final boolean countFailedFlush) {
+        final TenantKey<Long> key = TenantKey.of(tenant, targetId);
+        final Lock lock = locks.get(key);
+        lock.lock();
+        final Deque<QueuedActionStatus> group = groups.remove(key);
+        final List<QueuedActionStatus> drained = group != null ? new ArrayList<>(group) : new ArrayList<>();
+        registerCompletion(List.of(lock), drained, countFailedFlush);
+        return drained;
+    }
+
+    private void registerCompletion(final List<Lock> locked, final List<QueuedActionStatus> drained,
+            final boolean countFailedFlush) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                try {
+                    if (status == STATUS_COMMITTED || drained.isEmpty()) {
+                        capacity.release(drained.size());
+                    } else if (countFailedFlush) {
+                        requeueFailed(drained);
+                    } else {
+                        requeue(drained);
+                    }
+                } finally {
+                    locked.forEach(Lock::unlock);
+                }
+            }
+        });
+    }
+
+    private void requeueFailed(final List<QueuedActionStatus> drained) {
+        final Map<Boolean, List<QueuedActionStatus>> retry = drained.stream()
+                .collect(Collectors.partitioningBy(entry -> ++entry.failedFlushes < MAX_FAILED_FLUSHES));
+        requeue(retry.get(true));
+
+        final int dropped = retry.get(false).size();
+        if (dropped > 0) {
+            LOG.error("Dropped {} action status entries as they could not be persisted by {} flushes.", dropped,
+                    MAX_FAILED_FLUSHES);
+            droppedCounter.increment(dropped);
+            capacity.release(dropped);
+        }
+    }
+
+    private void requeue(final List<QueuedActionStatus> drained) {
+        drained.stream().collect(Collectors.groupingBy(QueuedActionStatus::getTargetKey))
+                .forEach((key, statuses) -> groups.compute(key, (k, queued) -> {
+                    final Deque<QueuedActionStatus> group = new ArrayDeque<>(statuses);
+                    if (queued != null) {
+                        group.addAll(queued);
+                    }
+                    return group;
+                }));
+    }
+
+    /**
+     * Queued {@link ActionStatus} entry of an action.
+     */
+    static final class QueuedActionStatus {
+        private final TenantKey<Long> targetKey;
+        private final long actionId;
+        private final JpaActionStatus actionStatus;
+        private final long receivedAt;
+        private int failedFlushes;
+
+        /**
+         * Constructor.
+         *
+         * @param tenant
+         *            of the action
+         * @param targetId
+         *            of the action
+         * @param actionId
+         *            of the action
+         * @param actionStatus
+         *            the entry to persist
+         */
+        QueuedActionStatus(final String tenant, final long targetId, final long actionId,
+                final JpaActionStatus actionStatus) {
+            this.targetKey = TenantKey.of(tenant, targetId);
+            this.actionId = actionId;
+            this.actionStatus = actionStatus;
+            this.receivedAt = System.currentTimeMillis();
+        }
+
+        private TenantKey<Long> getTargetKey() {
+            return targetKey;
+        }
+
+        long getActionId() {
+            return actionId;
+        }
+
+        JpaActionStatus getActionStatus() {
+            return actionStatus;
+        }
+
+        long getReceivedAt() {
+            return receivedAt;
+        }
+    }
+}
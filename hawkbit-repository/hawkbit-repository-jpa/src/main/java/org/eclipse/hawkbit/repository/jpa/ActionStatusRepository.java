@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -49,6 +52,19 @@ public interface ActionStatusRepository
      */
     long countByActionId(Long actionId);
 
+    /**
+     * Counts {@link ActionStatus} entries per action referring to one of the
+     * given actionIds. Actions without any {@link ActionStatus} are not part
+     * of the result.
+     *
+     * @param actionIds
+     *            the actions to count the status entries for
+     * @return list of pairs of action ID and the count of status entries
+     *         referring to the action
+     */
+    @Query("SELECT s.action.id, COUNT(s.id) FROM JpaActionStatus s WHERE s.action.id IN ?1 GROUP BY s.action.id")
+    List<Object[]> countByActionIdInGroupByActionId(Collection<Long> actionIds);
+
     /**
      * Retrieves all {@link ActionStatus} entries from repository of given
      * ActionId.
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.artifact.repository.model.FileChannelDbArtifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache tier for hot artifact binaries, e.g. the artifacts of a running
+ * rollout that are downloaded by thousands of devices. The binaries are kept
+ * off-heap in direct buffers and are keyed by tenant and SHA-1 hash. Binaries
+ * of encrypted software modules are cached decrypted and are in addition keyed
+ * by the software module, i.e. they are decrypted only once.
+ *
+ * Note: binaries of a {@link FileChannelDbArtifact} are not cached as they are
+ * streamed from the page cache of the file system without being copied into
+ * the heap. Hence with the file system artifact repository only the decrypted
+ * binaries of encrypted software modules are cached. With repositories that
+ * do not provide file channels, e.g. a remote object storage, all binaries up
+ * to the maximum size are cached.
+ *
+ * The cache is bounded by the total size of the cached binaries and evicts by
+ * frequency and recency of the access. Concurrent misses of the same binary
+ * are deduplicated, i.e. the binary is read only once. Hits, misses and
+ * evictions are exposed as metrics with the cache name
+ * {@value #METRIC_CACHE_NAME}.
+ */
+public class ArtifactBinaryCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactBinaryCache.class);
+
+    private static final String METRIC_CACHE_NAME = "hawkbit.repository.artifact.binary";
+
+    private final Cache<Key, CachedDbArtifact> cache;
+    private final long maxArtifactSize;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize
+     *            total size of the cached binaries in bytes, a size of 0
+     *            disables the cache
+     * @param maxArtifactSize
+     *            size in bytes up to which a binary is cached
+     * @param meterRegistry
+     *            to register the cache metrics at
+     */
+    public ArtifactBinaryCache(final long maxSize, final long maxArtifactSize, final MeterRegistry meterRegistry) {
+        this.maxArtifactSize = Math.min(maxArtifactSize, Integer.MAX_VALUE);
+        if (maxSize > 0) {
+            cache = Caffeine.newBuilder().maximumWeight(maxSize)
+                    .weigher((final Key key, final CachedDbArtifact artifact) -> artifact.content.capacity())
+                    .recordStats().build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_CACHE_NAME);
+        } else {
+            cache = null;
+        }
+    }
+
+    /**
+     * Retrieves the binary from the cache or loads it.
+     *
+     * @param tenant
+     *            of the binary
+     * @param sha1Hash
+     *            of the binary
+     * @param decryptingModuleId
+     *            ID of the software module that decrypts the binary or
+     *            <code>null</code> if the binary is not encrypted
+     * @param loader
+     *            to load the binary from the artifact repository in case of a
+     *            miss
+     * @return the binary or <code>null</code> if it does not exist
+     */
+    public DbArtifact get(final String tenant, final String sha1Hash, final Long decryptingModuleId,
+            final Supplier<DbArtifact> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        final Key key = new Key(tenant, sha1Hash, decryptingModuleId);
+        final CachedDbArtifact cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // the binary is loaded within the mapping function, i.e. concurrent
+        // misses of the same key wait for the first one
+        final List<DbArtifact> notCached = new ArrayList<>(1);
+        final CachedDbArtifact loaded = cache.get(key, k -> {
+            final DbArtifact artifact = loader.get();
+            final CachedDbArtifact read = isCacheable(artifact) ? read(artifact) : null;
+            if (read == null) {
+                notCached.add(artifact);
+            }
+            return read;
+        });
+        if (loaded != null) {
+            return loaded;
+        }
+        // the binary has not been cached by this or a concurrent miss
+        return notCached.isEmpty() ? loader.get() : notCached.get(0);
+    }
+
+    private boolean isCacheable(final DbArtifact artifact) {
+        // file based binaries are served by the page cache and streamed
+        // without copying them through the heap
+        return artifact != null && !(artifact instanceof FileChannelDbArtifact) && artifact.getSize() >= 0
+                && artifact.getSize() <= maxArtifactSize;
+    }
+
+    /**
+     * Evicts the binary of the given tenant and SHA-1 hash, including its
+     * decrypted variants.
+     *
+     * @param tenant
+     *            of the binary
+     * @param sha1Hash
+     *            of the binary
+     */
+    public void evict(final String tenant, final String sha1Hash) {
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.sha1Hash.equals(sha1Hash) && key.tenant.equals(tenant));
+        }
+    }
+
+    private static CachedDbArtifact read(final DbArtifact artifact) {
+        final ByteBuffer content = ByteBuffer.allocateDirect((int) artifact.getSize());
+        try (final InputStream in = artifact.getFileInputStream();
+                final ReadableByteChannel channel = Channels.newChannel(in)) {
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0) {
+                    break;
+                }
+            }
+            if (!content.hasRemaining() && in.read() >= 0) {
+                LOG.debug("Binary {} is larger than announced, not caching it", artifact.getArtifactId());
+                return null;
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("Failed to read binary {} into cache", artifact.getArtifactId(), e);
+            return null;
+        }
+        content.flip();
+        return new CachedDbArtifact(artifact, content.asReadOnlyBuffer());
+    }
+
+    private static final class Key {
+        private final String tenant;
+        private final String sha1Hash;
+        private final Long decryptingModuleId;
+
+        private Key(final String tenant, final String sha1Hash, final Long decryptingModuleId) {
+            this.tenant = tenant;
+            this.sha1Hash = sha1Hash;
+            this.decryptingModuleId = decryptingModuleId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, sha1Hash, decryptingModuleId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return Objects.equals(sha1Hash, other.sha1Hash) && Objects.equals(tenant, other.tenant)
+                    && Objects.equals(decryptingModuleId, other.decryptingModuleId);
+        }
+    }
+
+    /**
+     * {@link DbArtifact} with a binary that is held in memory.
+     */
+    private static final class CachedDbArtifact implements DbArtifact {
+        private final String artifactId;
+        private final DbArtifactHash hashes;
+        private final String contentType;
+        private final ByteBuffer content;
+
+        private CachedDbArtifact(final DbArtifact artifact, final ByteBuffer content) {
+            this.artifactId = artifact.getArtifactId();
+            this.hashes = artifact.getHashes();
+            this.contentType = artifact.getContentType();
+            this.content = content;
+        }
+
+        @Override
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        @Override
+        public DbArtifactHash getHashes() {
+            return hashes;
+        }
+
+        @Override
+        public long getSize() {
+            return content.limit();
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            return new ByteBufferInputStream(content.duplicate());
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -43,6 +43,13 @@ public class JpaActionManagement {
     protected final QuotaManagement quotaManagement;
     protected final RepositoryProperties repositoryProperties;
 
+    /**
+     * Order of the active {@link Action}s of a target, i.e. highest weight
+     * (considering the default) first and lowest ID on same weight.
+     */
+    protected final Comparator<Action> actionImportance = Comparator.comparingInt(this::getWeightConsideringDefault)
+            .reversed().thenComparing(Action::getId);
+
     protected JpaActionManagement(final ActionRepository actionRepository,
             final ActionStatusRepository actionStatusRepository, final QuotaManagement quotaManagement,
             final RepositoryProperties repositoryProperties) {
@@ -65,8 +72,6 @@ public class JpaActionManagement {
         actions.addAll(actionRepository
                 .findByTargetControllerIdAndActiveIsTrueAndWeightIsNullOrderByIdAsc(pageable, controllerId)
                 .getContent());
-        final Comparator<Action> actionImportance = Comparator.comparingInt(this::getWeightConsideringDefault)
-                .reversed().thenComparing(Action::getId);
         return actions.stream().sorted(actionImportance).limit(maxActionCount).collect(Collectors.toList());
     }
 
@@ -67,14 +67,18 @@ public class JpaArtifactManagement implements ArtifactManagement {
 
     private final QuotaManagement quotaManagement;
 
+    private final ArtifactBinaryCache artifactBinaryCache;
+
     JpaArtifactManagement(final LocalArtifactRepository localArtifactRepository,
             final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
-            final QuotaManagement quotaManagement, final TenantAware tenantAware) {
+            final QuotaManagement quotaManagement, final TenantAware tenantAware,
+            final ArtifactBinaryCache artifactBinaryCache) {
         this.localArtifactRepository = localArtifactRepository;
         this.softwareModuleRepository = softwareModuleRepository;
         this.artifactRepository = artifactRepository;
         this.quotaManagement = quotaManagement;
         this.tenantAware = tenantAware;
+        this.artifactBinaryCache = artifactBinaryCache;
     }
 
     private static Artifact checkForExistingArtifact(final String filename, final boolean overrideExisting,
@@ -169,6 +173,7 @@ public class JpaArtifactManagement implements ArtifactManagement {
         }
         try {
             LOG.debug("deleting artifact from repository {}", sha1Hash);
+            artifactBinaryCache.evict(tenantAware.getCurrentTenant(), sha1Hash);
             artifactRepository.deleteBySha1(tenantAware.getCurrentTenant(), sha1Hash);
             return true;
         } catch (final ArtifactStoreException e) {
@@ -237,13 +242,18 @@ public class JpaArtifactManagement implements ArtifactManagement {
     public Optional<DbArtifact> loadArtifactBinary(final String sha1Hash, final long softwareModuleId,
             final boolean isEncrypted) {
         final String tenant = tenantAware.getCurrentTenant();
+        return Optional.ofNullable(artifactBinaryCache.get(tenant, sha1Hash, isEncrypted ? softwareModuleId : null,
+                () -> loadArtifactBinaryFromRepository(tenant, sha1Hash, softwareModuleId, isEncrypted)));
+    }
+
+    private DbArtifact loadArtifactBinaryFromRepository(final String tenant, final String sha1Hash,
+            final long softwareModuleId, final boolean isEncrypted) {
         if (artifactRepository.existsByTenantAndSha1(tenant, sha1Hash)) {
             final DbArtifact dbArtifact = artifactRepository.getArtifactBySha1(tenant, sha1Hash);
-            return Optional.ofNullable(
-                    isEncrypted ? wrapInEncryptionAwareDbArtifact(softwareModuleId, dbArtifact) : dbArtifact);
+            return isEncrypted ? wrapInEncryptionAwareDbArtifact(softwareModuleId, dbArtifact) : dbArtifact;
         }
 
-        return Optional.empty();
+        return null;
     }
 
     private final DbArtifact wrapInEncryptionAwareDbArtifact(final long smId, final DbArtifact dbArtifact) {
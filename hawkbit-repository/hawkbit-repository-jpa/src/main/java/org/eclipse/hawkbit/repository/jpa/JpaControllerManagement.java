@@ -14,27 +14,36 @@ import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_K
 import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_VALUE_SIZE;
 
 import java.net.URI;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
@@ -55,6 +64,8 @@ import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.InvalidTargetAttributeException;
+import org.eclipse.hawkbit.repository.jpa.ActionStatusQueue.QueuedActionStatus;
+import org.eclipse.hawkbit.repository.jpa.TargetPollPersistenceQueue.TargetPoll;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaActionStatusCreate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
@@ -73,19 +84,28 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollSnapshot;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.DirectToFieldMapping;
+import org.eclipse.persistence.sessions.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -93,6 +113,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -103,8 +126,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * JPA based {@link ControllerManagement} implementation.
@@ -115,7 +138,29 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    /**
+     * {@link ActionStatus} entries that change the state of the action or the
+     * target.
+     */
+    private static final Set<Status> STATE_CHANGING_STATUS = EnumSet.of(FINISHED, Status.ERROR, DOWNLOADED);
+
+    private static final String INSERT_ACTION_STATUS = "INSERT INTO sp_action_status (tenant, target_occurred_at,"
+            + " action, status, code, created_at, created_by, last_modified_at, last_modified_by, optlock_revision)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1)";
+
+    /**
+     * Databases whose JDBC drivers return the generated keys of all rows of a
+     * batch insert. The others, e.g. SQL Server and DB2, insert the
+     * {@link ActionStatus} entries one by one.
+     */
+    private static final Set<Database> BATCH_GENERATED_KEYS_DATABASES = EnumSet.of(Database.H2, Database.MYSQL,
+            Database.POSTGRESQL);
+
+    private final TargetPollPersistenceQueue queue;
+
+    private final ActionStatusQueue actionStatusQueue;
+    private final boolean syncTerminalActionStatus;
+    private final boolean batchInsertWithGeneratedKeys;
 
     @Autowired
     private EntityManager entityManager;
@@ -147,26 +192,53 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private PlatformTransactionManager txManager;
 
+    @Autowired
+    private DataSource dataSource;
+
     @Autowired
     private TenantAware tenantAware;
 
     @Autowired
     private ConfirmationManagement confirmationManagement;
 
+    @Autowired
+    private AuditorAware<String> auditorProvider;
+
     public JpaControllerManagement(final ScheduledExecutorService executorService,
             final ActionRepository actionRepository, final ActionStatusRepository actionStatusRepository,
-            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties) {
+            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties,
+            final MeterRegistry meterRegistry, final JpaProperties jpaProperties) {
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
 
         if (!repositoryProperties.isEagerPollPersistence()) {
-            executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
-                    repositoryProperties.getPollPersistenceFlushTime(),
-                    repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
-
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
+            queue = new TargetPollPersistenceQueue(executorService, repositoryProperties, meterRegistry,
+                    this::flushTargetPolls);
         } else {
             queue = null;
         }
+
+        if (repositoryProperties.isAsyncActionStatus()) {
+            actionStatusQueue = new ActionStatusQueue(executorService, repositoryProperties, meterRegistry,
+                    this::flushActionStatus);
+        } else {
+            actionStatusQueue = null;
+        }
+        syncTerminalActionStatus = repositoryProperties.isSyncTerminalActionStatus();
+        batchInsertWithGeneratedKeys = BATCH_GENERATED_KEYS_DATABASES.contains(jpaProperties.getDatabase());
+    }
+
+    /**
+     * Persists the queued target polls and action status entries before
+     * shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+        if (actionStatusQueue != null) {
+            actionStatusQueue.shutdown();
+        }
     }
 
     @Override
@@ -201,9 +273,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
 
     @Override
     public String getPollingTimeForAction(final long actionId) {
+        return getPollingTimeForAction(getActionAndThrowExceptionIfNotFound(actionId));
+    }
 
-        final JpaAction action = getActionAndThrowExceptionIfNotFound(actionId);
-
+    private String getPollingTimeForAction(final Action action) {
         if (!action.hasMaintenanceSchedule() || action.isMaintenanceScheduleLapsed()) {
             return getPollingTime();
         }
@@ -350,6 +423,17 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return findActiveActionsWithHighestWeightConsideringDefault(controllerId, maxActionCount);
     }
 
+    @Override
+    public Map<String, List<Action>> findActiveActionsWithHighestWeight(final Collection<String> controllerIds,
+            final int maxActionCount) {
+        return Lists.partition(new ArrayList<>(new LinkedHashSet<>(controllerIds)), Constants.MAX_ENTRIES_IN_STATEMENT)
+                .stream().flatMap(partition -> actionRepository.findActiveByTargetControllerIdIn(partition).stream())
+                .collect(Collectors.groupingBy(action -> action.getTarget().getControllerId(),
+                        Collectors.collectingAndThen(Collectors.<Action> toList(),
+                                actions -> actions.stream().sorted(actionImportance).limit(maxActionCount)
+                                        .collect(Collectors.toList()))));
+    }
+
     @Override
     public int getWeightConsideringDefault(final Action action) {
         return super.getWeightConsideringDefault(action);
@@ -391,110 +475,144 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 .orElseGet(() -> createTarget(controllerId, address, name));
     }
 
-    private Target createTarget(final String controllerId, final URI address, final String name) {
-
-        final Target result = targetRepository.save((JpaTarget) entityFactory.target().create()
-                .controllerId(controllerId).description("Plug and Play target: " + controllerId)
-                .name((StringUtils.hasText(name) ? name : controllerId)).status(TargetUpdateStatus.REGISTERED)
-                .lastTargetQuery(System.currentTimeMillis())
-                .address(Optional.ofNullable(address).map(URI::toString).orElse(null)).build());
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public List<Target> findOrRegisterTargetsIfTheyDoNotExist(final Collection<TargetRegistration> registrations) {
+        final Map<String, TargetRegistration> registrationsByControllerId = new LinkedHashMap<>();
+        registrations.forEach(
+                registration -> registrationsByControllerId.put(registration.getControllerId(), registration));
+
+        final Map<String, Target> targets = new HashMap<>();
+        for (final List<String> partition : Lists.partition(new ArrayList<>(registrationsByControllerId.keySet()),
+                Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            targetRepository.findAll(TargetSpecifications.hasControllerIdIn(partition)).forEach(target -> {
+                final TargetRegistration registration = registrationsByControllerId.get(target.getControllerId());
+                if (registration != null) {
+                    targets.put(target.getControllerId(),
+                            updateTarget(target, registration.getAddress(), registration.getName()));
+                }
+            });
+        }
 
-        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                .publishEvent(new TargetPollEvent(result, eventPublisherHolder.getApplicationId())));
+        final List<JpaTarget> newTargets = registrationsByControllerId.values().stream()
+                .filter(registration -> !targets.containsKey(registration.getControllerId()))
+                .map(registration -> buildTarget(registration.getControllerId(), registration.getAddress(),
+                        registration.getName()))
+                .collect(Collectors.toList());
+        if (!newTargets.isEmpty()) {
+            // one insert per target as the IDs are generated by the database
+            targetRepository.saveAll(newTargets).forEach(target -> {
+                targets.put(target.getControllerId(), target);
+                publishTargetPollEventAfterCommit(target);
+            });
+        }
 
-        return result;
+        return registrationsByControllerId.keySet().stream().map(targets::get).collect(Collectors.toList());
     }
 
-    /**
-     * Flush the update queue by means to persisting
-     * {@link Target#getLastTargetQuery()}.
-     */
-    private void flushUpdateQueue() {
-        LOG.debug("Run flushUpdateQueue.");
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public ControllerPollSnapshot findOrRegisterTargetForPoll(final String controllerId, final URI address) {
+        return getPollSnapshot(findOrRegisterTargetIfItDoesNotExist(controllerId, address, null));
+    }
 
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
+    @Override
+    public ControllerPollSnapshot getPollSnapshot(final Target target) {
+        // a freshly registered target is not flushed yet and has no actions
+        final List<JpaAction> actions = target.getId() == null ? Collections.emptyList()
+                : actionRepository.findActiveOrInstalledByTargetId(target.getId(), Status.FINISHED);
+
+        Action activeAction = null;
+        Action installedAction = null;
+        for (final JpaAction action : actions) {
+            if (action.isActive()) {
+                if (activeAction == null || actionImportance.compare(action, activeAction) < 0) {
+                    activeAction = action;
+                }
+            } else {
+                // ordered by ID, i.e. the last one is the latest
+                installedAction = action;
+            }
         }
 
-        LOG.debug("{} events in flushUpdateQueue.", size);
+        return new ControllerPollSnapshot(target, activeAction, installedAction,
+                activeAction == null ? getPollingTime() : getPollingTimeForAction(activeAction));
+    }
 
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
+    private Target createTarget(final String controllerId, final URI address, final String name) {
 
-        if (drained <= 0) {
-            return;
-        }
+        final Target result = targetRepository.save(buildTarget(controllerId, address, name));
 
-        try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
-                tenantAware.runAsTenant(tenant,
-                        () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
-        } catch (final RuntimeException ex) {
-            LOG.error("Failed to persist UpdateQueue content.", ex);
-            return;
-        }
+        publishTargetPollEventAfterCommit(result);
 
-        LOG.debug("{} events persisted.", drained);
+        return result;
     }
 
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
-        LOG.debug("Persist {} targetqueries.", polls.size());
-
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
-
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
+    private JpaTarget buildTarget(final String controllerId, final URI address, final String name) {
+        return (JpaTarget) entityFactory.target().create().controllerId(controllerId)
+                .description("Plug and Play target: " + controllerId)
+                .name((StringUtils.hasText(name) ? name : controllerId)).status(TargetUpdateStatus.REGISTERED)
+                .lastTargetQuery(System.currentTimeMillis())
+                .address(Optional.ofNullable(address).map(URI::toString).orElse(null)).build();
+    }
 
-        return null;
+    private void publishTargetPollEventAfterCommit(final Target target) {
+        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(target, eventPublisherHolder.getApplicationId())));
     }
 
     /**
-     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
-     * raising opt lock revision as this update is not mission critical and in
-     * fact only written by {@link ControllerManagement}, i.e. the target
-     * itself.
+     * Persists the polls of the given tenant that have been collected by the
+     * {@link TargetPollPersistenceQueue} in a new transaction.
      */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
-
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
-        }
+    private void flushTargetPolls(final String tenant, final List<TargetPoll> polls) {
+        final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
+        tenantAware.runAsTenant(tenant,
+                () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
+    }
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
+        LOG.debug("Persist {} targetqueries.", polls.size());
 
-        paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
-        updateQuery.setParameter("tenant", tenant);
+        setLastTargetQuery(tenant, polls);
+        polls.forEach(poll -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher().publishEvent(
+                new TargetPollEvent(poll.getControllerId(), tenant, eventPublisherHolder.getApplicationId()))));
 
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
-        }
+        return null;
     }
 
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
+    /**
+     * Sets {@link Target#getLastTargetQuery()} by JDBC batch updates in order
+     * to avoid raising opt lock revision as this update is not mission
+     * critical and in fact only written by {@link ControllerManagement}, i.e.
+     * the target itself. The poll time stamp is only moved forward.
+     */
+    private void setLastTargetQuery(final String tenant, final List<TargetPoll> polls) {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE sp_target SET last_target_query = ? WHERE tenant = ? AND controller_id = ?"
+                        + " AND (last_target_query IS NULL OR last_target_query < ?)",
+                polls, Constants.MAX_ENTRIES_IN_STATEMENT, (ps, poll) -> {
+                    ps.setLong(1, poll.getLastTargetQuery());
+                    ps.setString(2, tenant);
+                    ps.setString(3, poll.getControllerId());
+                    ps.setLong(4, poll.getLastTargetQuery());
+                });
     }
 
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()}
      * or {@link Target#getUpdateStatus()} or {@link Target#getName()} changes
-     * or the buffer queue is full.
+     * or the poll cannot be queued, so the change is versioned and published
+     * as any other target update.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name) {
-        if (isStoreEager(toUpdate, address, name) || !queue.offer(new TargetPoll(toUpdate))) {
+        if (isStoreEager(toUpdate, address, name)
+                || !queue.offer(new TargetPoll(toUpdate, System.currentTimeMillis()))) {
             if (isAddressChanged(toUpdate.getAddress(), address)) {
                 toUpdate.setAddress(address.toString());
             }
@@ -583,6 +701,222 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return addActionStatus((JpaActionStatusCreate) statusCreate);
     }
 
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = {
+            ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public void queueUpdateActionStatus(final ActionStatusCreate statusCreate) {
+        final JpaActionStatusCreate create = (JpaActionStatusCreate) statusCreate;
+        if (actionStatusQueue == null) {
+            addActionStatus(create);
+            return;
+        }
+
+        final JpaActionStatus actionStatus = create.build();
+        final JpaAction action = getActionAndThrowExceptionIfNotFound(create.getActionId());
+        if (!isUpdatingActionStatusAllowed(action, actionStatus)) {
+            LOG.debug("Update of actionStatus {} for action {} not possible since action not active anymore.",
+                    actionStatus.getStatus(), action.getId());
+            return;
+        }
+        assertActionStatusMessageQuota(actionStatus);
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final long targetId = action.getTarget().getId();
+        if ((syncTerminalActionStatus && STATE_CHANGING_STATUS.contains(actionStatus.getStatus()))
+                || !actionStatusQueue.offer(new QueuedActionStatus(tenant, targetId, action.getId(), actionStatus))) {
+            // persisted after the queued entries of the target
+            persistQueuedActionStatus(actionStatusQueue.drain(tenant, targetId, false));
+            handleAddUpdateActionStatus(actionStatus, action);
+        }
+    }
+
+    /**
+     * Persists the {@link ActionStatus} entries of the given tenant that have
+     * been collected by the {@link ActionStatusQueue} in new transactions. If
+     * the entries cannot be persisted in a batch they are persisted per
+     * target. The entries of a target that fails are kept for the next flush
+     * until {@link ActionStatusQueue#MAX_FAILED_FLUSHES} is reached.
+     */
+    private void flushActionStatus(final String tenant) {
+        final int batches = actionStatusQueue.getTargetIds(tenant).size() / Constants.MAX_ENTRIES_IN_STATEMENT + 1;
+        final TransactionCallback<Integer> flushBatch = status -> persistQueuedActionStatus(
+                actionStatusQueue.drain(tenant, Constants.MAX_ENTRIES_IN_STATEMENT));
+
+        // the queued entries are persisted like by the controller itself
+        systemSecurityContext.runAsSystemAsTenant(() -> systemSecurityContext.runAsControllerAsTenant(tenant, () -> {
+            try {
+                for (int i = 0; i < batches; i++) {
+                    if (DeploymentHelper.runInNewTransaction(txManager, "flushActionStatus", flushBatch) == 0) {
+                        break;
+                    }
+                }
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to persist the queued action status entries of tenant {} in a batch.", tenant, e);
+                actionStatusQueue.getTargetIds(tenant).forEach(targetId -> flushActionStatus(tenant, targetId));
+            }
+            return null;
+        }), tenant);
+    }
+
+    private void flushActionStatus(final String tenant, final long targetId) {
+        try {
+            DeploymentHelper.runInNewTransaction(txManager, "flushActionStatus-" + targetId,
+                    status -> persistQueuedActionStatus(actionStatusQueue.drain(tenant, targetId, true)));
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to persist the queued action status entries of target {}.", targetId, e);
+        }
+    }
+
+    /**
+     * Persists the given queued {@link ActionStatus} entries in the order
+     * they have been queued. Entries that only update the last status code of
+     * the action are inserted by JDBC batch inserts, the ones that change the
+     * state of the action or the target like synchronous ones.
+     *
+     * @return the number of given entries
+     */
+    private int persistQueuedActionStatus(final List<QueuedActionStatus> queued) {
+        if (queued.isEmpty()) {
+            return 0;
+        }
+
+        final Map<Long, JpaAction> actions = actionRepository
+                .findAllById(queued.stream().map(QueuedActionStatus::getActionId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(JpaAction::getId, Function.identity()));
+        final Map<Long, Long> statusCount = actionStatusRepository
+                .countByActionIdInGroupByActionId(actions.keySet()).stream()
+                .collect(Collectors.toMap(count -> (Long) count[0], count -> (Long) count[1]));
+        final String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+
+        final List<JpaActionStatus> batch = new ArrayList<>();
+        for (final QueuedActionStatus entry : queued) {
+            final JpaAction action = actions.get(entry.getActionId());
+            final JpaActionStatus actionStatus = entry.getActionStatus();
+            if (action == null || !isUpdatingActionStatusAllowed(action, actionStatus)) {
+                LOG.debug("Queued actionStatus {} for action {} dropped since action deleted or not active anymore.",
+                        actionStatus.getStatus(), entry.getActionId());
+                continue;
+            }
+
+            final long count = statusCount.getOrDefault(action.getId(), 0L);
+            if (count >= quotaManagement.getMaxStatusEntriesPerAction()) {
+                LOG.warn("Queued actionStatus {} for action {} dropped since quota of {} status entries exceeded.",
+                        actionStatus.getStatus(), action.getId(), quotaManagement.getMaxStatusEntriesPerAction());
+                continue;
+            }
+            statusCount.put(action.getId(), count + 1);
+
+            if (STATE_CHANGING_STATUS.contains(actionStatus.getStatus())) {
+                insertActionStatus(batch);
+                batch.clear();
+                handleAddUpdateActionStatus(actionStatus, action);
+                continue;
+            }
+
+            actionStatus.setAction(action);
+            actionStatus.setCreatedBy(auditor);
+            actionStatus.setCreatedAt(entry.getReceivedAt());
+            actionStatus.setLastModifiedBy(auditor);
+            actionStatus.setLastModifiedAt(entry.getReceivedAt());
+            batch.add(actionStatus);
+            action.setLastActionStatusCode(actionStatus.getCode().orElse(null));
+        }
+        insertActionStatus(batch);
+
+        return queued.size();
+    }
+
+    /**
+     * Inserts the given {@link ActionStatus} entries and their messages by
+     * JDBC batch inserts as JPA does not batch inserts of entities with
+     * generated IDs. The entity listeners are not called for these entries.
+     */
+    private void insertActionStatus(final List<JpaActionStatus> actionStatus) {
+        if (actionStatus.isEmpty()) {
+            return;
+        }
+
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final List<Object[]> messages = new ArrayList<>();
+        for (final List<JpaActionStatus> partition : Lists.partition(actionStatus,
+                Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final List<Long> ids = jdbcTemplate
+                    .execute((ConnectionCallback<List<Long>>) connection -> insertActionStatus(connection, partition));
+            for (int i = 0; i < partition.size(); i++) {
+                final Long id = ids.get(i);
+                partition.get(i).getMessages().forEach(message -> messages.add(new Object[] { id, message }));
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO sp_action_status_messages (action_status_id, detail_message) VALUES (?, ?)",
+                    messages);
+        }
+    }
+
+    private List<Long> insertActionStatus(final Connection connection, final List<JpaActionStatus> actionStatus)
+            throws SQLException {
+        final List<Long> ids = new ArrayList<>(actionStatus.size());
+        try (final PreparedStatement statement = connection.prepareStatement(INSERT_ACTION_STATUS,
+                new String[] { "id" })) {
+            if (batchInsertWithGeneratedKeys) {
+                for (final JpaActionStatus entry : actionStatus) {
+                    setInsertActionStatusValues(statement, entry);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                readGeneratedKeys(statement, ids);
+                if (ids.size() != actionStatus.size()) {
+                    throw new InvalidDataAccessResourceUsageException("JDBC driver returned " + ids.size()
+                            + " generated keys for a batch insert of " + actionStatus.size() + " rows.");
+                }
+                return ids;
+            }
+
+            for (final JpaActionStatus entry : actionStatus) {
+                setInsertActionStatusValues(statement, entry);
+                statement.executeUpdate();
+                readGeneratedKeys(statement, ids);
+            }
+        }
+        return ids;
+    }
+
+    private void setInsertActionStatusValues(final PreparedStatement statement, final JpaActionStatus actionStatus)
+            throws SQLException {
+        statement.setString(1, actionStatus.getAction().getTenant());
+        statement.setLong(2, actionStatus.getOccurredAt());
+        statement.setLong(3, actionStatus.getAction().getId());
+        statement.setObject(4, toDataValue(actionStatus.getStatus()));
+        statement.setObject(5, actionStatus.getCode().orElse(null), Types.INTEGER);
+        statement.setLong(6, actionStatus.getCreatedAt());
+        statement.setString(7, actionStatus.getCreatedBy());
+        statement.setLong(8, actionStatus.getLastModifiedAt());
+        statement.setString(9, actionStatus.getLastModifiedBy());
+    }
+
+    private static void readGeneratedKeys(final PreparedStatement statement, final List<Long> ids)
+            throws SQLException {
+        try (final ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * @return the database value of the given status as defined by the
+     *         converter of {@link JpaActionStatus}
+     */
+    private Object toDataValue(final Status status) {
+        final Session session = entityManager.unwrap(JpaEntityManager.class).getServerSession();
+        final DatabaseMapping mapping = session.getDescriptor(JpaActionStatus.class)
+                .getMappingForAttributeName("status");
+        return ((DirectToFieldMapping) mapping).getConverter().convertObjectValueToDataValue(status, session);
+    }
+
     @Override
     protected void onActionStatusUpdate(final Action.Status updatedActionStatus, final JpaAction action) {
         switch (updatedActionStatus) {
@@ -898,64 +1232,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
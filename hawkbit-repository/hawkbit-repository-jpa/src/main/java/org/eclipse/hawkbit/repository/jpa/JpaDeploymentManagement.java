@@ -16,6 +16,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -38,6 +40,7 @@ import javax.persistence.criteria.Root;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
@@ -58,6 +61,8 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
@@ -149,6 +154,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final TenantAware tenantAware;
     private final Database database;
     private final RetryTemplate retryTemplate;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final RolloutStatusCounter rolloutStatusCounter;
 
     protected JpaDeploymentManagement(final EntityManager entityManager, final ActionRepository actionRepository,
             final DistributionSetManagement distributionSetManagement,
@@ -158,7 +165,7 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final Database database,
-            final RepositoryProperties repositoryProperties) {
+            final RepositoryProperties repositoryProperties, final RolloutStatusCounter rolloutStatusCounter) {
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
         this.entityManager = entityManager;
         this.distributionSetRepository = distributionSetRepository;
@@ -178,6 +185,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         this.tenantAware = tenantAware;
         this.database = database;
         this.retryTemplate = createRetryTemplate();
+        this.afterCommit = afterCommit;
+        this.rolloutStatusCounter = rolloutStatusCounter;
     }
 
     @Override
@@ -459,7 +468,12 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void cancelInactiveScheduledActionsForTargets(final List<Long> targetIds) {
         if (!isMultiAssignmentsEnabled()) {
+            final List<RolloutStatusCount> canceled = actionRepository.getStatusCountOfRolloutGroupsToSwitch(targetIds,
+                    false, Status.SCHEDULED);
             actionRepository.switchStatus(Status.CANCELED, targetIds, false, Status.SCHEDULED);
+            if (!canceled.isEmpty()) {
+                afterCommit.afterCommit(() -> rolloutStatusCounter.recordStatusChange(canceled, Status.CANCELED));
+            }
         } else {
             LOG.debug("The Multi Assignments feature is enabled: No need to cancel inactive scheduled actions.");
         }
@@ -748,6 +762,10 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     @Override
     public Slice<Action> findActionsByTarget(final String controllerId, final Pageable pageable) {
         throwExceptionIfTargetDoesNotExist(controllerId);
+        if (pageable instanceof KeysetPageRequest) {
+            return JpaManagementHelper.findAllWithoutCountBySpec(actionRepository, pageable,
+                    Collections.singletonList(byControllerIdSpec(controllerId)));
+        }
         return actionRepository.findByTargetControllerId(pageable, controllerId);
     }
 
@@ -760,6 +778,11 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                 RSQLUtility.buildRsqlSpecification(rsqlParam, ActionFields.class, virtualPropertyReplacer, database),
                 byControllerIdSpec(controllerId));
 
+        if (pageable instanceof KeysetPageRequest) {
+            // keyset pages are not counted
+            return JpaManagementHelper.toUncountedPage(
+                    JpaManagementHelper.findAllWithoutCountBySpec(actionRepository, pageable, specList), pageable);
+        }
         return JpaManagementHelper.findAllWithCountBySpec(actionRepository, pageable, specList);
     }
 
@@ -837,6 +860,13 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     public Page<ActionStatus> findActionStatusByAction(final Pageable pageReq, final long actionId) {
         verifyActionExists(actionId);
 
+        if (pageReq instanceof KeysetPageRequest) {
+            // keyset pages are not counted
+            final Specification<JpaActionStatus> byActionId = (root, query, cb) -> cb
+                    .equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId);
+            return JpaManagementHelper.toUncountedPage(JpaManagementHelper.findAllWithoutCountBySpec(
+                    actionStatusRepository, pageReq, Collections.singletonList(byActionId)), pageReq);
+        }
         return actionStatusRepository.findByActionId(pageReq, actionId);
     }
 
@@ -933,6 +963,26 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return JpaManagementHelper.findAllWithoutCountBySpec(actionRepository, pageable, specList);
     }
 
+    @Override
+    public void forEachAction(final String rsqlParam, final Consumer<Action> consumer) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<JpaAction> query = cb.createQuery(JpaAction.class);
+        final Root<JpaAction> actionRoot = query.from(JpaAction.class);
+        actionRoot.fetch(JpaAction_.target);
+        actionRoot.fetch(JpaAction_.distributionSet);
+        actionRoot.fetch(JpaAction_.rollout, JoinType.LEFT);
+        actionRoot.fetch(JpaAction_.rolloutGroup, JoinType.LEFT);
+        if (rsqlParam != null) {
+            final Specification<JpaAction> spec = RSQLUtility.buildRsqlSpecification(rsqlParam, ActionFields.class,
+                    virtualPropertyReplacer, database);
+            query.where(spec.toPredicate(actionRoot, query, cb));
+        }
+        query.select(actionRoot).orderBy(cb.asc(actionRoot.get(JpaAction_.id)));
+
+        JpaManagementHelper.forEachChunk(entityManager, entityManager.createQuery(query),
+                actions -> actions.forEach(consumer));
+    }
+
     @Override
     public Optional<DistributionSet> getAssignedDistributionSet(final String controllerId) {
         throwExceptionIfTargetDoesNotExist(controllerId);
@@ -980,6 +1030,15 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                 Action.Status.CANCELING);
     }
 
+    @Override
+    public Set<String> findControllerIdsWithPendingCancellations(final Collection<String> controllerIds) {
+        if (controllerIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(actionRepository.findControllerIdsByTargetControllerIdInAndStatusAndActiveIsTrue(
+                controllerIds, Action.Status.CANCELING));
+    }
+
     private static String getQueryForDeleteActionsByStatusAndLastModifiedBeforeString(final Database database) {
         return QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED.getOrDefault(database,
                 QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED_DEFAULT);
@@ -8,7 +8,11 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
@@ -25,6 +29,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationCount;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,12 +52,13 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
     private final RepositoryProperties repositoryProperties;
     private final TenantAware tenantAware;
     private final LockRegistry lockRegistry;
+    private final SystemSecurityContext systemSecurityContext;
 
     protected JpaDistributionSetInvalidationManagement(final DistributionSetManagement distributionSetManagement,
             final RolloutManagement rolloutManagement, final DeploymentManagement deploymentManagement,
             final TargetFilterQueryManagement targetFilterQueryManagement, final PlatformTransactionManager txManager,
             final RepositoryProperties repositoryProperties, final TenantAware tenantAware,
-            final LockRegistry lockRegistry) {
+            final LockRegistry lockRegistry, final SystemSecurityContext systemSecurityContext) {
         this.distributionSetManagement = distributionSetManagement;
         this.rolloutManagement = rolloutManagement;
         this.deploymentManagement = deploymentManagement;
@@ -61,6 +67,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
         this.repositoryProperties = repositoryProperties;
         this.tenantAware = tenantAware;
         this.lockRegistry = lockRegistry;
+        this.systemSecurityContext = systemSecurityContext;
     }
 
     @Override
@@ -70,21 +77,16 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
 
         if (shouldRolloutsBeCanceled(distributionSetInvalidation.getCancelationType(),
                 distributionSetInvalidation.isCancelRollouts())) {
-            final String handlerId = JpaRolloutManagement.createRolloutLockKey(tenant);
-            final Lock lock = lockRegistry.obtain(handlerId);
+            final List<Lock> locks = new ArrayList<>();
             try {
-                if (!lock.tryLock(repositoryProperties.getDsInvalidationLockTimeout(), TimeUnit.SECONDS)) {
-                    throw new StopRolloutException("Timeout while trying to invalidate distribution sets");
-                }
-                try {
-                    invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
-                } finally {
-                    lock.unlock();
-                }
+                lockActiveRollouts(tenant, locks);
+                invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
             } catch (final InterruptedException e) {
                 LOG.error("InterruptedException while invalidating distribution sets {}!",
                         distributionSetInvalidation.getDistributionSetIds(), e);
                 Thread.currentThread().interrupt();
+            } finally {
+                locks.forEach(Lock::unlock);
             }
         } else {
             // no lock is needed as no rollout will be stopped
@@ -92,6 +94,35 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
         }
     }
 
+    /**
+     * Locks all active rollouts of the tenant to prevent that they are handled
+     * while the distribution sets are invalidated. As rollouts might be started
+     * while the locks are acquired, the active rollouts are read again until
+     * all of them are locked.
+     */
+    private void lockActiveRollouts(final String tenant, final List<Lock> locks) throws InterruptedException {
+        final long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(repositoryProperties.getDsInvalidationLockTimeout());
+        final Set<Long> lockedRollouts = new HashSet<>();
+        boolean lockedAll = false;
+        while (!lockedAll) {
+            lockedAll = true;
+            // the invalidating user does not necessarily have rollout read
+            // permissions
+            for (final Long rolloutId : systemSecurityContext.runAsSystem(rolloutManagement::findActiveRollouts)) {
+                if (lockedRollouts.add(rolloutId)) {
+                    lockedAll = false;
+                    final Lock lock = lockRegistry
+                            .obtain(JpaRolloutManagement.createRolloutLockKey(tenant, rolloutId));
+                    if (!lock.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                        throw new StopRolloutException("Timeout while trying to invalidate distribution sets");
+                    }
+                    locks.add(lock);
+                }
+            }
+        }
+    }
+
     private void invalidateDistributionSetsInTransaction(final DistributionSetInvalidation distributionSetInvalidation,
             final String tenant) {
         DeploymentHelper.runInNewTransaction(txManager, tenant + "-invalidateDS", status -> {
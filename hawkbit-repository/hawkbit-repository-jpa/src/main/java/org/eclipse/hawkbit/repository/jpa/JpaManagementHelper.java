@@ -8,13 +8,22 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.jpa.model.AbstractJpaBaseEntity;
+import org.eclipse.hawkbit.repository.jpa.specifications.KeysetSpecifications;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.config.ResultSetType;
+import org.eclipse.persistence.queries.ScrollableCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +38,12 @@ import org.springframework.util.StringUtils;
  * A collection of static helper methods for the management classes
  */
 public final class JpaManagementHelper {
+    /**
+     * Number of entries which are fetched from the database at once while
+     * reading a cursor.
+     */
+    private static final int CURSOR_CHUNK_SIZE = 500;
+
     private JpaManagementHelper() {
     }
 
@@ -49,19 +64,48 @@ public final class JpaManagementHelper {
         return specList.size() == 1 ? specList.get(0) : SpecificationsBuilder.combineWithAnd(specList);
     }
 
+    /**
+     * Finds a slice of the entities matching all given specifications. In case
+     * of a {@link KeysetPageRequest} only the entities after its position are
+     * selected.
+     */
     public static <T, J extends T> Slice<T> findAllWithoutCountBySpec(final NoCountSliceRepository<J> repository,
             final Pageable pageable, final List<Specification<J>> specList) {
-        if (CollectionUtils.isEmpty(specList)) {
+        final List<Specification<J>> specs = withKeyset(pageable, specList);
+        if (CollectionUtils.isEmpty(specs)) {
             return convertPage(repository.findAllWithoutCount(pageable), pageable);
         }
 
-        return convertPage(repository.findAllWithoutCount(combineWithAnd(specList), pageable), pageable);
+        return convertPage(repository.findAllWithoutCount(combineWithAnd(specs), pageable), pageable);
+    }
+
+    private static <J> List<Specification<J>> withKeyset(final Pageable pageable,
+            final List<Specification<J>> specList) {
+        if (!(pageable instanceof KeysetPageRequest)) {
+            return specList;
+        }
+        final Specification<J> isAfter = KeysetSpecifications.isAfter((KeysetPageRequest) pageable);
+        if (isAfter == null) {
+            return specList;
+        }
+
+        final List<Specification<J>> specs = specList == null ? new ArrayList<>() : new ArrayList<>(specList);
+        specs.add(isAfter);
+        return specs;
     }
 
     public static <T, J extends T> Slice<T> convertPage(final Slice<J> jpaAll, final Pageable pageable) {
         return new PageImpl<>(Collections.unmodifiableList(jpaAll.getContent()), pageable, 0);
     }
 
+    /**
+     * Converts a slice into a page without counting, e.g. for a
+     * {@link KeysetPageRequest}. The total of the page has no meaning.
+     */
+    public static <T> Page<T> toUncountedPage(final Slice<T> slice, final Pageable pageable) {
+        return new PageImpl<>(slice.getContent(), pageable, 0);
+    }
+
     public static <J> long countBySpec(final JpaSpecificationExecutor<J> repository,
             final List<Specification<J>> specList) {
         if (CollectionUtils.isEmpty(specList)) {
@@ -71,6 +115,44 @@ public final class JpaManagementHelper {
         return repository.count(combineWithAnd(specList));
     }
 
+    /**
+     * Reads the result of the query through a forward-only database cursor
+     * and passes it in chunks of {@value #CURSOR_CHUNK_SIZE} entries to the
+     * consumer. The persistence context is cleared after each chunk, so that
+     * the memory consumption does not depend on the size of the result. The
+     * query must be executed within a transaction and the consumer must not
+     * keep references to the entries of previous chunks.
+     *
+     * @param entityManager
+     *            the entity manager which created the query
+     * @param query
+     *            the query to read
+     * @param chunkConsumer
+     *            called for each chunk of the result
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> void forEachChunk(final EntityManager entityManager, final TypedQuery<R> query,
+            final Consumer<List<R>> chunkConsumer) {
+        query.setHint(QueryHints.SCROLLABLE_CURSOR, HintValues.TRUE)
+                .setHint(QueryHints.RESULT_SET_TYPE, ResultSetType.ForwardOnly)
+                .setHint(QueryHints.JDBC_FETCH_SIZE, CURSOR_CHUNK_SIZE);
+
+        final ScrollableCursor cursor = (ScrollableCursor) query.getSingleResult();
+        try {
+            final List<R> chunk = new ArrayList<>(CURSOR_CHUNK_SIZE);
+            while (cursor.hasNext()) {
+                chunk.add((R) cursor.next());
+                if (chunk.size() == CURSOR_CHUNK_SIZE || !cursor.hasNext()) {
+                    chunkConsumer.accept(chunk);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
     public static <J extends AbstractJpaBaseEntity> J touch(final EntityManager entityManager,
             final CrudRepository<J, ?> repository, final J entity) {
         // merge base entity so optLockRevision gets updated and audit
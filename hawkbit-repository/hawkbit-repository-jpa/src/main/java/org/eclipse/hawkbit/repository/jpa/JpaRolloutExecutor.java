@@ -8,9 +8,11 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -29,10 +31,12 @@ import org.eclipse.hawkbit.repository.event.remote.RolloutStoppedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.EvaluatorNotConfiguredException;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupEvaluationManager;
@@ -61,6 +65,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
 import org.springframework.util.StringUtils;
 
+import com.google.common.collect.Lists;
+
 /**
  * A Jpa implementation of {@link RolloutExecutor}
  */
@@ -568,15 +574,14 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final String targetFilter, final long limit) {
 
         return DeploymentHelper.runInNewTransaction(txManager, "assignTargetsToRolloutGroup", status -> {
-            final PageRequest pageRequest = PageRequest.of(0, Math.toIntExact(limit));
             final List<Long> readyGroups = RolloutHelper.getGroupsByStatusIncludingGroup(rollout.getRolloutGroups(),
                     RolloutGroupStatus.READY, group);
-            final Slice<Target> targets = targetManagement.findByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(
-                    pageRequest, readyGroups, targetFilter, rollout.getDistributionSet().getType());
+            final List<Long> targetIds = targetManagement.findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(
+                    Math.toIntExact(limit), readyGroups, targetFilter, rollout.getDistributionSet().getType());
 
-            createAssignmentOfTargetsToGroup(targets, group);
+            createAssignmentOfTargetsToGroup(targetIds, group);
 
-            return Long.valueOf(targets.getNumberOfElements());
+            return Long.valueOf(targetIds.size());
         });
     }
 
@@ -639,8 +644,15 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         });
     }
 
-    private void createAssignmentOfTargetsToGroup(final Slice<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+    /**
+     * Persists the assignments by references of the group and the targets, so
+     * that neither of them is loaded. The inserts are sent in JDBC batches on
+     * flush.
+     */
+    private void createAssignmentOfTargetsToGroup(final List<Long> targetIds, final RolloutGroup group) {
+        final JpaRolloutGroup groupReference = entityManager.getReference(JpaRolloutGroup.class, group.getId());
+        targetIds.forEach(targetId -> entityManager.persist(
+                new RolloutTargetGroup(groupReference, entityManager.getReference(JpaTarget.class, targetId))));
     }
 
     /**
@@ -657,10 +669,9 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
-        targets.forEach(target -> {
-
-            assertActionsPerTargetQuota(target, 1);
+        assertActionsPerTargetQuota(targetIds, 1);
 
+        final List<JpaAction> actions = targets.stream().map(target -> {
             final JpaAction action = new JpaAction();
             action.setTarget(target);
             action.setActive(false);
@@ -672,22 +683,29 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             action.setRolloutGroup(rolloutGroup);
             action.setInitiatedBy(rollout.getCreatedBy());
             rollout.getWeight().ifPresent(action::setWeight);
-            actionRepository.save(action);
-        });
+            return action;
+        }).collect(Collectors.toList());
+        actionRepository.saveAll(actions);
     }
 
     /**
      * Enforces the quota defining the maximum number of {@link Action}s per
-     * {@link Target}.
+     * {@link Target}. The actions of all targets are counted at once.
      *
-     * @param target
-     *            The target
+     * @param targetIds
+     *            The IDs of the targets
      * @param requested
      *            number of actions to check
      */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
+    private void assertActionsPerTargetQuota(final List<Long> targetIds, final int requested) {
         final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        QuotaHelper.assertAssignmentQuota(targetIds, requested, quota, Action.class, Target.class,
+                this::countActionsByTargetIds);
+    }
+
+    private Map<Long, Long> countActionsByTargetIds(final Collection<Long> targetIds) {
+        return Lists.partition(new ArrayList<>(targetIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> actionRepository.countByTargetIdInGroupByTargetId(ids).stream())
+                .collect(Collectors.toMap(count -> (Long) count[0], count -> (Long) count[1]));
     }
 }
@@ -13,9 +13,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
@@ -39,6 +41,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup_;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -82,13 +85,15 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
     private final RolloutStatusCache rolloutStatusCache;
 
+    private final RolloutStatusCounter rolloutStatusCounter;
+
     private final Database database;
 
     JpaRolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
             final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
-            final Database database) {
+            final RolloutStatusCounter rolloutStatusCounter, final Database database) {
 
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutRepository = rolloutRepository;
@@ -97,6 +102,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
         this.entityManager = entityManager;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.rolloutStatusCache = rolloutStatusCache;
+        this.rolloutStatusCounter = rolloutStatusCounter;
         this.database = database;
     }
 
@@ -198,7 +204,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .getRolloutGroupStatus(rolloutGroupId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+            rolloutStatusCountItems = rolloutStatusCounter
+                    .getStatusCountByRolloutGroupId(Collections.singletonList(rolloutGroupId));
             rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
         }
 
@@ -217,7 +224,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
+            final List<TotalTargetCountActionStatus> resultList = rolloutStatusCounter
                     .getStatusCountByRolloutGroupId(rolloutGroupIds);
             final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
                     .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
@@ -273,6 +280,26 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
         throwExceptionIfRolloutGroupDoesNotExist(rolloutGroupId);
 
+        final List<TargetWithActionStatus> targetWithActionStatus = createTargetsWithActionStatusQuery(rolloutGroupId,
+                pageRequest.getSort()).setFirstResult((int) pageRequest.getOffset())
+                        .setMaxResults(pageRequest.getPageSize()).getResultList().stream()
+                        .map(this::getTargetWithActionStatusFromQuery).collect(Collectors.toList());
+
+        return new PageImpl<>(targetWithActionStatus, pageRequest, 0);
+    }
+
+    @Override
+    public void forEachTargetOfRolloutGroupWithActionStatus(final long rolloutGroupId,
+            final Consumer<TargetWithActionStatus> consumer) {
+
+        throwExceptionIfRolloutGroupDoesNotExist(rolloutGroupId);
+
+        JpaManagementHelper.forEachChunk(entityManager,
+                createTargetsWithActionStatusQuery(rolloutGroupId, Sort.by("id")),
+                targets -> targets.stream().map(this::getTargetWithActionStatusFromQuery).forEach(consumer));
+    }
+
+    private TypedQuery<Object[]> createTargetsWithActionStatusQuery(final long rolloutGroupId, final Sort sort) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
         final Root<RolloutTargetGroup> targetRoot = query.distinct(true).from(RolloutTargetGroup.class);
@@ -284,12 +311,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .multiselect(targetJoin, actionJoin.get(JpaAction_.status),
                         actionJoin.get(JpaAction_.lastActionStatusCode))
                 .where(getRolloutGroupTargetWithRolloutGroupJoinCondition(rolloutGroupId, cb, targetRoot))
-                .orderBy(getOrderBy(pageRequest, cb, targetJoin, actionJoin));
-        final List<TargetWithActionStatus> targetWithActionStatus = entityManager.createQuery(multiselect)
-                .setFirstResult((int) pageRequest.getOffset()).setMaxResults(pageRequest.getPageSize()).getResultList()
-                .stream().map(this::getTargetWithActionStatusFromQuery).collect(Collectors.toList());
-
-        return new PageImpl<>(targetWithActionStatus, pageRequest, 0);
+                .orderBy(getOrderBy(sort, cb, targetJoin, actionJoin));
+        return entityManager.createQuery(multiselect);
     }
 
     private Predicate getRolloutGroupTargetWithRolloutGroupJoinCondition(final long rolloutGroupId,
@@ -302,11 +325,11 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
         return new TargetWithActionStatus((Target) o[0], (Action.Status) o[1], (Integer) o[2]);
     }
 
-    private List<Order> getOrderBy(final Pageable pageRequest, final CriteriaBuilder cb,
+    private List<Order> getOrderBy(final Sort sort, final CriteriaBuilder cb,
             final Join<RolloutTargetGroup, JpaTarget> targetJoin,
             final ListJoin<RolloutTargetGroup, JpaAction> actionJoin) {
 
-        return pageRequest.getSort().get().flatMap(order -> {
+        return sort.get().flatMap(order -> {
             final List<Order> orders;
             final String property = order.getProperty();
             // we consider status, last_action_status_code as property from
@@ -67,7 +67,13 @@ public class JpaRolloutHandler implements RolloutHandler {
             return;
         }
 
-        final String handlerId = createRolloutLockKey(tenantAware.getCurrentTenant());
+        LOGGER.trace("Trigger handling {} rollouts.", rollouts.size());
+        rollouts.forEach(this::handle);
+    }
+
+    @Override
+    public void handle(final long rolloutId) {
+        final String handlerId = JpaRolloutManagement.createRolloutLockKey(tenantAware.getCurrentTenant(), rolloutId);
         final Lock lock = lockRegistry.obtain(handlerId);
         if (!lock.tryLock()) {
             if (LOGGER.isTraceEnabled()) {
@@ -77,8 +83,7 @@ public class JpaRolloutHandler implements RolloutHandler {
         }
 
         try {
-            LOGGER.trace("Trigger handling {} rollouts.", rollouts.size());
-            rollouts.forEach(rolloutId -> handleRolloutInNewTransaction(rolloutId, handlerId));
+            handleRolloutInNewTransaction(rolloutId, handlerId);
         } finally {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Unlock lock {}", lock);
@@ -87,12 +92,8 @@ public class JpaRolloutHandler implements RolloutHandler {
         }
     }
 
-    private static String createRolloutLockKey(final String tenant) {
-        return tenant + "-rollout";
-    }
-
     private void handleRolloutInNewTransaction(final long rolloutId, final String handlerId) {
-        DeploymentHelper.runInNewTransaction(txManager, handlerId + "-" + rolloutId, status -> {
+        DeploymentHelper.runInNewTransaction(txManager, handlerId, status -> {
             rolloutManagement.get(rolloutId).ifPresentOrElse(
                     rollout -> runInUserContext(rollout, () -> rolloutExecutor.execute(rollout)),
                     () -> LOGGER.error("Could not retrieve rollout with id {}. Will not continue with execution.",
@@ -46,6 +46,7 @@ import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecuto
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout_;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.RolloutSpecification;
@@ -121,6 +122,9 @@ public class JpaRolloutManagement implements RolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
     @Autowired
     private StartNextGroupRolloutGroupSuccessAction startNextRolloutGroupAction;
 
@@ -416,8 +420,15 @@ public class JpaRolloutManagement implements RolloutManagement {
         rolloutRepository.save(rollout);
     }
 
-    public static String createRolloutLockKey(final String tenant) {
-        return tenant + "-rollout";
+    /**
+     * @param tenant
+     *            of the rollout
+     * @param rolloutId
+     *            of the rollout
+     * @return the key of the lock that is held while the rollout is handled
+     */
+    public static String createRolloutLockKey(final String tenant, final long rolloutId) {
+        return tenant + "-rollout-" + rolloutId;
     }
 
     @Override
@@ -537,7 +548,8 @@ public class JpaRolloutManagement implements RolloutManagement {
         List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache.getRolloutStatus(rolloutId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
+            rolloutStatusCountItems = rolloutStatusCounter
+                    .getStatusCountByRolloutId(Collections.singletonList(rolloutId));
             rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems);
         }
 
@@ -563,7 +575,7 @@ public class JpaRolloutManagement implements RolloutManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
+            final List<TotalTargetCountActionStatus> resultList = rolloutStatusCounter
                     .getStatusCountByRolloutId(rolloutIds);
             final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
                     .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
@@ -13,16 +13,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.MapJoin;
 import javax.persistence.criteria.Root;
 import javax.validation.constraints.NotEmpty;
@@ -314,6 +317,46 @@ public class JpaTargetManagement implements TargetManagement {
                         virtualPropertyReplacer, database)));
     }
 
+    @Override
+    public void forEachByRsqlWithAttributes(final String rsqlParam,
+            final BiConsumer<Target, Map<String, String>> consumer) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<JpaTarget> query = cb.createQuery(JpaTarget.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        targetRoot.fetch(JpaTarget_.targetType, JoinType.LEFT);
+        if (rsqlParam != null) {
+            final Specification<JpaTarget> spec = RSQLUtility.buildRsqlSpecification(rsqlParam, TargetFields.class,
+                    virtualPropertyReplacer, database);
+            query.where(spec.toPredicate(targetRoot, query, cb));
+        }
+        query.select(targetRoot).orderBy(cb.asc(targetRoot.get(JpaTarget_.id)));
+
+        JpaManagementHelper.forEachChunk(entityManager, entityManager.createQuery(query), targets -> {
+            final Map<Long, Map<String, String>> attributes = getControllerAttributes(
+                    targets.stream().map(JpaTarget::getId).collect(Collectors.toList()));
+            targets.forEach(target -> consumer.accept(target,
+                    attributes.getOrDefault(target.getId(), Collections.emptyMap())));
+        });
+    }
+
+    private Map<Long, Map<String, String>> getControllerAttributes(final List<Long> targetIds) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.where(targetRoot.get(JpaTarget_.id).in(targetIds));
+
+        final MapJoin<JpaTarget, String, String> attributes = targetRoot.join(JpaTarget_.controllerAttributes);
+        query.multiselect(targetRoot.get(JpaTarget_.id), attributes.key(), attributes.value());
+        query.orderBy(cb.asc(attributes.key()));
+
+        final Map<Long, Map<String, String>> result = new HashMap<>();
+        entityManager.createQuery(query).getResultList()
+                .forEach(entry -> result.computeIfAbsent((Long) entry[0], id -> new LinkedHashMap<>())
+                        .put((String) entry[1], (String) entry[2]));
+        return result;
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -680,16 +723,51 @@ public class JpaTargetManagement implements TargetManagement {
         return JpaManagementHelper.findAllWithoutCountBySpec(targetRepository, pageRequest, specList);
     }
 
+    @Override
+    public Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndModifiedSince(final Pageable pageRequest,
+            final long distributionSetId, final String targetFilterQuery, final long modifiedSince) {
+        final DistributionSet jpaDistributionSet = distributionSetManagement.getOrElseThrowException(distributionSetId);
+        final Long distSetTypeId = jpaDistributionSet.getType().getId();
+
+        final List<Specification<JpaTarget>> specList = Arrays.asList(
+                TargetSpecifications.isModifiedSince(modifiedSince),
+                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
+                        database),
+                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId),
+                TargetSpecifications.isCompatibleWithDistributionSetType(distSetTypeId));
+
+        return JpaManagementHelper.findAllWithoutCountBySpec(targetRepository, pageRequest, specList);
+    }
+
     @Override
     public Slice<Target> findByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(final Pageable pageRequest,
             final Collection<Long> groups, final String targetFilterQuery, final DistributionSetType dsType) {
-        final List<Specification<JpaTarget>> specList = Arrays.asList(
+        return JpaManagementHelper.findAllWithoutCountBySpec(targetRepository, pageRequest,
+                notInRolloutGroupsAndCompatible(groups, targetFilterQuery, dsType));
+    }
+
+    @Override
+    public List<Long> findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(final int limit,
+            final Collection<Long> groups, final String targetFilterQuery, final DistributionSetType dsType) {
+        final Specification<JpaTarget> combinedSpecification = Objects.requireNonNull(SpecificationsBuilder
+                .combineWithAnd(notInRolloutGroupsAndCompatible(groups, targetFilterQuery, dsType)));
+
+        // select the IDs only, the targets are just referenced by the caller
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.select(targetRoot.get(JpaTarget_.id)).where(combinedSpecification.toPredicate(targetRoot, query, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private List<Specification<JpaTarget>> notInRolloutGroupsAndCompatible(final Collection<Long> groups,
+            final String targetFilterQuery, final DistributionSetType dsType) {
+        return Arrays.asList(
                 RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
                         database),
                 TargetSpecifications.isNotInRolloutGroups(groups),
                 TargetSpecifications.isCompatibleWithDistributionSetType(dsType.getId()));
-
-        return JpaManagementHelper.findAllWithoutCountBySpec(targetRepository, pageRequest, specList);
     }
 
     @Override
@@ -705,13 +783,8 @@ public class JpaTargetManagement implements TargetManagement {
     @Override
     public long countByRsqlAndNotInRolloutGroupsAndCompatible(final Collection<Long> groups,
             final String targetFilterQuery, final DistributionSetType dsType) {
-        final List<Specification<JpaTarget>> specList = Arrays.asList(
-                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
-                        database),
-                TargetSpecifications.isNotInRolloutGroups(groups),
-                TargetSpecifications.isCompatibleWithDistributionSetType(dsType.getId()));
-
-        return JpaManagementHelper.countBySpec(targetRepository, specList);
+        return JpaManagementHelper.countBySpec(targetRepository,
+                notInRolloutGroupsAndCompatible(groups, targetFilterQuery, dsType));
     }
 
     @Override
@@ -81,9 +81,12 @@ import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefault
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutStatusCounterHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCountScheduler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
@@ -92,6 +95,9 @@ import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRollou
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGroupErrorCondition;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGroupSuccessCondition;
 import org.eclipse.hawkbit.repository.jpa.rsql.DefaultRsqlVisitorFactory;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlCache;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlCacheHolder;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
@@ -147,6 +153,9 @@ import org.springframework.validation.beanvalidation.MethodValidationPostProcess
 
 import com.google.common.collect.Maps;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * General configuration for hawkBit's Repository.
  *
@@ -395,6 +404,34 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return AfterTransactionCommitExecutorHolder.getInstance();
     }
 
+    /**
+     * @return the {@link RolloutStatusCounterHolder} singleton bean which
+     *         makes the {@link RolloutStatusCounter} accessible in JPA
+     *         entities
+     */
+    @Bean
+    RolloutStatusCounterHolder rolloutStatusCounterHolder() {
+        return RolloutStatusCounterHolder.getInstance();
+    }
+
+    /**
+     * {@link RolloutStatusCounter} bean.
+     *
+     * @param statusCountRepository
+     *            to store the counts
+     * @param actionRepository
+     *            to calculate the counts on reconciliation
+     * @param txManager
+     *            transaction manager
+     * @return a new {@link RolloutStatusCounter}
+     */
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnMissingBean
+    RolloutStatusCounter rolloutStatusCounter(final RolloutStatusCountRepository statusCountRepository,
+            final ActionRepository actionRepository, final PlatformTransactionManager txManager) {
+        return new RolloutStatusCounter(statusCountRepository, actionRepository, txManager);
+    }
+
     /**
      * Defines the validation processor bean.
      *
@@ -738,9 +775,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
-            final JpaProperties properties) {
+            final RolloutStatusCounter rolloutStatusCounter, final JpaProperties properties) {
         return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, actionRepository,
-                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, properties.getDatabase());
+                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, rolloutStatusCounter,
+                properties.getDatabase());
     }
 
     /**
@@ -758,11 +796,13 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
-            final JpaProperties properties, final RepositoryProperties repositoryProperties) {
+            final JpaProperties properties, final RepositoryProperties repositoryProperties,
+            final RolloutStatusCounter rolloutStatusCounter) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetManagement,
                 distributionSetRepository, targetRepository, actionStatusRepository, auditorProvider,
                 eventPublisherHolder, afterCommit, virtualPropertyReplacer, txManager, tenantConfigurationManagement,
-                quotaManagement, systemSecurityContext, tenantAware, properties.getDatabase(), repositoryProperties);
+                quotaManagement, systemSecurityContext, tenantAware, properties.getDatabase(), repositoryProperties,
+                rolloutStatusCounter);
     }
 
     @Bean
@@ -784,18 +824,38 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnMissingBean
     ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
             final ActionRepository actionRepository, final ActionStatusRepository actionStatusRepository,
-            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties) {
+            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry, final JpaProperties jpaProperties) {
         return new JpaControllerManagement(executorService, actionRepository, actionStatusRepository, quotaManagement,
-                repositoryProperties);
+                repositoryProperties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), jpaProperties);
+    }
+
+    /**
+     * {@link ArtifactBinaryCache} bean.
+     *
+     * @param repositoryProperties
+     *            to configure the cache size
+     * @param meterRegistry
+     *            to register the cache metrics at
+     * @return a new {@link ArtifactBinaryCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactBinaryCache artifactBinaryCache(final RepositoryProperties repositoryProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ArtifactBinaryCache(repositoryProperties.getArtifactBinaryCacheSize(),
+                repositoryProperties.getArtifactBinaryCacheMaxArtifactSize(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     @Bean
     @ConditionalOnMissingBean
     ArtifactManagement artifactManagement(final LocalArtifactRepository localArtifactRepository,
             final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
-            final QuotaManagement quotaManagement, final TenantAware tenantAware) {
+            final QuotaManagement quotaManagement, final TenantAware tenantAware,
+            final ArtifactBinaryCache artifactBinaryCache) {
         return new JpaArtifactManagement(localArtifactRepository, softwareModuleRepository, artifactRepository,
-                quotaManagement, tenantAware);
+                quotaManagement, tenantAware, artifactBinaryCache);
     }
 
     /**
@@ -846,15 +906,21 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param repositoryProperties
+     *            to configure the interval of the full checks
+     * @param meterRegistry
+     *            to record the duration and results of the checks
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
     AutoAssignExecutor autoAssignExecutor(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final ObjectProvider<MeterRegistry> meterRegistry) {
         return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, tenantAware);
+                transactionManager, tenantAware, repositoryProperties.getAutoAssignFullCheckInterval(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
@@ -872,10 +938,15 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      * @param autoAssignChecker
      *            to run a check as tenant
      * @param lockRegistry
-     *            to lock the tenant for auto assignment
-     * @return a new {@link AutoAssignChecker}
+     *            to lock the target filter queries for auto assignment
+     * @param targetFilterQueryManagement
+     *            to find the target filter queries with auto assign DS
+     * @param repositoryProperties
+     *            to configure the maximum number of target filter queries
+     *            that are checked in parallel
+     * @return a new {@link AutoAssignScheduler}
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
     // don't active the auto assign scheduler in test, otherwise it is hard to
     // test
@@ -883,8 +954,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final LockRegistry lockRegistry, final TargetFilterQueryManagement targetFilterQueryManagement,
+            final RepositoryProperties repositoryProperties) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry,
+                targetFilterQueryManagement, repositoryProperties.getAutoAssignSchedulerThreads());
     }
 
     /**
@@ -937,17 +1010,53 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to find all tenants
      * @param rolloutHandler
      *            to run the rollout handler
+     * @param rolloutManagement
+     *            to find the active rollouts
      * @param systemSecurityContext
      *            to run as system
+     * @param repositoryProperties
+     *            to configure the maximum number of rollouts that are handled
+     *            in parallel
      * @return a new {@link RolloutScheduler} bean.
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
     RolloutScheduler rolloutScheduler(final TenantAware tenantAware, final SystemManagement systemManagement,
-            final RolloutHandler rolloutHandler, final SystemSecurityContext systemSecurityContext) {
-        return new RolloutScheduler(systemManagement, rolloutHandler, systemSecurityContext);
+            final RolloutHandler rolloutHandler, final RolloutManagement rolloutManagement,
+            final SystemSecurityContext systemSecurityContext, final RepositoryProperties repositoryProperties) {
+        return new RolloutScheduler(systemManagement, rolloutHandler, rolloutManagement, systemSecurityContext,
+                repositoryProperties.getRolloutSchedulerThreads());
+    }
+
+    /**
+     * {@link RolloutStatusCountScheduler} bean.
+     *
+     * Note: does not activate in test profile, the not yet flushed status
+     * changes are included when the counts are read anyway.
+     *
+     * @param rolloutStatusCounter
+     *            to flush and reconcile
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param lockRegistry
+     *            to reconcile a tenant on one node only
+     * @return a new {@link RolloutStatusCountScheduler} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.statuscount.scheduler", name = "enabled", matchIfMissing = true)
+    RolloutStatusCountScheduler rolloutStatusCountScheduler(final RolloutStatusCounter rolloutStatusCounter,
+            final RolloutManagement rolloutManagement, final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry) {
+        return new RolloutStatusCountScheduler(rolloutStatusCounter, rolloutManagement, systemManagement,
+                systemSecurityContext, lockRegistry);
     }
 
     /**
@@ -971,6 +1080,33 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return RsqlVisitorFactoryHolder.getInstance();
     }
 
+    /**
+     * {@link RsqlCache} bean which is used by the {@link RSQLUtility}.
+     *
+     * @param repositoryProperties
+     *            to configure the cache size
+     * @param meterRegistry
+     *            to register the cache metrics at
+     * @return a new {@link RsqlCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RsqlCache rsqlCache(final RepositoryProperties repositoryProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RsqlCache(repositoryProperties.getRsqlCacheSize(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Obtains the {@link RsqlCacheHolder} bean.
+     *
+     * @return The {@link RsqlCacheHolder} singleton.
+     */
+    @Bean
+    RsqlCacheHolder rsqlCacheHolder() {
+        return RsqlCacheHolder.getInstance();
+    }
+
     /**
      * {@link JpaDistributionSetInvalidationManagement} bean.
      *
@@ -983,10 +1119,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final DeploymentManagement deploymentManagement,
             final TargetFilterQueryManagement targetFilterQueryManagement, final PlatformTransactionManager txManager,
             final RepositoryProperties repositoryProperties, final TenantAware tenantAware,
-            final LockRegistry lockRegistry) {
+            final LockRegistry lockRegistry, final SystemSecurityContext systemSecurityContext) {
         return new JpaDistributionSetInvalidationManagement(distributionSetManagement, rolloutManagement,
                 deploymentManagement, targetFilterQueryManagement, txManager, repositoryProperties, tenantAware,
-                lockRegistry);
+                lockRegistry, systemSecurityContext);
     }
 
     /**
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCountId;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring data repository for {@link RolloutStatusCount}.
+ *
+ */
+@Transactional(readOnly = true)
+public interface RolloutStatusCountRepository extends CrudRepository<RolloutStatusCount, RolloutStatusCountId> {
+
+    /**
+     * Adds the given delta to the count of the given rollout group and status
+     * unless the count has been reconciled after the delta has been recorded.
+     *
+     * @param rolloutGroupId
+     *            id of {@link RolloutGroup}
+     * @param status
+     *            of the counted actions
+     * @param delta
+     *            to add to the count
+     * @param recordedAt
+     *            time the delta has been recorded at
+     * @return number of updated counts, i.e. <code>0</code> if there is no
+     *         count for the rollout group and status yet or if it has been
+     *         reconciled in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RolloutStatusCount c SET c.count = c.count + :delta WHERE c.rolloutGroup = :rolloutGroupId AND c.status = :status AND c.reconciledAt < :recordedAt")
+    int increment(@Param("rolloutGroupId") Long rolloutGroupId, @Param("status") Status status,
+            @Param("delta") Long delta, @Param("recordedAt") long recordedAt);
+
+    /**
+     * Get the time of the last reconciliation of the counts of the specified
+     * rollout.
+     *
+     * @param rolloutId
+     *            id of {@link Rollout}
+     * @return the time of the last reconciliation or <code>null</code> if
+     *         there are no counts of the rollout
+     */
+    @Query("SELECT MAX(c.reconciledAt) FROM RolloutStatusCount c WHERE c.rollout = ?1")
+    Long getReconciledAt(Long rolloutId);
+
+    /**
+     * Finds the rollouts in the given status with an action that has been
+     * changed after the last reconciliation of the counts of the rollout.
+     *
+     * @param status
+     *            of the rollouts, e.g. {@link RolloutStatus#FINISHED}
+     * @return the IDs of the rollouts
+     */
+    @Query("SELECT r.id FROM JpaRollout r WHERE r.status = :status AND EXISTS (SELECT a.id FROM JpaAction a WHERE a.rollout = r AND a.lastModifiedAt > ALL (SELECT c.reconciledAt FROM RolloutStatusCount c WHERE c.rollout = r.id))")
+    List<Long> findRolloutsChangedAfterReconciliation(@Param("status") RolloutStatus status);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollouts.
+     *
+     * @param rolloutIds
+     *            ids of {@link Rollout}s
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rollout, c.status, SUM(c.count)) FROM RolloutStatusCount c WHERE c.rollout IN ?1 GROUP BY c.rollout, c.status HAVING SUM(c.count) > 0")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutId(List<Long> rolloutIds);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollout groups.
+     *
+     * @param rolloutGroupIds
+     *            ids of {@link RolloutGroup}s
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroup, c.status, c.count) FROM RolloutStatusCount c WHERE c.rolloutGroup IN ?1 AND c.count > 0")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(List<Long> rolloutGroupIds);
+
+    /**
+     * Deletes all counts of the specified rollout.
+     *
+     * @param rolloutId
+     *            id of {@link Rollout}
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RolloutStatusCount c WHERE c.rollout = ?1")
+    void deleteByRolloutId(Long rolloutId);
+}
@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RepositoryProperties.PollPersistenceOverflowPolicy;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-behind queue for {@link Target} polls. Polls are buffered per target
+ * and persisted in batches by a flush that runs with a fixed delay. Multiple
+ * polls of the same target within one flush interval are merged into a single
+ * update that keeps the latest poll time stamp.
+ *
+ * The queue is split into shards by tenant and controller ID. Every shard has
+ * a bounded capacity. The behavior in case a shard is full is defined by the
+ * {@link PollPersistenceOverflowPolicy}.
+ *
+ * Only the poll time stamp is queued. Polls that change the target, e.g. its
+ * address or status, have to be persisted eagerly. Polls of a failed flush are
+ * queued again as long as there is capacity left. On {@link #shutdown()} the
+ * queue is flushed a last time, polls that are still queued afterwards are
+ * lost.
+ */
+class TargetPollPersistenceQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(TargetPollPersistenceQueue.class);
+
+    private static final String METRIC_PREFIX = "hawkbit.repository.poll.persistence";
+
+    private final Shard[] shards;
+    private final ScheduledExecutorService executorService;
+    private final BiConsumer<String, List<TargetPoll>> flushHandler;
+    private final PollPersistenceOverflowPolicy overflowPolicy;
+    private final long overflowWaitTime;
+    private volatile boolean running = true;
+
+    private final Timer flushTimer;
+    private final Counter overflowEagerCounter;
+    private final Counter overflowDroppedCounter;
+    private final Counter flushFailedCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param executorService
+     *            to schedule the flush on
+     * @param repositoryProperties
+     *            to configure the size, sharding, flush time and overflow
+     *            policy of the queue
+     * @param meterRegistry
+     *            to register the queue metrics at
+     * @param flushHandler
+     *            to persist the polls of one tenant
+     */
+    TargetPollPersistenceQueue(final ScheduledExecutorService executorService,
+            final RepositoryProperties repositoryProperties, final MeterRegistry meterRegistry,
+            final BiConsumer<String, List<TargetPoll>> flushHandler) {
+        this.executorService = executorService;
+        this.flushHandler = flushHandler;
+        this.overflowPolicy = repositoryProperties.getPollPersistenceOverflowPolicy();
+        this.overflowWaitTime = repositoryProperties.getPollPersistenceOverflowWaitTime();
+
+        final int shardCount = Math.max(1, repositoryProperties.getPollPersistenceQueueShards());
+        final int shardCapacity = Math.max(1, repositoryProperties.getPollPersistenceQueueSize() / shardCount);
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(shardCapacity);
+        }
+
+        Gauge.builder(METRIC_PREFIX + ".queue.size", this, TargetPollPersistenceQueue::size)
+                .description("Number of target polls waiting to be persisted").register(meterRegistry);
+        flushTimer = Timer.builder(METRIC_PREFIX + ".flush").description("Time to persist the queued target polls")
+                .register(meterRegistry);
+        overflowEagerCounter = Counter.builder(METRIC_PREFIX + ".overflow").tag("outcome", "eager")
+                .description("Target polls persisted eagerly due to a full queue").register(meterRegistry);
+        overflowDroppedCounter = Counter.builder(METRIC_PREFIX + ".overflow").tag("outcome", "dropped")
+                .description("Target polls dropped due to a full queue").register(meterRegistry);
+        flushFailedCounter = Counter.builder(METRIC_PREFIX + ".flush.failed")
+                .description("Target polls dropped after a failed flush").register(meterRegistry);
+
+        final long flushTime = repositoryProperties.getPollPersistenceFlushTime();
+        executorService.scheduleWithFixedDelay(this::flush, flushTime, flushTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Offers the given poll to the queue.
+     *
+     * @param poll
+     *            to persist
+     * @return <code>true</code> if the poll has been queued (or dropped
+     *         according to the {@link PollPersistenceOverflowPolicy}) and
+     *         <code>false</code> if the caller has to persist the poll eagerly,
+     *         e.g. as the queue is shut down
+     */
+    boolean offer(final TargetPoll poll) {
+        if (!running) {
+            return false;
+        }
+
+        final Shard shard = shards[Math.floorMod(poll.hashCode(), shards.length)];
+
+        if (shard.offer(poll)) {
+            return true;
+        }
+
+        if (overflowPolicy == PollPersistenceOverflowPolicy.WAIT) {
+            requestFlush(shard);
+            if (shard.offer(poll, overflowWaitTime)) {
+                return true;
+            }
+        } else if (overflowPolicy == PollPersistenceOverflowPolicy.DROP) {
+            LOG.debug("Poll persistence queue is full, dropping poll of target {}", poll.getControllerId());
+            overflowDroppedCounter.increment();
+            return true;
+        }
+
+        LOG.debug("Poll persistence queue is full, persisting poll of target {} eagerly", poll.getControllerId());
+        overflowEagerCounter.increment();
+        return false;
+    }
+
+    /**
+     * @return number of queued polls
+     */
+    int size() {
+        return Stream.of(shards).mapToInt(Shard::size).sum();
+    }
+
+    /**
+     * Flushes all shards of the queue.
+     */
+    void flush() {
+        LOG.debug("Run flushUpdateQueue.");
+        for (final Shard shard : shards) {
+            flush(shard);
+        }
+    }
+
+    /**
+     * Stops queueing and flushes all shards synchronously, so the polls that
+     * have been accepted are persisted before shutdown.
+     */
+    void shutdown() {
+        running = false;
+        flush();
+        final int lost = size();
+        if (lost > 0) {
+            LOG.warn("{} target polls have not been persisted before shutdown.", lost);
+        }
+    }
+
+    private void requestFlush(final Shard shard) {
+        if (shard.flushRequested.compareAndSet(false, true)) {
+            executorService.execute(() -> flush(shard));
+        }
+    }
+
+    private void flush(final Shard shard) {
+        synchronized (shard) {
+            shard.flushRequested.set(false);
+
+            final List<TargetPoll> polls = shard.drain();
+            if (polls.isEmpty()) {
+                return;
+            }
+
+            LOG.debug("{} events in flushUpdateQueue.", polls.size());
+
+            try {
+                flushTimer.record(() -> polls.stream().collect(Collectors.groupingBy(TargetPoll::getTenant))
+                        .forEach(flushHandler));
+            } catch (final RuntimeException ex) {
+                LOG.error("Failed to persist UpdateQueue content.", ex);
+                final int dropped = shard.requeue(polls);
+                if (dropped > 0) {
+                    LOG.warn("{} target polls have been dropped as the queue is full.", dropped);
+                    flushFailedCounter.increment(dropped);
+                }
+                return;
+            }
+
+            LOG.debug("{} events persisted.", polls.size());
+        }
+    }
+
+    /**
+     * Bounded part of the queue.
+     */
+    private static final class Shard {
+        private final Map<TargetPoll, TargetPoll> polls = new ConcurrentHashMap<>();
+        private final Semaphore capacity;
+        private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+        private Shard(final int capacity) {
+            this.capacity = new Semaphore(capacity);
+        }
+
+        private boolean offer(final TargetPoll poll) {
+            // merge with an already queued poll of the same target
+            if (polls.computeIfPresent(poll, (key, queued) -> queued.merge(poll)) != null) {
+                return true;
+            }
+
+            return capacity.tryAcquire() && put(poll);
+        }
+
+        private boolean offer(final TargetPoll poll, final long timeout) {
+            try {
+                return capacity.tryAcquire(timeout, TimeUnit.MILLISECONDS) && put(poll);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private boolean put(final TargetPoll poll) {
+            // merge returns the given instance only if the poll was absent,
+            // otherwise the acquired capacity is not needed
+            if (polls.merge(poll, poll, TargetPoll::merge) != poll) {
+                capacity.release();
+            }
+            return true;
+        }
+
+        /**
+         * @return number of polls that could not be queued again
+         */
+        private int requeue(final List<TargetPoll> failed) {
+            int dropped = 0;
+            for (final TargetPoll poll : failed) {
+                if (polls.computeIfPresent(poll, (key, queued) -> queued.merge(poll)) == null
+                        && !(capacity.tryAcquire() && put(poll))) {
+                    dropped++;
+                }
+            }
+            return dropped;
+        }
+
+        private List<TargetPoll> drain() {
+            final List<TargetPoll> drained = new ArrayList<>(polls.size());
+            for (final TargetPoll key : polls.keySet()) {
+                final TargetPoll poll = polls.remove(key);
+                if (poll != null) {
+                    drained.add(poll);
+                    capacity.release();
+                }
+            }
+            return drained;
+        }
+
+        private int size() {
+            return polls.size();
+        }
+    }
+
+    /**
+     * Poll of a {@link Target}. Identity is defined by tenant and controller
+     * ID.
+     */
+    static final class TargetPoll {
+
+        private final String tenant;
+        private final String controllerId;
+        private final long lastTargetQuery;
+
+        /**
+         * Constructor.
+         *
+         * @param target
+         *            that polled
+         * @param lastTargetQuery
+         *            time stamp of the poll
+         */
+        TargetPoll(final Target target, final long lastTargetQuery) {
+            this(target.getTenant(), target.getControllerId(), lastTargetQuery);
+        }
+
+        private TargetPoll(final String tenant, final String controllerId, final long lastTargetQuery) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+            this.lastTargetQuery = lastTargetQuery;
+        }
+
+        private TargetPoll merge(final TargetPoll newer) {
+            return new TargetPoll(tenant, controllerId, Math.max(lastTargetQuery, newer.lastTargetQuery));
+        }
+
+        String getTenant() {
+            return tenant;
+        }
+
+        String getControllerId() {
+            return controllerId;
+        }
+
+        long getLastTargetQuery() {
+            return lastTargetQuery;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, controllerId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final TargetPoll other = (TargetPoll) obj;
+            return Objects.equals(controllerId, other.controllerId) && Objects.equals(tenant, other.tenant);
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.autoassign;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -19,6 +20,7 @@ import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DeploymentRequest;
+import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
@@ -128,6 +130,24 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
      */
     protected int runTransactionalAssignment(final TargetFilterQuery targetFilterQuery,
             final List<String> controllerIds) {
+        return runTransactionalAssignment(targetFilterQuery, controllerIds, assigned -> {
+        });
+    }
+
+    /**
+     * Runs target assignments within a dedicated transaction for a given list
+     * of controllerIDs
+     * 
+     * @param targetFilterQuery
+     *            the target filter query
+     * @param controllerIds
+     *            the controllerIDs
+     * @param assignedConsumer
+     *            to receive the number of targets the DS was assigned to
+     * @return count of targets
+     */
+    protected int runTransactionalAssignment(final TargetFilterQuery targetFilterQuery,
+            final List<String> controllerIds, final IntConsumer assignedConsumer) {
         final String actionMessage = String.format(ACTION_MESSAGE, targetFilterQuery.getName());
 
         return DeploymentHelper.runInNewTransaction(getTransactionManager(), "autoAssignDSToTargets",
@@ -138,8 +158,10 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
 
                     final int count = deploymentRequests.size();
                     if (count > 0) {
-                        getDeploymentManagement().assignDistributionSets(
-                                getAutoAssignmentInitiatedBy(targetFilterQuery), deploymentRequests, actionMessage);
+                        assignedConsumer.accept(getDeploymentManagement()
+                                .assignDistributionSets(getAutoAssignmentInitiatedBy(targetFilterQuery),
+                                        deploymentRequests, actionMessage)
+                                .stream().mapToInt(DistributionSetAssignmentResult::getAssigned).sum());
                     }
                     return count;
                 });
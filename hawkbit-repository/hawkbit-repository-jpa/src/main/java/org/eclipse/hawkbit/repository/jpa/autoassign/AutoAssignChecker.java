@@ -8,8 +8,12 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.PersistenceException;
@@ -19,6 +23,12 @@ import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFilterEvaluator;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFilterEvaluator.Match;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFilterEvaluator.TargetValues;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.tenancy.TenantAware;
@@ -29,19 +39,47 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.base.Suppliers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Checks if targets need a new distribution set (DS) based on the target filter
  * queries and assigns the new DS when necessary. First all target filter
  * queries are listed. For every target filter query (TFQ) the auto assign DS is
  * retrieved. All targets get listed per target filter query, that match the TFQ
- * and that don't have the auto assign DS in their action history.
+ * and that don't have the auto assign DS in their action history. After the
+ * first check of a TFQ only the targets created or modified since the last
+ * check are listed, until the next full check is due (see
+ * {@link AutoAssignHighWaterMarks}).
+ *
+ * A single target is checked against the target filter queries in memory
+ * first, so that only the queries it may match are checked in the database.
+ *
+ * The duration of the check of every TFQ is recorded with the timer
+ * {@value #METRIC_FILTER}, the matched targets and the assignments with the
+ * counters {@value #METRIC_MATCHED} and {@value #METRIC_ASSIGNED}.
  */
 public class AutoAssignChecker extends AbstractAutoAssignExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignChecker.class);
 
+    private static final String METRIC_FILTER = "hawkbit.autoassign.filter";
+    private static final String METRIC_MATCHED = "hawkbit.autoassign.targets.matched";
+    private static final String METRIC_ASSIGNED = "hawkbit.autoassign.targets.assigned";
+
     private final TargetManagement targetManagement;
 
+    private final AutoAssignHighWaterMarks highWaterMarks;
+
+    private final Timer filterTimer;
+
+    private final Counter matchedCounter;
+
+    private final Counter assignedCounter;
+
     /**
      * Instantiates a new auto assign checker
      *
@@ -55,34 +93,63 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
      *            to run transactions
      * @param tenantAware
      *            to handle the tenant context
+     * @param fullCheckInterval
+     *            interval in milliseconds in which all targets are checked
+     *            against a target filter query, 0 to check all targets every
+     *            time
+     * @param meterRegistry
+     *            to record the duration and results of the checks
      */
     public AutoAssignChecker(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final long fullCheckInterval, final MeterRegistry meterRegistry) {
         super(targetFilterQueryManagement, deploymentManagement, transactionManager, tenantAware);
         this.targetManagement = targetManagement;
+        this.highWaterMarks = new AutoAssignHighWaterMarks(fullCheckInterval);
+        this.filterTimer = Timer.builder(METRIC_FILTER)
+                .description("Time to check a target filter query for auto assignment").register(meterRegistry);
+        this.matchedCounter = Counter.builder(METRIC_MATCHED)
+                .description("Targets matched by the auto assignment target filter queries").register(meterRegistry);
+        this.assignedCounter = Counter.builder(METRIC_ASSIGNED)
+                .description("Targets the auto assignment assigned a distribution set to").register(meterRegistry);
     }
 
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void checkAllTargets() {
         LOGGER.debug("Auto assign check call for tenant {} started", getTenantAware().getCurrentTenant());
-        forEachFilterWithAutoAssignDS(this::checkByTargetFilterQueryAndAssignDS);
+        final List<Long> filterIds = new ArrayList<>();
+        forEachFilterWithAutoAssignDS(filter -> {
+            filterIds.add(filter.getId());
+            checkByTargetFilterQueryAndAssignDS(filter);
+        });
+        highWaterMarks.retain(getTenantAware().getCurrentTenant(), filterIds);
         LOGGER.debug("Auto assign check call for tenant {} finished", getTenantAware().getCurrentTenant());
     }
 
+    @Override
+    public void checkTargetFilterQuery(final long targetFilterQueryId) {
+        getTargetFilterQueryManagement().get(targetFilterQueryId)
+                .filter(filter -> filter.getAutoAssignDistributionSet() != null)
+                .ifPresent(filter -> runInUserContext(filter, () -> checkByTargetFilterQueryAndAssignDS(filter)));
+    }
+
     @Override
     public void checkSingleTarget(String controllerId) {
         LOGGER.debug("Auto assign check call for tenant {} and device {} started", getTenantAware().getCurrentTenant(),
                 controllerId);
-        forEachFilterWithAutoAssignDS(filter -> checkForDevice(controllerId, filter));
+        // loaded with the first filter, i.e. in the context of its user
+        final Supplier<TargetValues> targetValues = Suppliers.memoize(() -> loadTargetValues(controllerId));
+        forEachFilterWithAutoAssignDS(filter -> checkForDevice(controllerId, filter, targetValues));
         LOGGER.debug("Auto assign check call for tenant {} and device {} finished", getTenantAware().getCurrentTenant(),
                 controllerId);
     }
 
     /**
-     * Fetches the distribution set, gets all controllerIds and assigns the DS
-     * to them. Catches PersistenceException and own exceptions derived from
+     * Fetches the distribution set, gets all controllerIds, or the ones of
+     * the targets modified since the last check, and assigns the DS to them.
+     * Catches PersistenceException and own exceptions derived from
      * AbstractServerRtException
      *
      * @param targetFilterQuery
@@ -91,34 +158,75 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
     private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery) {
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} started",
                 getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
+        final String tenant = getTenantAware().getCurrentTenant();
+        final long startedAt = System.currentTimeMillis();
+        final long startedAtNanos = System.nanoTime();
+        final Long modifiedSince = highWaterMarks.getModifiedSince(tenant, targetFilterQuery, startedAt);
+        final AtomicInteger matched = new AtomicInteger();
+        final AtomicInteger assigned = new AtomicInteger();
         try {
             int count;
             do {
-                final List<String> controllerIds = targetManagement
-                        .findByTargetFilterQueryAndNonDSAndCompatible(
-                                PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT),
-                                targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery())
-                        .getContent().stream().map(Target::getControllerId).collect(Collectors.toList());
+                final List<String> controllerIds = findTargets(targetFilterQuery, modifiedSince).stream()
+                        .map(Target::getControllerId).collect(Collectors.toList());
                 LOGGER.debug(
                         "Retrieved {} auto assign targets for tenant {} and target filter query id {}, starting with assignment",
                         controllerIds.size(), getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
 
-                count = runTransactionalAssignment(targetFilterQuery, controllerIds);
+                count = runTransactionalAssignment(targetFilterQuery, controllerIds, assigned::addAndGet);
+                matched.addAndGet(count);
                 LOGGER.debug(
                         "Assignment for {} auto assign targets for tenant {} and target filter query id {} finished",
                         controllerIds.size(), getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
             } while (count == Constants.MAX_ENTRIES_IN_STATEMENT);
+            highWaterMarks.update(tenant, targetFilterQuery, startedAt, modifiedSince == null);
         } catch (final PersistenceException | AbstractServerRtException e) {
             LOGGER.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
+        } finally {
+            recordCheck(tenant, targetFilterQuery, modifiedSince == null, System.nanoTime() - startedAtNanos,
+                    matched.get(), assigned.get());
         }
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
                 getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
     }
 
-    private void checkForDevice(final String controllerId, final TargetFilterQuery targetFilterQuery) {
+    private void recordCheck(final String tenant, final TargetFilterQuery targetFilterQuery, final boolean fullCheck,
+            final long durationNanos, final int matched, final int assigned) {
+        filterTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        matchedCounter.increment(matched);
+        assignedCounter.increment(assigned);
+        if (LOGGER.isDebugEnabled()) {
+            final long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            LOGGER.debug(
+                    "{} auto assign check of target filter query id {} for tenant {} took {} ms, matched {} targets and assigned {} ({} assignments/s)",
+                    fullCheck ? "Full" : "Incremental", targetFilterQuery.getId(), tenant, durationMillis, matched,
+                    assigned, assigned * 1000L / Math.max(durationMillis, 1));
+        }
+    }
+
+    private List<Target> findTargets(final TargetFilterQuery targetFilterQuery, final Long modifiedSince) {
+        final PageRequest pageRequest = PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT);
+        final long distributionSetId = targetFilterQuery.getAutoAssignDistributionSet().getId();
+        if (modifiedSince == null) {
+            return targetManagement.findByTargetFilterQueryAndNonDSAndCompatible(pageRequest, distributionSetId,
+                    targetFilterQuery.getQuery()).getContent();
+        }
+        return targetManagement.findByTargetFilterQueryAndNonDSAndCompatibleAndModifiedSince(pageRequest,
+                distributionSetId, targetFilterQuery.getQuery(), modifiedSince).getContent();
+    }
+
+    private void checkForDevice(final String controllerId, final TargetFilterQuery targetFilterQuery,
+            final Supplier<TargetValues> targetValues) {
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} for device {} started",
                 getTenantAware().getCurrentTenant(), targetFilterQuery.getId(), controllerId);
         try {
+            final TargetValues values = targetValues.get();
+            if (values != null && TargetFilterEvaluator.evaluate(targetFilterQuery.getQuery(), values) == Match.NO) {
+                LOGGER.debug("Device {} does not match target filter query id {}", controllerId,
+                        targetFilterQuery.getId());
+                return;
+            }
+
             final boolean controllerIdMatches = targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatible(
                     controllerId, targetFilterQuery.getAutoAssignDistributionSet().getId(),
                     targetFilterQuery.getQuery());
@@ -133,4 +241,20 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
                 getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
     }
+
+    private TargetValues loadTargetValues(final String controllerId) {
+        try {
+            return DeploymentHelper.runInNewTransaction(getTransactionManager(), "autoAssignLoadTarget",
+                    status -> targetManagement.getByControllerID(controllerId).map(target -> new TargetValues(
+                            target.getControllerId(), target.getName(), target.getDescription(),
+                            target.getUpdateStatus(), targetManagement.getControllerAttributes(controllerId),
+                            ((JpaTarget) target).getTags().stream().map(Tag::getName).collect(Collectors.toList()),
+                            target.getTargetType() != null ? target.getTargetType().getName() : null))
+                            .orElse(null));
+        } catch (final RuntimeException e) {
+            // the target filter queries are checked in the database only
+            LOGGER.debug("Failed to load device {} for the in-memory auto assign check", controllerId, e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.tenancy.TenantKey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * High-water marks of the incremental auto assignment check per tenant and
+ * target filter query. Once all targets were checked against a query, only
+ * the targets created or modified since the last check are checked again,
+ * until the next full check is due.
+ *
+ * A query is always checked against all targets if it was changed, if it
+ * refers to a virtual property or to a field that is changed by the
+ * controller, as the controller does not update the modification time of a
+ * target. Other changes which do not modify the target, e.g. of the
+ * distribution set types a target type is compatible with, are picked up by
+ * the periodic full check.
+ *
+ * A mark expires if the query was not checked for the full check interval,
+ * as the next check is a full check anyway, so the marks of deleted queries
+ * are removed even if the queries are checked one by one.
+ */
+final class AutoAssignHighWaterMarks {
+
+    /**
+     * Overlap of the checks, so that targets modified in transactions which
+     * are committed after a check started, or on nodes with a slightly
+     * different clock, are not missed.
+     */
+    private static final long OVERLAP = TimeUnit.MINUTES.toMillis(1);
+
+    private static final List<String> FULL_CHECK_FIELDS = Arrays.asList("attribute", "updatestatus", "ipaddress",
+            "lastcontrollerrequestat", "installedds", "metadata", "${");
+
+    private final long fullCheckInterval;
+    private final Cache<TenantKey<Long>, Mark> marks;
+
+    /**
+     * @param fullCheckInterval
+     *            interval in milliseconds in which all targets are checked, 0
+     *            disables the incremental check
+     */
+    AutoAssignHighWaterMarks(final long fullCheckInterval) {
+        this.fullCheckInterval = fullCheckInterval;
+        this.marks = Caffeine.newBuilder().expireAfterWrite(Math.max(fullCheckInterval, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @param tenant
+     *            of the query
+     * @param filter
+     *            the target filter query
+     * @param now
+     *            the start time of the check
+     * @return the time since which the targets have to be checked or
+     *         <code>null</code> if all targets have to be checked
+     */
+    Long getModifiedSince(final String tenant, final TargetFilterQuery filter, final long now) {
+        if (fullCheckInterval <= 0 || requiresFullCheck(filter.getQuery())) {
+            return null;
+        }
+        final Mark mark = marks.getIfPresent(TenantKey.of(tenant, filter.getId()));
+        if (mark == null || !mark.isOf(filter) || now - mark.lastFullCheck >= fullCheckInterval) {
+            return null;
+        }
+        return mark.checkedAt - OVERLAP;
+    }
+
+    /**
+     * Sets the high-water mark after a successful check.
+     *
+     * @param tenant
+     *            of the query
+     * @param filter
+     *            the target filter query
+     * @param checkedAt
+     *            the start time of the check
+     * @param fullCheck
+     *            <code>true</code> if all targets were checked
+     */
+    void update(final String tenant, final TargetFilterQuery filter, final long checkedAt, final boolean fullCheck) {
+        if (fullCheckInterval <= 0) {
+            return;
+        }
+        marks.asMap().compute(TenantKey.of(tenant, filter.getId()), (key, mark) -> new Mark(filter, checkedAt,
+                fullCheck || mark == null ? checkedAt : mark.lastFullCheck));
+    }
+
+    /**
+     * Removes the high-water marks of the deleted queries of a tenant.
+     *
+     * @param tenant
+     *            the tenant
+     * @param filterIds
+     *            the IDs of the existing queries of the tenant
+     */
+    void retain(final String tenant, final Collection<Long> filterIds) {
+        marks.asMap().keySet().removeIf(key -> key.getTenant().equals(tenant) && !filterIds.contains(key.getValue()));
+    }
+
+    private static boolean requiresFullCheck(final String query) {
+        final String lowerCaseQuery = query.toLowerCase();
+        return FULL_CHECK_FIELDS.stream().anyMatch(lowerCaseQuery::contains);
+    }
+
+    private static final class Mark {
+        private final int optLockRevision;
+        private final long createdAt;
+        private final long distributionSetId;
+        private final long checkedAt;
+        private final long lastFullCheck;
+
+        private Mark(final TargetFilterQuery filter, final long checkedAt, final long lastFullCheck) {
+            this.optLockRevision = filter.getOptLockRevision();
+            this.createdAt = filter.getCreatedAt();
+            this.distributionSetId = filter.getAutoAssignDistributionSet().getId();
+            this.checkedAt = checkedAt;
+            this.lastFullCheck = lastFullCheck;
+        }
+
+        private boolean isOf(final TargetFilterQuery filter) {
+            return optLockRevision == filter.getOptLockRevision() && createdAt == filter.getCreatedAt()
+                    && distributionSetId == filter.getAutoAssignDistributionSet().getId();
+        }
+    }
+}
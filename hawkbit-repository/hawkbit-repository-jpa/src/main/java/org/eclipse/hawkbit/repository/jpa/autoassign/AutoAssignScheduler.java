@@ -8,24 +8,45 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.utils.TenantWorkQueue;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to check target filters for auto assignment of distribution sets
+ * Scheduler to check target filters for auto assignment of distribution sets.
+ *
+ * The target filter queries of all tenants are checked in parallel by a
+ * {@link TenantWorkQueue} by means of
+ * {@link AutoAssignExecutor#checkTargetFilterQuery(long)}, i.e. a query that
+ * takes long does not delay the others. Every query is locked individually,
+ * so cluster nodes check different queries at the same time.
  */
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
 
+    /**
+     * Page size to read the target filter queries with auto assign DS.
+     */
+    private static final int PAGE_SIZE = 1000;
+
     private final SystemManagement systemManagement;
 
     private final SystemSecurityContext systemSecurityContext;
@@ -34,6 +55,10 @@ public class AutoAssignScheduler {
 
     private final LockRegistry lockRegistry;
 
+    private final TargetFilterQueryManagement targetFilterQueryManagement;
+
+    private final TenantWorkQueue workQueue;
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -44,51 +69,110 @@ public class AutoAssignScheduler {
      * @param autoAssignExecutor
      *            to run a check as tenant
      * @param lockRegistry
-     *            to acquire a lock per tenant
+     *            to acquire a lock per target filter query
+     * @param targetFilterQueryManagement
+     *            to find the target filter queries with auto assign DS
+     * @param threads
+     *            maximum number of target filter queries that are checked in
+     *            parallel
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
+            final LockRegistry lockRegistry, final TargetFilterQueryManagement targetFilterQueryManagement,
+            final int threads) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
         this.lockRegistry = lockRegistry;
+        this.targetFilterQueryManagement = targetFilterQueryManagement;
+        this.workQueue = new TenantWorkQueue("target filter query", threads, this::check);
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
-     * tenants from the {@link SystemManagement#findTenants()} and runs for each
-     * tenant the auto assignments defined in the target filter queries
-     * {@link SystemSecurityContext}.
+     * tenants from the {@link SystemManagement#findTenants()} and their target
+     * filter queries with auto assign DS and queues every query that is not
+     * already queued for {@link AutoAssignExecutor#checkTargetFilterQuery(long)}
+     * in the {@link SystemSecurityContext}.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void autoAssignScheduler() {
+        LOGGER.debug("Auto assign scheduled execution has been triggered.");
+
+        final Map<String, List<Long>> filters = new LinkedHashMap<>();
+
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
-        systemSecurityContext.runAsSystem(this::executeAutoAssign);
+        systemSecurityContext.runAsSystem(() -> {
+            // workaround eclipselink that is currently not possible to
+            // execute a query without multitenancy if MultiTenant
+            // annotation is used.
+            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
+            // iterate through all tenants and retrieve the target filter
+            // queries for each tenant separately.
+            systemManagement.forEachTenant(tenant -> {
+                final List<Long> filterIds = findFilterIdsWithAutoAssignDS();
+                if (!filterIds.isEmpty()) {
+                    filters.put(tenant, filterIds);
+                }
+            });
+
+            return null;
+        });
+
+        workQueue.queueAlternating(filters);
     }
 
-    @SuppressWarnings("squid:S3516")
-    private Object executeAutoAssign() {
-        // workaround eclipselink that is currently not possible to
-        // execute a query without multitenancy if MultiTenant
-        // annotation is used.
-        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-        // iterate through all tenants and execute the rollout check for
-        // each tenant separately.
-        final Lock lock = lockRegistry.obtain("autoassign");
-        if (!lock.tryLock()) {
+    /**
+     * Stops the auto assign checks. Checks that are currently running are
+     * completed.
+     */
+    public void shutdown() {
+        workQueue.shutdown();
+    }
+
+    /**
+     * @param tenant
+     *            of the target filter query
+     * @param targetFilterQueryId
+     *            of the target filter query
+     * @return the key of the lock of the auto assign check
+     */
+    public static String createAutoAssignLockKey(final String tenant, final long targetFilterQueryId) {
+        return tenant + "-autoassign-" + targetFilterQueryId;
+    }
+
+    private List<Long> findFilterIdsWithAutoAssignDS() {
+        final List<Long> filterIds = new ArrayList<>();
+        Slice<TargetFilterQuery> filterQueries;
+        Pageable query = PageRequest.of(0, PAGE_SIZE);
+
+        do {
+            filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
+            filterQueries.forEach(filterQuery -> filterIds.add(filterQuery.getId()));
+        } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
+
+        return filterIds;
+    }
+
+    private void check(final String tenant, final long filterId) {
+        systemSecurityContext.runAsSystemAsTenant(() -> {
+            checkLocked(tenant, filterId);
             return null;
+        }, tenant);
+    }
+
+    private void checkLocked(final String tenant, final long filterId) {
+        final Lock lock = lockRegistry.obtain(createAutoAssignLockKey(tenant, filterId));
+        if (!lock.tryLock()) {
+            LOGGER.trace("Target filter query {} of tenant {} is checked by another node.", filterId, tenant);
+            return;
         }
 
         try {
-            LOGGER.debug("Auto assign scheduled execution has aquired lock and started for each tenant.");
-            systemManagement.forEachTenant(tenant -> autoAssignExecutor.checkAllTargets());
+            autoAssignExecutor.checkTargetFilterQuery(filterId);
         } finally {
             lock.unlock();
-            LOGGER.debug("Auto assign scheduled execution has released lock and finished.");
         }
-
-        return null;
     }
 }
@@ -35,6 +35,8 @@ import javax.validation.constraints.NotNull;
 import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutStatusCounterHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.BaseEntity;
@@ -48,6 +50,10 @@ import org.eclipse.persistence.annotations.ConversionValue;
 import org.eclipse.persistence.annotations.Convert;
 import org.eclipse.persistence.annotations.ObjectTypeConverter;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.queries.WriteObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.changesets.DirectToFieldChangeRecord;
+import org.eclipse.persistence.sessions.changesets.ObjectChangeSet;
 
 /**
  * JPA implementation of {@link Action}.
@@ -243,6 +249,7 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
 
     @Override
     public void fireCreateEvent(final DescriptorEvent descriptorEvent) {
+        recordStatusChange(descriptorEvent, true);
         EventPublisherHolder.getInstance().getEventPublisher()
                 .publishEvent(new ActionCreatedEvent(this, BaseEntity.getIdOrNull(target),
                         BaseEntity.getIdOrNull(rollout), BaseEntity.getIdOrNull(rolloutGroup),
@@ -251,6 +258,7 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
 
     @Override
     public void fireUpdateEvent(final DescriptorEvent descriptorEvent) {
+        recordStatusChange(descriptorEvent, false);
         EventPublisherHolder.getInstance().getEventPublisher()
                 .publishEvent(new ActionUpdatedEvent(this, BaseEntity.getIdOrNull(target),
                         BaseEntity.getIdOrNull(rollout), BaseEntity.getIdOrNull(rolloutGroup),
@@ -262,6 +270,30 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
         // there is no action deletion
     }
 
+    /**
+     * Records the status change of a rollout action from the change set of the
+     * written entity, as the status may have been changed again by the time
+     * the transaction is committed.
+     */
+    private void recordStatusChange(final DescriptorEvent descriptorEvent, final boolean created) {
+        final RolloutStatusCounter counter = RolloutStatusCounterHolder.getInstance().getRolloutStatusCounter();
+        if (rolloutGroup == null || counter == null) {
+            return;
+        }
+
+        final ObjectChangeSet changeSet = descriptorEvent.getQuery() instanceof WriteObjectQuery
+                ? ((WriteObjectQuery) descriptorEvent.getQuery()).getObjectChangeSet()
+                : null;
+        final ChangeRecord change = changeSet != null ? changeSet.getChangesForAttributeNamed("status") : null;
+        if (change instanceof DirectToFieldChangeRecord) {
+            final DirectToFieldChangeRecord statusChange = (DirectToFieldChangeRecord) change;
+            counter.recordStatusChange(BaseEntity.getIdOrNull(rollout), rolloutGroup.getId(),
+                    created ? null : (Status) statusChange.getOldValue(), (Status) statusChange.getNewValue());
+        } else if (created) {
+            counter.recordStatusChange(BaseEntity.getIdOrNull(rollout), rolloutGroup.getId(), null, status);
+        }
+    }
+
     @Override
     public String getMaintenanceWindowSchedule() {
         return maintenanceWindowSchedule;
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.persistence.annotations.Convert;
+import org.eclipse.persistence.annotations.ExistenceChecking;
+import org.eclipse.persistence.annotations.ExistenceType;
+
+/**
+ * Entity with JPA annotation to store the number of actions of a specific
+ * {@link RolloutGroup} in a specific {@link Status}. The counts are maintained
+ * incrementally on action status changes so that the status of a rollout can
+ * be calculated without aggregating all of its actions.
+ *
+ * The counts are only changed by bulk queries, so they are not cached. The
+ * time of the last reconciliation of the counts with the actions is stored
+ * with every count, so that changes that have been recorded before and are
+ * already part of the reconciled counts are not added once more.
+ */
+@IdClass(RolloutStatusCountId.class)
+@Entity
+@Table(name = "sp_rollout_status_count", indexes = {
+        @Index(name = "sp_idx_rollout_status_count_01", columnList = "rollout") })
+@ExistenceChecking(ExistenceType.ASSUME_NON_EXISTENCE)
+@Cacheable(false)
+public class RolloutStatusCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "rolloutgroup", nullable = false, updatable = false)
+    private Long rolloutGroup;
+
+    @Id
+    @Column(name = "status", nullable = false, updatable = false)
+    @Convert("status")
+    private Status status;
+
+    @Column(name = "rollout", nullable = false, updatable = false)
+    private Long rollout;
+
+    @Column(name = "action_count", nullable = false)
+    private Long count;
+
+    @Column(name = "reconciled_at", nullable = false)
+    private long reconciledAt;
+
+    /**
+     * default constructor for JPA.
+     */
+    public RolloutStatusCount() {
+        // JPA constructor
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rollout
+     *            the ID of the rollout the group belongs to
+     * @param rolloutGroup
+     *            the ID of the rollout group
+     * @param status
+     *            of the counted actions
+     * @param count
+     *            number of actions of the group in the given status
+     */
+    public RolloutStatusCount(final Long rollout, final Long rolloutGroup, final Status status, final Long count) {
+        this(rollout, rolloutGroup, status, count, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rollout
+     *            the ID of the rollout the group belongs to
+     * @param rolloutGroup
+     *            the ID of the rollout group
+     * @param status
+     *            of the counted actions
+     * @param count
+     *            number of actions of the group in the given status
+     * @param reconciledAt
+     *            time of the last reconciliation of the counts of the rollout
+     */
+    public RolloutStatusCount(final Long rollout, final Long rolloutGroup, final Status status, final Long count,
+            final long reconciledAt) {
+        this.rollout = rollout;
+        this.rolloutGroup = rolloutGroup;
+        this.status = status;
+        this.count = count;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public Long getRollout() {
+        return rollout;
+    }
+
+    public Long getRolloutGroup() {
+        return rolloutGroup;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public long getReconciledAt() {
+        return reconciledAt;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+
+/**
+ * Combined unique key of the table {@link RolloutStatusCount}.
+ *
+ */
+public class RolloutStatusCountId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long rolloutGroup;
+    private Status status;
+
+    /**
+     * default constructor necessary for JPA.
+     */
+    public RolloutStatusCountId() {
+        // default constructor necessary for JPA, empty.
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutGroup
+     *            the ID of the rollout group for this key
+     * @param status
+     *            the action status for this key
+     */
+    public RolloutStatusCountId(final Long rolloutGroup, final Status status) {
+        this.rolloutGroup = rolloutGroup;
+        this.status = status;
+    }
+
+    public Long getRolloutGroup() {
+        return rolloutGroup;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rolloutGroup, status);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final RolloutStatusCountId other = (RolloutStatusCountId) obj;
+        return Objects.equals(rolloutGroup, other.rolloutGroup) && status == other.status;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link RolloutStatusCounter} and makes it
+ * accessible to beans which are not managed by spring, e.g. JPA entities.
+ */
+public final class RolloutStatusCounterHolder {
+
+    private static final RolloutStatusCounterHolder INSTANCE = new RolloutStatusCounterHolder();
+
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
+    private RolloutStatusCounterHolder() {
+    }
+
+    /**
+     * @return the singleton {@link RolloutStatusCounterHolder} instance
+     */
+    public static RolloutStatusCounterHolder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the {@link RolloutStatusCounter}
+     */
+    public RolloutStatusCounter getRolloutStatusCounter() {
+        return rolloutStatusCounter;
+    }
+}
@@ -8,17 +8,29 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.utils.TenantWorkQueue;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to schedule the {@link RolloutHandler#handleAll()}. The
- * delay between the checks be configured using the property from
- * {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ * Scheduler to schedule the {@link RolloutHandler#handle(long)} of all active
+ * rollouts. The delay between the checks be configured using the property
+ * from {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ *
+ * The rollouts of all tenants are handled in parallel by a
+ * {@link TenantWorkQueue}, i.e. a rollout that takes long (e.g. while its
+ * groups are filled with targets) does not delay the other rollouts. Cluster
+ * nodes handle different rollouts at the same time as the
+ * {@link RolloutHandler} locks every rollout individually.
  */
 public class RolloutScheduler {
 
@@ -30,8 +42,12 @@ public class RolloutScheduler {
 
     private final RolloutHandler rolloutHandler;
 
+    private final RolloutManagement rolloutManagement;
+
     private final SystemSecurityContext systemSecurityContext;
 
+    private final TenantWorkQueue workQueue;
+
     /**
      * Constructor.
      * 
@@ -39,26 +55,35 @@ public class RolloutScheduler {
      *            to find all tenants
      * @param rolloutHandler
      *            to run the rollout handler
+     * @param rolloutManagement
+     *            to find the active rollouts of a tenant
      * @param systemSecurityContext
      *            to run as system
+     * @param threads
+     *            maximum number of rollouts that are handled in parallel
      */
     public RolloutScheduler(final SystemManagement systemManagement, final RolloutHandler rolloutHandler,
-            final SystemSecurityContext systemSecurityContext) {
+            final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext,
+            final int threads) {
         this.systemManagement = systemManagement;
         this.rolloutHandler = rolloutHandler;
+        this.rolloutManagement = rolloutManagement;
         this.systemSecurityContext = systemSecurityContext;
+        this.workQueue = new TenantWorkQueue("rollout", threads, this::handle);
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
-     * tenants from the {@link SystemManagement#findTenants} and runs for each
-     * tenant the {@link RolloutHandler#handleAll()} in the
-     * {@link SystemSecurityContext}.
+     * tenants from the {@link SystemManagement#findTenants} and their active
+     * rollouts and queues every rollout that is not already queued for
+     * {@link RolloutHandler#handle(long)} in the {@link SystemSecurityContext}.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void runningRolloutScheduler() {
         LOGGER.debug("rollout schedule checker has been triggered.");
 
+        final Map<String, List<Long>> activeRollouts = new LinkedHashMap<>();
+
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
         systemSecurityContext.runAsSystem(() -> {
@@ -66,13 +91,33 @@ public class RolloutScheduler {
             // execute a query without multi-tenancy if MultiTenant
             // annotation is used.
             // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-
-            systemManagement.forEachTenant(tenant -> rolloutHandler.handleAll());
+            // iterate through all tenants and retrieve the active rollouts
+            // for each tenant seperately.
+            systemManagement.forEachTenant(tenant -> {
+                final List<Long> rollouts = rolloutManagement.findActiveRollouts();
+                if (!rollouts.isEmpty()) {
+                    activeRollouts.put(tenant, rollouts);
+                }
+            });
 
             return null;
         });
+
+        workQueue.queueAlternating(activeRollouts);
     }
 
+    /**
+     * Stops the handling of the rollouts. Rollouts that are currently handled
+     * are completed.
+     */
+    public void shutdown() {
+        workQueue.shutdown();
+    }
+
+    private void handle(final String tenant, final long rolloutId) {
+        systemSecurityContext.runAsSystemAsTenant(() -> {
+            rolloutHandler.handle(rolloutId);
+            return null;
+        }, tenant);
+    }
 }
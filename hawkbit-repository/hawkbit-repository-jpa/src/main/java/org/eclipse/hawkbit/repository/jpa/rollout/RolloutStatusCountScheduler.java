@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to periodically flush the status changes recorded by the
+ * {@link RolloutStatusCounter} and to reconcile the counts of the active
+ * rollouts and of the recently changed finished ones.
+ */
+public class RolloutStatusCountScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutStatusCountScheduler.class);
+
+    private static final String PROP_FLUSH_DELAY_PLACEHOLDER = "${hawkbit.rollout.statuscount.flush.fixedDelay:1000}";
+    private static final String PROP_RECONCILE_DELAY_PLACEHOLDER = "${hawkbit.rollout.statuscount.reconcile.fixedDelay:300000}";
+    private static final String RECONCILE_LOCK = "rollout-status-count-reconcile-";
+
+    private final RolloutStatusCounter rolloutStatusCounter;
+    private final RolloutManagement rolloutManagement;
+    private final SystemManagement systemManagement;
+    private final SystemSecurityContext systemSecurityContext;
+    private final LockRegistry lockRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutStatusCounter
+     *            to flush and reconcile
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param lockRegistry
+     *            to reconcile a tenant on one node only
+     */
+    public RolloutStatusCountScheduler(final RolloutStatusCounter rolloutStatusCounter,
+            final RolloutManagement rolloutManagement, final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry) {
+        this.rolloutStatusCounter = rolloutStatusCounter;
+        this.rolloutManagement = rolloutManagement;
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Scheduler method which writes the recorded status changes to the
+     * database.
+     */
+    @Scheduled(initialDelayString = PROP_FLUSH_DELAY_PLACEHOLDER, fixedDelayString = PROP_FLUSH_DELAY_PLACEHOLDER)
+    public void flush() {
+        try {
+            rolloutStatusCounter.flush();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to flush rollout status counts.", e);
+        }
+    }
+
+    /**
+     * Scheduler method which recalculates the status counts of all active
+     * rollouts and of the finished rollouts whose actions have been changed
+     * since their last recalculation.
+     */
+    @Scheduled(initialDelayString = PROP_RECONCILE_DELAY_PLACEHOLDER, fixedDelayString = PROP_RECONCILE_DELAY_PLACEHOLDER)
+    public void reconcile() {
+        LOGGER.debug("Rollout status count reconciliation has been triggered.");
+        flush();
+        // run this code in system code privileged to have the necessary
+        // permission to query and create entities
+        systemSecurityContext.runAsSystem(() -> {
+            systemManagement.forEachTenant(this::reconcileTenant);
+            return null;
+        });
+    }
+
+    private void reconcileTenant(final String tenant) {
+        final Lock lock = lockRegistry.obtain(RECONCILE_LOCK + tenant);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            final Set<Long> rolloutIds = new LinkedHashSet<>(rolloutManagement.findActiveRollouts());
+            rolloutIds.addAll(rolloutStatusCounter.findFinishedRolloutsToReconcile());
+            rolloutIds.forEach(rolloutId -> {
+                try {
+                    rolloutStatusCounter.reconcile(rolloutId);
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Failed to reconcile status counts of rollout {} of tenant {}.", rolloutId, tenant,
+                            e);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutStatusCountRepository;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCount;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Maintains the number of actions per rollout group and status in the
+ * {@link RolloutStatusCountRepository}, so that the status of rollouts and
+ * rollout groups can be read without aggregating all of their actions.
+ *
+ * The changes of the action status are recorded after the commit of the
+ * changing transaction and are written to the database in batches on
+ * {@link #flush()}. Reads include the changes that are not flushed yet. The
+ * counts are corrected by {@link #reconcile(long)}, e.g. for actions that are
+ * removed by the database without notice.
+ *
+ * The reconciliation recalculates the counts from the actions and stores the
+ * time of the recalculation with the counts. Changes that have been recorded
+ * before, on this or any other node, are part of the recalculated counts and
+ * are dropped on flush. This relies on the clocks of the nodes being
+ * synchronized. Pending changes of another node that have been recorded
+ * before and after the reconciliation are dropped altogether, i.e. they are
+ * missing until the next reconciliation. Hence finished rollouts are
+ * reconciled as well as long as their actions have been changed after the
+ * last reconciliation, see {@link #findFinishedRolloutsToReconcile()}.
+ */
+public class RolloutStatusCounter {
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutStatusCounter.class);
+
+    private final RolloutStatusCountRepository statusCountRepository;
+    private final ActionRepository actionRepository;
+    private final PlatformTransactionManager txManager;
+
+    private static final int MAX_FAILED_FLUSHES = 3;
+
+    private final Map<CountKey, Delta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param statusCountRepository
+     *            to store the counts
+     * @param actionRepository
+     *            to calculate the counts on reconciliation
+     * @param txManager
+     *            transaction manager
+     */
+    public RolloutStatusCounter(final RolloutStatusCountRepository statusCountRepository,
+            final ActionRepository actionRepository, final PlatformTransactionManager txManager) {
+        this.statusCountRepository = statusCountRepository;
+        this.actionRepository = actionRepository;
+        this.txManager = txManager;
+    }
+
+    /**
+     * Records the status change of an action of a rollout group.
+     *
+     * @param rolloutId
+     *            the ID of the rollout of the action
+     * @param rolloutGroupId
+     *            the ID of the rollout group of the action
+     * @param from
+     *            the previous status or <code>null</code> if the action has
+     *            been created
+     * @param to
+     *            the new status
+     */
+    public void recordStatusChange(final Long rolloutId, final Long rolloutGroupId, final Status from,
+            final Status to) {
+        if (rolloutId == null || rolloutGroupId == null || from == to) {
+            return;
+        }
+        if (from != null) {
+            record(new CountKey(rolloutId, rolloutGroupId, from), -1);
+        }
+        if (to != null) {
+            record(new CountKey(rolloutId, rolloutGroupId, to), 1);
+        }
+    }
+
+    /**
+     * Records the status change of the given number of actions per rollout
+     * group.
+     *
+     * @param counts
+     *            the number of actions per rollout group in their previous
+     *            status
+     * @param to
+     *            the new status of the actions
+     */
+    public void recordStatusChange(final Collection<RolloutStatusCount> counts, final Status to) {
+        counts.stream().filter(count -> count.getStatus() != to).forEach(count -> {
+            record(new CountKey(count.getRollout(), count.getRolloutGroup(), count.getStatus()), -count.getCount());
+            record(new CountKey(count.getRollout(), count.getRolloutGroup(), to), count.getCount());
+        });
+    }
+
+    private void record(final CountKey key, final long delta) {
+        pending.merge(key, new Delta(delta, System.currentTimeMillis(), 0), Delta::sum);
+    }
+
+    /**
+     * Writes the recorded changes to the database. Changes that cannot be
+     * written are kept for the next flushes.
+     */
+    public void flush() {
+        final Map<CountKey, Delta> drained = drain(key -> true);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            DeploymentHelper.runInNewTransaction(txManager, "flushRolloutStatusCounts", status -> {
+                drained.forEach(this::apply);
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            LOG.debug("Failed to flush {} rollout status counts at once, flushing them one by one", drained.size(), e);
+            drained.forEach(this::flushInNewTransaction);
+        }
+    }
+
+    private Map<CountKey, Delta> drain(final Predicate<CountKey> filter) {
+        final Map<CountKey, Delta> drained = new HashMap<>();
+        pending.keySet().stream().filter(filter).forEach(key -> {
+            final Delta delta = pending.remove(key);
+            if (delta != null) {
+                drained.put(key, delta);
+            }
+        });
+        return drained;
+    }
+
+    private void flushInNewTransaction(final CountKey key, final Delta delta) {
+        try {
+            DeploymentHelper.runInNewTransaction(txManager, "flushRolloutStatusCount", status -> {
+                apply(key, delta);
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            if (delta.failedFlushes + 1 < MAX_FAILED_FLUSHES) {
+                LOG.debug("Failed to flush status count {} of rollout group {} by {}, retrying with the next flush.",
+                        key.status, key.rolloutGroup, delta.delta, e);
+                pending.merge(key, new Delta(delta.delta, delta.recordedAt, delta.failedFlushes + 1), Delta::sum);
+            } else {
+                // e.g. the rollout group has been deleted in the meantime
+                LOG.warn(
+                        "Failed to flush status count {} of rollout group {} by {}. Dropped until the next reconciliation.",
+                        key.status, key.rolloutGroup, delta.delta, e);
+            }
+        }
+    }
+
+    private void apply(final CountKey key, final Delta delta) {
+        if (statusCountRepository.increment(key.rolloutGroup, key.status, delta.delta, delta.recordedAt) > 0) {
+            return;
+        }
+
+        final Long reconciledAt = statusCountRepository.getReconciledAt(key.rollout);
+        if (reconciledAt != null && reconciledAt >= delta.recordedAt) {
+            LOG.debug("Status count {} of rollout group {} has been reconciled after the change by {}.", key.status,
+                    key.rolloutGroup, delta.delta);
+            return;
+        }
+        statusCountRepository.save(new RolloutStatusCount(key.rollout, key.rolloutGroup, key.status, delta.delta,
+                reconciledAt == null ? 0 : reconciledAt));
+    }
+
+    /**
+     * Recalculates the counts of the given rollout from its actions. Has to be
+     * called in the context of the tenant of the rollout.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     */
+    public void reconcile(final long rolloutId) {
+        final Map<CountKey, Delta> drained = new HashMap<>();
+        try {
+            DeploymentHelper.runInNewTransaction(txManager, "reconcileRolloutStatusCounts", status -> {
+                // locks the counts of the rollout against concurrent flushes
+                statusCountRepository.deleteByRolloutId(rolloutId);
+                // the pending changes have been committed before, so they are
+                // part of the recalculated counts
+                drained.putAll(drain(key -> key.rollout == rolloutId));
+                final long reconciledAt = System.currentTimeMillis();
+                statusCountRepository.saveAll(actionRepository.getStatusCountOfRolloutGroupsByRolloutId(rolloutId)
+                        .stream()
+                        .map(count -> new RolloutStatusCount(count.getRollout(), count.getRolloutGroup(),
+                                count.getStatus(), count.getCount(), reconciledAt))
+                        .collect(Collectors.toList()));
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            drained.forEach((key, delta) -> pending.merge(key, delta, Delta::sum));
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the finished rollouts of the current tenant whose counts may be
+     * outdated, i.e. with actions that have been changed after the last
+     * reconciliation.
+     *
+     * @return the IDs of the rollouts
+     */
+    public List<Long> findFinishedRolloutsToReconcile() {
+        return statusCountRepository.findRolloutsChangedAfterReconciliation(RolloutStatus.FINISHED);
+    }
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollouts.
+     *
+     * @param rolloutIds
+     *            ids of the rollouts
+     * @return list of objects with status and target count
+     */
+    public List<TotalTargetCountActionStatus> getStatusCountByRolloutId(final List<Long> rolloutIds) {
+        return withPending(statusCountRepository.getStatusCountByRolloutId(rolloutIds), rolloutIds,
+                key -> key.rollout);
+    }
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollout groups.
+     *
+     * @param rolloutGroupIds
+     *            ids of the rollout groups
+     * @return list of objects with status and target count
+     */
+    public List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(final List<Long> rolloutGroupIds) {
+        return withPending(statusCountRepository.getStatusCountByRolloutGroupId(rolloutGroupIds), rolloutGroupIds,
+                key -> key.rolloutGroup);
+    }
+
+    private List<TotalTargetCountActionStatus> withPending(final List<TotalTargetCountActionStatus> flushed,
+            final List<Long> ids, final Function<CountKey, Long> idOfKey) {
+        if (pending.isEmpty()) {
+            return flushed;
+        }
+
+        final Set<Long> requested = new HashSet<>(ids);
+        final Map<Long, Map<Status, Long>> counts = new HashMap<>();
+        flushed.forEach(count -> counts.computeIfAbsent(count.getId(), id -> new EnumMap<>(Status.class))
+                .merge(count.getStatus(), count.getCount(), Long::sum));
+        pending.forEach((key, delta) -> {
+            final Long id = idOfKey.apply(key);
+            if (requested.contains(id)) {
+                counts.computeIfAbsent(id, i -> new EnumMap<>(Status.class)).merge(key.status, delta.delta,
+                        Long::sum);
+            }
+        });
+
+        final List<TotalTargetCountActionStatus> result = new ArrayList<>();
+        counts.forEach((id, byStatus) -> byStatus.forEach((status, count) -> {
+            if (count > 0) {
+                result.add(new TotalTargetCountActionStatus(id, status, count));
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Pending change of a count. Merged changes keep the time of the earliest
+     * one.
+     */
+    private static final class Delta {
+        private final long delta;
+        private final long recordedAt;
+        private final int failedFlushes;
+
+        private Delta(final long delta, final long recordedAt, final int failedFlushes) {
+            this.delta = delta;
+            this.recordedAt = recordedAt;
+            this.failedFlushes = failedFlushes;
+        }
+
+        private static Delta sum(final Delta a, final Delta b) {
+            final long sum = a.delta + b.delta;
+            // remove the entries that have nothing to flush anymore
+            return sum == 0 ? null
+                    : new Delta(sum, Math.min(a.recordedAt, b.recordedAt), Math.max(a.failedFlushes, b.failedFlushes));
+        }
+    }
+
+    private static final class CountKey {
+        private final Long rollout;
+        private final Long rolloutGroup;
+        private final Status status;
+
+        private CountKey(final Long rollout, final Long rolloutGroup, final Status status) {
+            this.rollout = rollout;
+            this.rolloutGroup = rolloutGroup;
+            this.status = status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rolloutGroup, status);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final CountKey other = (CountKey) obj;
+            return Objects.equals(rolloutGroup, other.rolloutGroup) && status == other.status;
+        }
+    }
+}
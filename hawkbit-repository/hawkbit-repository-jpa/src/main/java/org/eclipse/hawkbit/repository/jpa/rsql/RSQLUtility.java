@@ -125,9 +125,9 @@ public final class RSQLUtility {
      */
     public static <A extends Enum<A> & FieldNameProvider> void validateRsqlFor(final String rsql,
             final Class<A> fieldNameProvider) {
-        final RSQLVisitor<Void, String> visitor = getValidationRsqlVisitor(fieldNameProvider);
         final Node rootNode = parseRsql(rsql);
-        rootNode.accept(visitor);
+        RsqlCacheHolder.getInstance().getRsqlCache().validate(rsql.toLowerCase(), fieldNameProvider,
+                () -> rootNode.accept(getValidationRsqlVisitor(fieldNameProvider)));
     }
 
     private static <A extends Enum<A> & FieldNameProvider> RSQLVisitor<Void, String> getValidationRsqlVisitor(
@@ -135,11 +135,19 @@ public final class RSQLUtility {
         return RsqlVisitorFactoryHolder.getInstance().getRsqlVisitorFactory().validationRsqlVisitor(fieldNameProvider);
     }
 
-    private static Node parseRsql(final String rsql) {
+    static Node parseRsql(final String rsql) {
+        if (rsql == null) {
+            throw new RSQLParameterSyntaxException("rsql filter must not be null");
+        }
+        return RsqlCacheHolder.getInstance().getRsqlCache().getNode(rsql.toLowerCase(),
+                RSQLUtility::parseLowerCaseRsql);
+    }
+
+    private static Node parseLowerCaseRsql(final String rsql) {
         try {
             LOGGER.debug("Parsing rsql string {}", rsql);
             final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
-            return new RSQLParser(operators).parse(rsql.toLowerCase());
+            return new RSQLParser(operators).parse(rsql);
         } catch (final IllegalArgumentException e) {
             throw new RSQLParameterSyntaxException("rsql filter must not be null", e);
         } catch (final RSQLParserException e) {
@@ -169,15 +177,16 @@ public final class RSQLUtility {
             final Node rootNode = parseRsql(rsql);
             query.distinct(true);
 
-            final JpaQueryRsqlVisitor<A, T> jpqQueryRSQLVisitor = new JpaQueryRsqlVisitor<>(root, cb, enumType,
-                    virtualPropertyReplacer, database, query);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
-
-            if (!CollectionUtils.isEmpty(accept)) {
-                return cb.and(accept.toArray(new Predicate[accept.size()]));
-            }
-            return cb.conjunction();
+            return RsqlCacheHolder.getInstance().getRsqlCache().timePredicate(() -> {
+                final JpaQueryRsqlVisitor<A, T> jpqQueryRSQLVisitor = new JpaQueryRsqlVisitor<>(root, cb, enumType,
+                        virtualPropertyReplacer, database, query);
+                final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
 
+                if (!CollectionUtils.isEmpty(accept)) {
+                    return cb.and(accept.toArray(new Predicate[accept.size()]));
+                }
+                return cb.conjunction();
+            });
         }
     }
 
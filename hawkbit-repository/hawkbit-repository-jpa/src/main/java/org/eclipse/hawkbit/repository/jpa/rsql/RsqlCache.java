@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import cz.jirutka.rsql.parser.ast.Node;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of parsed RSQL queries, e.g. the stored target filter queries that
+ * are evaluated again and again by auto assignments and rollouts. The parsed
+ * {@link Node}s are immutable and do not depend on the tenant, as virtual
+ * properties are resolved when the query is mapped to a predicate, so they
+ * are shared by all tenants and keyed by the query string only. In addition
+ * the queries that passed the field validation of an entity type are
+ * remembered, keyed by query string and field name provider.
+ *
+ * The cache is bounded by the number of queries. Hits, misses and evictions
+ * are exposed as metrics with the cache name {@value #METRIC_CACHE_NAME}, the
+ * time to parse a query and to map it to a predicate with the timers
+ * {@value #METRIC_PARSE} and {@value #METRIC_PREDICATE}.
+ */
+public class RsqlCache {
+
+    private static final String METRIC_CACHE_NAME = "hawkbit.repository.rsql";
+    private static final String METRIC_PARSE = "hawkbit.repository.rsql.parse";
+    private static final String METRIC_PREDICATE = "hawkbit.repository.rsql.predicate";
+
+    private static final RsqlCache DISABLED = new RsqlCache();
+
+    private final Cache<String, Node> nodes;
+    private final Cache<ValidationKey, Boolean> validated;
+    private final Timer parseTimer;
+    private final Timer predicateTimer;
+
+    private RsqlCache() {
+        nodes = null;
+        validated = null;
+        parseTimer = null;
+        predicateTimer = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize
+     *            maximum number of cached queries, a size of 0 disables the
+     *            cache but keeps the timers
+     * @param meterRegistry
+     *            to register the cache metrics and timers at
+     */
+    public RsqlCache(final long maxSize, final MeterRegistry meterRegistry) {
+        if (maxSize > 0) {
+            nodes = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+            validated = Caffeine.newBuilder().maximumSize(maxSize).build();
+            CaffeineCacheMetrics.monitor(meterRegistry, nodes, METRIC_CACHE_NAME);
+        } else {
+            nodes = null;
+            validated = null;
+        }
+        parseTimer = Timer.builder(METRIC_PARSE).description("Time to parse an RSQL query").register(meterRegistry);
+        predicateTimer = Timer.builder(METRIC_PREDICATE).description("Time to map an RSQL query to a JPA predicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a cache that parses every query and records no metrics
+     */
+    static RsqlCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Retrieves the parsed query from the cache or parses it.
+     *
+     * @param rsql
+     *            the query
+     * @param parser
+     *            to parse the query in case of a miss
+     * @return the parsed query
+     */
+    Node getNode(final String rsql, final Function<String, Node> parser) {
+        if (nodes == null) {
+            return parse(rsql, parser);
+        }
+        return nodes.get(rsql, key -> parse(key, parser));
+    }
+
+    /**
+     * Validates the query for the given field name provider unless it was
+     * validated before.
+     *
+     * @param rsql
+     *            the query
+     * @param fieldNameProvider
+     *            the entity type the query is validated for
+     * @param validation
+     *            to validate the query, throws an exception if the query is
+     *            not valid
+     */
+    void validate(final String rsql, final Class<?> fieldNameProvider, final Runnable validation) {
+        if (validated == null) {
+            validation.run();
+            return;
+        }
+        final ValidationKey key = new ValidationKey(rsql, fieldNameProvider);
+        if (validated.getIfPresent(key) == null) {
+            validation.run();
+            validated.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Maps a query to a predicate and records the time.
+     *
+     * @param mapping
+     *            to map the query
+     * @return the result of the mapping
+     */
+    <R> R timePredicate(final Supplier<R> mapping) {
+        return predicateTimer == null ? mapping.get() : predicateTimer.record(mapping);
+    }
+
+    private Node parse(final String rsql, final Function<String, Node> parser) {
+        return parseTimer == null ? parser.apply(rsql) : parseTimer.record(() -> parser.apply(rsql));
+    }
+
+    private static final class ValidationKey {
+        private final String rsql;
+        private final Class<?> fieldNameProvider;
+
+        private ValidationKey(final String rsql, final Class<?> fieldNameProvider) {
+            this.rsql = rsql;
+            this.fieldNameProvider = fieldNameProvider;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rsql, fieldNameProvider);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ValidationKey other = (ValidationKey) obj;
+            return Objects.equals(rsql, other.rsql) && Objects.equals(fieldNameProvider, other.fieldNameProvider);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Helper class providing static access to the managed {@link RsqlCache}
+ * bean.
+ */
+public final class RsqlCacheHolder {
+
+    private static final RsqlCacheHolder SINGLETON = new RsqlCacheHolder();
+
+    @Autowired(required = false)
+    private RsqlCache rsqlCache;
+
+    private RsqlCacheHolder() {
+
+    }
+
+    /**
+     * @return The holder singleton instance.
+     */
+    public static RsqlCacheHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return The managed RsqlCache bean or a disabled cache if there is none
+     */
+    public RsqlCache getRsqlCache() {
+        return rsqlCache == null ? RsqlCache.disabled() : rsqlCache;
+    }
+
+}
@@ -0,0 +1,365 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+/**
+ * Evaluates target filter queries in memory against the values of one target,
+ * e.g. to check a single device against all auto assignment filters without a
+ * query per filter.
+ *
+ * The evaluation is conservative: a comparison that cannot be decided exactly
+ * like the database would, e.g. because of a time stamp, a virtual property,
+ * a metadata or distribution set field or non ASCII characters, results in
+ * {@link Match#UNKNOWN}. Only {@link Match#NO} is definite, so a target must
+ * still be checked with the database query for the other results.
+ */
+public final class TargetFilterEvaluator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetFilterEvaluator.class);
+
+    private static final MatchVisitor VISITOR = new MatchVisitor();
+
+    private TargetFilterEvaluator() {
+        // utility class
+    }
+
+    /**
+     * Result of an in-memory evaluation.
+     */
+    public enum Match {
+        /**
+         * The target matches the query.
+         */
+        YES,
+
+        /**
+         * The target does not match the query.
+         */
+        NO,
+
+        /**
+         * The query cannot be evaluated in memory.
+         */
+        UNKNOWN;
+
+        private Match and(final Match other) {
+            if (this == NO || other == NO) {
+                return NO;
+            }
+            return this == YES && other == YES ? YES : UNKNOWN;
+        }
+
+        private Match or(final Match other) {
+            if (this == YES || other == YES) {
+                return YES;
+            }
+            return this == NO && other == NO ? NO : UNKNOWN;
+        }
+
+        private static Match of(final boolean matches) {
+            return matches ? YES : NO;
+        }
+    }
+
+    /**
+     * Evaluates the given target filter query.
+     *
+     * @param rsql
+     *            the target filter query
+     * @param target
+     *            the values of the target
+     * @return the result of the evaluation, {@link Match#UNKNOWN} if the query
+     *         cannot be evaluated in memory or is invalid
+     */
+    public static Match evaluate(final String rsql, final TargetValues target) {
+        try {
+            return RSQLUtility.parseRsql(rsql).accept(VISITOR, target);
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Target filter query {} cannot be evaluated in memory", rsql, e);
+            return Match.UNKNOWN;
+        }
+    }
+
+    /**
+     * The values of a target that are used for the in-memory evaluation.
+     */
+    public static final class TargetValues {
+        private final String controllerId;
+        private final String name;
+        private final String description;
+        private final TargetUpdateStatus updateStatus;
+        private final Map<String, String> attributes;
+        private final Collection<String> tagNames;
+        private final String targetTypeName;
+
+        /**
+         * Constructor.
+         *
+         * @param controllerId
+         *            of the target
+         * @param name
+         *            of the target
+         * @param description
+         *            of the target
+         * @param updateStatus
+         *            of the target
+         * @param attributes
+         *            the controller attributes of the target
+         * @param tagNames
+         *            the names of the tags of the target
+         * @param targetTypeName
+         *            name of the type of the target, <code>null</code> if
+         *            the target has no type
+         */
+        public TargetValues(final String controllerId, final String name, final String description,
+                final TargetUpdateStatus updateStatus, final Map<String, String> attributes,
+                final Collection<String> tagNames, final String targetTypeName) {
+            this.controllerId = controllerId;
+            this.name = name;
+            this.description = description;
+            this.updateStatus = updateStatus;
+            this.attributes = attributes;
+            this.tagNames = tagNames;
+            this.targetTypeName = targetTypeName;
+        }
+    }
+
+    private static final class MatchVisitor implements RSQLVisitor<Match, TargetValues> {
+
+        @Override
+        public Match visit(final AndNode node, final TargetValues target) {
+            Match match = Match.YES;
+            for (final Node child : node.getChildren()) {
+                match = match.and(child.accept(this, target));
+                if (match == Match.NO) {
+                    return match;
+                }
+            }
+            return match;
+        }
+
+        @Override
+        public Match visit(final OrNode node, final TargetValues target) {
+            Match match = Match.NO;
+            for (final Node child : node.getChildren()) {
+                match = match.or(child.accept(this, target));
+                if (match == Match.YES) {
+                    return match;
+                }
+            }
+            return match;
+        }
+
+        @Override
+        public Match visit(final ComparisonNode node, final TargetValues target) {
+            final String[] graph = node.getSelector().split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPARATOR);
+            final TargetFields field;
+            try {
+                field = TargetFields.valueOf(graph[0].toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                return Match.UNKNOWN;
+            }
+            final String operator = node.getOperator().getSymbol();
+            final List<String> arguments = node.getArguments();
+
+            switch (field) {
+            case ID:
+            case CONTROLLERID:
+                return graph.length == 1 ? compare(operator, arguments, target.controllerId) : Match.UNKNOWN;
+            case NAME:
+                return graph.length == 1 ? compare(operator, arguments, target.name) : Match.UNKNOWN;
+            case DESCRIPTION:
+                return graph.length == 1 ? compare(operator, arguments, target.description) : Match.UNKNOWN;
+            case TARGETTYPE:
+                // the type is joined for the comparison, so an empty value
+                // does not match a target without type as for simple fields
+                return graph.length == 2 && "name".equalsIgnoreCase(graph[1]) && !hasEmptyArgument(arguments)
+                        ? compare(operator, arguments, target.targetTypeName)
+                        : Match.UNKNOWN;
+            case UPDATESTATUS:
+                return graph.length == 1 ? compareUpdateStatus(operator, arguments, target.updateStatus)
+                        : Match.UNKNOWN;
+            case ATTRIBUTE:
+                return graph.length == 2 ? compareAttribute(operator, arguments, graph[1], target.attributes)
+                        : Match.UNKNOWN;
+            case TAG:
+                return graph.length == 1 ? compareTags(operator, arguments, target.tagNames) : Match.UNKNOWN;
+            default:
+                return Match.UNKNOWN;
+            }
+        }
+
+        /**
+         * Compares a field with one value, which is <code>null</code> if not
+         * set.
+         */
+        private static Match compare(final String operator, final List<String> arguments, final String value) {
+            if (!isAscii(value) || !arguments.stream().allMatch(MatchVisitor::isAscii)) {
+                return Match.UNKNOWN;
+            }
+            switch (operator) {
+            case "==":
+                return equalTo(arguments.get(0), value);
+            case "!=":
+                final Match equal = equalTo(arguments.get(0), value);
+                return equal == Match.UNKNOWN ? equal : Match.of(equal == Match.NO);
+            case "=in=":
+                return Match.of(value != null && containsIgnoreCase(arguments, value));
+            case "=out=":
+                return Match.of(value == null || !containsIgnoreCase(arguments, value));
+            default:
+                return Match.UNKNOWN;
+            }
+        }
+
+        private static Match equalTo(final String argument, final String value) {
+            if (argument.isEmpty()) {
+                return Match.of(value == null || value.isEmpty());
+            }
+            // numbers are compared for equality instead of with LIKE
+            if (NumberUtils.isCreatable(argument)) {
+                return Match.UNKNOWN;
+            }
+            final Predicate<String> like = toLike(argument);
+            if (like == null) {
+                return Match.UNKNOWN;
+            }
+            return Match.of(value != null && like.test(value));
+        }
+
+        private static Match compareUpdateStatus(final String operator, final List<String> arguments,
+                final TargetUpdateStatus updateStatus) {
+            final List<TargetUpdateStatus> statuses;
+            try {
+                statuses = arguments.stream()
+                        .map(argument -> TargetUpdateStatus.valueOf(argument.toUpperCase(Locale.ROOT)))
+                        .collect(Collectors.toList());
+            } catch (final IllegalArgumentException e) {
+                // rejected by the database query
+                return Match.UNKNOWN;
+            }
+            switch (operator) {
+            case "==":
+                return Match.of(statuses.get(0) == updateStatus);
+            case "!=":
+                return Match.of(statuses.get(0) != updateStatus);
+            case "=in=":
+                return Match.of(statuses.contains(updateStatus));
+            case "=out=":
+                return Match.of(!statuses.contains(updateStatus));
+            default:
+                return Match.UNKNOWN;
+            }
+        }
+
+        /**
+         * Compares the attribute with the given key. The attribute is joined
+         * for the comparison, so no operator matches a target without the
+         * attribute.
+         */
+        private static Match compareAttribute(final String operator, final List<String> arguments, final String key,
+                final Map<String, String> attributes) {
+            if (!isAscii(key) || hasEmptyArgument(arguments)) {
+                return Match.UNKNOWN;
+            }
+            Match match = Match.NO;
+            for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (!isAscii(attribute.getKey())) {
+                    return Match.UNKNOWN;
+                }
+                if (attribute.getKey().equalsIgnoreCase(key)) {
+                    match = match.or(compare(operator, arguments, attribute.getValue()));
+                }
+            }
+            return match;
+        }
+
+        /**
+         * Compares the tags. A positive operator matches if any tag matches,
+         * a negative one if no tag matches the value.
+         */
+        private static Match compareTags(final String operator, final List<String> arguments,
+                final Collection<String> tagNames) {
+            if (hasEmptyArgument(arguments)) {
+                return Match.UNKNOWN;
+            }
+            final boolean negated = "!=".equals(operator) || "=out=".equals(operator);
+            final String positiveOperator = negated ? ("!=".equals(operator) ? "==" : "=in=") : operator;
+            Match anyTag = Match.NO;
+            for (final String tagName : tagNames) {
+                anyTag = anyTag.or(compare(positiveOperator, arguments, tagName));
+            }
+            if (!negated || anyTag == Match.UNKNOWN) {
+                return anyTag;
+            }
+            return Match.of(anyTag == Match.NO);
+        }
+
+        private static boolean hasEmptyArgument(final List<String> arguments) {
+            return arguments.stream().anyMatch(String::isEmpty);
+        }
+
+        private static boolean containsIgnoreCase(final List<String> arguments, final String value) {
+            return arguments.stream().anyMatch(value::equalsIgnoreCase);
+        }
+
+        private static boolean isAscii(final String value) {
+            return value == null || value.chars().allMatch(c -> c < 0x80);
+        }
+
+        /**
+         * Creates the equivalent of the LIKE expression of the database query,
+         * i.e. case insensitive with <code>*</code> as wildcard which can be
+         * escaped with <code>\</code>.
+         *
+         * @return the predicate or <code>null</code> if the argument contains
+         *         an escape sequence that is not supported
+         */
+        private static Predicate<String> toLike(final String argument) {
+            final StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < argument.length(); i++) {
+                final char c = argument.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= argument.length() || argument.charAt(i + 1) != JpaQueryRsqlVisitor.LIKE_WILDCARD) {
+                        return null;
+                    }
+                    regex.append(Pattern.quote("*"));
+                    i++;
+                } else if (c == JpaQueryRsqlVisitor.LIKE_WILDCARD) {
+                    regex.append(".*");
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            final Pattern pattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+            return value -> pattern.matcher(value).matches();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.specifications;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications class for {@link KeysetPageRequest}s. The seek predicates
+ * select the entities after the position of the request, i.e. for ascending
+ * order {@code field > value OR (field = value AND id > lastId)}.
+ */
+public final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+        // utility class
+    }
+
+    /**
+     * {@link Specification} for retrieving the entities after the position of
+     * the given {@link KeysetPageRequest}.
+     *
+     * @param pageRequest
+     *            the request with the sort field and the position
+     * @return the {@link Specification} or <code>null</code> if the request
+     *         is for the first page
+     */
+    public static <T> Specification<T> isAfter(final KeysetPageRequest pageRequest) {
+        if (pageRequest.getLastId().isEmpty() || pageRequest.getLastValue().isEmpty()) {
+            return null;
+        }
+
+        final boolean ascending = pageRequest.getDirection().isAscending();
+        final long lastId = pageRequest.getLastId().get();
+        final String lastValue = pageRequest.getLastValue().get();
+
+        return (root, query, cb) -> {
+            final Predicate idAfter = isAfter(cb, root.get(KeysetPageRequest.ID_FIELD), lastId, ascending);
+            if (KeysetPageRequest.ID_FIELD.equals(pageRequest.getSortField())) {
+                return idAfter;
+            }
+
+            final Path<Object> sortPath = root.get(pageRequest.getSortField());
+            final Comparable<?> value = toSortValue(sortPath.getJavaType(), lastValue);
+            return cb.or(isAfter(cb, sortPath, value, ascending),
+                    cb.and(cb.equal(sortPath, value), idAfter));
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate isAfter(final CriteriaBuilder cb, final Path<?> path, final Comparable value,
+            final boolean ascending) {
+        final Expression<Comparable> expression = (Expression<Comparable>) path;
+        return ascending ? cb.greaterThan(expression, value) : cb.lessThan(expression, value);
+    }
+
+    private static Comparable<?> toSortValue(final Class<?> javaType, final String value) {
+        if (Long.class.equals(javaType) || long.class.equals(javaType)) {
+            return Long.valueOf(value);
+        }
+        if (Integer.class.equals(javaType) || int.class.equals(javaType)) {
+            return Integer.valueOf(value);
+        }
+        if (String.class.equals(javaType)) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unsupported type of sort field for keyset pagination: " + javaType);
+    }
+}
@@ -216,6 +216,21 @@ public final class TargetSpecifications {
                 overdueTimestamp);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s that were created or
+     * modified since the given time.
+     *
+     * @param timestamp
+     *            the time in milliseconds since epoch to compare with the last
+     *            modification of a target
+     *
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> isModifiedSince(final long timestamp) {
+        return (targetRoot, query, cb) -> cb.greaterThanOrEqualTo(targetRoot.get(JpaTarget_.lastModifiedAt),
+                timestamp);
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s by "like attribute
      * value".
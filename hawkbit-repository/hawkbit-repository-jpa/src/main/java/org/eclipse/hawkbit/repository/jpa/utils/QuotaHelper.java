@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa.utils;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.ToLongFunction;
 
 import javax.validation.constraints.NotNull;
@@ -133,6 +136,48 @@ public final class QuotaHelper {
         }
     }
 
+    /**
+     * Asserts the specified assignment quota for each of the given parent
+     * entities. In contrast to
+     * {@link #assertAssignmentQuota(Object, long, long, Class, Class, ToLongFunction)}
+     * the entities that are currently assigned are counted for all parent
+     * entities at once.
+     * 
+     * @param parentIds
+     *            The IDs of the parent entities.
+     * @param requested
+     *            The number of entities that shall be assigned to each of the
+     *            parent entities.
+     * @param limit
+     *            The maximum number of entities that may be assigned to a
+     *            parent entity.
+     * @param type
+     *            The type of the entities that shall be assigned.
+     * @param parentType
+     *            The type of the parent entities.
+     * @param countFct
+     *            Function to count the entities that are currently assigned to
+     *            the parent entities. Parent entities without any assigned
+     *            entity may be missing in the result.
+     * 
+     * @throws AssignmentQuotaExceededException
+     *             if the assignment operation would cause the quota to be
+     *             exceeded for one of the parent entities
+     */
+    public static <T> void assertAssignmentQuota(final Collection<T> parentIds, final long requested,
+            final long limit, @NotNull final Class<?> type, @NotNull final Class<?> parentType,
+            final Function<Collection<T>, Map<T, Long>> countFct) {
+        // check if the quota is unlimited before counting
+        if (limit <= 0 || parentIds.isEmpty()) {
+            assertAssignmentQuota(requested, limit, type, parentType);
+            return;
+        }
+
+        final Map<T, Long> currentCounts = countFct.apply(parentIds);
+        parentIds.forEach(parentId -> assertAssignmentQuota(parentId, requested, limit, type, parentType,
+                id -> currentCounts.getOrDefault(id, 0L)));
+    }
+
     /**
      * Assert that the number of assignments in a request does not exceed the
      * limit.
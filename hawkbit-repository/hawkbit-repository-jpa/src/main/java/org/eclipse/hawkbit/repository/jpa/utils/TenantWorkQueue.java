@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.hawkbit.tenancy.TenantKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Queue of the periodic work of all tenants, e.g. the handling of the active
+ * rollouts, that is processed by a bounded thread pool shared across the
+ * tenants.
+ *
+ * Every item is queued at most once, i.e. an item that takes long only
+ * occupies one worker and does not delay the others. The items are queued
+ * alternating between the tenants so that a tenant with many items cannot
+ * starve the others. Items that are rejected because the queue is full are
+ * queued again with the next call of {@link #queueAlternating(Map)}.
+ */
+public class TenantWorkQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantWorkQueue.class);
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final String itemName;
+    private final BiConsumer<String, Long> handler;
+    private final ThreadPoolExecutor executor;
+
+    private final Set<TenantKey<Long>> queued = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param itemName
+     *            name of the items for logging and thread names, e.g.
+     *            "rollout"
+     * @param threads
+     *            maximum number of items that are processed in parallel
+     * @param handler
+     *            to process an item by tenant and ID, exceptions are logged
+     */
+    public TenantWorkQueue(final String itemName, final int threads, final BiConsumer<String, Long> handler) {
+        this.itemName = itemName;
+        this.handler = handler;
+        final int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                new ThreadFactoryBuilder().setNameFormat(itemName.replace(' ', '-') + "-worker-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues the items of all tenants that are not queued yet, alternating
+     * between the tenants.
+     *
+     * @param items
+     *            the IDs of the items per tenant
+     */
+    public void queueAlternating(final Map<String, List<Long>> items) {
+        final List<Iterator<TenantKey<Long>>> tenants = new ArrayList<>(items.size());
+        items.forEach((tenant, ids) -> tenants.add(ids.stream().map(id -> TenantKey.of(tenant, id)).iterator()));
+
+        while (!tenants.isEmpty()) {
+            final Iterator<Iterator<TenantKey<Long>>> it = tenants.iterator();
+            while (it.hasNext()) {
+                final Iterator<TenantKey<Long>> keys = it.next();
+                if (keys.hasNext()) {
+                    queue(keys.next());
+                }
+                if (!keys.hasNext()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the processing. Items that are currently processed are
+     * completed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void queue(final TenantKey<Long> item) {
+        if (!queued.add(item)) {
+            LOGGER.trace("The {} {} of tenant {} is still queued.", itemName, item.getValue(), item.getTenant());
+            return;
+        }
+
+        try {
+            executor.execute(() -> process(item));
+        } catch (final RejectedExecutionException e) {
+            queued.remove(item);
+            LOGGER.debug("The {} {} of tenant {} has been rejected.", itemName, item.getValue(), item.getTenant(), e);
+        }
+    }
+
+    private void process(final TenantKey<Long> item) {
+        try {
+            handler.accept(item.getTenant(), item.getValue());
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to process the {} {} of tenant {}.", itemName, item.getValue(), item.getTenant(), e);
+        } finally {
+            queued.remove(item);
+        }
+    }
+}
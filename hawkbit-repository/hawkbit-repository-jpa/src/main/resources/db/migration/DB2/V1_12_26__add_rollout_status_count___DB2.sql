@@ -0,0 +1,16 @@
+CREATE TABLE sp_rollout_status_count
+(
+    rolloutgroup        BIGINT NOT NULL,
+    status              INTEGER NOT NULL,
+    rollout             BIGINT NOT NULL,
+    action_count        BIGINT NOT NULL,
+    reconciled_at       BIGINT NOT NULL,
+    PRIMARY KEY (rolloutgroup, status)
+);
+CREATE INDEX sp_idx_rollout_status_count_01 ON sp_rollout_status_count (rollout);
+ALTER TABLE sp_rollout_status_count
+    ADD CONSTRAINT fk_rollout_status_count_group FOREIGN KEY (rolloutgroup) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+
+INSERT INTO sp_rollout_status_count (rolloutgroup, status, rollout, action_count, reconciled_at)
+    SELECT rolloutgroup, status, rollout, COUNT(id), 0 FROM sp_action
+    WHERE rolloutgroup IS NOT NULL GROUP BY rolloutgroup, status, rollout;
@@ -0,0 +1,16 @@
+create table sp_rollout_status_count
+(
+    rolloutgroup        bigint not null,
+    status              integer not null,
+    rollout             bigint not null,
+    action_count        bigint not null,
+    reconciled_at       bigint not null,
+    primary key (rolloutgroup, status)
+);
+create index sp_idx_rollout_status_count_01 on sp_rollout_status_count (rollout);
+ALTER TABLE sp_rollout_status_count
+    ADD CONSTRAINT fk_rollout_status_count_group FOREIGN KEY (rolloutgroup) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+
+insert into sp_rollout_status_count (rolloutgroup, status, rollout, action_count, reconciled_at)
+    select rolloutgroup, status, rollout, count(id), 0 from sp_action
+    where rolloutgroup is not null group by rolloutgroup, status, rollout;
@@ -0,0 +1,18 @@
+CREATE TABLE sp_rollout_status_count
+(
+    rolloutgroup     BIGINT  NOT NULL,
+    status           INTEGER NOT NULL,
+    rollout          BIGINT  NOT NULL,
+    action_count     BIGINT  NOT NULL,
+    reconciled_at    BIGINT  NOT NULL
+);
+
+ALTER TABLE sp_rollout_status_count
+    ADD CONSTRAINT pk_sp_rollout_status_count PRIMARY KEY (rolloutgroup, status);
+CREATE INDEX sp_idx_rollout_status_count_01 ON sp_rollout_status_count USING BTREE (rollout);
+ALTER TABLE sp_rollout_status_count
+    ADD CONSTRAINT fk_rollout_status_count_group FOREIGN KEY (rolloutgroup) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+
+INSERT INTO sp_rollout_status_count (rolloutgroup, status, rollout, action_count, reconciled_at)
+    SELECT rolloutgroup, status, rollout, COUNT(id), 0 FROM sp_action
+    WHERE rolloutgroup IS NOT NULL GROUP BY rolloutgroup, status, rollout;
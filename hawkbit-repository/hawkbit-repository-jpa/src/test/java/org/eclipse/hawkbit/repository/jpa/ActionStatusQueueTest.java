@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.ActionStatusQueue.QueuedActionStatus;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Action status queue")
+class ActionStatusQueueTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final List<String> flushed = new CopyOnWriteArrayList<>();
+
+    // the flush is triggered by the tests, the scheduled one is never run
+    private final ActionStatusQueue queue = new ActionStatusQueue(mock(ScheduledExecutorService.class),
+            new RepositoryProperties(), new SimpleMeterRegistry(), this::flush);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @Description("Verifies that the queued entries are flushed on shutdown and later entries have to be persisted "
+            + "synchronously.")
+    void queueIsFlushedOnShutdown() {
+        assertThat(queue.offer(entry(1))).isTrue();
+
+        queue.shutdown();
+
+        assertThat(flushed).containsExactly(TENANT);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.offer(entry(2))).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that the entries of a target that failed to be flushed are kept until the maximum number "
+            + "of failed flushes is reached.")
+    void failedEntriesAreKeptUpToMaxFailedFlushes() {
+        assertThat(queue.offer(entry(1))).isTrue();
+
+        for (int i = 1; i < ActionStatusQueue.MAX_FAILED_FLUSHES; i++) {
+            drainAndRollback(true);
+            assertThat(queue.getTargetIds(TENANT)).containsExactly(1L);
+        }
+
+        drainAndRollback(true);
+        assertThat(queue.getTargetIds(TENANT)).isEmpty();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that a rollback of a synchronous persist does not count as failed flush.")
+    void rollbackOfSynchronousPersistKeepsEntries() {
+        assertThat(queue.offer(entry(1))).isTrue();
+
+        for (int i = 0; i < ActionStatusQueue.MAX_FAILED_FLUSHES; i++) {
+            drainAndRollback(false);
+        }
+
+        assertThat(queue.getTargetIds(TENANT)).containsExactly(1L);
+        assertThat(queue.size()).isOne();
+    }
+
+    private void drainAndRollback(final boolean countFailedFlush) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(queue.drain(TENANT, 1L, countFailedFlush)).hasSize(1);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void flush(final String tenant) {
+        flushed.add(tenant);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            queue.drain(tenant, Integer.MAX_VALUE);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static QueuedActionStatus entry(final long actionId) {
+        return new QueuedActionStatus(TENANT, 1L, actionId, mock(JpaActionStatus.class));
+    }
+}
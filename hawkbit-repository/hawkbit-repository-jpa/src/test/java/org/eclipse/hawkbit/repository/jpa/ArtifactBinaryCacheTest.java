@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.artifact.repository.model.FileChannelDbArtifact;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link ArtifactBinaryCache}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("Artifact Binary Cache")
+public class ArtifactBinaryCacheTest {
+    private static final String TENANT = "DEFAULT";
+    private static final String SHA1 = "sha1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    @Test
+    @Description("Verifies that a cached binary is read from the repository only once and can be read in parts.")
+    public void binaryIsReadOnlyOnce() throws IOException {
+        final byte[] content = randomBytes(4096);
+        final ArtifactBinaryCache cache = new ArtifactBinaryCache(1024 * 1024, 1024 * 1024, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            final DbArtifact artifact = cache.get(TENANT, SHA1, null, () -> artifact(content));
+            assertThat(artifact.getSize()).isEqualTo(content.length);
+            try (final InputStream in = artifact.getFileInputStream()) {
+                assertThat(in.readAllBytes()).isEqualTo(content);
+            }
+        }
+
+        try (final InputStream in = cache.get(TENANT, SHA1, null, () -> artifact(content)).getFileInputStream()) {
+            assertThat(in.skip(4000)).isEqualTo(4000);
+            assertThat(in.readAllBytes()).hasSize(96);
+        }
+
+        assertThat(opened).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that decrypted binaries are cached per software module and evicted with the binary.")
+    public void decryptedBinariesAreCachedPerModuleAndEvicted() {
+        final byte[] content = randomBytes(128);
+        final ArtifactBinaryCache cache = new ArtifactBinaryCache(1024 * 1024, 1024 * 1024, meterRegistry);
+
+        cache.get(TENANT, SHA1, null, () -> artifact(content)).getFileInputStream();
+        cache.get(TENANT, SHA1, 1L, () -> artifact(content)).getFileInputStream();
+        cache.get(TENANT, SHA1, 1L, () -> artifact(content)).getFileInputStream();
+        assertThat(opened).hasValue(2);
+
+        cache.evict(TENANT, SHA1);
+        cache.get(TENANT, SHA1, 1L, () -> artifact(content)).getFileInputStream();
+        assertThat(opened).hasValue(3);
+    }
+
+    @Test
+    @Description("Verifies that binaries larger than the configured maximum and a disabled cache bypass the cache.")
+    public void largeBinariesAndDisabledCacheAreNotCached() {
+        final byte[] content = randomBytes(2048);
+
+        final ArtifactBinaryCache limited = new ArtifactBinaryCache(1024 * 1024, 1024, meterRegistry);
+        limited.get(TENANT, SHA1, null, () -> artifact(content)).getFileInputStream();
+        limited.get(TENANT, SHA1, null, () -> artifact(content)).getFileInputStream();
+        assertThat(opened).hasValue(2);
+
+        final ArtifactBinaryCache disabled = new ArtifactBinaryCache(0, 1024 * 1024, meterRegistry);
+        disabled.get(TENANT, SHA1, null, () -> artifact(content)).getFileInputStream();
+        assertThat(opened).hasValue(3);
+    }
+
+    @Test
+    @Description("Verifies that concurrent misses of the same binary load it from the repository only once.")
+    public void concurrentMissesLoadOnlyOnce() throws Exception {
+        final byte[] content = randomBytes(1024);
+        final ArtifactBinaryCache cache = new ArtifactBinaryCache(1024 * 1024, 1024 * 1024, meterRegistry);
+        final AtomicInteger loaded = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final Supplier<DbArtifact> loader = () -> {
+            loaded.incrementAndGet();
+            loading.countDown();
+            await(proceed);
+            return artifact(content);
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<DbArtifact>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(TENANT, SHA1, null, loader)));
+            loading.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get(TENANT, SHA1, null, loader)));
+            }
+            proceed.countDown();
+
+            for (final Future<DbArtifact> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getSize()).isEqualTo(content.length);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loaded).hasValue(1);
+        assertThat(opened).hasValue(1);
+    }
+
+    @Test
+    @Description("Verifies that file based binaries are not cached in order to keep streaming them from the file.")
+    public void fileBasedBinariesAreNotCached() {
+        final byte[] content = randomBytes(128);
+        final ArtifactBinaryCache cache = new ArtifactBinaryCache(1024 * 1024, 1024 * 1024, meterRegistry);
+        final FileChannelDbArtifact fileBased = mock(FileChannelDbArtifact.class);
+        when(fileBased.getSize()).thenReturn((long) content.length);
+
+        assertThat(cache.get(TENANT, SHA1, null, () -> fileBased)).isSameAs(fileBased);
+        assertThat(cache.get(TENANT, SHA1, null, () -> fileBased)).isSameAs(fileBased);
+        verify(fileBased, never()).getFileInputStream();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DbArtifact artifact(final byte[] content) {
+        return new DbArtifact() {
+            @Override
+            public String getArtifactId() {
+                return SHA1;
+            }
+
+            @Override
+            public DbArtifactHash getHashes() {
+                return new DbArtifactHash(SHA1, null, null);
+            }
+
+            @Override
+            public long getSize() {
+                return content.length;
+            }
+
+            @Override
+            public String getContentType() {
+                return null;
+            }
+
+            @Override
+            public InputStream getFileInputStream() {
+                opened.incrementAndGet();
+                return new ByteArrayInputStream(content);
+            }
+        };
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.hawkbit.repository.test.util.TestdataFactory.DEFAULT_CONTROLLER_ID;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.asyncActionStatus=true",
+        "hawkbit.server.repository.actionStatusFlushTime=100" })
+class AsyncActionStatusControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    @Test
+    @Description("Verifies that intermediate action status entries are queued and persisted in a batch in the order "
+            + "they have been added.")
+    void intermediateActionStatusIsPersistedAsynchronously() {
+        final Long actionId = createTargetAndAssignDs();
+
+        controllerManagement.queueUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.RUNNING).code(10).message("first"));
+        controllerManagement.queueUpdateActionStatus(entityFactory.actionStatus().create(actionId)
+                .status(Status.DOWNLOAD).code(20).messages(Arrays.asList("second", "third")));
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).pollInSameThread()
+                .until(() -> getLastActionStatusCode(actionId).equals(Optional.of(20)));
+
+        final List<ActionStatus> actionStatus = findActionStatusOrderedById(actionId);
+        assertThat(actionStatus).extracting(ActionStatus::getStatus).containsExactly(Status.RUNNING, Status.RUNNING,
+                Status.DOWNLOAD);
+        assertThat(actionStatus.get(1).getCode()).contains(10);
+        assertThat(actionStatus.get(2).getCode()).contains(20);
+        assertThat(actionStatus.get(2).getCreatedBy()).isEqualTo("CONTROLLER_PLUG_AND_PLAY");
+        assertThat(deploymentManagement.findMessagesByActionStatusId(PAGE, actionStatus.get(2).getId()).getContent())
+                .containsExactlyInAnyOrder("second", "third");
+        assertThat(deploymentManagement.findAction(actionId).get().isActive()).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that a finishing action status entry is persisted synchronously after the queued entries "
+            + "of the target.")
+    void finishedActionStatusIsPersistedSynchronouslyAfterQueuedOnes() {
+        final Long actionId = createTargetAndAssignDs();
+
+        controllerManagement.queueUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD).code(10));
+        controllerManagement.queueUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.FINISHED).code(20));
+
+        assertThat(deploymentManagement.findAction(actionId).get().isActive()).isFalse();
+        assertThat(getLastActionStatusCode(actionId)).contains(20);
+        assertThat(findActionStatusOrderedById(actionId)).extracting(ActionStatus::getStatus)
+                .containsExactly(Status.RUNNING, Status.DOWNLOAD, Status.FINISHED);
+    }
+
+    private Long createTargetAndAssignDs() {
+        final Long dsId = testdataFactory.createDistributionSet().getId();
+        testdataFactory.createTarget();
+        assignDistributionSet(dsId, DEFAULT_CONTROLLER_ID);
+        return deploymentManagement.findActiveActionsByTarget(PAGE, DEFAULT_CONTROLLER_ID).getContent().get(0).getId();
+    }
+
+    private Optional<Integer> getLastActionStatusCode(final Long actionId) {
+        return deploymentManagement.findAction(actionId).flatMap(Action::getLastActionStatusCode);
+    }
+
+    private List<ActionStatus> findActionStatusOrderedById(final Long actionId) {
+        return deploymentManagement
+                .findActionStatusByAction(PageRequest.of(0, 100, Sort.by(Direction.ASC, "id")), actionId).stream()
+                .collect(Collectors.toList());
+    }
+}
@@ -62,11 +62,13 @@ import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
+import org.eclipse.hawkbit.repository.model.ControllerPollSnapshot;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -530,6 +532,41 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(targetRepository.count()).as("Only 1 target should be registred").isEqualTo(1L);
     }
 
+    @Test
+    @Description("Register many controllers at once of which one already exists")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 3),
+            @Expect(type = TargetPollEvent.class, count = 4), @Expect(type = TargetUpdatedEvent.class, count = 1) })
+    void findOrRegisterTargetsIfTheyDoNotExist() {
+        final Target existing = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+
+        final List<Target> targets = controllerManagement.findOrRegisterTargetsIfTheyDoNotExist(Arrays.asList(
+                new TargetRegistration("AA", LOCALHOST, "ChangedTestName"),
+                new TargetRegistration("BB", LOCALHOST, null), new TargetRegistration("CC", LOCALHOST, "TestName"),
+                new TargetRegistration("BB", LOCALHOST, null)));
+
+        assertThat(targets).extracting(Target::getControllerId).containsExactly("AA", "BB", "CC");
+        assertThat(targets.get(0).getId()).as("Target should be the equals").isEqualTo(existing.getId());
+        assertThat(targets).extracting(Target::getName).containsExactly("ChangedTestName", "BB", "TestName");
+        assertThat(targets).extracting(Target::getUpdateStatus).containsOnly(TargetUpdateStatus.REGISTERED);
+        assertThat(targetRepository.count()).as("Only 3 targets should be registered").isEqualTo(3L);
+    }
+
+    @Test
+    @Description("Verifies that the active actions of many targets are retrieved as for every single target")
+    void findActiveActionsWithHighestWeightOfManyTargets() {
+        testdataFactory.createTargets("AA", "BB", "CC");
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        assignDistributionSet(ds.getId(), Arrays.asList("AA", "BB"), Action.ActionType.FORCED);
+
+        final Map<String, List<Action>> actions = controllerManagement
+                .findActiveActionsWithHighestWeight(Arrays.asList("AA", "BB", "CC"), 10);
+
+        assertThat(actions).containsOnlyKeys("AA", "BB");
+        assertThat(actions.get("AA")).extracting(Action::getId).containsExactlyElementsOf(controllerManagement
+                .findActiveActionsWithHighestWeight("AA", 10).stream().map(Action::getId).collect(Collectors.toList()));
+        assertThat(actions.get("BB")).hasSize(1);
+    }
+
     @Test
     @Description("Tries to register a target with an invalid controller id")
     void findOrRegisterTargetIfItDoesNotExistThrowsExceptionForInvalidControllerIdParam() {
@@ -1530,6 +1567,53 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(controllerManagement.findActiveActionWithHighestWeight(targetId)).isEmpty();
     }
 
+    @Test
+    @Description("The poll snapshot exposes the active action with the highest weight and the installed action.")
+    void pollSnapshotExposesActiveActionWithHighestWeightAndInstalledAction() {
+        final String targetId = testdataFactory.createTarget().getControllerId();
+        final DistributionSet ds = testdataFactory.createDistributionSet("a");
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("b");
+        enableMultiAssignments();
+        final Long actionWeight500 = assignDistributionSet(ds.getId(), targetId, 500).getAssignedEntity().get(0)
+                .getId();
+        final Long actionWeight1000 = assignDistributionSet(ds2.getId(), targetId, 1000).getAssignedEntity().get(0)
+                .getId();
+
+        ControllerPollSnapshot snapshot = controllerManagement.findOrRegisterTargetForPoll(targetId, LOCALHOST);
+        assertThat(snapshot.getTarget().getControllerId()).isEqualTo(targetId);
+        assertThat(snapshot.getActiveAction()).hasValueSatisfying(a -> assertThat(a.getId()).isEqualTo(actionWeight1000));
+        assertThat(snapshot.getInstalledAction()).isEmpty();
+        assertThat(snapshot.getPollingTime()).isEqualTo(controllerManagement.getPollingTime());
+
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionWeight1000).status(Status.FINISHED));
+        snapshot = controllerManagement.findOrRegisterTargetForPoll(targetId, LOCALHOST);
+        assertThat(snapshot.getActiveAction()).hasValueSatisfying(a -> assertThat(a.getId()).isEqualTo(actionWeight500));
+        assertThat(snapshot.getInstalledAction())
+                .hasValueSatisfying(a -> assertThat(a.getId()).isEqualTo(actionWeight1000));
+
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionWeight500).status(Status.FINISHED));
+        snapshot = controllerManagement.findOrRegisterTargetForPoll(targetId, LOCALHOST);
+        assertThat(snapshot.getActiveAction()).isEmpty();
+        assertThat(snapshot.getInstalledAction())
+                .hasValueSatisfying(a -> assertThat(a.getId()).isEqualTo(actionWeight500));
+        assertThat(snapshot.getInstalledAction().get().getId())
+                .isEqualTo(controllerManagement.getInstalledActionByTarget(targetId).get().getId());
+    }
+
+    @Test
+    @Description("The poll snapshot of a newly registered target has no actions.")
+    void pollSnapshotOfNewlyRegisteredTarget() {
+        final ControllerPollSnapshot snapshot = controllerManagement.findOrRegisterTargetForPoll("newTarget",
+                LOCALHOST);
+
+        assertThat(snapshot.getTarget().getControllerId()).isEqualTo("newTarget");
+        assertThat(snapshot.getActiveAction()).isEmpty();
+        assertThat(snapshot.getInstalledAction()).isEmpty();
+        assertThat(targetManagement.getByControllerID("newTarget")).isPresent();
+    }
+
     private void assertAssignedDistributionSetId(final String controllerId, final Long dsId) {
         final Optional<Target> target = controllerManagement.getByControllerId(controllerId);
         assertThat(target).isPresent();
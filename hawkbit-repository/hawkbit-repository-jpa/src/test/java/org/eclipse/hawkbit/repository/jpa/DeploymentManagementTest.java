@@ -295,6 +295,24 @@ class DeploymentManagementTest extends AbstractJpaIntegrationTest {
                 .isEqualTo(2L * quotaManagement.getMaxTargetsPerAutoAssignment());
     }
 
+    @Test
+    @Description("Verifies that only the targets with an action in CANCELING state are found with pending "
+            + "cancellations.")
+    void findControllerIdsWithPendingCancellations() {
+        final List<Target> targets = testdataFactory.createTargets("pending1", "pending2", "pending3");
+        final DistributionSet ds = testdataFactory.createDistributionSet("pending");
+        final List<Action> actions = assignDistributionSet(ds, targets).getAssignedEntity();
+        deploymentManagement.cancelAction(actions.get(0).getId());
+
+        assertThat(deploymentManagement.findControllerIdsWithPendingCancellations(
+                Arrays.asList("pending1", "pending2", "pending3", "notExisting")))
+                        .containsExactly(actions.get(0).getTarget().getControllerId());
+        assertThat(deploymentManagement.findControllerIdsWithPendingCancellations(Collections.emptyList()))
+                .isEmpty();
+        assertThat(deploymentManagement.hasPendingCancellations(actions.get(0).getTarget().getControllerId()))
+                .isTrue();
+    }
+
     @Test
     @Description("Cancels multiple active actions on a target. Expected behaviour is that with two active "
             + "actions after canceling the second active action the first one is still running as it is not touched by the cancelation. After canceling the first one "
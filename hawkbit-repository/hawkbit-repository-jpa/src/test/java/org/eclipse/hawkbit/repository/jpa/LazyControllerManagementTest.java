@@ -10,12 +10,15 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.URI;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.junit.jupiter.api.Test;
@@ -53,4 +56,24 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
         assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
     }
+
+    @Test
+    @Description("Verfies that address and status changes of a target poll are persisted eagerly as a versioned update of the target.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 1), @Expect(type = TargetUpdatedEvent.class, count = 1) })
+    public void eagerAddressAndStatusUpdateOnPoll() {
+        final Target target = testdataFactory.createTarget("BB");
+        assertThat(target.getUpdateStatus()).isEqualTo(TargetUpdateStatus.UNKNOWN);
+
+        final URI address = URI.create("http://192.168.0.1");
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("BB", address);
+
+        final Target updated = targetManagement.get(target.getId()).get();
+
+        assertThat(updated.getOptLockRevision()).isGreaterThan(target.getOptLockRevision());
+        assertThat(updated.getLastModifiedAt()).isGreaterThanOrEqualTo(target.getLastModifiedAt());
+        assertThat(updated.getUpdateStatus()).isEqualTo(TargetUpdateStatus.REGISTERED);
+        assertThat(updated.getAddress()).isEqualTo(address);
+        assertThat(updated.getLastTargetQuery()).isNotNull();
+    }
 }
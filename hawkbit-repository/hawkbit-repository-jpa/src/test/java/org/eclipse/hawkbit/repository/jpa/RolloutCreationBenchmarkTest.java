@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Measures the wall time of filling the groups and creating the actions of
+ * rollouts. By default small rollouts are created only to keep the build fast,
+ * larger rollouts can be measured by passing a comma separated list of target
+ * counts, e.g.
+ * <code>-Dhawkbit.benchmark.rollout.targets=100000,1000000</code>.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.security.dos.maxTargetsPerRolloutGroup=1000000" })
+class RolloutCreationBenchmarkTest extends AbstractJpaIntegrationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutCreationBenchmarkTest.class);
+
+    private static final String TARGET_COUNTS_PROPERTY = "hawkbit.benchmark.rollout.targets";
+    private static final int TARGETS_PER_TRANSACTION = 1_000;
+    private static final int GROUPS = 5;
+
+    @Test
+    @Description("Creates and starts rollouts of the configured sizes and logs the time needed for it.")
+    void createAndStartRollouts() {
+        final List<String> targetCounts = Arrays.asList(System.getProperty(TARGET_COUNTS_PROPERTY, "500").split(","));
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet();
+
+        targetCounts.stream().map(String::trim).mapToInt(Integer::parseInt)
+                .forEach(targets -> createAndStartRollout(targets, distributionSet));
+    }
+
+    private void createAndStartRollout(final int targets, final DistributionSet distributionSet) {
+        final String prefix = "bench" + targets + "-";
+        for (int created = 0; created < targets; created += TARGETS_PER_TRANSACTION) {
+            testdataFactory.createTargets(Math.min(TARGETS_PER_TRANSACTION, targets - created),
+                    prefix + created + "-");
+        }
+
+        final Rollout rollout = measure(targets, "create",
+                () -> testdataFactory.createRolloutByVariables(prefix, "benchmark", GROUPS, "controllerId==" + prefix + "*",
+                        distributionSet, "50", "80"));
+        assertThat(rollout.getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(rollout.getTotalTargets()).isEqualTo(targets);
+
+        measure(targets, "start", () -> {
+            rolloutManagement.start(rollout.getId());
+            rolloutHandler.handleAll();
+            return null;
+        });
+        assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.RUNNING);
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Status.SCHEDULED)
+                + actionRepository.countByRolloutIdAndStatus(rollout.getId(), Status.RUNNING)).isEqualTo(targets);
+    }
+
+    private static <T> T measure(final int targets, final String phase, final Supplier<T> supplier) {
+        final long start = System.currentTimeMillis();
+        final T result = supplier.get();
+        LOG.info("Rollout with {} targets: {} took {} ms", targets, phase, System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 
 import java.net.URI;
@@ -17,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -433,6 +435,32 @@ class TargetManagementTest extends AbstractJpaIntegrationTest {
         assertThat(targetManagement.count()).as("target count is wrong").isZero();
     }
 
+    @Test
+    @Description("Reads all targets with their attributes through a cursor which spans multiple chunks.")
+    void forEachByRsqlWithAttributes() {
+        final List<Target> targets = testdataFactory.createTargets("export", 510);
+        final Target withAttributes = createTargetWithAttributes("exportWithAttributes");
+
+        final List<String> controllerIds = new ArrayList<>();
+        final Map<String, Map<String, String>> attributes = new HashMap<>();
+        targetManagement.forEachByRsqlWithAttributes(null, (target, targetAttributes) -> {
+            controllerIds.add(target.getControllerId());
+            attributes.put(target.getControllerId(), targetAttributes);
+        });
+
+        final List<String> expected = targets.stream().sorted(Comparator.comparing(Target::getId))
+                .map(Target::getControllerId).collect(Collectors.toList());
+        expected.add(withAttributes.getControllerId());
+        assertThat(controllerIds).as("All targets ordered by ID").containsExactlyElementsOf(expected);
+        assertThat(attributes.get(withAttributes.getControllerId())).containsExactly(entry("test1", "testdata1"));
+        assertThat(attributes.get(targets.get(0).getControllerId())).isEmpty();
+
+        final List<String> filtered = new ArrayList<>();
+        targetManagement.forEachByRsqlWithAttributes("controllerId==exportWithAttributes",
+                (target, targetAttributes) -> filtered.add(target.getControllerId()));
+        assertThat(filtered).containsExactly(withAttributes.getControllerId());
+    }
+
     private Target createTargetWithAttributes(final String controllerId) {
         final Map<String, String> testData = new HashMap<>();
         testData.put("test1", "testdata1");
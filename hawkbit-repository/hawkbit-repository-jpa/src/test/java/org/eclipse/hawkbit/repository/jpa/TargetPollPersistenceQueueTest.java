@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.TargetPollPersistenceQueue.TargetPoll;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Target poll persistence queue")
+class TargetPollPersistenceQueueTest {
+
+    private final List<TargetPoll> persisted = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    // the flush is triggered by the tests, the scheduled one is never run
+    private final TargetPollPersistenceQueue queue = new TargetPollPersistenceQueue(
+            mock(ScheduledExecutorService.class), new RepositoryProperties(), new SimpleMeterRegistry(),
+            (tenant, polls) -> {
+                if (failing.get()) {
+                    throw new IllegalStateException("database unavailable");
+                }
+                persisted.addAll(polls);
+            });
+
+    @Test
+    @Description("Verifies that the polls of a failed flush are queued again and persisted with the next flush.")
+    void pollsOfFailedFlushAreQueuedAgain() {
+        assertThat(queue.offer(new TargetPoll(target("AA"), 1))).isTrue();
+
+        failing.set(true);
+        queue.flush();
+        assertThat(persisted).isEmpty();
+        assertThat(queue.size()).isOne();
+
+        failing.set(false);
+        queue.flush();
+        assertThat(persisted).extracting(TargetPoll::getControllerId).containsExactly("AA");
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the queued polls are persisted on shutdown and later polls have to be persisted eagerly.")
+    void queueIsFlushedOnShutdown() {
+        assertThat(queue.offer(new TargetPoll(target("AA"), 1))).isTrue();
+        assertThat(queue.offer(new TargetPoll(target("BB"), 2))).isTrue();
+
+        queue.shutdown();
+
+        assertThat(persisted).extracting(TargetPoll::getControllerId).containsExactlyInAnyOrder("AA", "BB");
+        assertThat(queue.offer(new TargetPoll(target("CC"), 3))).isFalse();
+    }
+
+    private static Target target(final String controllerId) {
+        final Target target = mock(Target.class);
+        when(target.getTenant()).thenReturn("DEFAULT");
+        when(target.getControllerId()).thenReturn(controllerId);
+        return target;
+    }
+}
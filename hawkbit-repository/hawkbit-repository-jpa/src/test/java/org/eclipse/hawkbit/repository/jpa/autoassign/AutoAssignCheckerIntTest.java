@@ -16,12 +16,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.hawkbit.repository.exception.IncompleteDistributionSetException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
@@ -39,6 +41,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -59,6 +62,9 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     @Description("Verifies that a running action is auto canceled by a AutoAssignment which assigns another distribution-set.")
     void autoAssignDistributionSetAndAutoCloseOldActions() {
@@ -383,6 +389,36 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
         verifyThatTargetsHaveAssignmentActionType(ActionType.DOWNLOAD_ONLY, targetsC);
     }
 
+    @Test
+    @Description("Verifies that only targets modified since the last check are checked until the target filter "
+            + "query is changed or the next full check is due.")
+    void checkOnlyModifiedTargetsIncrementally() {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        final TargetFilterQuery targetFilterQuery = targetFilterQueryManagement.create(entityFactory
+                .targetFilterQuery().create().name("incremental").query("name==incremental*")
+                .autoAssignDistributionSet(ds));
+        autoAssignChecker.checkAllTargets();
+
+        final Target created = testdataFactory.createTarget("incremental1");
+        autoAssignChecker.checkAllTargets();
+        verifyThatTargetsHaveDistributionSetAssignment(ds, Collections.singletonList(created), 1);
+
+        // a target that was not modified since the last check is skipped
+        final Target notModified = testdataFactory.createTarget("incremental2");
+        DeploymentHelper.runInNewTransaction(transactionManager, "setLastModifiedAt",
+                status -> entityManager.createQuery("UPDATE JpaTarget t SET t.lastModifiedAt = :lastModifiedAt")
+                        .setParameter("lastModifiedAt", System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1))
+                        .executeUpdate());
+        autoAssignChecker.checkAllTargets();
+        verifyThatTargetsNotHaveDistributionSetAssignment(ds, Collections.singletonList(notModified));
+
+        // a changed query is checked against all targets
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQuery.getId()).ds(ds.getId()).actionType(ActionType.SOFT));
+        autoAssignChecker.checkAllTargets();
+        verifyThatTargetsHaveDistributionSetAssignment(ds, Arrays.asList(created, notModified), 2);
+    }
+
     @Step
     private List<Target> createTargetsAndAutoAssignDistSet(final String prefix, final int targetCount,
             final DistributionSet distributionSet, final ActionType actionType) {
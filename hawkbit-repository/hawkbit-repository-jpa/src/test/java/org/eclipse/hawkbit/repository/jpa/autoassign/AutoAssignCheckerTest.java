@@ -37,6 +37,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -61,7 +62,7 @@ class AutoAssignCheckerTest {
     @BeforeEach
     void before() {
         sut = new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, tenantAware);
+                transactionManager, tenantAware, 0, new SimpleMeterRegistry());
     }
 
     @Test
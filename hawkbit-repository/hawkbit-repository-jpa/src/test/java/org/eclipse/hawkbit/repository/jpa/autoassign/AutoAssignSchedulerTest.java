@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link AutoAssignScheduler}.
+ */
+@Feature("Component Tests - Repository")
+@Story("Auto assign scheduler")
+class AutoAssignSchedulerTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private AutoAssignExecutor autoAssignExecutor;
+
+    @Autowired
+    private LockRegistry lockRegistry;
+
+    @Test
+    @Description("Verifies that the scheduler checks all target filter queries in parallel")
+    void checksAllTargetFilterQueries() {
+        testdataFactory.createTargets(10, "first");
+        testdataFactory.createTargets(10, "second");
+        final DistributionSet first = testdataFactory.createDistributionSet("first");
+        final DistributionSet second = testdataFactory.createDistributionSet("second");
+        createAutoAssignFilter("first", "name==first*", first);
+        createAutoAssignFilter("second", "name==second*", second);
+
+        final AutoAssignScheduler scheduler = createScheduler(2);
+        try {
+            scheduler.autoAssignScheduler();
+
+            Awaitility.await().atMost(Duration.ofSeconds(10)).pollInSameThread()
+                    .until(() -> countAssigned(first) == 10 && countAssigned(second) == 10);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that a target filter query that is locked by another node or thread is skipped")
+    void lockedTargetFilterQueryIsSkipped() throws Exception {
+        testdataFactory.createTargets(10, "locked");
+        testdataFactory.createTargets(10, "free");
+        final DistributionSet locked = testdataFactory.createDistributionSet("locked");
+        final DistributionSet free = testdataFactory.createDistributionSet("free");
+        final TargetFilterQuery lockedFilter = createAutoAssignFilter("locked", "name==locked*", locked);
+        createAutoAssignFilter("free", "name==free*", free);
+
+        final Lock lock = lockRegistry.obtain(
+                AutoAssignScheduler.createAutoAssignLockKey(tenantAware.getCurrentTenant(), lockedFilter.getId()));
+        final CountDownLatch lockAcquired = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() -> {
+            lock.lock();
+            try {
+                lockAcquired.countDown();
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        // a single worker checks the queries in the order they were queued
+        final AutoAssignScheduler scheduler = createScheduler(1);
+        try {
+            lockAcquired.await();
+            scheduler.autoAssignScheduler();
+            Awaitility.await().atMost(Duration.ofSeconds(10)).pollInSameThread()
+                    .until(() -> countAssigned(free) == 10);
+            assertThat(countAssigned(locked)).isZero();
+
+            release.countDown();
+            otherNode.get();
+            scheduler.autoAssignScheduler();
+            Awaitility.await().atMost(Duration.ofSeconds(10)).pollInSameThread()
+                    .until(() -> countAssigned(locked) == 10);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private AutoAssignScheduler createScheduler(final int threads) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry,
+                targetFilterQueryManagement, threads);
+    }
+
+    private TargetFilterQuery createAutoAssignFilter(final String name, final String query,
+            final DistributionSet distributionSet) {
+        final TargetFilterQuery filter = targetFilterQueryManagement
+                .create(entityFactory.targetFilterQuery().create().name(name).query(query));
+        return targetFilterQueryManagement.updateAutoAssignDS(
+                entityFactory.targetFilterQuery().updateAutoAssign(filter.getId()).ds(distributionSet.getId()));
+    }
+
+    private long countAssigned(final DistributionSet distributionSet) {
+        return targetManagement.findByAssignedDistributionSet(PAGE, distributionSet.getId()).getTotalElements();
+    }
+}
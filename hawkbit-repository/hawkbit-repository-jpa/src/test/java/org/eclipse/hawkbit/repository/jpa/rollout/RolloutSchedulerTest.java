@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.JpaRolloutManagement;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link RolloutScheduler}.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout scheduler")
+class RolloutSchedulerTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private LockRegistry lockRegistry;
+
+    @Test
+    @Description("Verifies that the scheduler handles all active rollouts in parallel")
+    void handlesAllActiveRollouts() {
+        testdataFactory.createTargets(10, "first");
+        testdataFactory.createTargets(10, "second");
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet();
+        final Rollout first = testdataFactory.createRolloutByVariables("first", "desc", 2, "name==first*",
+                distributionSet, "50", "5");
+        final Rollout second = testdataFactory.createRolloutByVariables("second", "desc", 2, "name==second*",
+                distributionSet, "50", "5");
+        rolloutManagement.start(first.getId());
+        rolloutManagement.start(second.getId());
+
+        final RolloutScheduler scheduler = new RolloutScheduler(systemManagement, rolloutHandler, rolloutManagement,
+                systemSecurityContext, 2);
+        try {
+            scheduler.runningRolloutScheduler();
+
+            Awaitility.await().atMost(Duration.ofSeconds(10)).pollInSameThread()
+                    .until(() -> getStatus(first) == RolloutStatus.RUNNING
+                            && getStatus(second) == RolloutStatus.RUNNING);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that a rollout that is locked by another node or thread is skipped")
+    void lockedRolloutIsSkipped() throws Exception {
+        testdataFactory.createTargets(10, "locked");
+        final Rollout rollout = testdataFactory.createRolloutByVariables("locked", "desc", 2, "name==*",
+                testdataFactory.createDistributionSet(), "50", "5");
+        rolloutManagement.start(rollout.getId());
+
+        final Lock lock = lockRegistry
+                .obtain(JpaRolloutManagement.createRolloutLockKey(tenantAware.getCurrentTenant(), rollout.getId()));
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        locked.await();
+        rolloutHandler.handleAll();
+        assertThat(getStatus(rollout)).isEqualTo(RolloutStatus.STARTING);
+
+        release.countDown();
+        otherNode.get();
+        rolloutHandler.handleAll();
+        assertThat(getStatus(rollout)).isEqualTo(RolloutStatus.RUNNING);
+    }
+
+    private RolloutStatus getStatus(final Rollout rollout) {
+        return rolloutManagement.get(rollout.getId()).get().getStatus();
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.RolloutStatusCountRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link RolloutStatusCounter}.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout status counts")
+class RolloutStatusCounterTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
+    @Autowired
+    private RolloutStatusCountRepository statusCountRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    @Description("Verifies that the counts follow the status changes of the actions before and after they are flushed")
+    void countsFollowActionStatusChanges() {
+        final Rollout rollout = createAndStartRollout("follow");
+        assertCountsMatchActions(rollout);
+
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(running.get(0).getId()).status(Status.ERROR));
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(running.get(1).getId()).status(Status.FINISHED));
+        assertCountsMatchActions(rollout);
+
+        rolloutStatusCounter.flush();
+        assertThat(format(statusCountRepository.getStatusCountByRolloutId(Collections.singletonList(rollout.getId()))))
+                .containsExactlyInAnyOrderElementsOf(
+                        format(actionRepository.getStatusCountByRolloutId(rollout.getId())));
+        assertCountsMatchActions(rollout);
+    }
+
+    @Test
+    @Description("Verifies that the reconciliation corrects counts that deviate from the actions")
+    void reconcileCorrectsDeviatingCounts() {
+        final Rollout rollout = createAndStartRollout("reconcile");
+        rolloutStatusCounter.flush();
+
+        final RolloutGroup group = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().get(0);
+        statusCountRepository.increment(group.getId(), Status.RUNNING, 5L, Long.MAX_VALUE);
+        assertThat(format(rolloutStatusCounter.getStatusCountByRolloutId(Collections.singletonList(rollout.getId()))))
+                .isNotEqualTo(format(actionRepository.getStatusCountByRolloutId(rollout.getId())));
+
+        rolloutStatusCounter.reconcile(rollout.getId());
+        assertCountsMatchActions(rollout);
+    }
+
+    @Test
+    @Description("Verifies that changes recorded before the reconciliation are not added to the reconciled counts")
+    void changesRecordedBeforeReconcileAreNotAddedTwice() throws InterruptedException {
+        final Rollout rollout = createAndStartRollout("pending");
+        rolloutStatusCounter.flush();
+
+        // pending change of this node
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(running.get(0).getId()).status(Status.FINISHED));
+        // pending change of another node, recorded before the reconciliation
+        final RolloutStatusCounter otherNode = new RolloutStatusCounter(statusCountRepository, actionRepository,
+                txManager);
+        final RolloutGroup group = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().get(0);
+        otherNode.recordStatusChange(rollout.getId(), group.getId(), Status.RUNNING, Status.ERROR);
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        rolloutStatusCounter.reconcile(rollout.getId());
+        rolloutStatusCounter.flush();
+        otherNode.flush();
+        assertCountsMatchActions(rollout);
+
+        // change of another node recorded after the reconciliation
+        TimeUnit.MILLISECONDS.sleep(5);
+        otherNode.recordStatusChange(rollout.getId(), group.getId(), Status.RUNNING, Status.ERROR);
+        otherNode.flush();
+        final List<Long> groupIds = Collections.singletonList(group.getId());
+        assertThat(countOf(rolloutStatusCounter.getStatusCountByRolloutGroupId(groupIds), Status.RUNNING))
+                .isEqualTo(countOf(actionRepository.getStatusCountByRolloutGroupId(groupIds), Status.RUNNING) - 1);
+        assertThat(countOf(rolloutStatusCounter.getStatusCountByRolloutGroupId(groupIds), Status.ERROR)).isOne();
+    }
+
+    @Test
+    @Description("Verifies that finished rollouts are reconciled once more if their actions are changed after the "
+            + "last reconciliation")
+    void finishedRolloutIsReconciledAfterActionChanges() throws InterruptedException {
+        final Rollout rollout = createAndStartRollout("finished");
+        final JpaRollout finished = rolloutRepository.findById(rollout.getId()).get();
+        finished.setStatus(RolloutStatus.FINISHED);
+        rolloutRepository.save(finished);
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        rolloutStatusCounter.reconcile(rollout.getId());
+        assertThat(rolloutStatusCounter.findFinishedRolloutsToReconcile()).doesNotContain(rollout.getId());
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(running.get(0).getId()).status(Status.FINISHED));
+        assertThat(rolloutStatusCounter.findFinishedRolloutsToReconcile()).contains(rollout.getId());
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        rolloutStatusCounter.reconcile(rollout.getId());
+        assertThat(rolloutStatusCounter.findFinishedRolloutsToReconcile()).doesNotContain(rollout.getId());
+        assertCountsMatchActions(rollout);
+    }
+
+    private Rollout createAndStartRollout(final String name) {
+        testdataFactory.createTargets(10, name);
+        final Rollout rollout = testdataFactory.createRolloutByVariables(name, "desc", 2, "name==" + name + "*",
+                testdataFactory.createDistributionSet(), "50", "5");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        return rollout;
+    }
+
+    private void assertCountsMatchActions(final Rollout rollout) {
+        assertThat(format(rolloutStatusCounter.getStatusCountByRolloutId(Collections.singletonList(rollout.getId()))))
+                .containsExactlyInAnyOrderElementsOf(
+                        format(actionRepository.getStatusCountByRolloutId(rollout.getId())));
+
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).collect(Collectors.toList());
+        assertThat(format(rolloutStatusCounter.getStatusCountByRolloutGroupId(groupIds)))
+                .containsExactlyInAnyOrderElementsOf(format(actionRepository.getStatusCountByRolloutGroupId(groupIds)));
+    }
+
+    private static long countOf(final List<TotalTargetCountActionStatus> counts, final Status status) {
+        return counts.stream().filter(count -> count.getStatus() == status)
+                .mapToLong(TotalTargetCountActionStatus::getCount).sum();
+    }
+
+    private static List<String> format(final List<TotalTargetCountActionStatus> counts) {
+        return counts.stream().map(count -> count.getId() + ":" + count.getStatus() + "=" + count.getCount())
+                .collect(Collectors.toList());
+    }
+}
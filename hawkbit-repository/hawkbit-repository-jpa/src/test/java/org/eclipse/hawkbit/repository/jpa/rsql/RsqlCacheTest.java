@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.hawkbit.repository.DistributionSetFields;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.junit.jupiter.api.Test;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link RsqlCache}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("RSQL search utility")
+public class RsqlCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger parsed = new AtomicInteger();
+    private final Function<String, Node> parser = rsql -> {
+        parsed.incrementAndGet();
+        return new RSQLParser().parse(rsql);
+    };
+
+    @Test
+    @Description("Verifies that a query is parsed only once and that the parse time is recorded.")
+    public void queryIsParsedOnlyOnce() {
+        final RsqlCache cache = new RsqlCache(10, meterRegistry);
+
+        final Node node = cache.getNode("name==a*", parser);
+        assertThat(cache.getNode("name==a*", parser)).isSameAs(node);
+        cache.getNode("name==b*", parser);
+
+        assertThat(parsed).hasValue(2);
+        assertThat(meterRegistry.get("hawkbit.repository.rsql.parse").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that a query is validated once per entity type and that invalid queries are not remembered.")
+    public void queryIsValidatedOncePerEntityType() {
+        final RsqlCache cache = new RsqlCache(10, meterRegistry);
+        final AtomicInteger validated = new AtomicInteger();
+
+        cache.validate("name==a*", TargetFields.class, validated::incrementAndGet);
+        cache.validate("name==a*", TargetFields.class, validated::incrementAndGet);
+        cache.validate("name==a*", DistributionSetFields.class, validated::incrementAndGet);
+        assertThat(validated).hasValue(2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(RSQLParameterUnsupportedFieldException.class)
+                    .isThrownBy(() -> cache.validate("unknown==a", TargetFields.class, () -> {
+                        validated.incrementAndGet();
+                        throw new RSQLParameterUnsupportedFieldException();
+                    }));
+        }
+        assertThat(validated).hasValue(4);
+    }
+
+    @Test
+    @Description("Verifies that a disabled cache parses every query but still records the times.")
+    public void disabledCacheParsesEveryQuery() {
+        final RsqlCache cache = new RsqlCache(0, meterRegistry);
+
+        cache.getNode("name==a*", parser);
+        cache.getNode("name==a*", parser);
+        cache.timePredicate(() -> null);
+
+        assertThat(parsed).hasValue(2);
+        assertThat(meterRegistry.get("hawkbit.repository.rsql.parse").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("hawkbit.repository.rsql.predicate").timer().count()).isEqualTo(1);
+    }
+}
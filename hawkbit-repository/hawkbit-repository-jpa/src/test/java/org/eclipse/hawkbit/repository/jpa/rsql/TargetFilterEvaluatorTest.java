@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFilterEvaluator.Match;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFilterEvaluator.TargetValues;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link TargetFilterEvaluator}.
+ */
+@Feature("Unit Tests - Repository")
+@Story("RSQL search utility")
+public class TargetFilterEvaluatorTest {
+
+    private static final TargetValues TARGET = new TargetValues("Device-1", "Device 1", null,
+            TargetUpdateStatus.IN_SYNC, Map.of("Revision", "1.2", "hw", "x86"), Arrays.asList("Alpha", "beta"),
+            "Gateway");
+
+    private static final TargetValues UNTAGGED = new TargetValues("device-2", "device-2", "",
+            TargetUpdateStatus.UNKNOWN, Collections.emptyMap(), Collections.emptyList(), null);
+
+    @Test
+    @Description("Verifies the evaluation of the simple fields with wildcards and case insensitive.")
+    public void simpleFields() {
+        assertThat(TargetFilterEvaluator.evaluate("controllerId==device-*", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("id==other*", TARGET)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("name!=*1", TARGET)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("name=in=(a,'device 1')", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("description==''", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("description!=abc", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("description=out=(abc)", UNTAGGED)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("updateStatus==in_sync", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("updateStatus=in=(error,pending)", TARGET)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("controllerId==device\\*", TARGET)).isEqualTo(Match.NO);
+    }
+
+    @Test
+    @Description("Verifies that attributes, tags and the target type match like the joins of the database query.")
+    public void joinedFields() {
+        assertThat(TargetFilterEvaluator.evaluate("attribute.revision==1.*", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("attribute.hw!=arm", TARGET)).isEqualTo(Match.YES);
+        // no operator matches a target without the attribute
+        assertThat(TargetFilterEvaluator.evaluate("attribute.hw!=arm", UNTAGGED)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("tag==alpha", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("tag!=alpha", TARGET)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("tag=out=(gamma)", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("tag!=alpha", UNTAGGED)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("targetType.name==gate*", TARGET)).isEqualTo(Match.YES);
+        assertThat(TargetFilterEvaluator.evaluate("targetType.name==gate*", UNTAGGED)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("targetType.name!=gate*", UNTAGGED)).isEqualTo(Match.YES);
+    }
+
+    @Test
+    @Description("Verifies that queries which cannot be decided in memory are reported as unknown unless the "
+            + "result is given by the other parts of the query.")
+    public void unknownComparisons() {
+        assertThat(TargetFilterEvaluator.evaluate("lastControllerRequestAt=le=${overdue_ts}", TARGET))
+                .isEqualTo(Match.UNKNOWN);
+        assertThat(TargetFilterEvaluator.evaluate("metadata.key==value", TARGET)).isEqualTo(Match.UNKNOWN);
+        assertThat(TargetFilterEvaluator.evaluate("attribute.revision==1.2", TARGET)).isEqualTo(Match.UNKNOWN);
+        assertThat(TargetFilterEvaluator.evaluate("name==gerät", TARGET)).isEqualTo(Match.UNKNOWN);
+        assertThat(TargetFilterEvaluator.evaluate("unknown==1", TARGET)).isEqualTo(Match.UNKNOWN);
+        assertThat(TargetFilterEvaluator.evaluate("name==(", TARGET)).isEqualTo(Match.UNKNOWN);
+
+        assertThat(TargetFilterEvaluator.evaluate("metadata.key==value;name==other", TARGET)).isEqualTo(Match.NO);
+        assertThat(TargetFilterEvaluator.evaluate("metadata.key==value,name==device*", TARGET)).isEqualTo(Match.YES);
+    }
+}
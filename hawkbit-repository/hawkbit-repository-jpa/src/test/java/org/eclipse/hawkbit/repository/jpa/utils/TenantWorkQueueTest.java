@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Tenant work queue")
+class TenantWorkQueueTest {
+
+    private final List<String> processed = new CopyOnWriteArrayList<>();
+
+    @Test
+    @Description("Verifies that the items are processed alternating between the tenants and queued at most once.")
+    void itemsAreQueuedAlternatingAndOnlyOnce() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TenantWorkQueue queue = new TenantWorkQueue("item", 1, (tenant, id) -> {
+            if ("BLOCKING".equals(tenant)) {
+                blocked.countDown();
+                await(release);
+            }
+            processed.add(tenant + id);
+        });
+
+        try {
+            queue.queueAlternating(Collections.singletonMap("BLOCKING", Collections.singletonList(0L)));
+            blocked.await();
+
+            final Map<String, List<Long>> items = new LinkedHashMap<>();
+            items.put("A", Arrays.asList(1L, 2L, 3L));
+            items.put("B", Collections.singletonList(4L));
+            queue.queueAlternating(items);
+            // items that are still queued are not queued once more
+            queue.queueAlternating(items);
+            release.countDown();
+
+            Awaitility.await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(processed).containsExactly("BLOCKING0", "A1", "B4", "A2", "A3"));
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that a failing item does not prevent it from being queued again.")
+    void failedItemIsQueuedAgain() {
+        final TenantWorkQueue queue = new TenantWorkQueue("item", 1, (tenant, id) -> {
+            processed.add(tenant + id);
+            throw new IllegalStateException("failed");
+        });
+
+        try {
+            final Map<String, List<Long>> items = Collections.singletonMap("A", Collections.singletonList(1L));
+            queue.queueAlternating(items);
+            Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(processed).hasSize(1));
+            Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                queue.queueAlternating(items);
+                assertThat(processed).hasSizeGreaterThan(1);
+            });
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.ControllerPollProperties;
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.AbstractAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory version stamps of the DDI poll responses per {@link Target}. The
+ * cache keeps the ETag of the last response of every resource variant (i.e.
+ * URL) that has been delivered to a controller, so that a conditional poll
+ * with an unchanged ETag can be answered with 304 (Not Modified) without
+ * reading the actions of the target and serializing the response.
+ *
+ * The entries of a target are invalidated by the events that change the
+ * responses of the target, e.g. assignments, cancellations and action updates.
+ * In addition a cached ETag is only valid as long as the update status,
+ * installation date and attribute request flag of the target are unchanged.
+ * This covers assignments and installations that have been committed but whose
+ * events have not been delivered yet. The optimistic lock revision of the
+ * target is not suitable for that purpose as it may change with every poll.
+ *
+ * The repository writes that bypass the entity events, i.e. the last poll time
+ * of targets and the batched action status entries, are not covered. Neither
+ * is part of a cached response: the action history is never cached and the
+ * retrieval of a deployment is registered on a 304 as well.
+ */
+@Component
+public class DdiEtagCache {
+    private static final String CACHE_ETAG_NAME = "DdiEtag";
+    private static final String CACHE_TARGET_NAME = "DdiEtagTarget";
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final boolean enabled;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param controllerPollProperties
+     *            to configure size and expiry of the cache
+     */
+    DdiEtagCache(final TenantAware tenantAware, final ControllerPollProperties controllerPollProperties) {
+        this.tenantAware = tenantAware;
+        this.enabled = controllerPollProperties.getEtagCacheSize() > 0;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, controllerPollProperties.getEtagCacheSize()))
+                .expireAfterWrite(controllerPollProperties.getEtagCacheTtl(), TimeUnit.MILLISECONDS);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * Retrieves the version stamp of the given controller. The stamp has to be
+     * retrieved before the state of the target is read for building a
+     * response. An invalidation in the meantime replaces the stamp and
+     * prevents that an ETag of an outdated response is cached by
+     * {@link #putEtag(VersionStamp, Target, String, String)}.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the current version stamp
+     */
+    VersionStamp getVersionStamp(final String controllerId) {
+        if (!enabled) {
+            return null;
+        }
+        return getEtagCache().get(controllerId, VersionStamp::new);
+    }
+
+    /**
+     * Retrieves the cached ETag of the given resource variant.
+     *
+     * @param controllerId
+     *            of the target the resource belongs to
+     * @param variant
+     *            of the resource, e.g. its URL
+     * @return the ETag of the last response or empty if the response has
+     *         changed or is unknown
+     */
+    Optional<String> getEtag(final String controllerId, final String variant) {
+        return getCachedEtag(controllerId, variant).map(cached -> cached.etag);
+    }
+
+    /**
+     * Verifies that the given ETag is still valid for the current state of the
+     * target.
+     *
+     * @param target
+     *            the resource belongs to
+     * @param variant
+     *            of the resource, e.g. its URL
+     * @param etag
+     *            as retrieved by {@link #getEtag(String, String)}
+     * @return <code>true</code> if the ETag is still valid
+     */
+    boolean isValid(final Target target, final String variant, final String etag) {
+        return getCachedEtag(target.getControllerId(), variant)
+                .filter(cached -> cached.targetState.equals(getTargetState(target)) && cached.etag.equals(etag))
+                .isPresent();
+    }
+
+    /**
+     * Caches the ETag of the given resource variant in case the version stamp
+     * of the target has not been invalidated since it has been retrieved.
+     *
+     * @param stamp
+     *            retrieved before the response has been built
+     * @param target
+     *            the resource belongs to
+     * @param variant
+     *            of the resource, e.g. its URL
+     * @param etag
+     *            of the response
+     */
+    void putEtag(final VersionStamp stamp, final Target target, final String variant, final String etag) {
+        if (stamp == null || target.getId() == null) {
+            return;
+        }
+
+        if (getEtagCache().get(target.getControllerId(), VersionStamp.class) == stamp) {
+            getTargetCache().put(target.getId(), target.getControllerId());
+            stamp.etags.put(variant, new CachedEtag(getTargetState(target), etag));
+        }
+    }
+
+    /**
+     * Calculates a strong ETag from the given response relevant values.
+     *
+     * @param values
+     *            that define the response
+     * @return the quoted ETag
+     */
+    static String calculateEtag(final Object... values) {
+        final StringBuilder builder = new StringBuilder();
+        for (final Object value : values) {
+            builder.append(value).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @EventListener(classes = AbstractAssignmentEvent.class)
+    public void invalidateOnAssignment(final AbstractAssignmentEvent event) {
+        evictControllers(event.getTenant(), event.getActions().keySet());
+    }
+
+    @EventListener(classes = MultiActionEvent.class)
+    public void invalidateOnMultiAction(final MultiActionEvent event) {
+        evictControllers(event.getTenant(), event.getControllerIds());
+    }
+
+    @EventListener(classes = AbstractActionEvent.class)
+    public void invalidateOnActionChange(final AbstractActionEvent event) {
+        evictTarget(event.getTenant(), event.getTargetId());
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetAttributesRequestedEvent.class)
+    public void invalidateOnAttributesRequest(final TargetAttributesRequestedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+        evictControllers(event.getTenant(), Collections.singletonList(event.getControllerId()));
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+        evictControllers(event.getTenant(), Collections.singletonList(event.getControllerId()));
+    }
+
+    @EventListener(classes = { TenantConfigurationCreatedEvent.class, TenantConfigurationUpdatedEvent.class,
+            TenantConfigurationDeletedEvent.class })
+    public void invalidateOnTenantConfigurationChange(final RemoteTenantAwareEvent event) {
+        // e.g. the polling time is part of every response of the tenant
+        evictCaches(event.getTenant());
+    }
+
+    /**
+     * Evicts all caches for a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        cacheManager.evictCaches(tenant);
+    }
+
+    private void evictControllers(final String tenant, final Collection<String> controllerIds) {
+        if (!enabled || controllerIds == null || controllerIds.isEmpty()) {
+            return;
+        }
+        final Cache cache = tenantAware.runAsTenant(tenant, this::getEtagCache);
+        controllerIds.forEach(cache::evict);
+    }
+
+    private void evictTarget(final String tenant, final Long targetId) {
+        if (!enabled || targetId == null) {
+            return;
+        }
+        final Cache targetCache = tenantAware.runAsTenant(tenant, this::getTargetCache);
+        final String controllerId = targetCache.get(targetId, String.class);
+        if (controllerId != null) {
+            targetCache.evict(targetId);
+            tenantAware.runAsTenant(tenant, this::getEtagCache).evict(controllerId);
+        }
+    }
+
+    private static String getTargetState(final Target target) {
+        return target.getUpdateStatus() + "," + target.getInstallationDate() + ","
+                + target.isRequestControllerAttributes();
+    }
+
+    private Optional<CachedEtag> getCachedEtag(final String controllerId, final String variant) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        final VersionStamp stamp = getEtagCache().get(controllerId, VersionStamp.class);
+        if (stamp == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(stamp.etags.get(variant));
+    }
+
+    private Cache getEtagCache() {
+        return cacheManager.getCache(CACHE_ETAG_NAME);
+    }
+
+    private Cache getTargetCache() {
+        return cacheManager.getCache(CACHE_TARGET_NAME);
+    }
+
+    /**
+     * Version of the responses of a target. The instance is replaced on every
+     * invalidation.
+     */
+    static final class VersionStamp {
+        private final Map<String, CachedEtag> etags = new ConcurrentHashMap<>();
+    }
+
+    private static final class CachedEtag {
+        private final String targetState;
+        private final String etag;
+
+        private CachedEtag(final String targetState, final String etag) {
+            this.targetState = targetState;
+            this.etag = etag;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -42,6 +43,7 @@ import org.eclipse.hawkbit.ddi.json.model.DdiResult.FinalResult;
 import org.eclipse.hawkbit.ddi.json.model.DdiUpdateMode;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
+import org.eclipse.hawkbit.ddi.rest.resource.DdiEtagCache.VersionStamp;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
@@ -57,9 +59,11 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.InvalidConfirmationFeedbackException;
 import org.eclipse.hawkbit.repository.exception.SoftwareModuleNotAssignedToTargetException;
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollSnapshot;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
@@ -138,6 +142,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DdiEtagCache etagCache;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -160,19 +167,38 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
-                .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        final Action activeAction = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        final URI address = IpUtil.getClientIpFromRequest(request, securityProperties);
+        final String variant = getResponseVariant(request);
+
+        final Optional<String> notModifiedEtag = getNotModifiedEtag(controllerId, variant, request);
+        Target polledTarget = null;
+        if (notModifiedEtag.isPresent()) {
+            // the poll has to be recorded nevertheless
+            polledTarget = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, address);
+            if (etagCache.isValid(polledTarget, variant, notModifiedEtag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(notModifiedEtag.get()).build();
+            }
+        }
 
-        final Action installedAction = controllerManagement.getInstalledActionByTarget(controllerId).orElse(null);
+        final VersionStamp stamp = etagCache.getVersionStamp(controllerId);
+        final ControllerPollSnapshot snapshot = polledTarget == null
+                ? controllerManagement.findOrRegisterTargetForPoll(controllerId, address)
+                : controllerManagement.getPollSnapshot(polledTarget);
+        final Action activeAction = snapshot.getActiveAction().orElse(null);
 
         checkAndCancelExpiredAction(activeAction);
 
         // activeAction
-        return new ResponseEntity<>(DataConversionHelper.fromTarget(target, installedAction, activeAction,
-                activeAction == null ? controllerManagement.getPollingTime()
-                        : controllerManagement.getPollingTimeForAction(activeAction.getId()),
-                tenantAware), HttpStatus.OK);
+        final DdiControllerBase base = DataConversionHelper.fromTarget(snapshot.getTarget(),
+                snapshot.getInstalledAction().orElse(null), activeAction, snapshot.getPollingTime(), tenantAware);
+
+        final String etag = DdiEtagCache.calculateEtag(variant, snapshot.getPollingTime(), base.getLinks());
+        if (isEtagCacheable(activeAction)) {
+            etagCache.putEtag(stamp, snapshot.getTarget(), variant, etag);
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(base);
     }
 
     @Override
@@ -283,7 +309,26 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @RequestParam(value = "actionHistory", defaultValue = DdiRestConstants.NO_ACTION_HISTORY) final Integer actionHistoryMessageCount) {
         LOG.debug("getControllerBasedeploymentAction({},{})", controllerId, resource);
 
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        final String variant = getResponseVariant(request);
+        // the action history is not covered by events
+        final boolean withoutActionHistory = actionHistoryMessageCount == 0;
+
         final Target target = findTarget(controllerId);
+
+        if (withoutActionHistory) {
+            final Optional<String> notModifiedEtag = getNotModifiedEtag(controllerId, variant, request)
+                    .filter(etag -> etagCache.isValid(target, variant, etag));
+            if (notModifiedEtag.isPresent()) {
+                // the retrieval has to be recorded nevertheless, e.g. the
+                // controller might retry the download after an intermediate
+                // feedback which does not change the response
+                registerUpdateRetrieved(actionId);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(notModifiedEtag.get()).build();
+            }
+        }
+
+        final VersionStamp stamp = etagCache.getVersionStamp(controllerId);
         final Action action = findActionForTarget(actionId, target);
 
         checkAndCancelExpiredAction(action);
@@ -294,15 +339,70 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
             LOG.debug("Found an active UpdateAction for target {}. returning deployment: {}", controllerId, base);
 
-            controllerManagement.registerRetrieved(action.getId(), RepositoryConstants.SERVER_MESSAGE_PREFIX
-                    + "Target retrieved update action and should start now the download.");
+            registerUpdateRetrieved(action.getId());
 
-            return new ResponseEntity<>(base, HttpStatus.OK);
+            if (!withoutActionHistory) {
+                return new ResponseEntity<>(base, HttpStatus.OK);
+            }
+
+            final String etag = DdiEtagCache.calculateEtag(variant, action.getId(), action.getOptLockRevision(),
+                    getDeploymentFingerprint(base.getDeployment()));
+            if (isEtagCacheable(action)) {
+                etagCache.putEtag(stamp, target, variant, etag);
+            }
+
+            return ResponseEntity.ok().eTag(etag).body(base);
         }
 
         return ResponseEntity.notFound().build();
     }
 
+    private void registerUpdateRetrieved(final long actionId) {
+        controllerManagement.registerRetrieved(actionId, RepositoryConstants.SERVER_MESSAGE_PREFIX
+                + "Target retrieved update action and should start now the download.");
+    }
+
+    /**
+     * The response of a resource differs by URL including host and query.
+     */
+    private static String getResponseVariant(final HttpServletRequest request) {
+        return request.getRequestURL() + "?" + request.getQueryString();
+    }
+
+    private Optional<String> getNotModifiedEtag(final String controllerId, final String variant,
+            final HttpServletRequest request) {
+        final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        return etagCache.getEtag(controllerId, variant).filter(etag -> HttpUtil.matchesHttpHeader(ifNoneMatch, etag));
+    }
+
+    /**
+     * Responses of actions with a maintenance schedule or a pending switch
+     * to forced change over time without any event.
+     */
+    private static boolean isEtagCacheable(final Action action) {
+        return action == null || (!action.hasMaintenanceSchedule() && !(action.getActionType() == ActionType.TIMEFORCED
+                && !action.isHitAutoForceTime(System.currentTimeMillis())));
+    }
+
+    private static String getDeploymentFingerprint(final DdiDeployment deployment) {
+        final StringBuilder fingerprint = new StringBuilder().append(deployment.getDownload()).append(',')
+                .append(deployment.getUpdate()).append(',').append(deployment.getMaintenanceWindow());
+        for (final DdiChunk chunk : deployment.getChunks()) {
+            fingerprint.append(';').append(chunk.getPart()).append(',').append(chunk.getName()).append(',')
+                    .append(chunk.getVersion()).append(',').append(chunk.isEncrypted());
+            chunk.getArtifacts().forEach(artifact -> fingerprint.append(',').append(artifact.getFilename())
+                    .append(',').append(artifact.getHashes().getSha1()).append(',').append(artifact.getLinks()));
+            if (chunk.getMetadata() != null) {
+                chunk.getMetadata().forEach(metadata -> fingerprint.append(',').append(metadata.getKey())
+                        .append('=').append(metadata.getValue()));
+            }
+        }
+        return fingerprint.toString();
+    }
+
     private static HandlingType calculateDownloadType(final Action action) {
         if (action.isDownloadOnly() || action.isForcedOrTimeForced()) {
             return HandlingType.FORCED;
@@ -346,7 +446,7 @@ public class DdiRootController implements DdiRootControllerRestApi {
             return new ResponseEntity<>(HttpStatus.GONE);
         }
 
-        controllerManagement.addUpdateActionStatus(generateUpdateStatus(feedback, controllerId, actionId));
+        controllerManagement.queueUpdateActionStatus(generateUpdateStatus(feedback, controllerId, actionId));
 
         return ResponseEntity.ok().build();
 
@@ -615,7 +715,6 @@ public class DdiRootController implements DdiRootControllerRestApi {
         return null;
     }
 
-
     @Override
     public ResponseEntity<DdiConfirmationBaseAction> getConfirmationBaseAction(
             @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId,
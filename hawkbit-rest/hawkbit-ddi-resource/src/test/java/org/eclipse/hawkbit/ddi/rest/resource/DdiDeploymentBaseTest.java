@@ -11,22 +11,27 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.assertj.core.api.Condition;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.ddi.json.model.DdiResult;
 import org.eclipse.hawkbit.ddi.json.model.DdiStatus;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
@@ -219,6 +224,75 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
                 .toString()).isNotEqualTo(urlBeforeSwitch);
     }
 
+    @Test
+    @Description("Ensures that a conditional request of the deployment resource is answered with 304 until the action is changed.")
+    public void deploymentBaseNotModifiedUntilActionIsChanged() throws Exception {
+        final Target target = testdataFactory.createTarget(DEFAULT_CONTROLLER_ID);
+        final DistributionSet ds = testdataFactory.createDistributionSet("", true);
+        final Long actionId = getFirstAssignedActionId(
+                assignDistributionSet(ds.getId(), target.getControllerId(), ActionType.SOFT));
+
+        final String etag = performGet(DEPLOYMENT_BASE, MediaTypes.HAL_JSON, status().isOk(),
+                tenantAware.getCurrentTenant(), DEFAULT_CONTROLLER_ID, actionId.toString())
+                        .andExpect(jsonPath("$.deployment.download", equalTo("attempt"))).andReturn().getResponse()
+                        .getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        mvc.perform(MockMvcRequestBuilders
+                .get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(), DEFAULT_CONTROLLER_ID, actionId.toString())
+                .header("If-None-Match", etag)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotModified()).andExpect(header().string("ETag", etag));
+
+        deploymentManagement.forceTargetAction(actionId);
+
+        Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(5)).untilAsserted(() -> mvc
+                .perform(MockMvcRequestBuilders.get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(),
+                        DEFAULT_CONTROLLER_ID, actionId.toString()).header("If-None-Match", etag))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.deployment.download", equalTo("forced"))));
+    }
+
+    @Test
+    @Description("Ensures that the retrieval of the deployment is recorded even if the request is answered with 304.")
+    public void deploymentBaseNotModifiedRegistersRetrieval() throws Exception {
+        final Target target = testdataFactory.createTarget(DEFAULT_CONTROLLER_ID);
+        final DistributionSet ds = testdataFactory.createDistributionSet("", true);
+        final Long actionId = getFirstAssignedActionId(
+                assignDistributionSet(ds.getId(), target.getControllerId(), ActionType.SOFT));
+
+        // the first retrieval changes the action, so the ETag of the second
+        // response is the one that is cached
+        performGet(DEPLOYMENT_BASE, MediaTypes.HAL_JSON, status().isOk(), tenantAware.getCurrentTenant(),
+                DEFAULT_CONTROLLER_ID, actionId.toString());
+        final AtomicReference<String> etag = new AtomicReference<>();
+        Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            etag.set(performGet(DEPLOYMENT_BASE, MediaTypes.HAL_JSON, status().isOk(),
+                    tenantAware.getCurrentTenant(), DEFAULT_CONTROLLER_ID, actionId.toString()).andReturn()
+                            .getResponse().getHeader("ETag"));
+            mvc.perform(MockMvcRequestBuilders
+                    .get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(), DEFAULT_CONTROLLER_ID, actionId.toString())
+                    .header("If-None-Match", etag.get())).andExpect(status().isNotModified());
+        });
+        assertThat(countRetrievedStatus(actionId)).isOne();
+
+        // an informational feedback does not change the response
+        controllerManagement.addInformationalActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD).message("downloading"));
+
+        mvc.perform(MockMvcRequestBuilders
+                .get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(), DEFAULT_CONTROLLER_ID, actionId.toString())
+                .header("If-None-Match", etag.get())).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotModified());
+
+        assertThat(countRetrievedStatus(actionId)).isEqualTo(2);
+    }
+
+    private long countRetrievedStatus(final long actionId) {
+        return deploymentManagement.findActionStatusByAction(PAGE, actionId).getContent().stream()
+                .filter(actionStatus -> actionStatus.getStatus() == Status.RETRIEVED).count();
+    }
+
     @Test
     @Description("Attempt/soft deployment to a controller. Checks if the resource response payload for a given deployment is as expected.")
     public void deploymentAttemptAction() throws Exception {
@@ -28,11 +28,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.ddi.json.model.DdiResult;
 import org.eclipse.hawkbit.ddi.json.model.DdiStatus;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
@@ -222,6 +226,28 @@ class DdiRootControllerTest extends AbstractDDiApiIntegrationTest {
         });
     }
 
+    @Test
+    @Description("Ensures that a poll answered with not modified is recorded nevertheless.")
+    void rootRsNotModifiedRecordsPoll() throws Exception {
+        final String controllerId = "4712";
+        final AtomicReference<String> etag = new AtomicReference<>();
+        // the registration of the target invalidates the first ETag
+        Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            etag.set(mvc.perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId))
+                    .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag"));
+            mvc.perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId).header("If-None-Match",
+                    etag.get())).andExpect(status().isNotModified());
+        });
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        final long current = System.currentTimeMillis();
+        mvc.perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId).header("If-None-Match",
+                etag.get())).andDo(MockMvcResultPrinter.print()).andExpect(status().isNotModified());
+
+        assertThat(targetManagement.getByControllerID(controllerId).get().getLastTargetQuery())
+                .isGreaterThanOrEqualTo(current);
+    }
+
     @Test
     @Description("Ensures that etag check results in not modified response if provided etag by client is identical to entity in repository.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
@@ -74,6 +74,7 @@ class DosFilterTest extends AbstractDDiApiIntegrationTest {
 
         // the filter shuts down after 100 GET requests
         assertThat(requests).isGreaterThanOrEqualTo(10);
+        assertThat(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
     }
 
     @Test
@@ -38,6 +38,8 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
     private final List<T> content;
     @JsonProperty
     private final long total;
+    @JsonProperty
+    private final String next;
     private final int size;
 
     /**
@@ -51,10 +53,31 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
      * @throws NullPointerException
      *             in case {@code content} is {@code null}.
      */
+    public PagedList(@NotNull final List<T> content, final long total) {
+        this(content, total, null);
+    }
+
+    /**
+     * creates a new paged list with the given {@code content}, {@code total}
+     * and the continuation token of the next page.
+     *
+     * @param content
+     *            the actual content of the list
+     * @param total
+     *            the total amount of elements
+     * @param next
+     *            the continuation token to request the next page or
+     *            {@code null} if there is no next page or the list is not
+     *            requested by continuation token
+     * @throws NullPointerException
+     *             in case {@code content} is {@code null}.
+     */
     @JsonCreator
-    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total) {
+    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total,
+            @JsonProperty("next") final String next) {
         this.size = content.size();
         this.total = total;
+        this.next = next;
         this.content = content;
     }
 
@@ -72,6 +95,13 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
         return total;
     }
 
+    /**
+     * @return the continuation token to request the next page
+     */
+    public String getNext() {
+        return next;
+    }
+
     public List<T> getContent() {
         return Collections.unmodifiableList(content);
     }
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST API for exporting targets, actions and rollout results as
+ * newline-delimited JSON, i.e. one JSON object per line. In contrast to the
+ * paged lists the complete result is streamed with one request and without
+ * links. Errors which occur before the first line is written, e.g. an invalid
+ * search parameter, are reported as JSON.
+ */
+// no request mapping specified here to avoid CVE-2021-22044 in Feign client
+public interface MgmtExportRestApi {
+
+    /**
+     * Handles the GET request of exporting all targets with their controller
+     * attributes.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=name==abc}
+     * @return the targets ordered by their IDs, one per line
+     */
+    @GetMapping(value = MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets", produces = {
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<StreamingResponseBody> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request of exporting the action history of all targets.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=distributionSet.id==1}
+     * @return the actions ordered by their IDs, one per line
+     */
+    @GetMapping(value = MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/actions", produces = {
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<StreamingResponseBody> exportActions(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request of exporting the targets of all groups of a
+     * rollout with their action status.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     * @return the targets ordered by rollout group and target ID, one per line
+     */
+    @GetMapping(value = MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/rollouts/{rolloutId}", produces = {
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<StreamingResponseBody> exportRollout(@PathVariable("rolloutId") Long rolloutId);
+}
@@ -160,6 +160,11 @@ public final class MgmtRestConstants {
      */
     public static final String ACTION_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/actions";
 
+    /**
+     * The export URL mapping rest resource.
+     */
+    public static final String EXPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/export";
+
     /**
      * The default offset parameter in case the offset parameter is not present
      * in the request.
@@ -192,6 +197,14 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for the continuation token of a keyset paged
+     * request. If present, the pages are requested by the position of the last
+     * entry of the previous page instead of an offset. An empty value requests
+     * the first page.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_CURSOR = "cursor";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
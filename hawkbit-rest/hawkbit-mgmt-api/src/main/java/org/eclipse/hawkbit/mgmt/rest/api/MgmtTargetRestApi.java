@@ -68,6 +68,11 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=name==abc}
+     * @param cursorParam
+     *            the continuation token of the previous page in the request
+     *            URL, an empty value requests the first page. If present, the
+     *            offset is ignored, the list is sorted by one field only and
+     *            the response contains the token of the next page
      * @return a list of all targets for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -79,7 +84,8 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) String cursorParam);
 
     /**
      * Handles the POST request of creating new targets. The request body must
@@ -185,6 +191,11 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=status==pending}
+     * @param cursorParam
+     *            the continuation token of the previous page in the request
+     *            URL, an empty value requests the first page. If present, the
+     *            offset is ignored, the list is sorted by one field only and
+     *            the response contains the token of the next page
      * @return a list of all Actions for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -195,7 +206,8 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) String cursorParam);
 
     /**
      * Handles the GET request of retrieving a specific Actions of a specific
@@ -263,6 +275,11 @@ public interface MgmtTargetRestApi {
      * @param sortParam
      *            the sorting parameter in the request URL, syntax
      *            {@code field:direction, field:direction}
+     * @param cursorParam
+     *            the continuation token of the previous page in the request
+     *            URL, an empty value requests the first page. If present, the
+     *            offset is ignored, the list is sorted by one field only and
+     *            the response contains the token of the next page
      * @return a list of all ActionStatus for a defined or default page request
      *         with status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -274,7 +291,8 @@ public interface MgmtTargetRestApi {
             @PathVariable("actionId") Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) String cursorParam);
 
     /**
      * Handles the GET request of retrieving the assigned distribution set of an
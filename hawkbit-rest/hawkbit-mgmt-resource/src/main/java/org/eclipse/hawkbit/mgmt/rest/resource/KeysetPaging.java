@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.eclipse.hawkbit.rest.exception.PagingCursorInvalidException;
+import org.eclipse.hawkbit.rest.exception.SortParameterUnsupportedFieldException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.StringUtils;
+
+/**
+ * Keyset pagination of the REST resources. The continuation token of a page
+ * contains the position of its last entry, i.e. the value of the sort field
+ * and the ID, and the total count of the entries. The total is counted for the
+ * first page only, so it is an estimate for the following pages.
+ *
+ * @param <T>
+ *            the type of the paged entities
+ */
+final class KeysetPaging<T extends BaseEntity> {
+
+    private static final String SEPARATOR = "\n";
+    private static final int PARTS = 5;
+
+    private final Map<String, SortKey<T>> sortKeys;
+
+    /**
+     * @param sortKeys
+     *            the supported sort fields by field name. The fields must not
+     *            be <code>null</code> for any entity.
+     */
+    KeysetPaging(final Map<String, SortKey<T>> sortKeys) {
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Creates the request for the page after the given continuation token.
+     *
+     * @param cursorParam
+     *            the continuation token, empty for the first page
+     * @param limit
+     *            the size of the page
+     * @param sort
+     *            the sanitized sort parameter
+     * @return the page request
+     * @throws SortParameterUnsupportedFieldException
+     *             if the list is not sorted by exactly one supported field
+     * @throws PagingCursorInvalidException
+     *             if the token is not valid, does not match the sorting or
+     *             its value does not match the type of the sort field
+     */
+    KeysetPageRequest toPageRequest(final String cursorParam, final int limit, final Sort sort) {
+        final List<Order> orders = sort.toList();
+        if (orders.size() != 1 || !sortKeys.containsKey(orders.get(0).getProperty())) {
+            throw new SortParameterUnsupportedFieldException();
+        }
+        final String sortField = orders.get(0).getProperty();
+        final Direction direction = orders.get(0).getDirection();
+
+        final String[] cursor = decode(cursorParam);
+        if (cursor.length == 0) {
+            return KeysetPageRequest.first(limit, sortField, direction);
+        }
+        if (!sortField.equals(cursor[1]) || !direction.name().equals(cursor[2])) {
+            throw new PagingCursorInvalidException();
+        }
+        if (sortKeys.get(sortField).isNumeric()) {
+            parseLong(cursor[4]);
+        }
+        return KeysetPageRequest.after(limit, sortField, direction, cursor[4], parseLong(cursor[3]));
+    }
+
+    /**
+     * @param cursorParam
+     *            the continuation token, empty for the first page
+     * @param count
+     *            to count the entries for the first page
+     * @return the total count of the entries
+     */
+    long getTotal(final String cursorParam, final LongSupplier count) {
+        final String[] cursor = decode(cursorParam);
+        return cursor.length == 0 ? count.getAsLong() : parseLong(cursor[0]);
+    }
+
+    /**
+     * @param content
+     *            the entries of the current page
+     * @param pageRequest
+     *            the request of the current page
+     * @param total
+     *            the total count of the entries
+     * @return the continuation token of the next page or <code>null</code> if
+     *         the current page is the last one
+     */
+    String getNext(final List<? extends T> content, final KeysetPageRequest pageRequest, final long total) {
+        if (content.size() < pageRequest.getPageSize()) {
+            return null;
+        }
+        final T last = content.get(content.size() - 1);
+        final String lastValue = String.valueOf(sortKeys.get(pageRequest.getSortField()).getValue(last));
+        final String cursor = String.join(SEPARATOR, String.valueOf(total), pageRequest.getSortField(),
+                pageRequest.getDirection().name(), String.valueOf(last.getId()), lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(final String cursorParam) {
+        if (!StringUtils.hasText(cursorParam)) {
+            return new String[0];
+        }
+        try {
+            final String[] cursor = new String(Base64.getUrlDecoder().decode(cursorParam), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, PARTS);
+            if (cursor.length != PARTS) {
+                throw new PagingCursorInvalidException();
+            }
+            return cursor;
+        } catch (final IllegalArgumentException e) {
+            throw new PagingCursorInvalidException(e);
+        }
+    }
+
+    private static long parseLong(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            throw new PagingCursorInvalidException(e);
+        }
+    }
+
+    /**
+     * Sort field of the keyset pagination.
+     *
+     * @param <T>
+     *            the type of the paged entities
+     */
+    static final class SortKey<T> {
+
+        private final Function<T, ?> value;
+        private final boolean numeric;
+
+        private SortKey(final Function<T, ?> value, final boolean numeric) {
+            this.value = value;
+            this.numeric = numeric;
+        }
+
+        /**
+         * @param value
+         *            the function to get the value of the sort field
+         * @return a sort field of type {@link String}
+         */
+        static <T> SortKey<T> ofString(final Function<T, String> value) {
+            return new SortKey<>(value, false);
+        }
+
+        /**
+         * @param value
+         *            the function to get the value of the sort field
+         * @return a sort field of type {@link Long}, e.g. an ID or a time
+         *         stamp
+         */
+        static <T> SortKey<T> ofLong(final Function<T, Long> value) {
+            return new SortKey<>(value, true);
+        }
+
+        private Object getValue(final T entity) {
+            return value.apply(entity);
+        }
+
+        private boolean isNumeric() {
+            return numeric;
+        }
+    }
+}
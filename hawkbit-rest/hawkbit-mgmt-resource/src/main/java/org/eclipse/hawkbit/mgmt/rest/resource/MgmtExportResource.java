@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtExportRestApi;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RolloutGroupManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.NamedEntity;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetWithActionStatus;
+import org.eclipse.hawkbit.util.IpUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * REST Resource for exporting targets, actions and rollout results as
+ * newline-delimited JSON. The entities are read through a database cursor and
+ * written to the response while reading, so the memory consumption does not
+ * depend on the size of the export.
+ */
+@RestController
+@ConditionalOnProperty(name = "hawkbit.rest.MgmtExportResource.enabled", matchIfMissing = true)
+public class MgmtExportResource implements MgmtExportRestApi {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private static final int ROLLOUT_GROUPS_PAGE_SIZE = 100;
+
+    private final TargetManagement targetManagement;
+
+    private final DeploymentManagement deploymentManagement;
+
+    private final RolloutGroupManagement rolloutGroupManagement;
+
+    MgmtExportResource(final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
+            final RolloutGroupManagement rolloutGroupManagement) {
+        this.targetManagement = targetManagement;
+        this.deploymentManagement = deploymentManagement;
+        this.rolloutGroupManagement = rolloutGroupManagement;
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTargets(final String rsqlParam) {
+        return ndjson(lines -> targetManagement.forEachByRsqlWithAttributes(rsqlParam,
+                (target, attributes) -> lines.write(generator -> writeTarget(generator, target, attributes))));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportActions(final String rsqlParam) {
+        return ndjson(lines -> deploymentManagement.forEachAction(rsqlParam,
+                action -> lines.write(generator -> writeAction(generator, action))));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportRollout(final Long rolloutId) {
+        // the number of groups is limited by quota, so they are read before
+        // the streaming starts, which reports a missing rollout with a proper
+        // status
+        final List<RolloutGroup> groups = findRolloutGroups(rolloutId);
+
+        return ndjson(lines -> groups.forEach(group -> rolloutGroupManagement
+                .forEachTargetOfRolloutGroupWithActionStatus(group.getId(), targetWithActionStatus -> lines.write(
+                        generator -> writeRolloutTarget(generator, rolloutId, group, targetWithActionStatus)))));
+    }
+
+    private List<RolloutGroup> findRolloutGroups(final long rolloutId) {
+        final List<RolloutGroup> groups = new ArrayList<>();
+        Pageable pageable = PageRequest.of(0, ROLLOUT_GROUPS_PAGE_SIZE, Sort.by(Direction.ASC, "id"));
+        Page<RolloutGroup> page;
+        do {
+            page = rolloutGroupManagement.findByRollout(pageable, rolloutId);
+            groups.addAll(page.getContent());
+            pageable = pageable.next();
+        } while (page.hasNext());
+        return groups;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(final Export export) {
+        final HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder
+                .currentRequestAttributes()).getResponse();
+        return ResponseEntity.ok().body(new NdjsonBody(response, export));
+    }
+
+    private static void writeTarget(final JsonGenerator generator, final Target target,
+            final Map<String, String> attributes) throws IOException {
+        generator.writeStringField("controllerId", target.getControllerId());
+        writeNamedEntity(generator, target);
+        generator.writeStringField("updateStatus", target.getUpdateStatus().name().toLowerCase());
+        final URI address = target.getAddress();
+        if (address != null) {
+            if (IpUtil.isIpAddresKnown(address)) {
+                generator.writeStringField("ipAddress", address.getHost());
+            }
+            generator.writeStringField("address", address.toString());
+        }
+        writeNumberField(generator, "lastControllerRequestAt", target.getLastTargetQuery());
+        writeNumberField(generator, "installedAt", target.getInstallationDate());
+        if (target.getTargetType() != null) {
+            generator.writeNumberField("targetType", target.getTargetType().getId());
+        }
+        generator.writeObjectFieldStart("attributes");
+        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+            generator.writeStringField(attribute.getKey(), attribute.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAction(final JsonGenerator generator, final Action action) throws IOException {
+        generator.writeNumberField("id", action.getId());
+        generator.writeStringField("target", action.getTarget().getControllerId());
+        generator.writeNumberField("distributionSet", action.getDistributionSet().getId());
+        generator.writeStringField("type", action.getActionType().name().toLowerCase());
+        generator.writeStringField("status", action.getStatus().name().toLowerCase());
+        generator.writeBooleanField("active", action.isActive());
+        if (action.getRollout() != null) {
+            generator.writeNumberField("rollout", action.getRollout().getId());
+        }
+        if (action.getRolloutGroup() != null) {
+            generator.writeNumberField("rolloutGroup", action.getRolloutGroup().getId());
+        }
+        writeNumberField(generator, "lastStatusCode", action.getLastActionStatusCode().orElse(null));
+        writeNumberField(generator, "createdAt", action.getCreatedAt());
+        writeNumberField(generator, "lastModifiedAt", action.getLastModifiedAt());
+    }
+
+    private static void writeRolloutTarget(final JsonGenerator generator, final long rolloutId,
+            final RolloutGroup group, final TargetWithActionStatus targetWithActionStatus) throws IOException {
+        generator.writeNumberField("rollout", rolloutId);
+        generator.writeNumberField("rolloutGroup", group.getId());
+        generator.writeStringField("rolloutGroupName", group.getName());
+        generator.writeStringField("controllerId", targetWithActionStatus.getTarget().getControllerId());
+        if (targetWithActionStatus.getStatus() != null) {
+            generator.writeStringField("status", targetWithActionStatus.getStatus().name().toLowerCase());
+        }
+        writeNumberField(generator, "lastStatusCode", targetWithActionStatus.getLastActionStatusCode());
+    }
+
+    private static void writeNamedEntity(final JsonGenerator generator, final NamedEntity entity)
+            throws IOException {
+        generator.writeStringField("name", entity.getName());
+        if (entity.getDescription() != null) {
+            generator.writeStringField("description", entity.getDescription());
+        }
+        generator.writeStringField("createdBy", entity.getCreatedBy());
+        writeNumberField(generator, "createdAt", entity.getCreatedAt());
+        generator.writeStringField("lastModifiedBy", entity.getLastModifiedBy());
+        writeNumberField(generator, "lastModifiedAt", entity.getLastModifiedAt());
+    }
+
+    private static void writeNumberField(final JsonGenerator generator, final String name, final Number value)
+            throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    /**
+     * Writes the lines of an export. The content type is set with the first
+     * line, so that errors before, e.g. because of an invalid search
+     * parameter, are still reported as JSON.
+     */
+    private static final class NdjsonBody implements StreamingResponseBody {
+
+        private final HttpServletResponse response;
+        private final Export export;
+        private boolean contentTypeSet;
+
+        private NdjsonBody(final HttpServletResponse response, final Export export) {
+            this.response = response;
+            this.export = export;
+        }
+
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            // the generator is not closed in case of an error as it would
+            // flush and so commit the response before the error is handled
+            final JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream);
+            try {
+                export.writeTo(writer -> writeLine(generator, writer));
+            } catch (final UncheckedIOException e) {
+                throw e.getCause();
+            }
+            setContentType();
+            generator.close();
+        }
+
+        private void writeLine(final JsonGenerator generator, final JsonWriter writer) {
+            setContentType();
+            try {
+                generator.writeStartObject();
+                writer.write(generator);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void setContentType() {
+            if (!contentTypeSet) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                contentTypeSet = true;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(Lines lines);
+    }
+
+    @FunctionalInterface
+    private interface Lines {
+        void write(JsonWriter writer);
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
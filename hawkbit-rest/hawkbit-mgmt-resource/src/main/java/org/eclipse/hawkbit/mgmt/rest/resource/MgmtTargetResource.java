@@ -37,10 +37,15 @@ import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAutoConfirmUpdate;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
+import org.eclipse.hawkbit.mgmt.rest.resource.KeysetPaging.SortKey;
+import org.eclipse.hawkbit.repository.ActionFields;
+import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
@@ -74,6 +79,17 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
 
     private static final Logger LOG = LoggerFactory.getLogger(MgmtTargetResource.class);
 
+    private static final KeysetPaging<Target> TARGET_KEYSET_PAGING = new KeysetPaging<>(
+            Map.of(TargetFields.CONTROLLERID.getFieldName(), SortKey.ofString(Target::getControllerId),
+                    TargetFields.NAME.getFieldName(), SortKey.ofString(Target::getName),
+                    TargetFields.CREATEDAT.getFieldName(), SortKey.ofLong(Target::getCreatedAt),
+                    TargetFields.LASTMODIFIEDAT.getFieldName(), SortKey.ofLong(Target::getLastModifiedAt)));
+    private static final KeysetPaging<Action> ACTION_KEYSET_PAGING = new KeysetPaging<>(
+            Map.of(ActionFields.ID.getFieldName(), SortKey.ofLong(Action::getId)));
+    private static final KeysetPaging<ActionStatus> ACTION_STATUS_KEYSET_PAGING = new KeysetPaging<>(
+            Map.of(ActionStatusFields.ID.getFieldName(), SortKey.ofLong(ActionStatus::getId),
+                    ActionStatusFields.REPORTEDAT.getFieldName(), SortKey.ofLong(ActionStatus::getCreatedAt)));
+
     private final TargetManagement targetManagement;
 
     private final ConfirmationManagement confirmationManagement;
@@ -111,12 +127,25 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
+        if (cursorParam != null) {
+            final KeysetPageRequest pageRequest = TARGET_KEYSET_PAGING.toPageRequest(cursorParam,
+                    sanitizedLimitParam, sorting);
+            final List<Target> targets = (rsqlParam != null ? targetManagement.findByRsql(pageRequest, rsqlParam)
+                    : targetManagement.findAll(pageRequest)).getContent();
+            final long total = TARGET_KEYSET_PAGING.getTotal(cursorParam,
+                    () -> rsqlParam != null ? targetManagement.countByRsql(rsqlParam) : targetManagement.count());
+
+            return ResponseEntity.ok(new PagedList<>(MgmtTargetMapper.toResponse(targets, tenantConfigHelper), total,
+                    TARGET_KEYSET_PAGING.getNext(targets, pageRequest, total)));
+        }
+
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
         final Slice<Target> findTargetsAll;
         final long countTargetsAll;
@@ -217,13 +246,28 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         findTargetWithExceptionIfNotFound(targetId);
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionSortParam(sortParam);
+
+        if (cursorParam != null) {
+            final KeysetPageRequest pageRequest = ACTION_KEYSET_PAGING.toPageRequest(cursorParam, sanitizedLimitParam,
+                    sorting);
+            final List<Action> actions = (rsqlParam != null
+                    ? deploymentManagement.findActionsByTarget(rsqlParam, targetId, pageRequest)
+                    : deploymentManagement.findActionsByTarget(targetId, pageRequest)).getContent();
+            final long total = ACTION_KEYSET_PAGING.getTotal(cursorParam,
+                    () -> rsqlParam != null ? deploymentManagement.countActionsByTarget(rsqlParam, targetId)
+                            : deploymentManagement.countActionsByTarget(targetId));
+
+            return ResponseEntity.ok(new PagedList<>(MgmtTargetMapper.toResponse(targetId, actions), total,
+                    ACTION_KEYSET_PAGING.getNext(actions, pageRequest, total)));
+        }
         final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
 
         final Slice<Action> activeActions;
@@ -282,7 +326,8 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @PathVariable("targetId") final String targetId, @PathVariable("actionId") final Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam) {
 
         final Target target = findTargetWithExceptionIfNotFound(targetId);
 
@@ -298,6 +343,19 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionStatusSortParam(sortParam);
 
+        if (cursorParam != null) {
+            final KeysetPageRequest pageRequest = ACTION_STATUS_KEYSET_PAGING.toPageRequest(cursorParam,
+                    sanitizedLimitParam, sorting);
+            final List<ActionStatus> statusList = deploymentManagement
+                    .findActionStatusByAction(pageRequest, action.getId()).getContent();
+            final long total = ACTION_STATUS_KEYSET_PAGING.getTotal(cursorParam,
+                    () -> deploymentManagement.countActionStatusByAction(action.getId()));
+
+            return ResponseEntity.ok(new PagedList<>(
+                    MgmtTargetMapper.toActionStatusRestResponse(statusList, deploymentManagement), total,
+                    ACTION_STATUS_KEYSET_PAGING.getNext(statusList, pageRequest, total)));
+        }
+
         final Page<ActionStatus> statusList = this.deploymentManagement.findActionStatusByAction(
                 new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting), action.getId());
 
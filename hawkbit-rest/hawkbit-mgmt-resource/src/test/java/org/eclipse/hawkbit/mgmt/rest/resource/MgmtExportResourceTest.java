@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtExportRestApi;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.context.request.async.WebAsyncManagerIntegrationFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Integration test for the {@link MgmtExportRestApi}.
+ */
+@Feature("Component Tests - Management API")
+@Story("Export Resource")
+class MgmtExportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    protected DefaultMockMvcBuilder createMvcWebAppContext(final WebApplicationContext context) {
+        // propagates the security context to the thread which writes the
+        // export as the security filter chain does
+        return super.createMvcWebAppContext(context).addFilter(new WebAsyncManagerIntegrationFilter());
+    }
+
+    @Test
+    @Description("Exports all targets with their controller attributes ordered by ID, one JSON object per line.")
+    void exportTargets() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(5, "export");
+        controllerManagement.updateControllerAttributes(targets.get(0).getControllerId(), Map.of("a", "b"), null);
+
+        final List<Map<String, Object>> lines = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets");
+
+        assertThat(lines).extracting(line -> line.get("controllerId")).containsExactlyElementsOf(targets.stream()
+                .sorted(Comparator.comparing(Target::getId)).map(Target::getControllerId).collect(Collectors.toList()));
+        assertThat(lines).filteredOn(line -> targets.get(0).getControllerId().equals(line.get("controllerId")))
+                .extracting(line -> line.get("attributes")).containsExactly(Map.of("a", "b"));
+        assertThat(lines.get(0)).containsEntry("updateStatus", "unknown").containsKey("createdAt");
+
+        final List<Map<String, Object>> filtered = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING
+                + "/targets?q=controllerId==" + targets.get(1).getControllerId());
+        assertThat(filtered).extracting(line -> line.get("controllerId"))
+                .containsExactly(targets.get(1).getControllerId());
+    }
+
+    @Test
+    @Description("Exports the action history of the targets.")
+    void exportActions() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        final List<Target> targets = testdataFactory.createTargets(3, "exportActions");
+        final List<Action> actions = assignDistributionSet(ds, targets).getAssignedEntity();
+
+        final List<Map<String, Object>> lines = export(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/actions");
+
+        assertThat(lines).hasSize(actions.size());
+        assertThat(lines).extracting(line -> ((Number) line.get("id")).longValue()).containsExactlyElementsOf(
+                actions.stream().map(Action::getId).sorted().collect(Collectors.toList()));
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line).containsEntry("status", "running").containsEntry("active", true);
+            assertThat(((Number) line.get("distributionSet")).longValue()).isEqualTo(ds.getId());
+        });
+        assertThat(lines).extracting(line -> line.get("target")).containsExactlyInAnyOrderElementsOf(
+                targets.stream().map(Target::getControllerId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @Description("Exports the targets of all groups of a rollout with their action status.")
+    void exportRollout() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        testdataFactory.createTargets(4, "exportRollout");
+        final Rollout rollout = testdataFactory.createRolloutByVariables("exportRollout", "", 2,
+                "controllerId==exportRollout*", ds, "50", "80");
+        final List<RolloutGroup> groups = rolloutGroupManagement.findByRollout(PageRequest.of(0, 10), rollout.getId())
+                .getContent();
+
+        final List<Map<String, Object>> lines = export(
+                MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/rollouts/" + rollout.getId());
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines).extracting(line -> ((Number) line.get("rolloutGroup")).longValue()).containsOnly(
+                groups.stream().map(RolloutGroup::getId).toArray(Long[]::new));
+        // no actions are created before the rollout is started
+        assertThat(lines).allSatisfy(line -> assertThat(line).doesNotContainKey("status"));
+    }
+
+    @Test
+    @Description("Verifies that an export with an invalid query is rejected.")
+    void exportTargetsWithInvalidQuery() throws Exception {
+        final MvcResult result = mvc.perform(get(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets?q=unknown==1"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mvc.perform(asyncDispatch(result)).andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("Verifies that the export of a rollout that does not exist is rejected.")
+    void exportRolloutNotFound() throws Exception {
+        mvc.perform(get(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/rollouts/1234"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isNotFound());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> export(final String url) throws Exception {
+        final MvcResult result = mvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        final String body = mvc.perform(asyncDispatch(result)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        final List<Map<String, Object>> lines = new ArrayList<>();
+        for (final String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(MAPPER.readValue(line, Map.class));
+            }
+        }
+        return lines;
+    }
+}
@@ -26,8 +26,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -636,6 +638,63 @@ class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest {
                 .andExpect(jsonPath("$.content.[?(@.name=='" + idE + "')].updateStatus", contains("registered")));
     }
 
+    @Test
+    @Description("Ensures that the targets can be paged through by continuation token.")
+    void getTargetsWithPagingCursorRequestParameter() throws Exception {
+        createTargetsAlphabetical(5);
+
+        final String next = getTargetsWithCursor("", "b", 2, "a", "b");
+        final String last = getTargetsWithCursor(next, "d", 2, "c", "d");
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "2")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, last)).andExpect(status().isOk())
+                .andDo(MockMvcResultPrinter.print()).andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(5)))
+                .andExpect(jsonPath("content.[*].controllerId", contains("e")))
+                .andExpect(jsonPath("next").doesNotExist());
+    }
+
+    private String getTargetsWithCursor(final String cursor, final String lastControllerId, final int limit,
+            final String... controllerIds) throws Exception {
+        final MvcResult result = mvc
+                .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(limit))
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, cursor))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(5)))
+                .andExpect(jsonPath("content.[*].controllerId", contains(controllerIds)))
+                .andExpect(jsonPath("content.[" + (limit - 1) + "].controllerId", equalTo(lastControllerId)))
+                .andExpect(jsonPath("next", notNullValue())).andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "next");
+    }
+
+    @Test
+    @Description("Ensures that a continuation token is rejected for unsupported sorting and if it is malformed.")
+    void getTargetsWithInvalidPagingCursorRequestParameter() throws Exception {
+        createTargetsAlphabetical(3);
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "DESCRIPTION:ASC")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "")).andExpect(status().isBadRequest());
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("Ensures that a tampered continuation token with a value that does not match the type of the sort "
+            + "field is rejected.")
+    void getTargetsWithTamperedPagingCursorRequestParameter() throws Exception {
+        createTargetsAlphabetical(3);
+
+        final String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("3\ncreatedAt\nASC\n1\nnot-a-number".getBytes(StandardCharsets.UTF_8));
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "CREATEDAT:ASC")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, tampered)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", equalTo(SpServerError.SP_REST_PAGING_CURSOR_INVALID.getKey())));
+    }
+
     @Test
     @Description("Ensures that the get request for a target works.")
     void getSingleTarget() throws Exception {
@@ -1255,6 +1314,32 @@ class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest {
                 .andExpect(jsonPath(JSON_PATH_PAGED_LIST_CONTENT, hasSize(1)));
     }
 
+    @Test
+    @Description("Verifies that the actions of a target can be paged through by continuation token.")
+    void getMultipleActionsWithPagingCursorRequestParameter() throws Exception {
+        final String knownTargetId = "targetId";
+        final List<Action> actions = generateTargetWithTwoUpdatesWithOneOverride(knownTargetId);
+        final String actionsUrl = MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + knownTargetId + "/"
+                + MgmtRestConstants.TARGET_V1_ACTIONS;
+
+        final MvcResult first = mvc
+                .perform(get(actionsUrl).param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "1")
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, "status==pending")
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, ""))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actions.get(1).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(2)))
+                .andExpect(jsonPath("next", notNullValue())).andReturn();
+
+        mvc.perform(get(actionsUrl).param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "1")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, "status==pending")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR,
+                        JsonPath.<String> read(first.getResponse().getContentAsString(), "next")))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actions.get(0).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(2)));
+    }
+
     @Test
     @Description("Verifies getting multiple actions with the paging request parameter.")
     void getMultipleActionsWithPagingLimitRequestParameter() throws Exception {
@@ -12,6 +12,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -23,6 +26,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.FileChannelDbArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -48,6 +52,8 @@ public final class FileStreamingUtil {
 
     private static final int BUFFER_SIZE = 0x2000; // 8k
 
+    private static final long CHANNEL_TRANSFER_SIZE = 0x100000; // 1M
+
     private FileStreamingUtil() {
 
     }
@@ -99,6 +105,13 @@ public final class FileStreamingUtil {
      * The request supports RFC7233 range requests.
      * </p>
      *
+     * <p>
+     * If the artifact is a {@link FileChannelDbArtifact} the binary is streamed
+     * by means of {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * starting at the requested position, i.e. without copying it through a
+     * heap buffer and without skipping to the start of a range.
+     * </p>
+     *
      * @param artifact
      *            the artifact
      * @param filename
@@ -212,9 +225,9 @@ public final class FileStreamingUtil {
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (final InputStream from = artifact.getFileInputStream()) {
+        try {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -284,17 +297,14 @@ public final class FileStreamingUtil {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (final InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
+                        + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
             }
 
             // End with final multipart boundary.
@@ -315,9 +325,9 @@ public final class FileStreamingUtil {
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (final InputStream from = artifact.getFileInputStream()) {
+        try {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -326,6 +336,54 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    private static long copyArtifact(final DbArtifact artifact, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+        if (artifact instanceof FileChannelDbArtifact) {
+            try (final FileChannel from = ((FileChannelDbArtifact) artifact).getFileChannel()) {
+                return copyChannel(from, to, progressListener, start, length, filename);
+            }
+        }
+
+        try (final InputStream from = artifact.getFileInputStream()) {
+            return copyStreams(from, to, progressListener, start, length, filename);
+        }
+    }
+
+    private static long copyChannel(final FileChannel from, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+
+        final long startMillis = System.currentTimeMillis();
+        LOG.trace("Start of copy-channel of file {} from {} to {}", filename, start, length);
+
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+        // the channel is not closed as this would close the servlet output
+        // stream as well
+        final WritableByteChannel target = Channels.newChannel(to);
+        final ProgressTracker progress = new ProgressTracker(progressListener, length);
+        // transfer in chunks of max. one percent in order to keep the progress
+        // reporting as fine-grained as for the stream copy
+        final long chunkSize = Math.max(BUFFER_SIZE, Math.min(CHANNEL_TRANSFER_SIZE, length / 100));
+
+        long position = start;
+        long toRead = length;
+
+        while (toRead > 0) {
+            final long r = from.transferTo(position, Math.min(toRead, chunkSize), target);
+            if (r <= 0) {
+                break;
+            }
+
+            position += r;
+            toRead -= r;
+            progress.shipped(r);
+        }
+
+        return checkCompleted(filename, length, progress.getTotal(), startMillis);
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -336,14 +394,12 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
+        final ProgressTracker progress = new ProgressTracker(progressListener, length);
 
         ByteStreams.skipFully(from, start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -354,14 +410,51 @@ public final class FileStreamingUtil {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
+        }
+
+        return checkCompleted(filename, length, progress.getTotal(), startMillis);
+    }
+
+    private static long checkCompleted(final String filename, final long length, final long total,
+            final long startMillis) {
+        final long totalTime = System.currentTimeMillis() - startMillis;
+
+        if (total < length) {
+            throw new FileStreamingFailedException(filename + ": " + (length - total)
+                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        }
+
+        LOG.trace("Finished copy of file {} with length {} in {} ms", filename, length, totalTime);
+
+        return total;
+    }
+
+    /**
+     * Keeps track of the shipped bytes of a single copy operation and notifies
+     * the {@link FileStreamingProgressListener} every 10 percent.
+     */
+    private static final class ProgressTracker {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+
+        private long total;
+        private long shippedSinceLastEvent;
+        private int progressPercent = 1;
+
+        private ProgressTracker(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long bytes) {
+            total += bytes;
+            shippedSinceLastEvent += bytes;
 
             if (progressListener != null) {
                 final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
@@ -375,16 +468,9 @@ public final class FileStreamingUtil {
             }
         }
 
-        final long totalTime = System.currentTimeMillis() - startMillis;
-
-        if (total < length) {
-            throw new FileStreamingFailedException(filename + ": " + (length - total)
-                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        private long getTotal() {
+            return total;
         }
-
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
-
-        return total;
     }
 
     private static final class ByteRange {
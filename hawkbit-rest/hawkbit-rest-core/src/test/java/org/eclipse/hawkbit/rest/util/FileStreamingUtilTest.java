@@ -16,17 +16,27 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.artifact.repository.model.FileChannelDbArtifact;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
@@ -111,4 +121,101 @@ class FileStreamingUtilTest {
         verify(outputStream, times(0)).print(anyString());
         verify(outputStream, times(0)).write(any(), anyInt(), anyInt());
     }
+
+    @Test
+    void shouldTransferFullFileFromFileChannel(@TempDir final Path tempDir) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(new TestServletOutputStream(content));
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        final AtomicLong shipped = new AtomicLong();
+
+        final ResponseEntity<InputStream> responseEntity = FileStreamingUtil.writeFileResponse(
+                fileChannelArtifact(tempDir), "test.file", System.currentTimeMillis(), servletResponse,
+                servletRequest, (requested, sinceLast, overall) -> shipped.addAndGet(sinceLast));
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(content.toByteArray()).isEqualTo(CONTENT_BYTES);
+        assertThat(shipped.get()).isEqualTo(CONTENT_BYTES.length);
+    }
+
+    @Test
+    void shouldTransferRangesFromFileChannel(@TempDir final Path tempDir) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(new TestServletOutputStream(content));
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(servletRequest.getHeader("Range")).thenReturn("bytes=5-11");
+
+        final ResponseEntity<InputStream> responseEntity = FileStreamingUtil.writeFileResponse(
+                fileChannelArtifact(tempDir), "test.file", System.currentTimeMillis(), servletResponse,
+                servletRequest, null);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(content.toString(StandardCharsets.UTF_8.name())).isEqualTo(CONTENT.substring(5, 12));
+    }
+
+    private static FileChannelDbArtifact fileChannelArtifact(final Path tempDir) throws IOException {
+        final Path file = Files.write(tempDir.resolve("artifact"), CONTENT_BYTES);
+
+        return new FileChannelDbArtifact() {
+
+            @Override
+            public String getArtifactId() {
+                return TEST_ARTIFACT.getArtifactId();
+            }
+
+            @Override
+            public DbArtifactHash getHashes() {
+                return TEST_ARTIFACT.getHashes();
+            }
+
+            @Override
+            public long getSize() {
+                return CONTENT_BYTES.length;
+            }
+
+            @Override
+            public String getContentType() {
+                return TEST_ARTIFACT.getContentType();
+            }
+
+            @Override
+            public InputStream getFileInputStream() {
+                throw new UnsupportedOperationException("Expected to be streamed by file channel");
+            }
+
+            @Override
+            public FileChannel getFileChannel() {
+                try {
+                    return FileChannel.open(file, StandardOpenOption.READ);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static final class TestServletOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream delegate;
+
+        private TestServletOutputStream(final ByteArrayOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) {
+            delegate.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            // not needed
+        }
+    }
 }
@@ -130,6 +130,19 @@ public class DdiSecurityProperties {
              */
             private boolean enabled = false;
 
+            /**
+             * Maximum number of target security tokens that are cached to
+             * authenticate the controllers without reading the target, 0
+             * disables the cache.
+             */
+            private long cacheSize = 10_000;
+
+            /**
+             * Time in milliseconds after which a cached target security token
+             * is read again.
+             */
+            private long cacheTtl = 10_000;
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -138,6 +151,22 @@ public class DdiSecurityProperties {
                 this.enabled = enabled;
             }
 
+            public long getCacheSize() {
+                return cacheSize;
+            }
+
+            public void setCacheSize(final long cacheSize) {
+                this.cacheSize = cacheSize;
+            }
+
+            public long getCacheTtl() {
+                return cacheTtl;
+            }
+
+            public void setCacheTtl(final long cacheTtl) {
+                this.cacheTtl = cacheTtl;
+            }
+
         }
 
         /**
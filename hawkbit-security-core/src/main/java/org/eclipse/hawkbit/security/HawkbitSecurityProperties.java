@@ -495,6 +495,38 @@ public class HawkbitSecurityProperties {
              */
             private int maxWrite = 50;
 
+            /**
+             * Maximum number of REST read/GET requests a client may issue at
+             * once before it is limited to {@link #maxRead} per second. 0 to
+             * use {@link #maxRead}.
+             */
+            private int readBurst;
+
+            /**
+             * Maximum number of REST write/(PUT/POST/etc.) requests a client
+             * may issue at once before it is limited to {@link #maxWrite} per
+             * second. 0 to use {@link #maxWrite}.
+             */
+            private int writeBurst;
+
+            /**
+             * Set to <code>true</code> to limit the requests of the devices
+             * per tenant and controller ID in addition to the client IP, e.g.
+             * if many devices connect through the same NAT gateway. Applies
+             * only to filters on paths that contain the tenant and the
+             * controller ID. As the controller ID is chosen by the client, the
+             * requests of all devices behind one client IP are additionally
+             * limited to {@link #perDeviceIpFactor} times the limits.
+             */
+            private boolean perDevice;
+
+            /**
+             * Factor of {@link #maxRead}, {@link #maxWrite} and the bursts the
+             * requests of all devices behind one client IP are limited to in
+             * case of {@link #perDevice}.
+             */
+            private int perDeviceIpFactor = 10;
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -527,6 +559,38 @@ public class HawkbitSecurityProperties {
                 this.maxWrite = maxWrite;
             }
 
+            public int getReadBurst() {
+                return readBurst;
+            }
+
+            public void setReadBurst(final int readBurst) {
+                this.readBurst = readBurst;
+            }
+
+            public int getWriteBurst() {
+                return writeBurst;
+            }
+
+            public void setWriteBurst(final int writeBurst) {
+                this.writeBurst = writeBurst;
+            }
+
+            public boolean isPerDevice() {
+                return perDevice;
+            }
+
+            public void setPerDevice(final boolean perDevice) {
+                this.perDevice = perDevice;
+            }
+
+            public int getPerDeviceIpFactor() {
+                return perDeviceIpFactor;
+            }
+
+            public void setPerDeviceIpFactor(final int perDeviceIpFactor) {
+                this.perDeviceIpFactor = perDeviceIpFactor;
+            }
+
         }
 
     }
@@ -35,6 +35,7 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
     private static final int OFFSET_TARGET_TOKEN = TARGET_SECURITY_TOKEN_AUTH_SCHEME.length();
 
     private final ControllerManagement controllerManagement;
+    private final ControllerSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -56,8 +57,37 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
             final TenantConfigurationManagement tenantConfigurationManagement,
             final ControllerManagement controllerManagement, final TenantAware tenantAware,
             final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, controllerManagement, tenantAware, systemSecurityContext,
+                ControllerSecurityTokenCache.disabled());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the tenant management service to retrieve configuration
+     *            properties
+     * @param controllerManagement
+     *            the controller management to retrieve the specific target
+     *            security token to verify
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param systemSecurityContext
+     *            the system security context to get access to tenant
+     *            configuration
+     * @param securityTokenCache
+     *            to retrieve the target security token without reading the
+     *            target on every request
+     */
+    public ControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ControllerManagement controllerManagement, final TenantAware tenantAware,
+            final SystemSecurityContext systemSecurityContext,
+            final ControllerSecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
@@ -77,6 +107,14 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final DmfTenantSecurityToken securityToken) {
+        if (securityToken.getTargetId() == null) {
+            return securityTokenCache.getCredentials(securityToken.getTenant(), securityToken.getControllerId(),
+                    () -> systemSecurityContext.runAsSystemAsTenant(
+                            () -> controllerManagement.getByControllerId(securityToken.getControllerId())
+                                    .map(ControllerSecurityTokenCache.TargetToken::new),
+                            securityToken.getTenant()));
+        }
+
         final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
             if (securityToken.getTargetId() != null) {
                 return controllerManagement.get(securityToken.getTargetId());
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantKey;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of the security tokens of the {@link Target}s that authenticate with
+ * the target security token, so that the target does not have to be read for
+ * every request of a controller, e.g. every poll and every download range
+ * request. The entries are partitioned by tenant and controller ID.
+ *
+ * An entry is evicted if the target is updated or deleted and all entries of
+ * a tenant if its configuration changes. As the events are delivered to all
+ * nodes of a cluster the entries are invalidated cluster-wide. In addition
+ * the entries expire after a short time, which covers events that have been
+ * delivered while the target was read. Hits, misses and evictions are exposed
+ * as metrics with the cache name {@value #METRIC_CACHE_NAME}.
+ */
+public class ControllerSecurityTokenCache {
+
+    private static final String METRIC_CACHE_NAME = "hawkbit.security.controller.token";
+
+    private static final ControllerSecurityTokenCache DISABLED = new ControllerSecurityTokenCache();
+
+    private final Cache<TenantKey<String>, TargetToken> tokens;
+    private final Cache<TenantKey<Long>, String> controllerIds;
+
+    private ControllerSecurityTokenCache() {
+        tokens = null;
+        controllerIds = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize
+     *            maximum number of cached security tokens, a size of 0
+     *            disables the cache
+     * @param ttl
+     *            time in milliseconds after which a cached security token is
+     *            read again
+     * @param meterRegistry
+     *            to register the cache metrics at
+     */
+    public ControllerSecurityTokenCache(final long maxSize, final long ttl, final MeterRegistry meterRegistry) {
+        if (maxSize > 0) {
+            tokens = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                    .recordStats().build();
+            controllerIds = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, tokens, METRIC_CACHE_NAME);
+        } else {
+            tokens = null;
+            controllerIds = null;
+        }
+    }
+
+    /**
+     * @return a cache that reads the target for every request
+     */
+    public static ControllerSecurityTokenCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Retrieves the credentials of the given controller from the cache or
+     * reads the target. Unknown controllers are not cached.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param targetLoader
+     *            to read the security token of the target in case of a miss,
+     *            has to run as system code as the security token is not
+     *            readable otherwise
+     * @return the controller ID and security token of the target or
+     *         <code>null</code> if the target does not exist
+     */
+    HeaderAuthentication getCredentials(final String tenant, final String controllerId,
+            final Supplier<Optional<TargetToken>> targetLoader) {
+        if (tokens == null) {
+            return targetLoader.get().map(TargetToken::toCredentials).orElse(null);
+        }
+
+        final String tenantKey = tenant.toUpperCase();
+        final TargetToken cached = tokens.get(TenantKey.of(tenantKey, controllerId), key -> {
+            final TargetToken loaded = targetLoader.get().orElse(null);
+            if (loaded != null && loaded.targetId != null) {
+                controllerIds.put(TenantKey.of(tenantKey, loaded.targetId), loaded.controllerId);
+            }
+            return loaded;
+        });
+        return cached == null ? null : cached.toCredentials();
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        if (tokens == null || event.getTenant() == null) {
+            return;
+        }
+        final TenantKey<Long> key = TenantKey.of(event.getTenant().toUpperCase(), event.getEntityId());
+        final String controllerId = controllerIds.getIfPresent(key);
+        if (controllerId != null) {
+            controllerIds.invalidate(key);
+            tokens.invalidate(TenantKey.of(key.getTenant(), controllerId));
+        }
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        if (tokens == null || event.getTenant() == null) {
+            return;
+        }
+        final String tenantKey = event.getTenant().toUpperCase();
+        controllerIds.invalidate(TenantKey.of(tenantKey, event.getEntityId()));
+        tokens.invalidate(TenantKey.of(tenantKey, event.getControllerId()));
+    }
+
+    @EventListener(classes = { TenantConfigurationCreatedEvent.class, TenantConfigurationUpdatedEvent.class,
+            TenantConfigurationDeletedEvent.class })
+    public void invalidateOnTenantConfigurationChange(final RemoteTenantAwareEvent event) {
+        // e.g. the target security token authentication has been disabled
+        if (event.getTenant() != null) {
+            evictCaches(event.getTenant());
+        }
+    }
+
+    /**
+     * Evicts all entries of a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict the entries of
+     */
+    public void evictCaches(final String tenant) {
+        if (tokens == null) {
+            return;
+        }
+        final String tenantKey = tenant.toUpperCase();
+        tokens.asMap().keySet().removeIf(key -> key.getTenant().equals(tenantKey));
+        controllerIds.asMap().keySet().removeIf(key -> key.getTenant().equals(tenantKey));
+    }
+
+    /**
+     * Security token of a {@link Target}.
+     */
+    static final class TargetToken {
+        private final Long targetId;
+        private final String controllerId;
+        private final String securityToken;
+
+        /**
+         * Constructor.
+         *
+         * @param target
+         *            to read the security token of, as system code
+         */
+        TargetToken(final Target target) {
+            this.targetId = target.getId();
+            this.controllerId = target.getControllerId();
+            this.securityToken = target.getSecurityToken();
+        }
+
+        private HeaderAuthentication toCredentials() {
+            return new HeaderAuthentication(controllerId, securityToken);
+        }
+    }
+}
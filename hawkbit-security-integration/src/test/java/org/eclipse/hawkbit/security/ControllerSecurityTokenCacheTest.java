@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2023 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.DmfTenantSecurityToken.FileResource;
+import org.eclipse.hawkbit.tenancy.UserAuthoritiesResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Security")
+@Story("Target security token authentication")
+@ExtendWith(MockitoExtension.class)
+public class ControllerSecurityTokenCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String CONTROLLER_ID = "controller";
+    private static final String SECURITY_TOKEN = "token";
+
+    private ControllerPreAuthenticateSecurityTokenFilter underTest;
+    private ControllerSecurityTokenCache cache;
+
+    @Mock
+    private TenantConfigurationManagement tenantConfigurationManagementMock;
+    @Mock
+    private ControllerManagement controllerManagementMock;
+    @Mock
+    private UserAuthoritiesResolver authoritiesResolver;
+    @Mock
+    private Target target;
+
+    @BeforeEach
+    public void before() {
+        final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware(authoritiesResolver);
+        cache = new ControllerSecurityTokenCache(100, 60_000, new SimpleMeterRegistry());
+        underTest = new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagementMock,
+                controllerManagementMock, tenantAware, new SystemSecurityContext(tenantAware), cache);
+
+        when(target.getId()).thenReturn(1L);
+        when(target.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(target.getSecurityToken()).thenReturn(SECURITY_TOKEN);
+        when(controllerManagementMock.getByControllerId(CONTROLLER_ID)).thenReturn(Optional.of(target));
+    }
+
+    @Test
+    @Description("Verifies that the security token of a target is read once and afterwards retrieved from the cache.")
+    public void securityTokenIsCached() {
+        assertCredentials("default");
+        assertCredentials(TENANT);
+
+        verify(controllerManagementMock, times(1)).getByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that the cached security token is evicted if the target is updated.")
+    public void securityTokenIsEvictedOnTargetUpdate() {
+        when(target.getTenant()).thenReturn(TENANT);
+        assertCredentials(TENANT);
+
+        cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(target, "node"));
+        assertCredentials(TENANT);
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that the cached security token is evicted if the target is deleted.")
+    public void securityTokenIsEvictedOnTargetDelete() {
+        assertCredentials(TENANT);
+
+        cache.invalidateOnTargetDelete(new TargetDeletedEvent(TENANT, 1L, CONTROLLER_ID, null, Target.class, "node"));
+        assertCredentials(TENANT);
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that all cached security tokens of a tenant are evicted, e.g. if its configuration changes.")
+    public void securityTokensOfTenantAreEvicted() {
+        assertCredentials(TENANT);
+
+        cache.evictCaches("other");
+        assertCredentials(TENANT);
+        cache.evictCaches(TENANT);
+        assertCredentials(TENANT);
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    private void assertCredentials(final String tenant) {
+        final DmfTenantSecurityToken securityToken = new DmfTenantSecurityToken(tenant, null, CONTROLLER_ID, null,
+                FileResource.createFileResourceBySha1("12345"));
+        securityToken.putHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER, "TargetToken " + SECURITY_TOKEN);
+
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken))
+                .isEqualTo(underTest.getPreAuthenticatedPrincipal(securityToken));
+    }
+}
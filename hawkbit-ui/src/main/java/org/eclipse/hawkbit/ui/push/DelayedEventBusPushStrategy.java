@@ -23,7 +23,9 @@ import java.util.stream.Stream;
 
 import org.eclipse.hawkbit.im.authentication.TenantAwareAuthenticationDetails;
 import org.eclipse.hawkbit.im.authentication.UserPrincipal;
+import org.eclipse.hawkbit.repository.event.RemoteBatchEventListener;
 import org.eclipse.hawkbit.repository.event.entity.EntityIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
@@ -68,9 +70,12 @@ import com.vaadin.ui.UI;
  * The strategy also verifies the current tenant in the session with the tenant
  * in the event and only forwards event from the right tenant to the UI.
  *
+ * Batches of events from other nodes are consumed as a whole, see
+ * {@link RemoteBatchEvent}.
+ *
  */
-public class DelayedEventBusPushStrategy
-        implements EventPushStrategy, ApplicationListener<ApplicationEvent>, Serializable {
+public class DelayedEventBusPushStrategy implements EventPushStrategy, ApplicationListener<ApplicationEvent>,
+        RemoteBatchEventListener, Serializable {
     private static final long serialVersionUID = 1L;
 
     private static final Logger LOG = LoggerFactory.getLogger(DelayedEventBusPushStrategy.class);
@@ -292,6 +297,11 @@ public class DelayedEventBusPushStrategy
      */
     @Override
     public void onApplicationEvent(final ApplicationEvent applicationEvent) {
+        if (applicationEvent instanceof RemoteBatchEvent) {
+            ((RemoteBatchEvent) applicationEvent).forEach(this::onApplicationEvent);
+            return;
+        }
+
         if (!(applicationEvent instanceof EntityIdEvent)) {
             return;
         }